@@ -2,7 +2,6 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.simpleFarming.components;
 
-import com.google.common.collect.Maps;
 import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.world.block.ForceBlockActive;
 import org.terasology.gestalt.entitysystem.component.Component;
@@ -39,8 +38,11 @@ public class BushDefinitionComponent implements Component<BushDefinitionComponen
      * The order in which entries occur is significant.  A bush will start in the first stage and
      * progress forward through the list.  When it reaches its final stage, it can be harvested
      * (via the "use" action) to yield {@link #produce}.
+     * <p>
+     * Saved as a reference to the defining prefab while it is a {@link BushGrowthStages} that has
+     * not diverged from it.
      */
-    public Map<String, BushGrowthStage> growthStages = Maps.newTreeMap();
+    public Map<String, BushGrowthStage> growthStages = new BushGrowthStages();
 
     /**
      * Whether the bush should survive being harvested.  Defaults to true; specified by prefab.
@@ -87,18 +89,37 @@ public class BushDefinitionComponent implements Component<BushDefinitionComponen
      */
     public EntityRef parent;
 
+    /**
+     * Used by tree leaves to refer to the root of their tree.  Null for other bushes, and for leaves grown by earlier
+     * versions.
+     */
+    public EntityRef tree;
+
+    /**
+     * The game time in milliseconds at which the bush grows next, or zero if it does not grow any further.  Managed at runtime.
+     *
+     * @see org.terasology.simpleFarming.systems.GrowthScheduler
+     */
+    public long nextGrowthTime;
+
+    /**
+     * The random draws the bush has made so far.  Managed at runtime.
+     *
+     * @see org.terasology.simpleFarming.systems.PlantRandom
+     */
+    public RandomOrdinals randomOrdinals = new RandomOrdinals();
+
     @Override
     public void copyFrom(BushDefinitionComponent other) {
-        this.growthStages.clear();
-        for (Map.Entry<String, BushGrowthStage> entry : other.growthStages.entrySet()) {
-            BushGrowthStage newStage = new BushGrowthStage(entry.getValue());
-            this.growthStages.put(entry.getKey(), newStage);
-        }
+        this.growthStages = new BushGrowthStages(other.growthStages);
         this.sustainable = other.sustainable;
         this.seed = other.seed;
         this.seedDropChances = other.seedDropChances;
         this.produce = other.produce;
         this.currentStage = other.currentStage;
         this.parent = other.parent;
+        this.tree = other.tree;
+        this.nextGrowthTime = other.nextGrowthTime;
+        this.randomOrdinals = new RandomOrdinals(other.randomOrdinals);
     }
 }
@@ -5,6 +5,8 @@ package org.terasology.simpleFarming.components;
 import org.terasology.engine.world.block.Block;
 import org.terasology.reflection.MappedContainer;
 
+import java.util.Objects;
+
 /**
  * Represents a stage of growth for a bush.
  *
@@ -41,4 +43,21 @@ public class BushGrowthStage {
         this.maxTime = clone.maxTime;
         this.minTime = clone.minTime;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BushGrowthStage other = (BushGrowthStage) o;
+        return minTime == other.minTime && maxTime == other.maxTime && Objects.equals(block, other.block);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(block, minTime, maxTime);
+    }
 }
@@ -0,0 +1,47 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.components;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The growth stages of a bush, remembering the prefab they were copied from.
+ * <p>
+ * As long as the stages are those of their {@link #getDefinition() definition}, they are saved as a reference to that
+ * prefab rather than in full.
+ *
+ * @see BushDefinitionComponent#growthStages
+ * @see org.terasology.simpleFarming.typeHandling.PlantDefinitionTypeHandlerFactory
+ */
+public class BushGrowthStages extends TreeMap<String, BushGrowthStage> {
+
+    /**
+     * The name of the prefab whose {@link BushDefinitionComponent} holds these stages, or null if they are not known
+     * to come from a prefab.
+     */
+    private String definition;
+
+    public BushGrowthStages() {
+    }
+
+    /**
+     * Constructs a deep copy of the given stages, keeping their definition if they have one.
+     */
+    public BushGrowthStages(Map<String, BushGrowthStage> stages) {
+        for (Map.Entry<String, BushGrowthStage> entry : stages.entrySet()) {
+            put(entry.getKey(), new BushGrowthStage(entry.getValue()));
+        }
+        if (stages instanceof BushGrowthStages) {
+            this.definition = ((BushGrowthStages) stages).definition;
+        }
+    }
+
+    public String getDefinition() {
+        return definition;
+    }
+
+    public void setDefinition(String definition) {
+        this.definition = definition;
+    }
+}
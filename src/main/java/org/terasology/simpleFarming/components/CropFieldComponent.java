@@ -0,0 +1,110 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.components;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.gestalt.entitysystem.component.Component;
+
+import java.util.Arrays;
+
+/**
+ * A rectangle of identical bushes owned by one entity.
+ * <p>
+ * A field keeps the growth stage of each of its cells in a byte array and grows them with a single timer, instead of
+ * having a {@link BushDefinitionComponent} and a growth timer per block.  All cells share the definition on the
+ * {@link #plant} prefab.  As soon as something interacts with a cell (a player harvesting or breaking it), the cell
+ * leaves the field and becomes an ordinary bush.  Field crops have no genome.
+ * <p>
+ * The stage blocks of bushes are {@code keepActive}, so the engine still creates a block entity for every cell, though
+ * one without any components of this module.  A field saves the per-cell components and timers, not the block
+ * entities themselves.
+ *
+ * @see org.terasology.simpleFarming.systems.CropFieldSystem
+ */
+public class CropFieldComponent implements Component<CropFieldComponent> {
+
+    /**
+     * The stage of a cell that holds no crop.
+     */
+    public static final byte EMPTY = -1;
+
+    /**
+     * The prefab holding the {@link BushDefinitionComponent} of the crop.
+     */
+    public String plant;
+
+    /**
+     * The cell with the lowest x and z coordinates.  All cells are at the same height.
+     */
+    public Vector3i min = new Vector3i();
+
+    public int sizeX;
+    public int sizeZ;
+
+    /**
+     * The stage of each cell, row by row along the x axis, or {@link #EMPTY}.
+     */
+    public byte[] stages = new byte[0];
+
+    /**
+     * The first cell the growth timer visits next time it fires.
+     */
+    public int cursor;
+
+    /**
+     * The game time in milliseconds at which the growth timer fires next.  Managed at runtime.
+     *
+     * @see org.terasology.simpleFarming.systems.GrowthScheduler
+     */
+    public long nextGrowthTime;
+
+    /**
+     * The random draws all cells of the field have made so far.  Managed at runtime.
+     *
+     * @see org.terasology.simpleFarming.systems.PlantRandom
+     */
+    public RandomOrdinals randomOrdinals = new RandomOrdinals();
+
+    public CropFieldComponent() {
+    }
+
+    public CropFieldComponent(String plant, Vector3ic min, int sizeX, int sizeZ, byte[] stages) {
+        this.plant = plant;
+        this.min.set(min);
+        this.sizeX = sizeX;
+        this.sizeZ = sizeZ;
+        this.stages = stages;
+    }
+
+    /**
+     * @return the index of the cell at the position, or -1 if the position is not part of the field
+     */
+    public int cellAt(int x, int y, int z) {
+        int dx = x - min.x;
+        int dz = z - min.z;
+        if (y != min.y || dx < 0 || dz < 0 || dx >= sizeX || dz >= sizeZ) {
+            return -1;
+        }
+        return dz * sizeX + dx;
+    }
+
+    /**
+     * @return the position of the cell with the given index
+     */
+    public Vector3i position(int cell, Vector3i dest) {
+        return dest.set(min.x + cell % sizeX, min.y, min.z + cell / sizeX);
+    }
+
+    @Override
+    public void copyFrom(CropFieldComponent other) {
+        this.plant = other.plant;
+        this.min = new Vector3i(other.min);
+        this.sizeX = other.sizeX;
+        this.sizeZ = other.sizeZ;
+        this.stages = Arrays.copyOf(other.stages, other.stages.length);
+        this.cursor = other.cursor;
+        this.nextGrowthTime = other.nextGrowthTime;
+        this.randomOrdinals = new RandomOrdinals(other.randomOrdinals);
+    }
+}
@@ -0,0 +1,43 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.components;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.gestalt.entitysystem.component.Component;
+
+/**
+ * Marks a plant whose growth was deferred because no player was near it.
+ * <p>
+ * While a plant is dormant it has no growth timer; the time it has been waiting for is worked out from
+ * {@link #dueTime} once a player comes within range.  The component is saved with the plant, so no growth is lost
+ * when its chunk is unloaded.
+ *
+ * @see org.terasology.simpleFarming.systems.GrowthLodSystem
+ */
+public class DormantGrowthComponent implements Component<DormantGrowthComponent> {
+
+    /**
+     * The game time, in milliseconds, at which the deferred growth step was due.
+     */
+    public long dueTime;
+
+    /**
+     * The position of the plant.
+     */
+    public Vector3i position = new Vector3i();
+
+    public DormantGrowthComponent() {
+    }
+
+    public DormantGrowthComponent(long dueTime, Vector3ic position) {
+        this.dueTime = dueTime;
+        this.position.set(position);
+    }
+
+    @Override
+    public void copyFrom(DormantGrowthComponent other) {
+        this.dueTime = other.dueTime;
+        this.position = new Vector3i(other.position);
+    }
+}
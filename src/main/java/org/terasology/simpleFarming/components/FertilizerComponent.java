@@ -0,0 +1,39 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.components;
+
+import org.terasology.gestalt.entitysystem.component.Component;
+
+/**
+ * Makes an item advance the growth of every plant around the block it is used on.
+ * <p>
+ * Plants are advanced either by a number of {@link #stages} or, if that is zero, by an amount of game {@link #time},
+ * which shortens their pending growth timers and lets them grow through every stage that fits into it.
+ *
+ * @see org.terasology.simpleFarming.systems.FertilizerSystem
+ */
+public class FertilizerComponent implements Component<FertilizerComponent> {
+
+    /**
+     * The distance in blocks from the target, along each axis, within which plants are advanced.  The default covers
+     * a 15x15 field.
+     */
+    public int radius = 7;
+
+    /**
+     * The number of stages to advance each plant by, or zero to advance them by {@link #time}.
+     */
+    public int stages;
+
+    /**
+     * The game time in milliseconds to advance each plant by, if {@link #stages} is zero.
+     */
+    public long time = 60000;
+
+    @Override
+    public void copyFrom(FertilizerComponent other) {
+        this.radius = other.radius;
+        this.stages = other.stages;
+        this.time = other.time;
+    }
+}
@@ -0,0 +1,35 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.components;
+
+import org.joml.Vector3i;
+import org.terasology.gestalt.entitysystem.component.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the produce that was harvested automatically but did not fit into the collecting inventory.
+ * <p>
+ * There is an entity with this component for each chunk with recorded produce.  It only stores the entries of that
+ * chunk between sessions; while the game runs, the ledger is kept by
+ * {@link org.terasology.simpleFarming.systems.ProduceLedgerSystem}.
+ */
+public class ProduceLedgerComponent implements Component<ProduceLedgerComponent> {
+
+    /**
+     * The position of the chunk, or null for a ledger saved whole by an earlier version.
+     */
+    public Vector3i chunk;
+
+    public List<ProduceLedgerEntry> entries = new ArrayList<>();
+
+    @Override
+    public void copyFrom(ProduceLedgerComponent other) {
+        this.chunk = other.chunk == null ? null : new Vector3i(other.chunk);
+        this.entries = new ArrayList<>(other.entries.size());
+        for (ProduceLedgerEntry entry : other.entries) {
+            this.entries.add(new ProduceLedgerEntry(entry));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.components;
+
+import org.joml.Vector3i;
+import org.terasology.reflection.MappedContainer;
+
+/**
+ * Uncollected produce of one kind, recorded instead of being dropped as items.
+ *
+ * @see ProduceLedgerComponent
+ */
+@MappedContainer
+public class ProduceLedgerEntry {
+    /**
+     * The prefab of the items.
+     */
+    public String prefab;
+
+    /**
+     * The genome of the items, or null if they have none.
+     */
+    public String genomeId;
+
+    /**
+     * The genes of the items, or null if they have none.
+     */
+    public String genes;
+
+    public int count;
+
+    /**
+     * Where these items would have been dropped.
+     */
+    public Vector3i position = new Vector3i();
+
+    /**
+     * Default constructor required for persistence.
+     */
+    public ProduceLedgerEntry() {
+    }
+
+    public ProduceLedgerEntry(ProduceLedgerEntry clone) {
+        this.prefab = clone.prefab;
+        this.genomeId = clone.genomeId;
+        this.genes = clone.genes;
+        this.count = clone.count;
+        this.position = new Vector3i(clone.position);
+    }
+}
@@ -0,0 +1,44 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.components;
+
+import org.terasology.reflection.MappedContainer;
+
+import java.util.Arrays;
+
+/**
+ * Counts the random draws a plant has made for each {@link org.terasology.simpleFarming.systems.PlantRandom.Purpose}.
+ * <p>
+ * Kept on the component of the plant that is saved with it, so that its random streams continue where they left off
+ * when the world is loaded again instead of starting over.
+ *
+ * @see org.terasology.simpleFarming.systems.PlantRandom
+ */
+@MappedContainer
+public class RandomOrdinals {
+
+    /**
+     * The next ordinal of each purpose, by purpose ordinal.  Purposes beyond the end of the array have drawn nothing.
+     */
+    public int[] ordinals = new int[0];
+
+    /**
+     * Default constructor required for persistence.
+     */
+    public RandomOrdinals() {
+    }
+
+    public RandomOrdinals(RandomOrdinals other) {
+        this.ordinals = Arrays.copyOf(other.ordinals, other.ordinals.length);
+    }
+
+    /**
+     * Returns the next ordinal of the purpose with the given ordinal and counts it.
+     */
+    public int next(int purpose) {
+        if (purpose >= ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, purpose + 1);
+        }
+        return ordinals[purpose]++;
+    }
+}
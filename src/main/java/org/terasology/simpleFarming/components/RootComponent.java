@@ -9,11 +9,9 @@ import org.terasology.engine.world.block.ForceBlockActive;
 import org.terasology.gestalt.entitysystem.component.Component;
 import org.terasology.simpleFarming.systems.TreeAuthoritySystem;
 
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Represents the root (lowest log block) of a tree.
@@ -42,9 +40,18 @@ public class RootComponent implements Component<RootComponent> {
     public Prefab leaf;
 
     /**
-     * The stages which this tree should grow through, in order.
+     * The stages which this tree should grow through, in order. Saved as a reference to the defining prefab while it
+     * is a {@link TreeGrowthStages} that has not diverged from it.
      */
-    public List<TreeGrowthStage> growthStages = new ArrayList<>();
+    public List<TreeGrowthStage> growthStages = new TreeGrowthStages();
+
+    /**
+     * Whether the tree only grows into a stage if all of its leaves fit, as well as its trunk.  Copied from the
+     * sapling.
+     *
+     * @see SaplingDefinitionComponent#requireFullCanopy
+     */
+    public boolean requireFullCanopy;
 
     /**
      * The current growth stage, represents the index in {@link #growthStages}.
@@ -52,10 +59,21 @@ public class RootComponent implements Component<RootComponent> {
     public int growthStage = 0;
 
     /**
-     * Holds references to all of the leaves in this tree. Note that leaves aren't
-     * automatically removed from this set when they no longer exist, so any element
-     * in this set should be verified with {@link EntityRef#exists()}.
+     * The positions of all of the leaves in this tree, relative to the root and packed
+     * into one int each. An offset is removed when its leaf is destroyed or harvested away,
+     * but the position may since have been taken by a leaf of another tree, so the leaf at
+     * each position should be checked to {@link BushDefinitionComponent#tree belong} to this
+     * tree before use.
+     */
+    public Set<Integer> leafOffsets = new HashSet<>();
+
+    /**
+     * References to the leaves of trees saved by earlier versions. They are moved into
+     * {@link #leafOffsets} the next time the canopy is walked, dropping those that no longer exist.
+     *
+     * @deprecated Use {@link #leafOffsets}.
      */
+    @Deprecated
     public Set<EntityRef> leaves = new HashSet<>();
 
     /**
@@ -66,6 +84,20 @@ public class RootComponent implements Component<RootComponent> {
      */
     public boolean alive = true;
 
+    /**
+     * The game time in milliseconds at which the tree grows next, or zero if it does not grow any further.  Managed at runtime.
+     *
+     * @see org.terasology.simpleFarming.systems.GrowthScheduler
+     */
+    public long nextGrowthTime;
+
+    /**
+     * The random draws the tree has made so far, continuing those of its sapling.  Managed at runtime.
+     *
+     * @see org.terasology.simpleFarming.systems.PlantRandom
+     */
+    public RandomOrdinals randomOrdinals = new RandomOrdinals();
+
     /**
      * Default constructor required for persistence.
      */
@@ -78,6 +110,8 @@ public class RootComponent implements Component<RootComponent> {
         log = base.log;
         leaf = base.leaf;
         growthStages = base.growthStages;
+        requireFullCanopy = base.requireFullCanopy;
+        randomOrdinals = new RandomOrdinals(base.randomOrdinals);
     }
 
     @Override
@@ -85,11 +119,13 @@ public class RootComponent implements Component<RootComponent> {
         this.sapling = other.sapling;
         this.log = other.log;
         this.leaf = other.leaf;
-        this.growthStages = other.growthStages.stream()
-                .map(TreeGrowthStage::new)
-                .collect(Collectors.toList());
+        this.growthStages = new TreeGrowthStages(other.growthStages);
         this.growthStage = other.growthStage;
-        this.leaves = other.leaves;
+        this.requireFullCanopy = other.requireFullCanopy;
+        this.leafOffsets = new HashSet<>(other.leafOffsets);
+        this.leaves = new HashSet<>(other.leaves);
         this.alive = other.alive;
+        this.nextGrowthTime = other.nextGrowthTime;
+        this.randomOrdinals = new RandomOrdinals(other.randomOrdinals);
     }
 }
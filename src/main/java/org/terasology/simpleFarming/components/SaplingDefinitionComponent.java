@@ -8,9 +8,7 @@ import org.terasology.engine.world.block.Block;
 import org.terasology.gestalt.entitysystem.component.Component;
 import org.terasology.simpleFarming.systems.TreeAuthoritySystem;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Stores the necessary data for defining a tree.
@@ -50,9 +48,30 @@ public class SaplingDefinitionComponent implements Component<SaplingDefinitionCo
     public Prefab leaf;
 
     /**
-     * The stages which this tree should grow through, in order.
+     * The stages which this tree should grow through, in order. Saved as a reference to the defining prefab while it
+     * is a {@link TreeGrowthStages} that has not diverged from it.
      */
-    public List<TreeGrowthStage> growthStages = new ArrayList<>();
+    public List<TreeGrowthStage> growthStages = new TreeGrowthStages();
+
+    /**
+     * Whether the tree only grows into a stage if all of its leaves fit, as well as its trunk.  Defaults to false, in
+     * which case leaves are placed wherever there is room; specified by prefab.
+     */
+    public boolean requireFullCanopy;
+
+    /**
+     * The game time in milliseconds at which the sapling grows next, or zero if it is not scheduled to grow.  Managed at runtime.
+     *
+     * @see org.terasology.simpleFarming.systems.GrowthScheduler
+     */
+    public long nextGrowthTime;
+
+    /**
+     * The random draws the sapling has made so far.  Managed at runtime.
+     *
+     * @see org.terasology.simpleFarming.systems.PlantRandom
+     */
+    public RandomOrdinals randomOrdinals = new RandomOrdinals();
 
     /**
      * Default constructor required for persistence.
@@ -75,6 +94,8 @@ public class SaplingDefinitionComponent implements Component<SaplingDefinitionCo
         log = base.log;
         leaf = base.leaf;
         growthStages = base.growthStages;
+        requireFullCanopy = base.requireFullCanopy;
+        randomOrdinals = new RandomOrdinals(base.randomOrdinals);
     }
 
     @Override
@@ -83,8 +104,9 @@ public class SaplingDefinitionComponent implements Component<SaplingDefinitionCo
         sapling = other.sapling;
         log = other.log;
         leaf = other.leaf;
-        this.growthStages = other.growthStages.stream()
-                .map(TreeGrowthStage::new)
-                .collect(Collectors.toList());
+        this.growthStages = new TreeGrowthStages(other.growthStages);
+        this.requireFullCanopy = other.requireFullCanopy;
+        this.nextGrowthTime = other.nextGrowthTime;
+        this.randomOrdinals = new RandomOrdinals(other.randomOrdinals);
     }
 }
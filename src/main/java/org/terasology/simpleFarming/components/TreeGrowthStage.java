@@ -5,6 +5,8 @@ package org.terasology.simpleFarming.components;
 import org.terasology.engine.entitySystem.prefab.Prefab;
 import org.terasology.reflection.MappedContainer;
 
+import java.util.Objects;
+
 /**
  * Represents a stage of growth for a tree.
  * <p>
@@ -49,4 +51,22 @@ public class TreeGrowthStage {
         this.maxTime = clone.maxTime;
         this.minTime = clone.minTime;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TreeGrowthStage other = (TreeGrowthStage) o;
+        return height == other.height && minTime == other.minTime && maxTime == other.maxTime
+                && Objects.equals(leafStructure, other.leafStructure);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(height, leafStructure, minTime, maxTime);
+    }
 }
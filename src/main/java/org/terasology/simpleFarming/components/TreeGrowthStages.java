@@ -0,0 +1,49 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.components;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The growth stages of a tree, remembering the prefab they were copied from.
+ * <p>
+ * As long as the stages are those of their {@link #getDefinition() definition}, they are saved as a reference to that
+ * prefab rather than in full.
+ *
+ * @see SaplingDefinitionComponent#growthStages
+ * @see RootComponent#growthStages
+ * @see org.terasology.simpleFarming.typeHandling.PlantDefinitionTypeHandlerFactory
+ */
+public class TreeGrowthStages extends ArrayList<TreeGrowthStage> {
+
+    /**
+     * The name of the prefab whose {@link SaplingDefinitionComponent} holds these stages, or null if they are not
+     * known to come from a prefab.
+     */
+    private String definition;
+
+    public TreeGrowthStages() {
+    }
+
+    /**
+     * Constructs a deep copy of the given stages, keeping their definition if they have one.
+     */
+    public TreeGrowthStages(List<TreeGrowthStage> stages) {
+        super(stages.size());
+        for (TreeGrowthStage stage : stages) {
+            add(new TreeGrowthStage(stage));
+        }
+        if (stages instanceof TreeGrowthStages) {
+            this.definition = ((TreeGrowthStages) stages).definition;
+        }
+    }
+
+    public String getDefinition() {
+        return definition;
+    }
+
+    public void setDefinition(String definition) {
+        this.definition = definition;
+    }
+}
@@ -49,6 +49,20 @@ public class VineNodeComponent implements Component<VineNodeComponent> {
      */
     public int length;
 
+    /**
+     * The game time in milliseconds at which the vine grows next, or zero if it is not scheduled to grow.  Only used on the root; managed at runtime.
+     *
+     * @see org.terasology.simpleFarming.systems.GrowthScheduler
+     */
+    public long nextGrowthTime;
+
+    /**
+     * The random draws the vine has made so far.  Only used on the root; managed at runtime.
+     *
+     * @see org.terasology.simpleFarming.systems.PlantRandom
+     */
+    public RandomOrdinals randomOrdinals = new RandomOrdinals();
+
     /**
      * Default constructor required for persistence.
      */
@@ -79,5 +93,7 @@ public class VineNodeComponent implements Component<VineNodeComponent> {
         this.child = other.child;
         this.parent = other.parent;
         this.length = other.length;
+        this.nextGrowthTime = other.nextGrowthTime;
+        this.randomOrdinals = new RandomOrdinals(other.randomOrdinals);
     }
 }
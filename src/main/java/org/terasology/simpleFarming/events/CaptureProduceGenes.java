@@ -0,0 +1,31 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.events;
+
+import org.terasology.gestalt.entitysystem.event.Event;
+
+/**
+ * Sent to a produce item to read its genes, before the item is replaced by an entry of the produce ledger, or to a
+ * plant or item to group harvested items by their genes.
+ * <p>
+ * Handled by the genome extension, if the Genome module is active; otherwise the genes stay null.
+ *
+ * @see RestoreProduceGenes
+ */
+public class CaptureProduceGenes implements Event {
+    private String genomeId;
+    private String genes;
+
+    public String getGenomeId() {
+        return genomeId;
+    }
+
+    public String getGenes() {
+        return genes;
+    }
+
+    public void setGenes(String genomeId, String genes) {
+        this.genomeId = genomeId;
+        this.genes = genes;
+    }
+}
@@ -0,0 +1,74 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.events;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.gestalt.entitysystem.event.Event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sent to an entity with an inventory in order to harvest many bushes or vine buds into it, without a player.
+ * <p>
+ * Each position should hold a bush or bud; positions that do not, or whose plant is not ripe, are skipped.  All
+ * produce (and the seeds of non-sustainable plants) is collected and given to the receiving inventory as a few
+ * stacked items.  Whatever does not fit is dropped at the first harvested plant.
+ * <p>
+ * After the event has been handled, it holds a summary of what was harvested.
+ *
+ * @see org.terasology.simpleFarming.systems.BushAuthoritySystem
+ */
+public class DoAutomatedHarvest implements Event {
+
+    private final List<Vector3ic> positions;
+
+    private int harvested;
+    private final Map<String, Integer> produce = new HashMap<>();
+    private final Map<String, Integer> seeds = new HashMap<>();
+
+    public DoAutomatedHarvest(Collection<? extends Vector3ic> positions) {
+        this.positions = new ArrayList<>(positions.size());
+        for (Vector3ic position : positions) {
+            this.positions.add(new Vector3i(position));
+        }
+    }
+
+    public List<Vector3ic> getPositions() {
+        return Collections.unmodifiableList(positions);
+    }
+
+    /**
+     * @return the number of plants that were harvested
+     */
+    public int getHarvested() {
+        return harvested;
+    }
+
+    /**
+     * @return the number of produce items harvested, by prefab name
+     */
+    public Map<String, Integer> getProduce() {
+        return Collections.unmodifiableMap(produce);
+    }
+
+    /**
+     * @return the number of seeds collected from non-sustainable plants, by prefab name
+     */
+    public Map<String, Integer> getSeeds() {
+        return Collections.unmodifiableMap(seeds);
+    }
+
+    public void addHarvested(String producePrefab, String seedPrefab, int seedCount) {
+        harvested++;
+        produce.merge(producePrefab, 1, Integer::sum);
+        if (seedCount > 0) {
+            seeds.merge(seedPrefab, seedCount, Integer::sum);
+        }
+    }
+}
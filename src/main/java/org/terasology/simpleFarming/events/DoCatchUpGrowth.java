@@ -0,0 +1,29 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.events;
+
+import org.terasology.gestalt.entitysystem.event.Event;
+
+/**
+ * Sent to a dormant plant once a player comes within range, so that it applies the growth it missed in one go.
+ *
+ * @see org.terasology.simpleFarming.components.DormantGrowthComponent
+ */
+public class DoCatchUpGrowth implements Event {
+
+    private final long elapsed;
+
+    /**
+     * @param elapsed the time, in milliseconds, since the deferred growth step was due
+     */
+    public DoCatchUpGrowth(long elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return the time, in milliseconds, since the deferred growth step was due
+     */
+    public long getElapsed() {
+        return elapsed;
+    }
+}
@@ -0,0 +1,43 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.events;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.gestalt.entitysystem.event.Event;
+
+/**
+ * Sent to an entity with an inventory in order to collect the uncollected produce recorded near a position.
+ * <p>
+ * Produce is recorded, instead of dropped, by automated harvests while the produce ledger is enabled.  The items are
+ * created as they are collected; whatever does not fit stays recorded.  After the event has been handled,
+ * {@link #getCollected()} holds the number of items collected.
+ *
+ * @see org.terasology.simpleFarming.systems.ProduceLedgerSystem
+ */
+public class DoCollectProduce implements Event {
+    private final Vector3i center;
+    private final int radius;
+    private int collected;
+
+    public DoCollectProduce(Vector3ic center, int radius) {
+        this.center = new Vector3i(center);
+        this.radius = radius;
+    }
+
+    public Vector3ic getCenter() {
+        return center;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public int getCollected() {
+        return collected;
+    }
+
+    public void addCollected(int count) {
+        collected += count;
+    }
+}
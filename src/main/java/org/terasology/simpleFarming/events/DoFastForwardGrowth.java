@@ -0,0 +1,120 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.events;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.gestalt.entitysystem.event.Event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sent to any entity, such as the client running the {@code farmingFastForward} command, to advance many plants at
+ * once.
+ * <p>
+ * Plants are advanced either by a number of stages or by an amount of game time.  Advanced by time, they end up as
+ * they would after being dormant for that long (see {@link DoCatchUpGrowth}).  For a vine, a stage is one growth
+ * cycle; for a sapling, growing into a tree is the first stage.
+ * <p>
+ * The positions are grouped by chunk, and the blocks of each group are written in one go.  Positions that do not
+ * hold the root of a plant, or hold a plant that cannot grow any further, are skipped.
+ * <p>
+ * After the event has been handled, it holds the number of plants that changed and, when advanced by time, the
+ * number of plants whose growth timer was only shortened.
+ *
+ * @see org.terasology.simpleFarming.systems.GrowthFastForwardSystem
+ */
+public class DoFastForwardGrowth implements Event {
+
+    private final List<List<Vector3ic>> chunks;
+    private final int stages;
+    private final long elapsed;
+
+    private int changed;
+    private int shortened;
+
+    private DoFastForwardGrowth(Collection<? extends Collection<? extends Vector3ic>> chunks, int stages,
+                                long elapsed) {
+        this.chunks = new ArrayList<>(chunks.size());
+        for (Collection<? extends Vector3ic> chunk : chunks) {
+            List<Vector3ic> positions = new ArrayList<>(chunk.size());
+            for (Vector3ic position : chunk) {
+                positions.add(new Vector3i(position));
+            }
+            this.chunks.add(Collections.unmodifiableList(positions));
+        }
+        this.stages = stages;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @param chunks the positions of the plants, one collection per chunk
+     * @param stages the number of stages to advance each plant by, at least one
+     */
+    public static DoFastForwardGrowth byStages(Collection<? extends Collection<? extends Vector3ic>> chunks,
+                                               int stages) {
+        return new DoFastForwardGrowth(chunks, Math.max(1, stages), 0);
+    }
+
+    /**
+     * @param chunks the positions of the plants, one collection per chunk
+     * @param elapsed the game time to advance each plant by, in milliseconds
+     */
+    public static DoFastForwardGrowth byTime(Collection<? extends Collection<? extends Vector3ic>> chunks,
+                                             long elapsed) {
+        return new DoFastForwardGrowth(chunks, 0, Math.max(0, elapsed));
+    }
+
+    /**
+     * @return the positions of the plants, one list per chunk
+     */
+    public List<List<Vector3ic>> getChunks() {
+        return Collections.unmodifiableList(chunks);
+    }
+
+    /**
+     * @return whether plants are advanced by time rather than by stages
+     */
+    public boolean isByTime() {
+        return stages == 0;
+    }
+
+    /**
+     * @return the number of stages to advance each plant by, or 0 if they are advanced by time
+     */
+    public int getStages() {
+        return stages;
+    }
+
+    /**
+     * @return the game time to advance each plant by, in milliseconds, if they are advanced by time
+     */
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return the number of plants that changed
+     */
+    public int getChanged() {
+        return changed;
+    }
+
+    public void addChanged(int count) {
+        changed += count;
+    }
+
+    /**
+     * @return the number of plants whose growth timer was shortened without them growing
+     */
+    public int getShortened() {
+        return shortened;
+    }
+
+    public void addShortened(int count) {
+        shortened += count;
+    }
+}
@@ -0,0 +1,76 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.events;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.gestalt.entitysystem.event.Event;
+
+/**
+ * Sent to a stack of bush seeds in order to plant a rectangle as a single crop field.
+ * <p>
+ * The rectangle lies between the given corners (inclusive) at height {@code y}; as with {@link DoPlantSeeds}, that is
+ * the height of the plants, not of the ground.  Cells are planted row by row until the stack runs out, and invalid
+ * cells are skipped.  After the event has been handled, {@link #getField()} holds the new field entity, if anything
+ * was planted.
+ *
+ * @see org.terasology.simpleFarming.components.CropFieldComponent
+ * @see org.terasology.simpleFarming.systems.CropFieldSystem
+ */
+public class DoPlantCropField implements Event {
+
+    private final int minX;
+    private final int minZ;
+    private final int maxX;
+    private final int maxZ;
+    private final int y;
+
+    private EntityRef field = EntityRef.NULL;
+    private int planted;
+
+    public DoPlantCropField(int minX, int minZ, int maxX, int maxZ, int y) {
+        this.minX = Math.min(minX, maxX);
+        this.minZ = Math.min(minZ, maxZ);
+        this.maxX = Math.max(minX, maxX);
+        this.maxZ = Math.max(minZ, maxZ);
+        this.y = y;
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinZ() {
+        return minZ;
+    }
+
+    public int getMaxX() {
+        return maxX;
+    }
+
+    public int getMaxZ() {
+        return maxZ;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @return the field planted while handling this event, or {@link EntityRef#NULL}
+     */
+    public EntityRef getField() {
+        return field;
+    }
+
+    /**
+     * @return the number of cells planted while handling this event
+     */
+    public int getPlanted() {
+        return planted;
+    }
+
+    public void setPlanted(EntityRef field, int planted) {
+        this.field = field;
+        this.planted = planted;
+    }
+}
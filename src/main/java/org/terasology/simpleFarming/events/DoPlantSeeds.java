@@ -0,0 +1,68 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.events;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.gestalt.entitysystem.event.Event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sent to a seed stack in order to plant it at many positions at once.
+ * <p>
+ * Each position is the (air) block the new plant will occupy, not the ground below it.  Positions are planted in
+ * order until the stack runs out; invalid positions are skipped.  After the event has been handled,
+ * {@link #getPlanted()} holds the positions that were actually planted, and that many seeds have been removed from
+ * the stack.
+ *
+ * @see org.terasology.simpleFarming.systems.PlantAuthoritySystem
+ */
+public class DoPlantSeeds implements Event {
+
+    private final List<Vector3ic> positions;
+    private final List<Vector3ic> planted = new ArrayList<>();
+
+    /**
+     * Plant at each of the given positions.
+     */
+    public DoPlantSeeds(Collection<? extends Vector3ic> positions) {
+        this.positions = new ArrayList<>(positions.size());
+        for (Vector3ic position : positions) {
+            this.positions.add(new Vector3i(position));
+        }
+    }
+
+    /**
+     * Plant every position of the box between the given corners, inclusive.  For a field, both corners are at the
+     * height of the new plants.
+     */
+    public DoPlantSeeds(Vector3ic min, Vector3ic max) {
+        this.positions = new ArrayList<>();
+        for (int y = min.y(); y <= max.y(); y++) {
+            for (int z = min.z(); z <= max.z(); z++) {
+                for (int x = min.x(); x <= max.x(); x++) {
+                    positions.add(new Vector3i(x, y, z));
+                }
+            }
+        }
+    }
+
+    public List<Vector3ic> getPositions() {
+        return Collections.unmodifiableList(positions);
+    }
+
+    /**
+     * @return the positions planted while handling this event
+     */
+    public List<Vector3ic> getPlanted() {
+        return Collections.unmodifiableList(planted);
+    }
+
+    public void addPlanted(Vector3ic position) {
+        planted.add(position);
+    }
+}
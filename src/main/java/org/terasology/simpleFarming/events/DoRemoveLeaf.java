@@ -0,0 +1,27 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.events;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.gestalt.entitysystem.event.Event;
+
+/**
+ * Sent to the root of a tree when one of its leaves is destroyed or harvested away.
+ *
+ * @see org.terasology.simpleFarming.components.RootComponent#leafOffsets
+ */
+public class DoRemoveLeaf implements Event {
+    private final Vector3i position;
+
+    public DoRemoveLeaf(Vector3ic position) {
+        this.position = new Vector3i(position);
+    }
+
+    /**
+     * @return the position of the leaf
+     */
+    public Vector3ic getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.events;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.gestalt.entitysystem.event.Event;
+
+/**
+ * Sent to a bush or vine bud once per action, carrying all the facts of the action that other systems react to.
+ * <p>
+ * Only sent when compound lifecycle events are enabled (see {@code farmingCompoundLifecycle}).  It then takes the place
+ * of the separate events that are sent for the action otherwise: {@link AddGenomeRetention} to the plant and to its new
+ * block entity, {@link ProduceCreated} for the produce of a harvest, {@link TransferGenomeEvent} to the new block
+ * entity and {@link DoDestroyPlant} when a harvest destroys the plant.
+ * <p>
+ * The event is sent before the plant's block changes, while the plant still holds all of its components.  The block
+ * entity of a plant is kept when its block changes, so retaining components on it is enough to carry them over; in the
+ * rare case that the block gets a new entity, the separate events are sent to it as well.
+ *
+ * @see org.terasology.simpleFarming.systems.LifecycleEvents
+ */
+public class PlantLifecycle implements Event {
+
+    public enum Action {
+        /**
+         * The plant grows into another stage, or back into an earlier one.
+         */
+        GROW,
+        /**
+         * The plant is harvested.  It then either goes back a stage or is destroyed.
+         */
+        HARVEST
+    }
+
+    private final Action action;
+    private final EntityRef produce;
+    private final boolean destroyed;
+
+    private PlantLifecycle(Action action, EntityRef produce, boolean destroyed) {
+        this.action = action;
+        this.produce = produce;
+        this.destroyed = destroyed;
+    }
+
+    /**
+     * @return the event for a plant growing by one or more stages
+     */
+    public static PlantLifecycle grow() {
+        return new PlantLifecycle(Action.GROW, EntityRef.NULL, false);
+    }
+
+    /**
+     * @param produce the produce item dropped by the harvest, or {@link EntityRef#NULL} if it is accounted for
+     *     elsewhere
+     * @param destroyed whether the plant is destroyed by the harvest rather than going back a stage
+     * @return the event for a plant being harvested
+     */
+    public static PlantLifecycle harvest(EntityRef produce, boolean destroyed) {
+        return new PlantLifecycle(Action.HARVEST, produce, destroyed);
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    /**
+     * @return the produce item created by the action, or {@link EntityRef#NULL}
+     */
+    public EntityRef getProduce() {
+        return produce;
+    }
+
+    /**
+     * @return whether the plant's block changes and its components must be retained across the change
+     */
+    public boolean isRetained() {
+        return !destroyed;
+    }
+
+    /**
+     * @return whether the plant is destroyed by the action
+     */
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+}
@@ -0,0 +1,27 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.events;
+
+import org.terasology.gestalt.entitysystem.event.Event;
+
+/**
+ * Sent to a produce item created from the produce ledger, to give it back the genes captured by
+ * {@link CaptureProduceGenes}.
+ */
+public class RestoreProduceGenes implements Event {
+    private final String genomeId;
+    private final String genes;
+
+    public RestoreProduceGenes(String genomeId, String genes) {
+        this.genomeId = genomeId;
+        this.genes = genes;
+    }
+
+    public String getGenomeId() {
+        return genomeId;
+    }
+
+    public String getGenes() {
+        return genes;
+    }
+}
@@ -9,13 +9,14 @@ import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.engine.core.Time;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.prefab.Prefab;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
 import org.terasology.engine.logic.common.ActivateEvent;
-import org.terasology.engine.logic.delay.DelayManager;
 import org.terasology.engine.logic.delay.DelayedActionTriggeredEvent;
 import org.terasology.engine.logic.inventory.ItemComponent;
 import org.terasology.engine.logic.inventory.events.DropItemEvent;
@@ -24,23 +25,35 @@ import org.terasology.engine.registry.In;
 import org.terasology.engine.utilities.random.FastRandom;
 import org.terasology.engine.world.BlockEntityRegistry;
 import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockComponent;
 import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.Blocks;
 import org.terasology.engine.world.block.entity.CreateBlockDropsEvent;
 import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.module.inventory.components.InventoryComponent;
 import org.terasology.module.inventory.systems.InventoryManager;
 import org.terasology.simpleFarming.components.BushDefinitionComponent;
 import org.terasology.simpleFarming.components.BushGrowthStage;
+import org.terasology.simpleFarming.components.BushGrowthStages;
 import org.terasology.simpleFarming.components.CheatGrowthComponent;
+import org.terasology.simpleFarming.components.DormantGrowthComponent;
 import org.terasology.simpleFarming.components.SeedDefinitionComponent;
 import org.terasology.simpleFarming.events.AddGenomeRetention;
+import org.terasology.simpleFarming.events.DoAutomatedHarvest;
+import org.terasology.simpleFarming.events.DoCatchUpGrowth;
 import org.terasology.simpleFarming.events.DoDestroyPlant;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
 import org.terasology.simpleFarming.events.DoRemoveBud;
+import org.terasology.simpleFarming.events.DoRemoveLeaf;
 import org.terasology.simpleFarming.events.OnSeedPlanted;
+import org.terasology.simpleFarming.events.PlantLifecycle;
 import org.terasology.simpleFarming.events.ProduceCreated;
 import org.terasology.simpleFarming.events.TransferGenomeEvent;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -62,6 +75,8 @@ public class BushAuthoritySystem extends BaseComponentSystem {
     @In
     private WorldProvider worldProvider;
     @In
+    private Time time;
+    @In
     private BlockManager blockManager;
     @In
     private InventoryManager inventoryManager;
@@ -70,8 +85,27 @@ public class BushAuthoritySystem extends BaseComponentSystem {
     @In
     private EntityManager entityManager;
     @In
-    private DelayManager delayManager;
+    private GrowthScheduler growthScheduler;
+    @In
+    private PlantIndex plantIndex;
+    @In
+    private FarmingMetrics metrics;
+    @In
+    private GrowthLod growthLod;
+    @In
+    private PlantRandom plantRandom;
+    @In
+    private CropFields cropFields;
+    @In
+    private ProduceLedger produceLedger;
+    @In
+    private LifecycleEvents lifecycleEvents;
+    @In
+    private PlantDefinitions plantDefinitions;
 
+    /**
+     * Used for the impulses of dropped items only, which do not affect how plants evolve.
+     */
     private FastRandom random = new FastRandom();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BushAuthoritySystem.class);
@@ -98,6 +132,7 @@ public class BushAuthoritySystem extends BaseComponentSystem {
     /**
      * Called immediately after a bush seed has been planted.
      * <p>
+     * Records the bush's prefab as the definition of its growth stages, so that they are saved as a reference to it.
      * Sets the bush's position and initial growth stage and starts the timer for its next growth event (according to
      * the {@link BushGrowthStage#minTime} and {@link BushGrowthStage#maxTime} values for this growth stage).  When the
      * timer expires, {@link #onBushGrowth(DelayedActionTriggeredEvent, EntityRef, BushDefinitionComponent,
@@ -110,9 +145,18 @@ public class BushAuthoritySystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onBushPlanted(OnSeedPlanted event, EntityRef bush, BushDefinitionComponent bushComponent) {
+        long start = System.nanoTime();
+        FarmingFlightRecorder.Recording recording = FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.PLANTING);
+        Prefab prefab = bush.getParentPrefab();
+        if (prefab != null && prefab.hasComponent(BushDefinitionComponent.class)
+                && bushComponent.growthStages instanceof BushGrowthStages) {
+            ((BushGrowthStages) bushComponent.growthStages).setDefinition(prefab.getName());
+        }
         bushComponent.currentStage = -1;
         doBushGrowth(event.getPosition(), bush, bushComponent, 1);
         bush.saveComponent(bushComponent);
+        metrics.record(FarmingMetrics.Timer.PLANTING, start);
+        FarmingFlightRecorder.commit(recording, bush, event.getPosition(), 1, 1);
     }
 
     /**
@@ -127,9 +171,125 @@ public class BushAuthoritySystem extends BaseComponentSystem {
     @ReceiveEvent
     public void onBushGrowth(DelayedActionTriggeredEvent event, EntityRef bush, BushDefinitionComponent bushComponent
             , BlockComponent blockComponent) {
+        if (!GrowthActions.isBushGrowth(event.getActionId()) || bushComponent.growthStages.isEmpty()) {
+            // stages whose prefab is missing keep their timer for when it is loaded again
+            return;
+        }
+        bushComponent.nextGrowthTime = 0;
+        if (growthLod.deferIfUnobserved(bush, blockComponent.getPosition())) {
+            bush.saveComponent(bushComponent);
+            return;
+        }
+        long start = System.nanoTime();
+        metrics.increment(FarmingMetrics.Counter.GROWTH_EVENTS);
         doBushGrowth(blockComponent.getPosition(new Vector3i()), bush, bushComponent, 1);
+        metrics.record(FarmingMetrics.Timer.BUSH_GROWTH, start);
     }
 
+    /**
+     * Called when a player comes near a bush or vine bud whose growth was deferred.
+     * <p>
+     * Grows the bush by all the stages it missed in one go, and continues the timer of the stage it is in.
+     *
+     * @param event the event holding the time the bush has been dormant
+     * @param bush the bush entity
+     * @param bushComponent the bush's definition
+     * @param blockComponent the bush's block
+     * @see GrowthLodSystem
+     */
+    @ReceiveEvent
+    public void onCatchUpGrowth(DoCatchUpGrowth event, EntityRef bush, BushDefinitionComponent bushComponent,
+                                BlockComponent blockComponent) {
+        int stage = bushComponent.currentStage;
+        if (isInLastStage(bushComponent)) {
+            return;
+        }
+        long start = System.nanoTime();
+        GrowthCatchUp catchUp = GrowthCatchUp.advance(event.getElapsed(), bushComponent.growthStages.size() - 1 - stage,
+                step -> sampleStageTime(blockComponent.getPosition(), bushComponent, stage + step));
+        metrics.add(FarmingMetrics.Counter.GROWTH_EVENTS, catchUp.steps);
+        doBushGrowth(blockComponent.getPosition(new Vector3i()), bush, bushComponent, catchUp.steps, catchUp.remaining);
+        metrics.record(FarmingMetrics.Timer.BUSH_GROWTH, start);
+    }
+
+    /**
+     * @return a random duration for the growth timer of the given stage, or {@link GrowthCatchUp#NO_TIMER}
+     */
+    private long sampleStageTime(Vector3ic position, BushDefinitionComponent bushComponent, int index) {
+        BushGrowthStage stage = plantDefinitions.stagesOf(bushComponent).stage(index);
+        if (stage.maxTime > 0 && stage.minTime > 0) {
+            return plantRandom.growthTime(position, bushComponent.randomOrdinals, stage.minTime, stage.maxTime);
+        }
+        return GrowthCatchUp.NO_TIMER;
+    }
+
+
+    /**
+     * Advances all the bushes and vine buds among the positions of a fast-forward.
+     * <p>
+     * The new stage of each bush in a chunk is worked out first, then the blocks of the chunk are written at once and
+     * each bush is completed as in {@link #doBushGrowth}.  Advanced by time, the time first runs down the bush's
+     * current growth timer: a bush whose timer does not expire within it only has the timer shortened, and one whose
+     * timer does grows with the rest of the time as it would when catching up (see {@link #onCatchUpGrowth}).
+     *
+     * @param event the fast-forward, which receives the number of bushes that grew
+     * @param entity the entity the event was sent to, not used
+     * @see GrowthFastForwardSystem
+     */
+    @ReceiveEvent
+    public void onFastForward(DoFastForwardGrowth event, EntityRef entity) {
+        long start = System.nanoTime();
+        long now = time.getGameTimeInMs();
+        for (List<Vector3ic> chunk : event.getChunks()) {
+            Map<Vector3ic, Block> blocks = new HashMap<>();
+            List<PendingGrowth> pending = new ArrayList<>();
+            for (Vector3ic position : chunk) {
+                EntityRef bush = blockEntityRegistry.getExistingEntityAt(position);
+                BushDefinitionComponent bushComponent = bush.getComponent(BushDefinitionComponent.class);
+                if (bushComponent == null || isInLastStage(bushComponent)) {
+                    continue;
+                }
+                int stage = bushComponent.currentStage;
+                int steps = bushComponent.growthStages.size() - 1 - stage;
+                long delay = GrowthCatchUp.NO_TIMER;
+                if (event.isByTime()) {
+                    long overdue = GrowthCatchUp.overdue(bush, bushComponent.nextGrowthTime, now, event.getElapsed());
+                    if (overdue < 0) {
+                        bushComponent.nextGrowthTime = growthScheduler.schedule(bush, GrowthActions.BUSH, -overdue);
+                        bush.saveComponent(bushComponent);
+                        event.addShortened(1);
+                        continue;
+                    }
+                    GrowthCatchUp catchUp = GrowthCatchUp.advance(overdue, steps,
+                            step -> sampleStageTime(position, bushComponent, stage + step));
+                    steps = catchUp.steps;
+                    delay = catchUp.remaining;
+                } else {
+                    steps = Math.min(steps, event.getStages());
+                }
+                FarmingFlightRecorder.Recording recording =
+                        FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.BUSH_STAGE);
+                sendBeforeGrowth(bush);
+                bushComponent.currentStage += steps;
+                blocks.put(position, plantDefinitions.stagesOf(bushComponent).block(stage + steps));
+                pending.add(new PendingGrowth(bush, bushComponent, position, steps, delay, recording));
+                metrics.add(FarmingMetrics.Counter.GROWTH_EVENTS, steps);
+            }
+            if (blocks.isEmpty()) {
+                continue;
+            }
+            worldProvider.setBlocks(blocks);
+            metrics.add(FarmingMetrics.Counter.BLOCK_WRITES, blocks.size());
+            for (PendingGrowth growth : pending) {
+                EntityRef newBush = finishBushGrowth(growth.position, growth.bush, growth.bushComponent,
+                        growth.bushComponent.currentStage - growth.steps, growth.delay);
+                FarmingFlightRecorder.commit(growth.recording, newBush, growth.position, growth.steps, 1);
+            }
+            // only bushes that grew are pending, not those whose timer was just shortened
+            event.addChanged(pending.size());
+        }
+        metrics.record(FarmingMetrics.Timer.BUSH_GROWTH, start);
+    }
 
     /**
      * Called when an item with the cheat component is used on a block
@@ -167,43 +327,100 @@ public class BushAuthoritySystem extends BaseComponentSystem {
      * @param stages the number of stages to grow; negative values represent un-growth
      */
     private void doBushGrowth(Vector3ic position, EntityRef bush, BushDefinitionComponent bushComponent, int stages) {
+        doBushGrowth(position, bush, bushComponent, stages, GrowthCatchUp.NO_TIMER);
+    }
+
+    /**
+     * Grows a bush or vine bud by the specified number of stages, continuing the growth timer with the given delay.
+     *
+     * @param delay the delay of the new growth timer in milliseconds, or {@link GrowthCatchUp#NO_TIMER} for a
+     *     random delay within the bounds of the new stage
+     */
+    private void doBushGrowth(Vector3ic position, EntityRef bush, BushDefinitionComponent bushComponent, int stages,
+                              long delay) {
         if (!isInLastStage(bushComponent)
                 // allow negative growth from the last stage
                 || stages < 0) {
-            bush.send(new AddGenomeRetention());
-            bushComponent.currentStage += stages;
-            Map.Entry<String, BushGrowthStage> stage = getGrowthStage(bushComponent, bushComponent.currentStage);
-            worldProvider.setBlock(position, blockManager.getBlock(stage.getKey()));
-            EntityRef newBush = blockEntityRegistry.getBlockEntityAt(position);
-            newBush.send(new AddGenomeRetention());
-            newBush.addOrSaveComponent(bushComponent);
+            sendBeforeGrowth(bush);
+            changeBushStage(position, bush, bushComponent, stages, delay);
+        }
+    }
 
-            if (stage.getValue().maxTime > 0 && stage.getValue().minTime > 0) {
-                resetDelay(newBush,
-                        stage.getValue().minTime,
-                        stage.getValue().maxTime);
-            }
+    /**
+     * Tells other systems that a bush or vine bud is about to grow, so that it keeps its genome when its block changes.
+     */
+    private void sendBeforeGrowth(EntityRef bush) {
+        bush.send(lifecycleEvents.isCompound() ? PlantLifecycle.grow() : new AddGenomeRetention());
+    }
 
-            bush.send(new TransferGenomeEvent(newBush));
-        }
+    /**
+     * Moves a bush or vine bud by the specified number of stages, once other systems have been told about it by
+     * {@link #sendBeforeGrowth} or by the {@link PlantLifecycle} event of a harvest.
+     *
+     * @param delay the delay of the new growth timer in milliseconds, or {@link GrowthCatchUp#NO_TIMER} for a
+     *     random delay within the bounds of the new stage
+     */
+    private void changeBushStage(Vector3ic position, EntityRef bush, BushDefinitionComponent bushComponent, int stages,
+                                 long delay) {
+        FarmingFlightRecorder.Recording recording = FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.BUSH_STAGE);
+        bushComponent.currentStage += stages;
+        worldProvider.setBlock(position, plantDefinitions.stagesOf(bushComponent).block(bushComponent.currentStage));
+        metrics.increment(FarmingMetrics.Counter.BLOCK_WRITES);
+        EntityRef newBush = finishBushGrowth(position, bush, bushComponent, bushComponent.currentStage - stages, delay);
+        FarmingFlightRecorder.commit(recording, newBush, position, Math.abs(stages), 1);
     }
 
     /**
-     * Safely get the growth stage from the given index
+     * Completes the growth of a bush or vine bud once the block of its new stage has been written: moves the bush's
+     * definition and genome to the new block entity, restarts the growth timer and updates the plant index.
+     * <p>
+     * With compound lifecycle events, the genome stays on the block entity, which is kept across the change, so the
+     * separate genome events are only sent if the block got a new entity.
      *
-     * @param bushComponent
-     * @param index
-     * @return
+     * @param bush the bush entity from before the block was written, which has been sent an
+     *     {@link AddGenomeRetention} or {@link PlantLifecycle} event
+     * @param bushComponent the definition of the bush, already in its new stage
+     * @param previousStage the stage the bush was in before its block was written
+     * @param delay the delay of the new growth timer in milliseconds, or {@link GrowthCatchUp#NO_TIMER} for a
+     *     random delay within the bounds of the new stage
+     * @return the new block entity of the bush
      */
-    public static Map.Entry<String, BushGrowthStage> getGrowthStage(BushDefinitionComponent bushComponent, int index) {
-        return (new ArrayList<>(bushComponent.growthStages.entrySet())).get(Math.min(bushComponent.growthStages.size() - 1, Math.max(0, index)));
+    private EntityRef finishBushGrowth(Vector3ic position, EntityRef bush, BushDefinitionComponent bushComponent,
+                                       int previousStage, long delay) {
+        BushGrowthStage stage = plantDefinitions.stagesOf(bushComponent).stage(bushComponent.currentStage);
+        EntityRef newBush = blockEntityRegistry.getBlockEntityAt(position);
+        boolean separateEvents = !lifecycleEvents.isCompound() || !newBush.equals(bush);
+        if (separateEvents) {
+            newBush.send(new AddGenomeRetention());
+        }
+        if (stage.maxTime > 0 && stage.minTime > 0) {
+            if (delay == GrowthCatchUp.NO_TIMER) {
+                delay = plantRandom.growthTime(position, bushComponent.randomOrdinals, stage.minTime, stage.maxTime);
+            }
+            bushComponent.nextGrowthTime = growthScheduler.schedule(newBush, GrowthActions.BUSH, delay);
+        } else {
+            growthScheduler.cancel(newBush);
+            bushComponent.nextGrowthTime = 0;
+        }
+        newBush.addOrSaveComponent(bushComponent);
+        if (newBush.hasComponent(DormantGrowthComponent.class)) {
+            newBush.removeComponent(DormantGrowthComponent.class);
+        }
+
+        if (separateEvents) {
+            bush.send(new TransferGenomeEvent(newBush));
+        }
+        plantIndex.update(position, bushComponent.parent == null ? PlantType.BUSH : PlantType.BUD, previousStage,
+                bushComponent.currentStage, bushComponent.growthStages.size() - 1);
+        return newBush;
     }
 
     /**
      * Called when an attempt to harvest the bush is made.
      * <p>
      * Drops produce as appropriate, and then resets or destroys the bush, as indicated by the bush's {@link
-     * BushDefinitionComponent#sustainable sustainable} value.
+     * BushDefinitionComponent#sustainable sustainable} value.  With compound lifecycle events, other systems are told
+     * about the whole harvest by a single {@link PlantLifecycle} event.
      *
      * @param event the activation event
      * @param entity the block entity
@@ -211,22 +428,210 @@ public class BushAuthoritySystem extends BaseComponentSystem {
     @ReceiveEvent
     public void onHarvest(ActivateEvent event, EntityRef entity, BushDefinitionComponent bushComponent,
                           BlockComponent blockComponent) {
-        entity.send(new AddGenomeRetention());
+        long start = System.nanoTime();
+        FarmingFlightRecorder.Recording recording = FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.HARVEST);
+        boolean compound = lifecycleEvents.isCompound();
+        if (!compound) {
+            entity.send(new AddGenomeRetention());
+        }
         EntityRef harvester = event.getInstigator();
         if (!event.isConsumed() && areValidHarvestEntities(entity, harvester)) {
             /* Produce is only given in the final stage */
             if (isInLastStage(bushComponent)) {
                 EntityRef produceItem = dropProduce(bushComponent.produce, event.getTargetLocation(), harvester,
                         entity);
-                entity.send(new ProduceCreated(entity, produceItem));
-                if (bushComponent.sustainable) {
+                if (compound) {
+                    entity.send(PlantLifecycle.harvest(produceItem, !bushComponent.sustainable));
+                } else {
+                    entity.send(new ProduceCreated(entity, produceItem));
+                }
+                metrics.increment(FarmingMetrics.Counter.PLANTS_HARVESTED);
+                long writes = metrics.get(FarmingMetrics.Counter.BLOCK_WRITES);
+                String prefab = recording == null ? null : FarmingFlightRecorder.prefabOf(entity);
+                if (bushComponent.sustainable && compound) {
+                    changeBushStage(blockComponent.getPosition(new Vector3i()), entity, bushComponent, -1,
+                            GrowthCatchUp.NO_TIMER);
+                } else if (bushComponent.sustainable) {
                     doBushGrowth(blockComponent.getPosition(new Vector3i()), entity, bushComponent, -1);
                 } else {
-                    entity.send(new DoDestroyPlant());
+                    if (compound) {
+                        destroyPlant(entity, bushComponent, blockComponent, false);
+                    } else {
+                        entity.send(new DoDestroyPlant());
+                    }
                     worldProvider.setBlock(blockComponent.getPosition(new Vector3i()), blockManager.getBlock(BlockManager.AIR_ID));
+                    metrics.increment(FarmingMetrics.Counter.BLOCK_WRITES);
+                    plantIndex.remove(blockComponent.getPosition());
                     entity.destroy();
+                    metrics.increment(FarmingMetrics.Counter.ENTITIES_DESTROYED);
                 }
                 event.consume();
+                metrics.record(FarmingMetrics.Timer.HARVEST, start);
+                FarmingFlightRecorder.commit(recording, prefab, blockComponent.getPosition(), 1,
+                        (int) (metrics.get(FarmingMetrics.Counter.BLOCK_WRITES) - writes));
+            }
+        }
+    }
+
+    /**
+     * Called when a machine harvests many bushes or vine buds into an inventory.
+     * <p>
+     * Every ripe plant at the requested positions is harvested as in {@link #onHarvest}, except that no player is
+     * involved: produce (and seeds, for non-sustainable plants) is gathered per prefab and genes and handed to the
+     * inventory as stacked items, one {@link InventoryManager#giveItem} call per stack, so every genome harvested is
+     * kept.  Crops of a {@link org.terasology.simpleFarming.components.CropFieldComponent crop
+     * field} are harvested in place, without becoming bushes.
+     *
+     * @param event the harvest request, which receives the summary of the harvest
+     * @param collector the entity whose inventory receives the items
+     * @param inventoryComponent the collector's inventory
+     */
+    @ReceiveEvent
+    public void onAutomatedHarvest(DoAutomatedHarvest event, EntityRef collector, InventoryComponent inventoryComponent) {
+        long start = System.nanoTime();
+        Map<String, HarvestStack> stacks = new HashMap<>();
+        for (Vector3ic position : event.getPositions()) {
+            EntityRef plant = blockEntityRegistry.getExistingBlockEntityAt(position);
+            BushDefinitionComponent bushComponent = plant.getComponent(BushDefinitionComponent.class);
+            if (bushComponent == null) {
+                harvestFieldCrop(event, stacks, position);
+                continue;
+            }
+            if (!isInLastStage(bushComponent)) {
+                continue;
+            }
+
+            FarmingFlightRecorder.Recording recording =
+                    FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.HARVEST);
+            boolean compound = lifecycleEvents.isCompound();
+            plant.send(compound ? PlantLifecycle.harvest(EntityRef.NULL, !bushComponent.sustainable)
+                    : new AddGenomeRetention());
+            addToStack(stacks, bushComponent.produce, 1, position, plant);
+            String seed = bushComponent.seed == null ? bushComponent.produce : bushComponent.seed;
+            int seedCount = 0;
+            long writes = metrics.get(FarmingMetrics.Counter.BLOCK_WRITES);
+            String prefab = recording == null ? null : FarmingFlightRecorder.prefabOf(plant);
+            if (bushComponent.sustainable && compound) {
+                changeBushStage(position, plant, bushComponent, -1, GrowthCatchUp.NO_TIMER);
+            } else if (bushComponent.sustainable) {
+                doBushGrowth(position, plant, bushComponent, -1);
+            } else {
+                seedCount = bushComponent.parent == null ? numSeeds(bushComponent, position, plantRandom) : 1;
+                addToStack(stacks, seed, seedCount, position, plant);
+                if (bushComponent.parent != null) {
+                    bushComponent.parent.send(new DoRemoveBud());
+                } else if (bushComponent.tree != null && bushComponent.tree.exists()) {
+                    bushComponent.tree.send(new DoRemoveLeaf(position));
+                }
+                plantIndex.remove(position);
+                worldProvider.setBlock(position, blockManager.getBlock(BlockManager.AIR_ID));
+                metrics.increment(FarmingMetrics.Counter.BLOCK_WRITES);
+                plant.destroy();
+                metrics.increment(FarmingMetrics.Counter.ENTITIES_DESTROYED);
+            }
+            event.addHarvested(bushComponent.produce, seed, seedCount);
+            metrics.increment(FarmingMetrics.Counter.PLANTS_HARVESTED);
+            metrics.increment(FarmingMetrics.Counter.PRODUCE_DROPPED);
+            metrics.add(FarmingMetrics.Counter.SEEDS_DROPPED, seedCount);
+            FarmingFlightRecorder.commit(recording, prefab, position, 1,
+                    (int) (metrics.get(FarmingMetrics.Counter.BLOCK_WRITES) - writes));
+        }
+
+        for (HarvestStack stack : stacks.values()) {
+            giveStack(collector, stack);
+        }
+        metrics.record(FarmingMetrics.Timer.HARVEST, start);
+    }
+
+    /**
+     * Harvests the field crop at the position, if it is ripe, into the stacks of an automated harvest.
+     * <p>
+     * Field crops have no genome, so they do not contribute one to the stacks.
+     *
+     * @param event the harvest request, which receives the summary of the harvest
+     * @param stacks the stacks gathered so far, by {@link ProduceGenes#stackKey stack key}
+     * @param position the position of the crop
+     */
+    private void harvestFieldCrop(DoAutomatedHarvest event, Map<String, HarvestStack> stacks, Vector3ic position) {
+        BushDefinitionComponent crop = cropFields.harvestInPlace(position);
+        if (crop == null) {
+            return;
+        }
+        addToStack(stacks, crop.produce, 1, position, EntityRef.NULL);
+        String seed = crop.seed == null ? crop.produce : crop.seed;
+        int seedCount = crop.sustainable ? 0 : numSeeds(crop, position, plantRandom);
+        addToStack(stacks, seed, seedCount, position, EntityRef.NULL);
+        event.addHarvested(crop.produce, seed, seedCount);
+        metrics.increment(FarmingMetrics.Counter.PLANTS_HARVESTED);
+        metrics.increment(FarmingMetrics.Counter.PRODUCE_DROPPED);
+        metrics.add(FarmingMetrics.Counter.SEEDS_DROPPED, seedCount);
+    }
+
+    /**
+     * Adds harvested items to the stack for their prefab and genes, creating the stack if this is the first such item.
+     * <p>
+     * A plant that has no genome yet gets one with the item created for it, as with a manual harvest, so its stack is
+     * only known once that item exists; the item is dropped again if a stack with the same genes is already there.
+     *
+     * @param stacks the stacks gathered so far, by {@link ProduceGenes#stackKey stack key}
+     * @param prefab the prefab of the harvested item
+     * @param count the number of items harvested
+     * @param position the position of the plant being harvested
+     * @param plant the plant being harvested; still alive, so that its genome can be passed on
+     */
+    private void addToStack(Map<String, HarvestStack> stacks, String prefab, int count, Vector3ic position,
+                            EntityRef plant) {
+        if (count <= 0) {
+            return;
+        }
+        HarvestStack stack = stacks.get(ProduceGenes.stackKey(prefab, plant));
+        if (stack == null) {
+            EntityRef item = entityManager.create(prefab);
+            metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+            plant.send(new ProduceCreated(plant, item));
+            String key = ProduceGenes.stackKey(prefab, item);
+            stack = stacks.get(key);
+            if (stack == null) {
+                stack = new HarvestStack(item, new Vector3f(position));
+                stacks.put(key, stack);
+            } else {
+                item.destroy();
+                metrics.increment(FarmingMetrics.Counter.ENTITIES_DESTROYED);
+            }
+        }
+        stack.count += count;
+    }
+
+    /**
+     * Gives a harvested stack to the collector, split into items no larger than the item's maximum stack size.
+     * <p>
+     * Anything that does not fit into the collector's inventory is dropped at the stack's position, or recorded in the
+     * {@link ProduceLedger} if it is enabled.
+     */
+    private void giveStack(EntityRef collector, HarvestStack stack) {
+        ItemComponent template = stack.item.getComponent(ItemComponent.class);
+        int maxStackSize = template == null ? 1 : Math.max(1, template.maxStackSize);
+        int remaining = stack.count;
+        while (remaining > 0) {
+            int size = Math.min(remaining, maxStackSize);
+            remaining -= size;
+            EntityRef item = stack.item;
+            if (remaining > 0) {
+                item = stack.item.copy();
+                metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+            }
+            ItemComponent itemComponent = item.getComponent(ItemComponent.class);
+            if (itemComponent != null) {
+                itemComponent.stackCount = (byte) size;
+                item.saveComponent(itemComponent);
+            }
+            if (!inventoryManager.giveItem(collector, EntityRef.NULL, item)) {
+                if (produceLedger.isEnabled()) {
+                    produceLedger.record(item, size, Blocks.toBlockPos(stack.position, new Vector3i()));
+                    continue;
+                }
+                item.send(new DropItemEvent(new Vector3f(stack.position).add(0, 0.5f, 0)));
+                item.send(new ImpulseEvent(random.nextVector3f(DROP_IMPULSE_AMOUNT, new Vector3f())));
             }
         }
     }
@@ -275,21 +680,37 @@ public class BushAuthoritySystem extends BaseComponentSystem {
     @ReceiveEvent
     public void onPlantDestroyed(DoDestroyPlant event, EntityRef entity, BushDefinitionComponent bushComponent,
                                  BlockComponent blockComponent) {
+        destroyPlant(entity, bushComponent, blockComponent, event.isParentDead);
+    }
+
+    /**
+     * Destroys a bush or bud, as requested by a {@link DoDestroyPlant} event or by a harvest.
+     *
+     * @param isParentDead whether the parent vine of a bud no longer exists
+     */
+    private void destroyPlant(EntityRef entity, BushDefinitionComponent bushComponent, BlockComponent blockComponent,
+                              boolean isParentDead) {
+        long start = System.nanoTime();
+        plantIndex.remove(blockComponent.getPosition());
         if (bushComponent.parent == null) {
             onBushDestroyed(blockComponent.getPosition(new Vector3i()), entity, bushComponent);
         } else {
-            onBudDestroyed(blockComponent.getPosition(new Vector3i()), entity, bushComponent, event.isParentDead);
+            onBudDestroyed(blockComponent.getPosition(new Vector3i()), entity, bushComponent, isParentDead);
         }
+        metrics.record(FarmingMetrics.Timer.DESTRUCTION, start);
     }
 
     /**
-     * Handles dropping the correct seeds when a bush (not a vine bud) is destroyed.
+     * Handles dropping the correct seeds and notifying the tree of a leaf when a bush (not a vine bud) is destroyed.
      *
      * @param bushComponent the bush component of the entity
      */
     private void onBushDestroyed(Vector3ic position, EntityRef bush, BushDefinitionComponent bushComponent) {
+        if (bushComponent.tree != null && bushComponent.tree.exists()) {
+            bushComponent.tree.send(new DoRemoveLeaf(position));
+        }
         if (bushComponent.currentStage == bushComponent.growthStages.size() - 1) {
-            dropSeeds(numSeeds(bushComponent),
+            dropSeeds(numSeeds(bushComponent, position, plantRandom),
                     bushComponent.seed == null ? bushComponent.produce : bushComponent.seed,
                     new Vector3f(position), bush);
         }
@@ -307,6 +728,7 @@ public class BushAuthoritySystem extends BaseComponentSystem {
             bushComponent.parent.send(new DoRemoveBud());
         }
         worldProvider.setBlock(position, blockManager.getBlock(BlockManager.AIR_ID));
+        metrics.increment(FarmingMetrics.Counter.BLOCK_WRITES);
         dropSeeds(1,
                 bushComponent.seed == null ? bushComponent.produce : bushComponent.seed,
                 new Vector3f(position), bud);
@@ -324,6 +746,8 @@ public class BushAuthoritySystem extends BaseComponentSystem {
                            EntityRef parent) {
         for (int i = 0; i < numSeeds; i++) {
             EntityRef seedItem = entityManager.create(seed);
+            metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+            metrics.increment(FarmingMetrics.Counter.SEEDS_DROPPED);
             seedItem.send(new DropItemEvent(position.add(0, 0.5f, 0, new Vector3f())));
             seedItem.send(new ImpulseEvent(random.nextVector3f(DROP_IMPULSE_AMOUNT, new org.joml.Vector3f())));
             seedItem.send(new ProduceCreated(parent, seedItem));
@@ -335,15 +759,17 @@ public class BushAuthoritySystem extends BaseComponentSystem {
      *
      * @param bushComponent The bush definition whose {@link BushDefinitionComponent#seedDropChances} will be
      *         used
+     * @param position The position of the bush
+     * @param plantRandom The source of the bush's randomness
      * @return A randomly generated number of seeds to drop
      */
-    private int numSeeds(BushDefinitionComponent bushComponent) {
+    static int numSeeds(BushDefinitionComponent bushComponent, Vector3ic position, PlantRandom plantRandom) {
         int sum = 0;
         for (int weight : bushComponent.seedDropChances) {
             sum += weight;
         }
 
-        int rand = random.nextInt(sum);
+        int rand = plantRandom.nextInt(position, bushComponent.randomOrdinals, PlantRandom.Purpose.SEEDS, sum);
 
         for (int i = 0; i < bushComponent.seedDropChances.size(); i++) {
             int weight = bushComponent.seedDropChances.get(i);
@@ -365,6 +791,8 @@ public class BushAuthoritySystem extends BaseComponentSystem {
      */
     private EntityRef dropProduce(String produce, Vector3fc position, EntityRef harvester, EntityRef target) {
         EntityRef produceItem = entityManager.create(produce);
+        metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+        metrics.increment(FarmingMetrics.Counter.PRODUCE_DROPPED);
         boolean giveSuccess = inventoryManager.giveItem(harvester, target, produceItem);
         if (!giveSuccess) {
             produceItem.send(new DropItemEvent(new Vector3f(position).add(0, 0.5f, 0)));
@@ -384,14 +812,46 @@ public class BushAuthoritySystem extends BaseComponentSystem {
     }
 
     /**
-     * Starts a new growth timer with random duration, subject to the given bounds.
-     *
-     * @param entity the entity to set the timer on
-     * @param min the minimum duration in milliseconds
-     * @param max the maximum duration in milliseconds
+     * A bush whose new block is waiting to be written.
+     */
+    private static final class PendingGrowth {
+        private final EntityRef bush;
+        private final BushDefinitionComponent bushComponent;
+        private final Vector3ic position;
+        private final int steps;
+        private final long delay;
+        private final FarmingFlightRecorder.Recording recording;
+
+        private PendingGrowth(EntityRef bush, BushDefinitionComponent bushComponent, Vector3ic position, int steps,
+                              long delay, FarmingFlightRecorder.Recording recording) {
+            this.bush = bush;
+            this.bushComponent = bushComponent;
+            this.position = position;
+            this.steps = steps;
+            this.delay = delay;
+            this.recording = recording;
+        }
+    }
+
+    /**
+     * Items of one prefab gathered during an automated harvest.
      */
-    private void resetDelay(EntityRef entity, int min, int max) {
-        delayManager.addDelayedAction(entity, "SimpleFarming:" + entity.getId(),
-                PlantAuthoritySystem.generateRandom(min, max));
+    private static final class HarvestStack {
+        /**
+         * The first item created for this prefab and genes; its genome is shared by the whole stack.
+         */
+        private final EntityRef item;
+
+        /**
+         * Where to drop the items that do not fit into the collector's inventory.
+         */
+        private final Vector3f position;
+
+        private int count;
+
+        private HarvestStack(EntityRef item, Vector3f position) {
+            this.item = item;
+            this.position = position;
+        }
     }
 }
@@ -0,0 +1,71 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.simpleFarming.components.BushGrowthStage;
+
+import java.util.Map;
+
+/**
+ * The growth stages of a bush or vine bud, compiled into arrays indexed by stage.
+ * <p>
+ * Indices out of range are clamped to the first or last stage, as bushes are allowed to be "un-grown" below their
+ * first stage by the cheat item.
+ */
+final class BushStages {
+    private final Block[] blocks;
+    private final BushGrowthStage[] stages;
+
+    private BushStages(Block[] blocks, BushGrowthStage[] stages) {
+        this.blocks = blocks;
+        this.stages = stages;
+    }
+
+    /**
+     * Compiles the given stages, resolving the block of each.
+     *
+     * @param growthStages the stages of a bush, keyed by the name of their block
+     */
+    static BushStages of(Map<String, BushGrowthStage> growthStages, BlockManager blockManager) {
+        Block[] blocks = new Block[growthStages.size()];
+        BushGrowthStage[] stages = new BushGrowthStage[growthStages.size()];
+        int i = 0;
+        for (Map.Entry<String, BushGrowthStage> entry : growthStages.entrySet()) {
+            blocks[i] = blockManager.getBlock(entry.getKey());
+            stages[i] = entry.getValue();
+            i++;
+        }
+        return new BushStages(blocks, stages);
+    }
+
+    int size() {
+        return stages.length;
+    }
+
+    /**
+     * @return the block of the stage at the given index, clamped to the existing stages
+     */
+    Block block(int index) {
+        return blocks[clamp(index)];
+    }
+
+    /**
+     * @return the stage at the given index, clamped to the existing stages; it is shared and must not be modified
+     */
+    BushGrowthStage stage(int index) {
+        return stages[clamp(index)];
+    }
+
+    /**
+     * @return the blocks of all stages, in order; the array is shared and must not be modified
+     */
+    Block[] blocks() {
+        return blocks;
+    }
+
+    private int clamp(int index) {
+        return Math.min(stages.length - 1, Math.max(0, index));
+    }
+}
@@ -0,0 +1,155 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import java.util.Arrays;
+
+/**
+ * The plants of a single chunk, stored in parallel primitive arrays.
+ * <p>
+ * Positions are stored as indices local to the chunk.  Entries are packed at the front of the arrays, removal swapping
+ * the last entry into the freed slot, so they can be iterated by slot.  Cells are found through an open-addressed
+ * table of slots with linear probing, kept at most half full, so indexing a whole chunk on activation stays linear in
+ * the number of plants.
+ *
+ * @see PlantIndexSystem
+ */
+final class ChunkPlants {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] cells = new int[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private short[] stages = new short[INITIAL_CAPACITY];
+    private short[] lastStages = new short[INITIAL_CAPACITY];
+    /**
+     * The slot of each stored cell plus one, at or after the position its cell hashes to; 0 marks a free position.
+     */
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the slot of the given cell, or -1 if it is not stored
+     */
+    int indexOf(int cell) {
+        return table[probe(cell)] - 1;
+    }
+
+    /**
+     * Adds or updates the entry for the given cell.
+     *
+     * @return the stage stored for the cell before this call, or -1 if it was not stored
+     */
+    int put(int cell, PlantType type, int stage, int lastStage) {
+        int position = probe(cell);
+        int i = table[position] - 1;
+        int previous = -1;
+        if (i < 0) {
+            if (size == cells.length) {
+                grow();
+                position = probe(cell);
+            }
+            i = size++;
+            cells[i] = cell;
+            table[position] = i + 1;
+        } else {
+            previous = stages[i];
+        }
+        types[i] = (byte) type.ordinal();
+        stages[i] = (short) stage;
+        lastStages[i] = (short) lastStage;
+        return previous;
+    }
+
+    /**
+     * @return the slot the cell was removed from, or -1 if it was not stored
+     */
+    int remove(int cell) {
+        int position = probe(cell);
+        int i = table[position] - 1;
+        if (i < 0) {
+            return -1;
+        }
+        delete(position);
+        size--;
+        if (i != size) {
+            // the last entry still holds its cell, so it is found to be pointed at its new slot
+            table[probe(cells[size])] = i + 1;
+            cells[i] = cells[size];
+            types[i] = types[size];
+            stages[i] = stages[size];
+            lastStages[i] = lastStages[size];
+        }
+        return i;
+    }
+
+    int cell(int i) {
+        return cells[i];
+    }
+
+    PlantType type(int i) {
+        return PlantType.byOrdinal(types[i]);
+    }
+
+    int stage(int i) {
+        return stages[i];
+    }
+
+    int lastStage(int i) {
+        return lastStages[i];
+    }
+
+    /**
+     * @return the position of the given cell in the table, or the free position it would be stored at
+     */
+    private int probe(int cell) {
+        int mask = table.length - 1;
+        int position = hash(cell) & mask;
+        while (table[position] != 0 && cells[table[position] - 1] != cell) {
+            position = (position + 1) & mask;
+        }
+        return position;
+    }
+
+    /**
+     * Frees a position of the table, moving back the entries probed past it so that none is cut off from its hash.
+     */
+    private void delete(int position) {
+        int mask = table.length - 1;
+        int gap = position;
+        int next = position;
+        while (true) {
+            next = (next + 1) & mask;
+            if (table[next] == 0) {
+                break;
+            }
+            int home = hash(cells[table[next] - 1]) & mask;
+            // the entry may fill the gap unless its home lies after the gap, up to the entry
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                table[gap] = table[next];
+                gap = next;
+            }
+        }
+        table[gap] = 0;
+    }
+
+    private static int hash(int cell) {
+        int h = cell * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void grow() {
+        int capacity = cells.length * 2;
+        cells = Arrays.copyOf(cells, capacity);
+        types = Arrays.copyOf(types, capacity);
+        stages = Arrays.copyOf(stages, capacity);
+        lastStages = Arrays.copyOf(lastStages, capacity);
+        table = new int[capacity * 2];
+        for (int i = 0; i < size; i++) {
+            table[probe(cells[i])] = i + 1;
+        }
+    }
+}
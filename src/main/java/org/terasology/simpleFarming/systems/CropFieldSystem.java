@@ -0,0 +1,674 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.engine.entitySystem.event.EventPriority;
+import org.terasology.engine.entitySystem.event.Priority;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.prefab.PrefabManager;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.logic.common.ActivateEvent;
+import org.terasology.engine.logic.delay.DelayedActionTriggeredEvent;
+import org.terasology.engine.logic.inventory.ItemComponent;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+import org.terasology.engine.utilities.random.Random;
+import org.terasology.engine.world.BlockEntityRegistry;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockComponent;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.entity.CreateBlockDropsEvent;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.module.inventory.systems.InventoryManager;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.BushGrowthStage;
+import org.terasology.simpleFarming.components.BushGrowthStages;
+import org.terasology.simpleFarming.components.CropFieldComponent;
+import org.terasology.simpleFarming.components.SeedDefinitionComponent;
+import org.terasology.simpleFarming.events.DoCatchUpGrowth;
+import org.terasology.simpleFarming.events.DoDestroyPlant;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
+import org.terasology.simpleFarming.events.DoPlantCropField;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * System managing {@link CropFieldComponent crop fields}.
+ * <p>
+ * A field has a single growth timer, kept by the {@link GrowthScheduler} like those of bushes, so it is throttled
+ * with them and deferred while no player is near (see {@link GrowthLod}).  Each time it fires, the next {@link #BATCH_SIZE} cells are visited, and the
+ * timer is set so that every cell is visited once per {@linkplain #visitPeriod visit period}.  On a visit, a cell
+ * advances one stage with a probability of the visit period over the mean duration of its stage, so that fields grow
+ * at the same average rate as individual bushes.  Stage changes of a batch are written with a single
+ * {@link WorldProvider#setBlocks} call.
+ * <p>
+ * Cells stay in the {@link PlantIndex} as bushes, so they can be found by automated harvesters, which harvest them in
+ * place (see {@link CropFields#harvestInPlace}).  Anything else that interacts with a cell promotes it to an ordinary
+ * bush first.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share(CropFields.class)
+public class CropFieldSystem extends BaseComponentSystem implements CropFields {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CropFieldSystem.class);
+
+    /**
+     * The number of cells visited each time the growth timer of a field fires.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * The shortest delay between two firings of the growth timer of a field, in milliseconds.
+     */
+    private static final long MIN_TIMER_DELAY = 50;
+
+    /**
+     * The most visits per cell applied when a dormant field catches up.
+     */
+    private static final int MAX_CATCH_UP_VISITS = 64;
+
+    /**
+     * The most cells a field may span, including cells that end up empty.
+     */
+    static final int MAX_FIELD_CELLS = 4096;
+
+    /**
+     * Mask for one chunk coordinate in a chunk key.
+     */
+    private static final long KEY_MASK = (1L << 21) - 1;
+
+    @In
+    private WorldProvider worldProvider;
+    @In
+    private BlockManager blockManager;
+    @In
+    private BlockEntityRegistry blockEntityRegistry;
+    @In
+    private EntityManager entityManager;
+    @In
+    private PrefabManager prefabManager;
+    @In
+    private GrowthScheduler growthScheduler;
+    @In
+    private InventoryManager inventoryManager;
+    @In
+    private PlantIndex plantIndex;
+    @In
+    private FarmingMetrics metrics;
+    @In
+    private GrowthLod growthLod;
+    @In
+    private PlantRandom plantRandom;
+    @In
+    private PlantDefinitions plantDefinitions;
+
+    /**
+     * The loaded fields by the chunks they overlap, so that looking up the field of a position only searches the few
+     * fields in its chunk.
+     */
+    private final Map<Long, List<EntityRef>> fields = new HashMap<>();
+
+    private Block airBlock;
+
+    @Override
+    public void postBegin() {
+        super.postBegin();
+        airBlock = blockManager.getBlock(BlockManager.AIR_ID);
+    }
+
+    @Override
+    public void shutdown() {
+        fields.clear();
+    }
+
+    /**
+     * Called to plant a rectangle of bush seeds as one field.
+     * <p>
+     * Seeds without a bush definition, or whose bush has more stages than fit into a byte, are not planted, and neither
+     * are rectangles of more than {@link #MAX_FIELD_CELLS} cells.  Rows after the last one the stack reaches are left
+     * out of the field.
+     *
+     * @param event the planting request
+     * @param seed the seed stack
+     * @param seedComponent the seed's definition
+     * @param itemComponent the seed's item component, holding the stack size
+     */
+    @ReceiveEvent
+    public void onPlantCropField(DoPlantCropField event, EntityRef seed, SeedDefinitionComponent seedComponent,
+                                 ItemComponent itemComponent) {
+        long start = System.nanoTime();
+        FarmingFlightRecorder.Recording recording = FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.PLANTING);
+        String plant = seedComponent.prefab;
+        if (plant == null && seed.getParentPrefab() != null) {
+            plant = seed.getParentPrefab().getName();
+        }
+        BushDefinitionComponent definition = definition(plant);
+        if (definition == null || definition.growthStages.isEmpty() || definition.growthStages.size() > Byte.MAX_VALUE) {
+            LOGGER.warn("{} cannot be planted as a crop field", plant);
+            return;
+        }
+
+        int available = itemComponent.stackCount;
+        long cells = ((long) event.getMaxX() - event.getMinX() + 1) * ((long) event.getMaxZ() - event.getMinZ() + 1);
+        if (cells > MAX_FIELD_CELLS) {
+            LOGGER.warn("Crop field of {} cells is larger than the maximum of {}", cells, MAX_FIELD_CELLS);
+            return;
+        }
+        if (available <= 0) {
+            return;
+        }
+
+        int y = event.getY();
+        int sizeX = event.getMaxX() - event.getMinX() + 1;
+        int sizeZ = event.getMaxZ() - event.getMinZ() + 1;
+        RegionSnapshot snapshot = RegionSnapshot.read(worldProvider, event.getMinX(), y - 1, event.getMinZ(),
+                event.getMaxX(), y, event.getMaxZ());
+        byte[] stages = new byte[sizeX * sizeZ];
+        Arrays.fill(stages, CropFieldComponent.EMPTY);
+        Block firstStage = plantDefinitions.bushStages(plant)[0];
+        Map<Vector3ic, Block> blocks = new HashMap<>();
+        int lastCell = -1;
+        for (int cell = 0; cell < stages.length && blocks.size() < available; cell++) {
+            Vector3i position = new Vector3i(event.getMinX() + cell % sizeX, y, event.getMinZ() + cell / sizeX);
+            Block below = snapshot.get(position.x, y - 1, position.z);
+            if (snapshot.get(position) == airBlock && below != null && !below.isPenetrable()) {
+                stages[cell] = 0;
+                blocks.put(position, firstStage);
+                lastCell = cell;
+            }
+        }
+        if (blocks.isEmpty()) {
+            return;
+        }
+        if (lastCell / sizeX < sizeZ - 1) {
+            sizeZ = lastCell / sizeX + 1;
+            stages = Arrays.copyOf(stages, sizeX * sizeZ);
+        }
+
+        worldProvider.setBlocks(blocks);
+        metrics.add(FarmingMetrics.Counter.BLOCK_WRITES, blocks.size());
+        metrics.add(FarmingMetrics.Counter.PLANTS_PLANTED, blocks.size());
+        CropFieldComponent fieldComponent = new CropFieldComponent(plant,
+                new Vector3i(event.getMinX(), y, event.getMinZ()), sizeX, sizeZ, stages);
+        EntityRef field = entityManager.create(fieldComponent);
+        metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+        scheduleGrowth(field, fieldComponent, timerDelay(definition, stages.length));
+        inventoryManager.removeItem(seed.getOwner(), seed, seed, true, blocks.size());
+        event.setPlanted(field, blocks.size());
+        metrics.record(FarmingMetrics.Timer.PLANTING, start);
+        FarmingFlightRecorder.commit(recording, field, center(fieldComponent), 1, blocks.size());
+    }
+
+    /**
+     * Called when the growth timer of a field fires.
+     * <p>
+     * Visits the next batch of cells and restarts the timer.
+     *
+     * @param event the event indicating the timer has ended
+     * @param field the field entity
+     * @param fieldComponent the field
+     */
+    @ReceiveEvent
+    public void onFieldGrowth(DelayedActionTriggeredEvent event, EntityRef field, CropFieldComponent fieldComponent) {
+        if (!GrowthActions.FIELD.equals(event.getActionId())
+                || growthLod.deferIfUnobserved(field, center(fieldComponent))) {
+            return;
+        }
+        BushDefinitionComponent definition = definition(fieldComponent.plant);
+        if (definition == null) {
+            LOGGER.warn("Crop field of unknown plant {} stopped growing", fieldComponent.plant);
+            return;
+        }
+        long start = System.nanoTime();
+        metrics.increment(FarmingMetrics.Counter.GROWTH_EVENTS);
+        int end = Math.min(fieldComponent.stages.length, fieldComponent.cursor + BATCH_SIZE);
+        visit(fieldComponent, definition, fieldComponent.cursor, end, 1);
+        fieldComponent.cursor = end == fieldComponent.stages.length ? 0 : end;
+        scheduleGrowth(field, fieldComponent, timerDelay(definition, fieldComponent.stages.length));
+        metrics.record(FarmingMetrics.Timer.BUSH_GROWTH, start);
+    }
+
+    /**
+     * Called when a player comes near a field whose growth was deferred.
+     * <p>
+     * Visits every cell as many times as it would have been visited while the field was dormant, up to
+     * {@link #MAX_CATCH_UP_VISITS}, and restarts the growth timer.
+     *
+     * @param event the event holding the time the field has been dormant
+     * @param field the field entity
+     * @param fieldComponent the field
+     * @see GrowthLodSystem
+     */
+    @ReceiveEvent
+    public void onCatchUpGrowth(DoCatchUpGrowth event, EntityRef field, CropFieldComponent fieldComponent) {
+        BushDefinitionComponent definition = definition(fieldComponent.plant);
+        if (definition == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        long visits = 1 + event.getElapsed() / visitPeriod(definition, fieldComponent.stages.length);
+        metrics.add(FarmingMetrics.Counter.GROWTH_EVENTS, visits);
+        visit(fieldComponent, definition, 0, fieldComponent.stages.length, (int) Math.min(MAX_CATCH_UP_VISITS, visits));
+        scheduleGrowth(field, fieldComponent, timerDelay(definition, fieldComponent.stages.length));
+        metrics.record(FarmingMetrics.Timer.BUSH_GROWTH, start);
+    }
+
+    /**
+     * Advances all the field crops among the positions of a fast-forward, writing the blocks of each chunk at once.
+     * <p>
+     * Advanced by time, a crop is visited as many times as its field's timer would have fired in that time (see
+     * {@link #onCatchUpGrowth}).  Where the field's timer is in its period is not known, so a part of a period left
+     * over counts as a visit with a chance in proportion to it.  The growth timers of the fields are left alone.
+     *
+     * @param event the fast-forward, which receives the number of crops that grew
+     * @param entity the entity the event was sent to, not used
+     * @see GrowthFastForwardSystem
+     */
+    @ReceiveEvent
+    public void onFastForward(DoFastForwardGrowth event, EntityRef entity) {
+        if (fields.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Set<EntityRef> changedFields = new HashSet<>();
+        for (List<Vector3ic> chunk : event.getChunks()) {
+            Map<Vector3ic, Block> changes = new HashMap<>();
+            for (Vector3ic position : chunk) {
+                EntityRef field = getField(position);
+                if (!field.exists()) {
+                    continue;
+                }
+                CropFieldComponent fieldComponent = field.getComponent(CropFieldComponent.class);
+                BushDefinitionComponent definition = definition(fieldComponent.plant);
+                if (definition == null) {
+                    continue;
+                }
+                Block[] blocks = plantDefinitions.bushStages(fieldComponent.plant);
+                int lastStage = blocks.length - 1;
+                int cell = fieldComponent.cellAt(position.x(), position.y(), position.z());
+                int stage = fieldComponent.stages[cell];
+                if (stage == lastStage || worldProvider.getBlock(position) != blocks[stage]) {
+                    continue;
+                }
+                int newStage;
+                if (event.isByTime()) {
+                    double[] chances = advanceChances(definition, fieldComponent.stages.length);
+                    long period = visitPeriod(definition, fieldComponent.stages.length);
+                    Random random = plantRandom.next(position, fieldComponent.randomOrdinals,
+                            PlantRandom.Purpose.GROWTH_TIME);
+                    // the draw is counted on the field, which is saved even if the cell does not grow
+                    changedFields.add(field);
+                    long visits = event.getElapsed() / period;
+                    if (random.nextDouble() * period < event.getElapsed() % period) {
+                        visits++;
+                    }
+                    newStage = stage;
+                    for (long visit = 0; visit < Math.min(MAX_CATCH_UP_VISITS, visits) && newStage < lastStage;
+                         visit++) {
+                        if (random.nextDouble() < chances[newStage]) {
+                            newStage++;
+                        }
+                    }
+                } else {
+                    newStage = Math.min(lastStage, stage + event.getStages());
+                }
+                if (newStage != stage) {
+                    fieldComponent.stages[cell] = (byte) newStage;
+                    changes.put(position, blocks[newStage]);
+                    plantIndex.put(position, PlantType.BUSH, newStage, lastStage);
+                    changedFields.add(field);
+                    metrics.add(FarmingMetrics.Counter.GROWTH_EVENTS, newStage - stage);
+                }
+            }
+            if (!changes.isEmpty()) {
+                worldProvider.setBlocks(changes);
+                metrics.add(FarmingMetrics.Counter.BLOCK_WRITES, changes.size());
+                event.addChanged(changes.size());
+            }
+        }
+        for (EntityRef field : changedFields) {
+            field.saveComponent(field.getComponent(CropFieldComponent.class));
+        }
+        metrics.record(FarmingMetrics.Timer.BUSH_GROWTH, start);
+    }
+
+    /**
+     * Visits a range of cells, advancing each by a random number of stages, and writes the changed blocks.
+     * <p>
+     * Cells whose block was replaced by something else since their last visit are removed from the field.  Cells in
+     * chunks that are not loaded are left alone.
+     *
+     * @param from the first cell to visit
+     * @param to the cell after the last one to visit
+     * @param visits the number of times each cell is visited
+     */
+    private void visit(CropFieldComponent fieldComponent, BushDefinitionComponent definition, int from, int to,
+                       int visits) {
+        Block[] blocks = plantDefinitions.bushStages(fieldComponent.plant);
+        double[] chances = advanceChances(definition, fieldComponent.stages.length);
+        int lastStage = blocks.length - 1;
+        int sizeX = fieldComponent.sizeX;
+        Vector3i min = fieldComponent.min;
+        RegionSnapshot snapshot = RegionSnapshot.read(worldProvider, min.x, min.y, min.z + from / sizeX,
+                min.x + sizeX - 1, min.y, min.z + (to - 1) / sizeX);
+        Random random = plantRandom.next(min, fieldComponent.randomOrdinals, PlantRandom.Purpose.GROWTH_TIME);
+
+        Map<Vector3ic, Block> changes = new HashMap<>();
+        for (int cell = from; cell < to; cell++) {
+            int stage = fieldComponent.stages[cell];
+            if (stage == CropFieldComponent.EMPTY) {
+                continue;
+            }
+            Vector3i position = fieldComponent.position(cell, new Vector3i());
+            Block current = snapshot.get(position);
+            if (current == null) {
+                continue;
+            }
+            if (current != blocks[stage]) {
+                fieldComponent.stages[cell] = CropFieldComponent.EMPTY;
+                plantIndex.remove(position);
+                continue;
+            }
+            int newStage = stage;
+            for (int visit = 0; visit < visits && newStage < lastStage; visit++) {
+                if (random.nextDouble() < chances[newStage]) {
+                    newStage++;
+                }
+            }
+            if (newStage != stage) {
+                fieldComponent.stages[cell] = (byte) newStage;
+                changes.put(position, blocks[newStage]);
+                plantIndex.put(position, PlantType.BUSH, newStage, lastStage);
+            }
+        }
+        if (!changes.isEmpty()) {
+            worldProvider.setBlocks(changes);
+            metrics.add(FarmingMetrics.Counter.BLOCK_WRITES, changes.size());
+        }
+    }
+
+    /**
+     * Promotes a field crop to a bush before a player harvests it.
+     * <p>
+     * The event is passed on to the new bush, so that {@link BushAuthoritySystem} handles the harvest as usual.
+     *
+     * @param event the activation event
+     * @param target the block being activated
+     * @param blockComponent the block
+     */
+    @Priority(EventPriority.PRIORITY_HIGH)
+    @ReceiveEvent
+    public void onActivateCrop(ActivateEvent event, EntityRef target, BlockComponent blockComponent) {
+        if (event.isConsumed() || target.hasComponent(BushDefinitionComponent.class)) {
+            return;
+        }
+        EntityRef bush = promote(blockComponent.getPosition());
+        if (bush.exists()) {
+            bush.send(event);
+        }
+    }
+
+    /**
+     * Promotes a field crop to a bush when its block is broken, and destroys it as a bush, dropping its seeds.
+     *
+     * @param event the block destruction event
+     * @param target the block being destroyed
+     * @param blockComponent the block
+     */
+    @Priority(EventPriority.PRIORITY_HIGH)
+    @ReceiveEvent
+    public void onCropDestroyed(CreateBlockDropsEvent event, EntityRef target, BlockComponent blockComponent) {
+        if (event.isConsumed() || target.hasComponent(BushDefinitionComponent.class)) {
+            return;
+        }
+        EntityRef bush = promote(blockComponent.getPosition());
+        if (bush.exists()) {
+            bush.send(new DoDestroyPlant());
+            event.consume();
+        }
+    }
+
+    @Override
+    public EntityRef getField(Vector3ic position) {
+        List<EntityRef> chunkFields = fields.get(chunkKey(position.x(), position.y(), position.z()));
+        if (chunkFields == null) {
+            return EntityRef.NULL;
+        }
+        for (EntityRef field : chunkFields) {
+            CropFieldComponent fieldComponent = field.getComponent(CropFieldComponent.class);
+            int cell = fieldComponent.cellAt(position.x(), position.y(), position.z());
+            if (cell >= 0 && fieldComponent.stages[cell] != CropFieldComponent.EMPTY) {
+                return field;
+            }
+        }
+        return EntityRef.NULL;
+    }
+
+    @Override
+    public EntityRef promote(Vector3ic position) {
+        EntityRef field = getField(position);
+        if (!field.exists()) {
+            return EntityRef.NULL;
+        }
+        CropFieldComponent fieldComponent = field.getComponent(CropFieldComponent.class);
+        BushDefinitionComponent definition = definition(fieldComponent.plant);
+        if (definition == null) {
+            return EntityRef.NULL;
+        }
+        int cell = fieldComponent.cellAt(position.x(), position.y(), position.z());
+        BushDefinitionComponent bushComponent = new BushDefinitionComponent();
+        bushComponent.copyFrom(definition);
+        bushComponent.currentStage = fieldComponent.stages[cell];
+        ((BushGrowthStages) bushComponent.growthStages).setDefinition(fieldComponent.plant);
+
+        EntityRef bush = blockEntityRegistry.getBlockEntityAt(position);
+        BushGrowthStage stage = plantDefinitions.stagesOf(bushComponent).stage(bushComponent.currentStage);
+        if (stage.maxTime > 0 && stage.minTime > 0) {
+            bushComponent.nextGrowthTime = growthScheduler.schedule(bush, GrowthActions.BUSH,
+                    plantRandom.growthTime(position, bushComponent.randomOrdinals, stage.minTime, stage.maxTime));
+        }
+        bush.addOrSaveComponent(bushComponent);
+        removeCell(field, fieldComponent, cell);
+        return bush;
+    }
+
+    @Override
+    public BushDefinitionComponent harvestInPlace(Vector3ic position) {
+        EntityRef field = getField(position);
+        if (!field.exists()) {
+            return null;
+        }
+        CropFieldComponent fieldComponent = field.getComponent(CropFieldComponent.class);
+        BushDefinitionComponent definition = definition(fieldComponent.plant);
+        int cell = fieldComponent.cellAt(position.x(), position.y(), position.z());
+        int lastStage = definition == null ? -1 : definition.growthStages.size() - 1;
+        if (fieldComponent.stages[cell] != lastStage) {
+            return null;
+        }
+
+        if (definition.sustainable) {
+            int stage = Math.max(0, lastStage - 1);
+            fieldComponent.stages[cell] = (byte) stage;
+            worldProvider.setBlock(position, plantDefinitions.bushStages(fieldComponent.plant)[stage]);
+            plantIndex.put(position, PlantType.BUSH, stage, lastStage);
+            field.saveComponent(fieldComponent);
+        } else {
+            worldProvider.setBlock(position, airBlock);
+            plantIndex.remove(position);
+            removeCell(field, fieldComponent, cell);
+        }
+        metrics.increment(FarmingMetrics.Counter.BLOCK_WRITES);
+        return definition;
+    }
+
+    /**
+     * Indexes the crops of a field as it is loaded.
+     */
+    @ReceiveEvent
+    public void onFieldActivated(OnActivatedComponent event, EntityRef field, CropFieldComponent fieldComponent) {
+        for (long key : chunkKeys(fieldComponent)) {
+            fields.computeIfAbsent(key, k -> new ArrayList<>()).add(field);
+        }
+        BushDefinitionComponent definition = definition(fieldComponent.plant);
+        if (definition == null) {
+            return;
+        }
+        int lastStage = definition.growthStages.size() - 1;
+        Vector3i position = new Vector3i();
+        for (int cell = 0; cell < fieldComponent.stages.length; cell++) {
+            if (fieldComponent.stages[cell] != CropFieldComponent.EMPTY) {
+                plantIndex.put(fieldComponent.position(cell, position), PlantType.BUSH, fieldComponent.stages[cell],
+                        lastStage);
+            }
+        }
+    }
+
+    @ReceiveEvent
+    public void onFieldDeactivated(BeforeDeactivateComponent event, EntityRef field, CropFieldComponent fieldComponent) {
+        for (long key : chunkKeys(fieldComponent)) {
+            List<EntityRef> chunkFields = fields.get(key);
+            if (chunkFields != null) {
+                chunkFields.remove(field);
+                if (chunkFields.isEmpty()) {
+                    fields.remove(key);
+                }
+            }
+        }
+        Vector3i position = new Vector3i();
+        for (int cell = 0; cell < fieldComponent.stages.length; cell++) {
+            if (fieldComponent.stages[cell] != CropFieldComponent.EMPTY) {
+                plantIndex.unload(fieldComponent.position(cell, position));
+            }
+        }
+    }
+
+    /**
+     * @return the keys of the chunks the field overlaps
+     */
+    private static List<Long> chunkKeys(CropFieldComponent fieldComponent) {
+        Vector3i min = fieldComponent.min;
+        int chunkY = Math.floorDiv(min.y, Chunks.SIZE_Y);
+        List<Long> keys = new ArrayList<>();
+        for (int chunkZ = Math.floorDiv(min.z, Chunks.SIZE_Z);
+             chunkZ <= Math.floorDiv(min.z + fieldComponent.sizeZ - 1, Chunks.SIZE_Z); chunkZ++) {
+            for (int chunkX = Math.floorDiv(min.x, Chunks.SIZE_X);
+                 chunkX <= Math.floorDiv(min.x + fieldComponent.sizeX - 1, Chunks.SIZE_X); chunkX++) {
+                keys.add(packKey(chunkX, chunkY, chunkZ));
+            }
+        }
+        return keys;
+    }
+
+    private static long chunkKey(int x, int y, int z) {
+        return packKey(Math.floorDiv(x, Chunks.SIZE_X), Math.floorDiv(y, Chunks.SIZE_Y), Math.floorDiv(z, Chunks.SIZE_Z));
+    }
+
+    private static long packKey(int chunkX, int chunkY, int chunkZ) {
+        return ((chunkX & KEY_MASK) << 42) | ((chunkY & KEY_MASK) << 21) | (chunkZ & KEY_MASK);
+    }
+
+    /**
+     * Removes a cell from its field, destroying the field once it has no crops left.
+     */
+    private void removeCell(EntityRef field, CropFieldComponent fieldComponent, int cell) {
+        fieldComponent.stages[cell] = CropFieldComponent.EMPTY;
+        for (byte stage : fieldComponent.stages) {
+            if (stage != CropFieldComponent.EMPTY) {
+                field.saveComponent(fieldComponent);
+                return;
+            }
+        }
+        growthScheduler.cancel(field);
+        field.destroy();
+        metrics.increment(FarmingMetrics.Counter.ENTITIES_DESTROYED);
+    }
+
+    /**
+     * Schedules the next firing of the growth timer of a field and saves its due time on the field.
+     *
+     * @param delay the delay in milliseconds
+     */
+    private void scheduleGrowth(EntityRef field, CropFieldComponent fieldComponent, long delay) {
+        fieldComponent.nextGrowthTime = growthScheduler.schedule(field, GrowthActions.FIELD, delay);
+        field.saveComponent(fieldComponent);
+    }
+
+    /**
+     * The time between two visits of the same cell: about the mean duration of the shortest stage, so that a cell
+     * rarely misses a stage it would have reached between two visits.
+     *
+     * @param cells the number of cells in the field
+     * @return the visit period in milliseconds
+     */
+    private long visitPeriod(BushDefinitionComponent definition, int cells) {
+        return timerDelay(definition, cells) * batches(cells);
+    }
+
+    /**
+     * @return the delay between two firings of the growth timer, in milliseconds
+     */
+    private long timerDelay(BushDefinitionComponent definition, int cells) {
+        long shortest = Long.MAX_VALUE;
+        for (BushGrowthStage stage : definition.growthStages.values()) {
+            if (stage.maxTime > 0 && stage.minTime > 0) {
+                shortest = Math.min(shortest, (stage.minTime + stage.maxTime) / 2);
+            }
+        }
+        if (shortest == Long.MAX_VALUE) {
+            shortest = MIN_TIMER_DELAY;
+        }
+        return Math.max(MIN_TIMER_DELAY, shortest / batches(cells));
+    }
+
+    /**
+     * @return for each stage, the probability of advancing to the next one on a visit
+     */
+    private double[] advanceChances(BushDefinitionComponent definition, int cells) {
+        long period = visitPeriod(definition, cells);
+        double[] chances = new double[definition.growthStages.size()];
+        int i = 0;
+        for (BushGrowthStage stage : definition.growthStages.values()) {
+            if (stage.maxTime > 0 && stage.minTime > 0) {
+                chances[i] = Math.min(1, period / ((stage.minTime + stage.maxTime) / 2.0));
+            }
+            i++;
+        }
+        return chances;
+    }
+
+    private static int batches(int cells) {
+        return Math.max(1, (cells + BATCH_SIZE - 1) / BATCH_SIZE);
+    }
+
+    private static Vector3i center(CropFieldComponent fieldComponent) {
+        return new Vector3i(fieldComponent.min).add(fieldComponent.sizeX / 2, 0, fieldComponent.sizeZ / 2);
+    }
+
+    /**
+     * @return the bush definition on the prefab, or null if there is none
+     */
+    private BushDefinitionComponent definition(String plant) {
+        if (plant == null) {
+            return null;
+        }
+        Prefab prefab = prefabManager.getPrefab(plant);
+        return prefab == null ? null : prefab.getComponent(BushDefinitionComponent.class);
+    }
+}
@@ -0,0 +1,36 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3ic;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.CropFieldComponent;
+
+/**
+ * Access to the crops of {@link CropFieldComponent crop fields} for the other plant authorities.
+ */
+public interface CropFields {
+
+    /**
+     * @return the field with a crop at the position, or {@link EntityRef#NULL}
+     */
+    EntityRef getField(Vector3ic position);
+
+    /**
+     * Turns the crop at the position into an ordinary bush, with its own {@link BushDefinitionComponent} and growth
+     * timer, and removes it from its field.
+     *
+     * @return the block entity of the new bush, or {@link EntityRef#NULL} if there is no field crop at the position
+     */
+    EntityRef promote(Vector3ic position);
+
+    /**
+     * Harvests the crop at the position if it is ripe, leaving it in its field: a sustainable crop goes back one
+     * stage, any other crop is removed.  No items are created.
+     *
+     * @return the definition of the harvested crop, which must not be modified, or null if there is no ripe field
+     *     crop at the position
+     */
+    BushDefinitionComponent harvestInPlace(Vector3ic position);
+}
@@ -0,0 +1,79 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of compiled definitions, evicting the least recently used one when full.
+ * <p>
+ * Each compiled definition is stored with the object it was compiled from.  A lookup only hits if it is given that
+ * same object, so a definition compiled from a component that has since been replaced, e.g. by reloading its prefab,
+ * is compiled again.  Compiled definitions are held through soft references, so the garbage collector may drop them
+ * under memory pressure; they are then compiled again as well.
+ *
+ * @param <V> the type of compiled definitions
+ */
+final class DefinitionCache<V> {
+    private final Map<String, Entry<V>> entries;
+    private final FarmingMetrics metrics;
+
+    /**
+     * @param capacity the number of definitions above which the least recently used one is evicted
+     * @param metrics receives the hits and misses of the cache
+     */
+    DefinitionCache(int capacity, FarmingMetrics metrics) {
+        this.metrics = metrics;
+        this.entries = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets a compiled definition, compiling it if it is not cached or was compiled from another source.
+     *
+     * @param key the URN of the definition
+     * @param source the object the definition is compiled from, compared by identity
+     * @param compiler compiles the definition from the source
+     * @return the compiled definition
+     */
+    V get(String key, Object source, Supplier<V> compiler) {
+        Entry<V> entry = entries.get(key);
+        V value = entry != null && entry.source == source ? entry.value.get() : null;
+        if (value != null) {
+            metrics.increment(FarmingMetrics.Counter.DEFINITION_CACHE_HITS);
+            return value;
+        }
+        metrics.increment(FarmingMetrics.Counter.DEFINITION_CACHE_MISSES);
+        value = compiler.get();
+        entries.put(key, new Entry<>(source, value));
+        return value;
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of entries, including those whose definition has been dropped by the garbage collector
+     */
+    int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<V> {
+        private final Object source;
+        private final SoftReference<V> value;
+
+        private Entry(Object source, V value) {
+            this.source = source;
+            this.value = new SoftReference<>(value);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.BushGrowthStages;
+import org.terasology.simpleFarming.components.CropFieldComponent;
+import org.terasology.simpleFarming.components.RootComponent;
+import org.terasology.simpleFarming.components.SaplingDefinitionComponent;
+import org.terasology.simpleFarming.components.TreeGrowthStages;
+
+/**
+ * Reports the work of the plant authorities to the Java Flight Recorder, so that a recording shows which plants take
+ * up tick time.
+ * <p>
+ * Each {@link Kind} is a separate event type, disabled by default.  A piece of work is recorded by calling
+ * {@link #begin} where it starts and {@link #commit} where it ends.  Where {@code jdk.jfr} is missing or may not be
+ * used by modules, this facade finds out once, when it is first used, and does nothing from then on.  While an event
+ * type is disabled, beginning it costs a check of that type and nothing is allocated or looked up.
+ *
+ * @see FlightRecorderEvents
+ */
+final class FarmingFlightRecorder {
+
+    /**
+     * The kinds of work recorded.
+     */
+    enum Kind {
+        BUSH_STAGE,
+        VINE_GROWTH,
+        TREE_GENERATE,
+        TREE_DESTROY,
+        PLANTING,
+        HARVEST,
+        GENOME
+    }
+
+    /**
+     * A piece of work being recorded.
+     */
+    interface Recording {
+        /**
+         * Ends the work and records it.
+         *
+         * @see FarmingFlightRecorder#commit
+         */
+        void commit(String prefab, Vector3ic position, int stages, int blocks);
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FarmingFlightRecorder.class);
+
+    private static final boolean AVAILABLE = probe();
+
+    private FarmingFlightRecorder() {
+    }
+
+    /**
+     * Starts recording a piece of work if its kind is enabled in the running recording.
+     *
+     * @param kind the kind of work
+     * @return the recording to pass to {@link #commit} when the work is done, or null if the kind is not recorded
+     */
+    static Recording begin(Kind kind) {
+        return AVAILABLE ? FlightRecorderEvents.begin(kind) : null;
+    }
+
+    /**
+     * Records a piece of work that was begun with {@link #begin}.
+     *
+     * @param recording the recording returned by {@link #begin}, possibly null
+     * @param plant the entity of the plant, used to find the prefab defining it
+     * @param position the position of the plant, or null if it has none
+     * @param stages the number of growth stages touched
+     * @param blocks the number of blocks written
+     */
+    static void commit(Recording recording, EntityRef plant, Vector3ic position, int stages, int blocks) {
+        if (recording != null) {
+            recording.commit(prefabOf(plant), position, stages, blocks);
+        }
+    }
+
+    /**
+     * Records a piece of work that destroyed its plant, whose prefab was looked up with {@link #prefabOf} beforehand.
+     *
+     * @see #commit(Recording, EntityRef, Vector3ic, int, int)
+     */
+    static void commit(Recording recording, String prefab, Vector3ic position, int stages, int blocks) {
+        if (recording != null) {
+            recording.commit(prefab, position, stages, blocks);
+        }
+    }
+
+    /**
+     * @return the name of the prefab defining the plant, or null if it is not known
+     */
+    static String prefabOf(EntityRef plant) {
+        BushDefinitionComponent bushComponent = plant.getComponent(BushDefinitionComponent.class);
+        if (bushComponent != null && bushComponent.growthStages instanceof BushGrowthStages
+                && ((BushGrowthStages) bushComponent.growthStages).getDefinition() != null) {
+            return ((BushGrowthStages) bushComponent.growthStages).getDefinition();
+        }
+        RootComponent rootComponent = plant.getComponent(RootComponent.class);
+        if (rootComponent != null && rootComponent.growthStages instanceof TreeGrowthStages
+                && ((TreeGrowthStages) rootComponent.growthStages).getDefinition() != null) {
+            return ((TreeGrowthStages) rootComponent.growthStages).getDefinition();
+        }
+        SaplingDefinitionComponent saplingComponent = plant.getComponent(SaplingDefinitionComponent.class);
+        if (saplingComponent != null && saplingComponent.growthStages instanceof TreeGrowthStages
+                && ((TreeGrowthStages) saplingComponent.growthStages).getDefinition() != null) {
+            return ((TreeGrowthStages) saplingComponent.growthStages).getDefinition();
+        }
+        CropFieldComponent fieldComponent = plant.getComponent(CropFieldComponent.class);
+        if (fieldComponent != null) {
+            return fieldComponent.plant;
+        }
+        Prefab prefab = plant.getParentPrefab();
+        return prefab == null ? null : prefab.getName();
+    }
+
+    private static boolean probe() {
+        try {
+            return FlightRecorderEvents.probe();
+        } catch (LinkageError | SecurityException e) {
+            LOGGER.debug("The flight recorder cannot be used, SimpleFarming will not report to it", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+/**
+ * Counters and handler latency histograms for the work done by SimpleFarming.
+ * <p>
+ * Recording is a couple of array updates, so the metrics are always on.  Use the {@code farmingMetrics} console
+ * command to inspect them.
+ *
+ * @see FarmingMetricsSystem
+ */
+public interface FarmingMetrics {
+
+    /**
+     * Things counted by SimpleFarming.
+     */
+    enum Counter {
+        GROWTH_EVENTS,
+        GROWTH_DEFERRED,
+        GROWTH_CAUGHT_UP,
+        BLOCK_WRITES,
+        ENTITIES_CREATED,
+        ENTITIES_DESTROYED,
+        PRODUCE_DROPPED,
+        PRODUCE_RECORDED,
+        PRODUCE_COLLECTED,
+        SEEDS_DROPPED,
+        PLANTS_PLANTED,
+        PLANTS_HARVESTED,
+        GENOMES_ASSIGNED,
+        DEFINITION_CACHE_HITS,
+        DEFINITION_CACHE_MISSES
+    }
+
+    /**
+     * Handlers whose wall time is measured.
+     * <p>
+     * Times are exclusive: while a timed handler runs inside another, such as the growth step of a harvested bush, its
+     * time is only counted under its own timer and not again under the enclosing one.
+     */
+    enum Timer {
+        BUSH_GROWTH,
+        VINE_GROWTH,
+        TREE_GROWTH,
+        PLANTING,
+        HARVEST,
+        DESTRUCTION,
+        GENOME,
+        FERTILIZER
+    }
+
+    /**
+     * Current values reported by SimpleFarming.
+     */
+    enum Gauge {
+        /**
+         * The share of the per-tick dispatch cap in use, in percent; below 100 while growth takes longer than its budget.
+         */
+        GROWTH_THROTTLE,
+        /**
+         * The number of plants waiting in the growth queue.
+         */
+        GROWTH_QUEUED
+    }
+
+    /**
+     * Adds one to the given counter.
+     */
+    void increment(Counter counter);
+
+    /**
+     * Adds the given amount to the given counter.
+     */
+    void add(Counter counter, long amount);
+
+    /**
+     * Records the time elapsed since {@code startNanos}, as obtained from {@link System#nanoTime()}.
+     */
+    void record(Timer timer, long startNanos);
+
+    /**
+     * Sets the given gauge.
+     */
+    void set(Gauge gauge, long value);
+
+    /**
+     * @return the current value of the given counter
+     */
+    long get(Counter counter);
+
+    /**
+     * @return the last value the given gauge was set to
+     */
+    long get(Gauge gauge);
+}
@@ -0,0 +1,221 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.logic.console.commandSystem.annotations.Command;
+import org.terasology.engine.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.engine.logic.permission.PermissionManager;
+import org.terasology.engine.registry.Share;
+
+import java.util.Arrays;
+
+/**
+ * Collects the {@link FarmingMetrics} of the authority, reports them on the console and logs a summary periodically.
+ * <p>
+ * Latencies are kept in histograms with power-of-two microsecond buckets, so percentiles are reported as the upper
+ * bound of the bucket they fall into.  The time of timers recorded within another one is subtracted from it, so that
+ * nested handlers are not counted twice.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share(FarmingMetrics.class)
+public class FarmingMetricsSystem extends BaseComponentSystem implements FarmingMetrics, UpdateSubscriberSystem {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FarmingMetricsSystem.class);
+
+    /**
+     * Number of histogram buckets.  The last bucket holds everything above ~4 seconds.
+     */
+    private static final int BUCKETS = 24;
+
+    private static final float DEFAULT_LOG_INTERVAL = 300f;
+
+    /**
+     * Number of finished timings kept for subtracting from an enclosing timing.
+     */
+    private static final int MAX_UNCLAIMED = 64;
+
+    private final long[] counters = new long[Counter.values().length];
+    private final long[] gauges = new long[Gauge.values().length];
+    private final long[][] histograms = new long[Timer.values().length][BUCKETS];
+    private final long[] totalNanos = new long[Timer.values().length];
+    private final long[] maxNanos = new long[Timer.values().length];
+
+    /**
+     * Start times and total durations of finished timings that may still lie within an enclosing timing, oldest first.
+     */
+    private final long[] unclaimedStarts = new long[MAX_UNCLAIMED];
+    private final long[] unclaimedNanos = new long[MAX_UNCLAIMED];
+    private int unclaimed;
+
+    /**
+     * Seconds between two log summaries; zero disables logging.
+     */
+    private float logInterval = DEFAULT_LOG_INTERVAL;
+    private float sinceLastLog;
+    private long growthEventsAtLastLog;
+
+    @Override
+    public void increment(Counter counter) {
+        counters[counter.ordinal()]++;
+    }
+
+    @Override
+    public void add(Counter counter, long amount) {
+        counters[counter.ordinal()] += amount;
+    }
+
+    @Override
+    public void record(Timer timer, long startNanos) {
+        long total = System.nanoTime() - startNanos;
+        long nanos = total;
+        // timings started since this one began finished inside it
+        while (unclaimed > 0 && unclaimedStarts[unclaimed - 1] >= startNanos) {
+            unclaimed--;
+            nanos -= unclaimedNanos[unclaimed];
+        }
+        if (unclaimed == MAX_UNCLAIMED) {
+            System.arraycopy(unclaimedStarts, 1, unclaimedStarts, 0, MAX_UNCLAIMED - 1);
+            System.arraycopy(unclaimedNanos, 1, unclaimedNanos, 0, MAX_UNCLAIMED - 1);
+            unclaimed--;
+        }
+        unclaimedStarts[unclaimed] = startNanos;
+        unclaimedNanos[unclaimed] = total;
+        unclaimed++;
+
+        nanos = Math.max(0, nanos);
+        int i = timer.ordinal();
+        histograms[i][bucket(nanos)]++;
+        totalNanos[i] += nanos;
+        if (nanos > maxNanos[i]) {
+            maxNanos[i] = nanos;
+        }
+    }
+
+    @Override
+    public void set(Gauge gauge, long value) {
+        gauges[gauge.ordinal()] = value;
+    }
+
+    @Override
+    public long get(Counter counter) {
+        return counters[counter.ordinal()];
+    }
+
+    @Override
+    public long get(Gauge gauge) {
+        return gauges[gauge.ordinal()];
+    }
+
+    @Override
+    public void update(float delta) {
+        // no handler is running between two ticks
+        unclaimed = 0;
+        if (logInterval <= 0) {
+            return;
+        }
+        sinceLastLog += delta;
+        if (sinceLastLog >= logInterval) {
+            sinceLastLog = 0;
+            long growthEvents = get(Counter.GROWTH_EVENTS);
+            if (growthEvents != growthEventsAtLastLog) {
+                growthEventsAtLastLog = growthEvents;
+                LOGGER.info("SimpleFarming metrics:\n{}", summary());
+            }
+        }
+    }
+
+    @Command(shortDescription = "Shows SimpleFarming counters and handler latencies",
+            runOnServer = true, requiredPermission = PermissionManager.NO_PERMISSION)
+    public String farmingMetrics() {
+        return summary();
+    }
+
+    @Command(shortDescription = "Resets the SimpleFarming metrics",
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String farmingMetricsReset() {
+        Arrays.fill(counters, 0);
+        for (long[] histogram : histograms) {
+            Arrays.fill(histogram, 0);
+        }
+        Arrays.fill(totalNanos, 0);
+        Arrays.fill(maxNanos, 0);
+        unclaimed = 0;
+        growthEventsAtLastLog = 0;
+        return "SimpleFarming metrics reset";
+    }
+
+    @Command(shortDescription = "Sets the seconds between SimpleFarming metric log summaries (0 disables them)",
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String farmingMetricsLogInterval(@CommandParam("seconds") float seconds) {
+        logInterval = Math.max(0, seconds);
+        sinceLastLog = 0;
+        return logInterval == 0 ? "SimpleFarming metric logging disabled"
+                : "SimpleFarming metrics will be logged every " + logInterval + " seconds";
+    }
+
+    /**
+     * @return a human-readable report of all metrics
+     */
+    public String summary() {
+        StringBuilder builder = new StringBuilder();
+        for (Counter counter : Counter.values()) {
+            builder.append(String.format("%-20s %12d%n", counter, counters[counter.ordinal()]));
+        }
+        for (Gauge gauge : Gauge.values()) {
+            builder.append(String.format("%-20s %12d%n", gauge, gauges[gauge.ordinal()]));
+        }
+        builder.append(String.format("%-20s %8s %10s %10s %10s %10s%n", "handler", "calls", "mean us", "p50 us", "p99 us", "max us"));
+        for (Timer timer : Timer.values()) {
+            int i = timer.ordinal();
+            long calls = 0;
+            for (long count : histograms[i]) {
+                calls += count;
+            }
+            if (calls == 0) {
+                continue;
+            }
+            builder.append(String.format("%-20s %8d %10d %10d %10d %10d%n", timer, calls, totalNanos[i] / calls / 1000,
+                    percentile(histograms[i], calls, 0.5), percentile(histograms[i], calls, 0.99), maxNanos[i] / 1000));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return the number of timings recorded for the given timer
+     */
+    long calls(Timer timer) {
+        return Arrays.stream(histograms[timer.ordinal()]).sum();
+    }
+
+    /**
+     * @return the total exclusive time recorded for the given timer, in nanoseconds
+     */
+    long totalNanos(Timer timer) {
+        return totalNanos[timer.ordinal()];
+    }
+
+    /**
+     * @return the upper bound, in microseconds, of the bucket containing the given percentile
+     */
+    private static long percentile(long[] histogram, long calls, double fraction) {
+        long threshold = (long) Math.ceil(calls * fraction);
+        long seen = 0;
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            seen += histogram[bucket];
+            if (seen >= threshold) {
+                return 1L << bucket;
+            }
+        }
+        return 1L << (histogram.length - 1);
+    }
+
+    private static int bucket(long nanos) {
+        long micros = nanos / 1000;
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+}
@@ -0,0 +1,102 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3fc;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.logic.common.ActivateEvent;
+import org.terasology.engine.logic.inventory.ItemComponent;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.world.block.BlockComponent;
+import org.terasology.engine.world.block.Blocks;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.module.inventory.systems.InventoryManager;
+import org.terasology.simpleFarming.components.FertilizerComponent;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * System applying fertilizer items to the plants around their target.
+ * <p>
+ * The plants are found through the {@link PlantIndex}, so only the chunks around the target are looked at, and are
+ * advanced by a single {@link DoFastForwardGrowth} event, which writes the blocks of each chunk in one go.  Advanced
+ * by time, only the plants whose growth timer runs out within that time grow; the others have their timer shortened
+ * by it in the {@link GrowthScheduler}.
+ * <p>
+ * The item is only used up if it advanced at least one plant.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+public class FertilizerSystem extends BaseComponentSystem {
+
+    @In
+    private InventoryManager inventoryManager;
+    @In
+    private PlantIndex plantIndex;
+    @In
+    private FarmingMetrics metrics;
+
+    /**
+     * Called when a fertilizer item is used on a block.
+     * <p>
+     * Advances every plant within the fertilizer's {@link FertilizerComponent#radius} of the target, as configured by
+     * the fertilizer, and uses up one fertilizer if any plant grew or had its timer shortened.
+     *
+     * @param event the activation event
+     * @param item the fertilizer item
+     * @param fertilizerComponent the fertilizer's definition
+     * @param itemComponent the item component of the fertilizer
+     */
+    @ReceiveEvent
+    public void onFertilize(ActivateEvent event, EntityRef item, FertilizerComponent fertilizerComponent,
+                            ItemComponent itemComponent) {
+        Vector3i center = targetPosition(event);
+        if (center == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        int radius = Math.max(0, fertilizerComponent.radius);
+        Vector3i min = new Vector3i(center).sub(radius, radius, radius);
+        Vector3i max = new Vector3i(center).add(radius, radius, radius);
+        Map<Vector3i, List<Vector3ic>> chunks = new LinkedHashMap<>();
+        plantIndex.forEachInBox(min, max, (x, y, z, type, stage, lastStage) -> {
+            Vector3i position = new Vector3i(x, y, z);
+            chunks.computeIfAbsent(Chunks.toChunkPos(position, new Vector3i()), key -> new ArrayList<>())
+                    .add(position);
+        });
+        if (!chunks.isEmpty()) {
+            DoFastForwardGrowth growth = item.send(fertilizerComponent.stages > 0
+                    ? DoFastForwardGrowth.byStages(chunks.values(), fertilizerComponent.stages)
+                    : DoFastForwardGrowth.byTime(chunks.values(), fertilizerComponent.time));
+            if (growth.getChanged() + growth.getShortened() > 0) {
+                inventoryManager.removeItem(item.getOwner(), item, item, true, 1);
+                event.consume();
+            }
+        }
+        metrics.record(FarmingMetrics.Timer.FERTILIZER, start);
+    }
+
+    /**
+     * @return the position of the block the item was used on, or null if it was not used on anything
+     */
+    private static Vector3i targetPosition(ActivateEvent event) {
+        BlockComponent blockComponent = event.getTarget().getComponent(BlockComponent.class);
+        if (blockComponent != null) {
+            return new Vector3i(blockComponent.getPosition());
+        }
+        Vector3fc location = event.getTargetLocation();
+        if (location == null || !location.isFinite()) {
+            return null;
+        }
+        return Blocks.toBlockPos(location, new Vector3i());
+    }
+}
@@ -0,0 +1,186 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.joml.Vector3ic;
+
+/**
+ * The Java Flight Recorder events of SimpleFarming.
+ * <p>
+ * This is the only class referring to {@code jdk.jfr}, and it is only loaded through {@link FarmingFlightRecorder},
+ * which stops using it if it cannot be loaded.  All the events are disabled by default; enable them in the recording
+ * settings, e.g. {@code SimpleFarming.BushStage#enabled=true}.
+ * <p>
+ * The duration of an event is the time from {@link #begin} to {@link FarmingEvent#commit}, as measured by the flight
+ * recorder itself.
+ */
+final class FlightRecorderEvents {
+
+    /**
+     * The type of each {@link FarmingFlightRecorder.Kind}, looked up once; whether a type is enabled follows the
+     * running recordings.
+     */
+    private static EventType[] types;
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Loads all the event classes and looks up their types, so that any linkage problem shows up here rather than on a
+     * hot path.
+     *
+     * @return whether the flight recorder can be used at all
+     */
+    static boolean probe() {
+        FarmingFlightRecorder.Kind[] kinds = FarmingFlightRecorder.Kind.values();
+        EventType[] eventTypes = new EventType[kinds.length];
+        for (FarmingFlightRecorder.Kind kind : kinds) {
+            eventTypes[kind.ordinal()] = EventType.getEventType(eventClass(kind));
+        }
+        types = eventTypes;
+        return jdk.jfr.FlightRecorder.isAvailable();
+    }
+
+    /**
+     * Begins an event of the given kind if that kind is enabled in a running recording.
+     *
+     * @return the begun event, or null if the kind is disabled, in which case nothing is allocated
+     */
+    static FarmingFlightRecorder.Recording begin(FarmingFlightRecorder.Kind kind) {
+        if (!types[kind.ordinal()].isEnabled()) {
+            return null;
+        }
+        FarmingEvent event = create(kind);
+        event.begin();
+        return event;
+    }
+
+    private static Class<? extends FarmingEvent> eventClass(FarmingFlightRecorder.Kind kind) {
+        switch (kind) {
+            case BUSH_STAGE:
+                return BushStage.class;
+            case VINE_GROWTH:
+                return VineGrowth.class;
+            case TREE_GENERATE:
+                return TreeGenerate.class;
+            case TREE_DESTROY:
+                return TreeDestroy.class;
+            case PLANTING:
+                return Planting.class;
+            case HARVEST:
+                return Harvest.class;
+            case GENOME:
+                return Genome.class;
+            default:
+                throw new IllegalArgumentException("Unknown event kind " + kind);
+        }
+    }
+
+    private static FarmingEvent create(FarmingFlightRecorder.Kind kind) {
+        switch (kind) {
+            case BUSH_STAGE:
+                return new BushStage();
+            case VINE_GROWTH:
+                return new VineGrowth();
+            case TREE_GENERATE:
+                return new TreeGenerate();
+            case TREE_DESTROY:
+                return new TreeDestroy();
+            case PLANTING:
+                return new Planting();
+            case HARVEST:
+                return new Harvest();
+            case GENOME:
+                return new Genome();
+            default:
+                throw new IllegalArgumentException("Unknown event kind " + kind);
+        }
+    }
+
+    @Category("SimpleFarming")
+    @StackTrace(false)
+    abstract static class FarmingEvent extends Event implements FarmingFlightRecorder.Recording {
+        @Label("Plant")
+        @Description("The prefab defining the plant")
+        String prefab;
+
+        @Label("X")
+        int x;
+
+        @Label("Y")
+        int y;
+
+        @Label("Z")
+        int z;
+
+        @Label("Stages")
+        @Description("The number of growth stages touched")
+        int stages;
+
+        @Label("Blocks Written")
+        int blocks;
+
+        @Override
+        public void commit(String prefab, Vector3ic position, int stages, int blocks) {
+            this.prefab = prefab;
+            if (position != null) {
+                this.x = position.x();
+                this.y = position.y();
+                this.z = position.z();
+            }
+            this.stages = stages;
+            this.blocks = blocks;
+            commit();
+        }
+    }
+
+    @Name("SimpleFarming.BushStage")
+    @Label("Bush Stage Change")
+    @Enabled(false)
+    static final class BushStage extends FarmingEvent {
+    }
+
+    @Name("SimpleFarming.VineGrowth")
+    @Label("Vine Growth Step")
+    @Enabled(false)
+    static final class VineGrowth extends FarmingEvent {
+    }
+
+    @Name("SimpleFarming.TreeGenerate")
+    @Label("Tree Generation")
+    @Enabled(false)
+    static final class TreeGenerate extends FarmingEvent {
+    }
+
+    @Name("SimpleFarming.TreeDestroy")
+    @Label("Tree Destruction")
+    @Enabled(false)
+    static final class TreeDestroy extends FarmingEvent {
+    }
+
+    @Name("SimpleFarming.Planting")
+    @Label("Planting")
+    @Enabled(false)
+    static final class Planting extends FarmingEvent {
+    }
+
+    @Name("SimpleFarming.Harvest")
+    @Label("Harvest")
+    @Enabled(false)
+    static final class Harvest extends FarmingEvent {
+    }
+
+    @Name("SimpleFarming.Genome")
+    @Label("Genome Assignment")
+    @Enabled(false)
+    static final class Genome extends FarmingEvent {
+    }
+}
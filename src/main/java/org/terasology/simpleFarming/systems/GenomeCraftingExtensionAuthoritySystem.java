@@ -24,6 +24,8 @@ public class GenomeCraftingExtensionAuthoritySystem extends BaseComponentSystem
 
     @In
     private GenomeRegistry genomeRegistry;
+    @In
+    private FarmingMetrics metrics;
 
     /**
      * Adds genes to the crafted entity if breeding is possible.
@@ -41,10 +43,15 @@ public class GenomeCraftingExtensionAuthoritySystem extends BaseComponentSystem
             return;
         }
 
+        long start = System.nanoTime();
+        FarmingFlightRecorder.Recording recording = FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.GENOME);
         SimpleGenomeManager genomeManager = new SimpleGenomeManager();
         boolean result = genomeManager.applyBreeding(ingredients[0], ingredients[1], entity);
         if (entity.hasComponent(GenomeComponent.class)) {
+            metrics.increment(FarmingMetrics.Counter.GENOMES_ASSIGNED);
             GenomeUtil.updateFilling(genomeRegistry, entity);
         }
+        metrics.record(FarmingMetrics.Timer.GENOME, start);
+        FarmingFlightRecorder.commit(recording, entity, null, 0, 0);
     }
 }
@@ -11,8 +11,9 @@ import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
 import org.terasology.engine.logic.common.RetainComponentsComponent;
 import org.terasology.engine.registry.In;
-import org.terasology.engine.utilities.random.FastRandom;
+import org.terasology.engine.utilities.random.Random;
 import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.BlockComponent;
 import org.terasology.genome.GenomeDefinition;
 import org.terasology.genome.GenomeRegistry;
 import org.terasology.genome.breed.BreedingAlgorithm;
@@ -25,7 +26,10 @@ import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
 import org.terasology.simpleFarming.components.BushDefinitionComponent;
 import org.terasology.simpleFarming.events.AddGenomeRetention;
 import org.terasology.simpleFarming.events.BeforePlanted;
+import org.terasology.simpleFarming.events.CaptureProduceGenes;
+import org.terasology.simpleFarming.events.PlantLifecycle;
 import org.terasology.simpleFarming.events.ProduceCreated;
+import org.terasology.simpleFarming.events.RestoreProduceGenes;
 import org.terasology.simpleFarming.events.TransferGenomeEvent;
 
 import javax.annotation.Nullable;
@@ -43,6 +47,10 @@ public class GenomeExtensionAuthoritySystem extends BaseComponentSystem {
     private GenomeRegistry genomeRegistry;
     @In
     private WorldProvider worldProvider;
+    @In
+    private FarmingMetrics metrics;
+    @In
+    private PlantRandom plantRandom;
 
     /**
      * Called immediately after a bush has been harvested.
@@ -55,14 +63,40 @@ public class GenomeExtensionAuthoritySystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onProduceCreated(ProduceCreated event, EntityRef creator) {
-        EntityRef producer = event.getCreator();
+        assignGenome(event.getCreator(), event.getProduce());
+    }
+
+    /**
+     * Handles the genetics of one action of a bush, when compound lifecycle events are enabled.
+     * <p>
+     * Assigns the genome of the bush to the produce of a harvest, as {@link #onProduceCreated} does, and keeps the
+     * genome of the bush when its block changes, as {@link #addGenomeRetentionEvent} does.
+     *
+     * @param event the Plant Lifecycle event
+     * @param plant the bush or vine bud
+     */
+    @ReceiveEvent
+    public void onPlantLifecycle(PlantLifecycle event, EntityRef plant) {
+        if (event.getProduce().exists()) {
+            assignGenome(plant, event.getProduce());
+        }
+        if (event.isRetained()) {
+            retainGenome(plant);
+        }
+    }
+
+    /**
+     * Gives the genome of a producer to its produce, defining a genome for the producer first if it has none.
+     */
+    private void assignGenome(EntityRef producer, EntityRef produce) {
+        long start = System.nanoTime();
+        FarmingFlightRecorder.Recording recording = FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.GENOME);
         GenomeComponent genomeComponent = new GenomeComponent();
-        EntityRef produce = event.getProduce();
         if (producer.hasComponent(GenomeComponent.class)) {
             genomeComponent.genomeId = producer.getComponent(GenomeComponent.class).genomeId;
             genomeComponent.genes = producer.getComponent(GenomeComponent.class).genes;
         } else {
-            FastRandom rand = new FastRandom();
+            Random rand = plantRandom.next(producer, PlantRandom.Purpose.GENES);
             genomeComponent.genomeId = producer.getParentPrefab().getName();
             if (genomeRegistry.getGenomeDefinition(genomeComponent.genomeId) == null) {
                 LOGGER.info("Defining new genome map for " + genomeComponent.genomeId);
@@ -77,8 +111,13 @@ public class GenomeExtensionAuthoritySystem extends BaseComponentSystem {
             }
         }
         produce.addOrSaveComponent(genomeComponent);
+        metrics.increment(FarmingMetrics.Counter.GENOMES_ASSIGNED);
 
         GenomeUtil.updateFilling(genomeRegistry, produce);
+        metrics.record(FarmingMetrics.Timer.GENOME, start);
+        BlockComponent producerBlock = producer.getComponent(BlockComponent.class);
+        FarmingFlightRecorder.commit(recording, producer, producerBlock == null ? null : producerBlock.getPosition(), 0,
+                0);
     }
 
     /**
@@ -112,6 +151,33 @@ public class GenomeExtensionAuthoritySystem extends BaseComponentSystem {
         event.getTransferEntity().addOrSaveComponent(genomeComponent);
     }
 
+    /**
+     * Reads the genes of a produce item that is about to be recorded in the produce ledger
+     *
+     * @param event the Capture Produce Genes event, which receives the genes
+     * @param produce the produce item
+     * @param genomeComponent the genes of the produce
+     */
+    @ReceiveEvent
+    public void onCaptureProduceGenes(CaptureProduceGenes event, EntityRef produce, GenomeComponent genomeComponent) {
+        event.setGenes(genomeComponent.genomeId, genomeComponent.genes);
+    }
+
+    /**
+     * Gives a produce item created from the produce ledger the genes it was recorded with
+     *
+     * @param event the Restore Produce Genes event
+     * @param produce the new produce item
+     */
+    @ReceiveEvent
+    public void onRestoreProduceGenes(RestoreProduceGenes event, EntityRef produce) {
+        GenomeComponent genomeComponent = new GenomeComponent();
+        genomeComponent.genomeId = event.getGenomeId();
+        genomeComponent.genes = event.getGenes();
+        produce.addOrSaveComponent(genomeComponent);
+        GenomeUtil.updateFilling(genomeRegistry, produce);
+    }
+
     /**
      * Adds the GenomeComponent to the RetainComponentsComponent of an entity Event handler added to maintain Genome optional dependency
      *
@@ -120,6 +186,10 @@ public class GenomeExtensionAuthoritySystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void addGenomeRetentionEvent(AddGenomeRetention event, EntityRef entity) {
+        retainGenome(entity);
+    }
+
+    private void retainGenome(EntityRef entity) {
         RetainComponentsComponent retainComponentsComponent = new RetainComponentsComponent();
         retainComponentsComponent.components.add(GenomeComponent.class);
         entity.addOrSaveComponent(retainComponentsComponent);
@@ -15,12 +15,16 @@ public final class GenomeUtil {
     private GenomeUtil() {
     }
 
+    /**
+     * Applies the genetic filling modifier to the given produce, then tints it according to its new filling.
+     */
     public static void updateFilling(GenomeRegistry genomeRegistry, EntityRef entity) {
         GenomeComponent genome = entity.getComponent(GenomeComponent.class);
         GenomeMap genomeMap = genomeRegistry.getGenomeDefinition(genome.genomeId).getGenomeMap();
         float fillingModifier = genomeMap.getProperty("filling", genome.genes, Float.class);
 
-        float newFilling = entity.send(new ModifyFilling(fillingModifier)).filling.getValue();
+        ModifyFilling filling = entity.send(new ModifyFilling(fillingModifier));
+        float newFilling = filling.filling == null ? fillingModifier : filling.filling.getValue();
 
         entity.send(new ModifyTint(newFilling));
     }
@@ -0,0 +1,78 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+/**
+ * The ids of the delayed actions that drive plant growth.
+ * <p>
+ * Delayed actions are stored per entity, so the ids are constants rather than being derived from the entity id.
+ * Worlds saved by earlier versions still hold timers named {@code "SimpleFarming:<entity id>"} (bushes and vines) or
+ * {@code "SimpleFarming:<entity id>:Growth"} (trees); these are recognised without building any strings, fire once and
+ * are replaced by the constant id when the plant is rescheduled.
+ */
+public final class GrowthActions {
+    public static final String BUSH = "SimpleFarming:BushGrowth";
+    public static final String VINE = "SimpleFarming:VineGrowth";
+    public static final String TREE = "SimpleFarming:TreeGrowth";
+    public static final String FIELD = "SimpleFarming:FieldGrowth";
+
+    private static final String LEGACY_PREFIX = "SimpleFarming:";
+    private static final String LEGACY_TREE_SUFFIX = ":Growth";
+
+    private GrowthActions() {
+    }
+
+    /**
+     * @return whether the action id triggers the growth of a bush or vine bud
+     */
+    public static boolean isBushGrowth(String actionId) {
+        return BUSH.equals(actionId) || isLegacy(actionId, false);
+    }
+
+    /**
+     * @return whether the action id triggers the growth of a vine
+     */
+    public static boolean isVineGrowth(String actionId) {
+        return VINE.equals(actionId) || isLegacy(actionId, false);
+    }
+
+    /**
+     * @return whether the action id triggers the growth of a sapling or tree
+     */
+    public static boolean isTreeGrowth(String actionId) {
+        return TREE.equals(actionId) || isLegacy(actionId, true);
+    }
+
+    /**
+     * @return the id under which earlier versions scheduled the growth of the sapling or tree with the given entity id
+     */
+    public static String legacyTreeGrowth(long entityId) {
+        return LEGACY_PREFIX + entityId + LEGACY_TREE_SUFFIX;
+    }
+
+    /**
+     * Checks whether the action id has the legacy {@code "SimpleFarming:<digits>"} form, optionally followed by
+     * {@code ":Growth"}.
+     */
+    private static boolean isLegacy(String actionId, boolean growthSuffix) {
+        if (actionId == null || !actionId.startsWith(LEGACY_PREFIX)) {
+            return false;
+        }
+        int end = actionId.length();
+        if (growthSuffix) {
+            if (!actionId.endsWith(LEGACY_TREE_SUFFIX)) {
+                return false;
+            }
+            end -= LEGACY_TREE_SUFFIX.length();
+        }
+        if (end == LEGACY_PREFIX.length()) {
+            return false;
+        }
+        for (int i = LEGACY_PREFIX.length(); i < end; i++) {
+            if (!Character.isDigit(actionId.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
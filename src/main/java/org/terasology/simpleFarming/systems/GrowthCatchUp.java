@@ -0,0 +1,88 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.simpleFarming.components.DormantGrowthComponent;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Works out how many growth steps a dormant plant missed.
+ * <p>
+ * The timers are sampled exactly as they would have been at full fidelity, one after the other, so the number of steps
+ * and the time left on the last timer have the same distribution as if the plant had been simulated all along.
+ *
+ * @see GrowthLodSystem
+ */
+final class GrowthCatchUp {
+    /**
+     * Returned by a duration function, and as {@link #remaining}, when no further growth timer is started.
+     */
+    static final long NO_TIMER = -1;
+
+    /**
+     * The number of growth steps to apply, at least one.
+     */
+    final int steps;
+
+    /**
+     * The time left on the growth timer after the last step, or {@link #NO_TIMER} if the plant stopped growing or
+     * reached {@code maxSteps}; in that case the plant starts a fresh timer if it normally would.
+     */
+    final long remaining;
+
+    private GrowthCatchUp(int steps, long remaining) {
+        this.steps = steps;
+        this.remaining = remaining;
+    }
+
+    /**
+     * @param elapsed the time since the deferred step was due
+     * @param maxSteps the number of steps after which the plant stops growing, at least one
+     * @param timerAfterStep samples the duration of the timer started after the given (1-based) step, or returns
+     *     {@link #NO_TIMER} if none is started
+     */
+    static GrowthCatchUp advance(long elapsed, int maxSteps, IntToLongFunction timerAfterStep) {
+        int steps = 1;
+        long left = elapsed;
+        while (steps < maxSteps) {
+            long duration = timerAfterStep.applyAsLong(steps);
+            if (duration == NO_TIMER) {
+                return new GrowthCatchUp(steps, NO_TIMER);
+            }
+            if (left < duration) {
+                return new GrowthCatchUp(steps, duration - left);
+            }
+            left -= duration;
+            steps++;
+        }
+        return new GrowthCatchUp(steps, NO_TIMER);
+    }
+
+    /**
+     * Works out how long the growth step of a plant has been due once the plant is fast-forwarded by some time.
+     * <p>
+     * A dormant plant missed its step already, so the time it has been dormant counts too.  A plant without a due time,
+     * e.g. one whose growth is about to be run or one with a timer left by an earlier version, is taken to be due now.
+     *
+     * @param plant the plant, which may be dormant
+     * @param nextGrowthTime the game time at which the plant's growth is due, or 0 if it has none
+     * @param now the current game time
+     * @param elapsed the time the plant is fast-forwarded by
+     * @return the time since the step fell due, to be passed to {@link #advance}, or a negative value if the step does
+     *     not fall due within the time; its timer should then be shortened by the time instead
+     */
+    static long overdue(EntityRef plant, long nextGrowthTime, long now, long elapsed) {
+        DormantGrowthComponent dormantComponent = plant.getComponent(DormantGrowthComponent.class);
+        return overdue(dormantComponent != null ? dormantComponent.dueTime : nextGrowthTime, now, elapsed);
+    }
+
+    /**
+     * @param dueTime the game time at which the growth step is due, or 0 if it is due now
+     * @see #overdue(EntityRef, long, long, long)
+     */
+    static long overdue(long dueTime, long now, long elapsed) {
+        return dueTime <= 0 ? elapsed : elapsed - (dueTime - now);
+    }
+}
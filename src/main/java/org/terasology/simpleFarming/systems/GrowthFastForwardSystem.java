@@ -0,0 +1,137 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.logic.console.commandSystem.annotations.Command;
+import org.terasology.engine.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.engine.logic.console.commandSystem.annotations.Sender;
+import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.logic.permission.PermissionManager;
+import org.terasology.engine.network.ClientComponent;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.world.block.Blocks;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Console commands advancing all the plants in an area at once, for testing and events.
+ * <p>
+ * The plants are found through the {@link PlantIndex}, grouped by chunk and advanced by a single
+ * {@link DoFastForwardGrowth} event, so that the plant authorities can work out the final state of all of them before
+ * writing the blocks of each chunk in one go.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+public class GrowthFastForwardSystem extends BaseComponentSystem {
+
+    private static final String AMOUNT_HELP = "a number of stages, or a time such as 500ms, 30s, 10m or 2h";
+
+    /**
+     * Largest radius searched, which keeps the corners of the searched box within the range of an int.
+     */
+    private static final int MAX_RADIUS = 1 << 20;
+
+    @In
+    private PlantIndex plantIndex;
+
+    @Command(shortDescription = "Advances the SimpleFarming plants around you",
+            helpText = "Advances every plant within the radius by " + AMOUNT_HELP,
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String farmingFastForward(@Sender EntityRef sender, @CommandParam("radius") int radius,
+                                     @CommandParam("amount") String amount) {
+        ClientComponent clientComponent = sender.getComponent(ClientComponent.class);
+        LocationComponent location = clientComponent == null ? null
+                : clientComponent.character.getComponent(LocationComponent.class);
+        Vector3f position = location == null ? null : location.getWorldPosition(new Vector3f());
+        if (position == null || !position.isFinite()) {
+            return "You need a character to fast-forward the plants around it";
+        }
+        Vector3i center = Blocks.toBlockPos(position, new Vector3i());
+        Map<Vector3i, List<Vector3ic>> chunks = new LinkedHashMap<>();
+        plantIndex.forEachInRadius(center, Math.max(0, Math.min(MAX_RADIUS, radius)),
+                (x, y, z, type, stage, lastStage) -> add(chunks, x, y, z));
+        return fastForward(sender, chunks, amount);
+    }
+
+    @Command(shortDescription = "Advances the SimpleFarming plants in a box",
+            helpText = "Advances every plant between the two corners, inclusive, by " + AMOUNT_HELP,
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String farmingFastForwardBox(@Sender EntityRef sender,
+                                        @CommandParam("x1") int x1, @CommandParam("y1") int y1,
+                                        @CommandParam("z1") int z1, @CommandParam("x2") int x2,
+                                        @CommandParam("y2") int y2, @CommandParam("z2") int z2,
+                                        @CommandParam("amount") String amount) {
+        Vector3i min = new Vector3i(Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2));
+        Vector3i max = new Vector3i(Math.max(x1, x2), Math.max(y1, y2), Math.max(z1, z2));
+        Map<Vector3i, List<Vector3ic>> chunks = new LinkedHashMap<>();
+        plantIndex.forEachInBox(min, max, (x, y, z, type, stage, lastStage) -> add(chunks, x, y, z));
+        return fastForward(sender, chunks, amount);
+    }
+
+    private String fastForward(EntityRef sender, Map<Vector3i, List<Vector3ic>> chunks, String amount) {
+        DoFastForwardGrowth event;
+        try {
+            event = parse(chunks, amount);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return "The amount must be " + AMOUNT_HELP;
+        }
+        int plants = chunks.values().stream().mapToInt(List::size).sum();
+        long start = System.nanoTime();
+        sender.send(event);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return "Advanced " + event.getChanged() + " of " + plants + " plants in " + chunks.size() + " chunks in "
+                + millis + " ms";
+    }
+
+    /**
+     * Reads an amount, as described by {@link #AMOUNT_HELP}, into the event that advances plants by it.
+     *
+     * @throws NumberFormatException if the amount cannot be read
+     * @throws ArithmeticException if the time does not fit into a long
+     */
+    static DoFastForwardGrowth parse(Map<Vector3i, List<Vector3ic>> chunks, String amount) {
+        String text = amount.trim().toLowerCase(Locale.ROOT);
+        long unit;
+        if (text.endsWith("ms")) {
+            unit = 1;
+            text = text.substring(0, text.length() - 2);
+        } else if (text.endsWith("s")) {
+            unit = 1000;
+            text = text.substring(0, text.length() - 1);
+        } else if (text.endsWith("m")) {
+            unit = 60_000;
+            text = text.substring(0, text.length() - 1);
+        } else if (text.endsWith("h")) {
+            unit = 3_600_000;
+            text = text.substring(0, text.length() - 1);
+        } else {
+            int stages = Integer.parseInt(text);
+            if (stages < 1) {
+                throw new NumberFormatException("At least one stage is needed: " + amount);
+            }
+            return DoFastForwardGrowth.byStages(chunks.values(), stages);
+        }
+        long time = Long.parseLong(text.trim());
+        if (time < 0) {
+            throw new NumberFormatException("The time cannot be negative: " + amount);
+        }
+        return DoFastForwardGrowth.byTime(chunks.values(), Math.multiplyExact(time, unit));
+    }
+
+    private static void add(Map<Vector3i, List<Vector3ic>> chunks, int x, int y, int z) {
+        Vector3i position = new Vector3i(x, y, z);
+        chunks.computeIfAbsent(Chunks.toChunkPos(position, new Vector3i()), key -> new ArrayList<>()).add(position);
+    }
+}
@@ -0,0 +1,25 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3ic;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+/**
+ * Decides whether plant growth is simulated step by step or deferred until a player is near.
+ *
+ * @see GrowthLodSystem
+ */
+public interface GrowthLod {
+
+    /**
+     * Called by the plant authorities when a growth timer fires.  If no player is near the plant, marks it dormant;
+     * the growth it misses is applied later through a {@link org.terasology.simpleFarming.events.DoCatchUpGrowth}
+     * event.
+     *
+     * @param plant the entity the growth timer fired on
+     * @param position the position of the plant
+     * @return true if the growth step was deferred and must not be applied now
+     */
+    boolean deferIfUnobserved(EntityRef plant, Vector3ic position);
+}
@@ -0,0 +1,220 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3f;
+import org.joml.Vector3ic;
+import org.terasology.engine.core.Time;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.logic.console.commandSystem.annotations.Command;
+import org.terasology.engine.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.logic.permission.PermissionManager;
+import org.terasology.engine.logic.players.PlayerCharacterComponent;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.simpleFarming.components.DormantGrowthComponent;
+import org.terasology.simpleFarming.events.DoCatchUpGrowth;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Growth level of detail: plants further than {@link #lodDistance} blocks from every player stop growing step by step
+ * and catch up when a player comes near.
+ * <p>
+ * A dormant plant costs nothing while unobserved: it has no growth timer and no block or entity changes are made for
+ * it.  When a player comes within range, the plant is sent a {@link DoCatchUpGrowth} event and its authority applies
+ * only the net change, sampled so that the outcome matches full-fidelity growth statistically (see
+ * {@link GrowthCatchUp}).  If there are no players at all, or in {@link PlantRandom#isReplay() replay mode}, growth is
+ * never deferred.
+ * <p>
+ * Dormant plants are kept by chunk as they are activated, so the check for approaching players only looks at the chunks
+ * within range of each player rather than at every dormant plant.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share(GrowthLod.class)
+public class GrowthLodSystem extends BaseComponentSystem implements GrowthLod, UpdateSubscriberSystem {
+
+    private static final int DEFAULT_LOD_DISTANCE = 128;
+
+    /**
+     * Seconds between two checks for players approaching dormant plants.
+     */
+    private static final float CHECK_INTERVAL = 1f;
+
+    /**
+     * Mask for one chunk coordinate in a chunk key.
+     */
+    private static final long KEY_MASK = (1L << 21) - 1;
+
+    @In
+    private EntityManager entityManager;
+    @In
+    private Time time;
+    @In
+    private FarmingMetrics metrics;
+    @In
+    private PlantRandom plantRandom;
+
+    /**
+     * Distance in blocks beyond which growth is deferred; zero disables deferral.
+     */
+    private int lodDistance = DEFAULT_LOD_DISTANCE;
+
+    private final List<Vector3f> playerPositions = new ArrayList<>();
+
+    /**
+     * The loaded dormant plants by the chunk of their position.
+     */
+    private final Map<Long, Set<EntityRef>> dormantPlants = new HashMap<>();
+    private float sinceLastCheck = CHECK_INTERVAL;
+
+    @Override
+    public boolean deferIfUnobserved(EntityRef plant, Vector3ic position) {
+        if (lodDistance <= 0 || plantRandom.isReplay() || isObserved(position)) {
+            return false;
+        }
+        plant.addOrSaveComponent(new DormantGrowthComponent(time.getGameTimeInMs(), position));
+        metrics.increment(FarmingMetrics.Counter.GROWTH_DEFERRED);
+        return true;
+    }
+
+    @Override
+    public void update(float delta) {
+        sinceLastCheck += delta;
+        if (sinceLastCheck < CHECK_INTERVAL) {
+            return;
+        }
+        sinceLastCheck = 0;
+        updatePlayerPositions();
+
+        long now = time.getGameTimeInMs();
+        Set<EntityRef> waking = new LinkedHashSet<>();
+        if (lodDistance <= 0 || plantRandom.isReplay() || playerPositions.isEmpty()) {
+            for (Set<EntityRef> plants : dormantPlants.values()) {
+                waking.addAll(plants);
+            }
+        } else {
+            for (Vector3f player : playerPositions) {
+                collectObserved(player, waking);
+            }
+        }
+        for (EntityRef plant : waking) {
+            DormantGrowthComponent dormantComponent = plant.getComponent(DormantGrowthComponent.class);
+            plant.removeComponent(DormantGrowthComponent.class);
+            plant.send(new DoCatchUpGrowth(Math.max(0, now - dormantComponent.dueTime)));
+            metrics.increment(FarmingMetrics.Counter.GROWTH_CAUGHT_UP);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        dormantPlants.clear();
+    }
+
+    @ReceiveEvent
+    public void onDormantActivated(OnActivatedComponent event, EntityRef plant, DormantGrowthComponent dormantComponent) {
+        dormantPlants.computeIfAbsent(chunkKey(dormantComponent.position), key -> new HashSet<>()).add(plant);
+    }
+
+    @ReceiveEvent
+    public void onDormantDeactivated(BeforeDeactivateComponent event, EntityRef plant,
+                                     DormantGrowthComponent dormantComponent) {
+        long key = chunkKey(dormantComponent.position);
+        Set<EntityRef> plants = dormantPlants.get(key);
+        if (plants != null) {
+            plants.remove(plant);
+            if (plants.isEmpty()) {
+                dormantPlants.remove(key);
+            }
+        }
+    }
+
+    @Command(shortDescription = "Sets the distance beyond which SimpleFarming plants grow lazily (0 disables it)",
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String farmingGrowthLod(@CommandParam("distance") int distance) {
+        lodDistance = Math.max(0, distance);
+        sinceLastCheck = CHECK_INTERVAL;
+        return lodDistance == 0 ? "SimpleFarming growth level of detail disabled"
+                : "SimpleFarming plants further than " + lodDistance + " blocks from players grow lazily";
+    }
+
+    /**
+     * @return whether a player is within {@link #lodDistance} of the position, or there are no players at all
+     */
+    private boolean isObserved(Vector3ic position) {
+        if (playerPositions.isEmpty()) {
+            return true;
+        }
+        float distanceSquared = (float) lodDistance * lodDistance;
+        for (Vector3f player : playerPositions) {
+            if (player.distanceSquared(position.x(), position.y(), position.z()) <= distanceSquared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the dormant plants within {@link #lodDistance} of the player, looking only at the chunks in range.
+     */
+    private void collectObserved(Vector3f player, Set<EntityRef> waking) {
+        float distanceSquared = (float) lodDistance * lodDistance;
+        int x = (int) Math.floor(player.x);
+        int y = (int) Math.floor(player.y);
+        int z = (int) Math.floor(player.z);
+        for (int chunkZ = Math.floorDiv(z - lodDistance, Chunks.SIZE_Z);
+             chunkZ <= Math.floorDiv(z + lodDistance, Chunks.SIZE_Z); chunkZ++) {
+            for (int chunkY = Math.floorDiv(y - lodDistance, Chunks.SIZE_Y);
+                 chunkY <= Math.floorDiv(y + lodDistance, Chunks.SIZE_Y); chunkY++) {
+                for (int chunkX = Math.floorDiv(x - lodDistance, Chunks.SIZE_X);
+                     chunkX <= Math.floorDiv(x + lodDistance, Chunks.SIZE_X); chunkX++) {
+                    Set<EntityRef> plants = dormantPlants.get(packKey(chunkX, chunkY, chunkZ));
+                    if (plants == null) {
+                        continue;
+                    }
+                    for (EntityRef plant : plants) {
+                        Vector3ic position = plant.getComponent(DormantGrowthComponent.class).position;
+                        if (player.distanceSquared(position.x(), position.y(), position.z()) <= distanceSquared) {
+                            waking.add(plant);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static long chunkKey(Vector3ic position) {
+        return packKey(Math.floorDiv(position.x(), Chunks.SIZE_X), Math.floorDiv(position.y(), Chunks.SIZE_Y),
+                Math.floorDiv(position.z(), Chunks.SIZE_Z));
+    }
+
+    private static long packKey(int chunkX, int chunkY, int chunkZ) {
+        return ((chunkX & KEY_MASK) << 42) | ((chunkY & KEY_MASK) << 21) | (chunkZ & KEY_MASK);
+    }
+
+    private void updatePlayerPositions() {
+        playerPositions.clear();
+        for (EntityRef player : entityManager.getEntitiesWith(PlayerCharacterComponent.class, LocationComponent.class)) {
+            Vector3f position = player.getComponent(LocationComponent.class).getWorldPosition(new Vector3f());
+            if (position.isFinite()) {
+                playerPositions.add(position);
+            }
+        }
+    }
+}
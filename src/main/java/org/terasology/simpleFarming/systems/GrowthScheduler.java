@@ -0,0 +1,43 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+/**
+ * Schedules the growth of plants, replacing per-entity {@link org.terasology.engine.logic.delay.DelayManager} actions.
+ * <p>
+ * The authorities store the due time returned by {@link #schedule} on the plant's own component
+ * ({@code nextGrowthTime}), so it is saved with the plant.  When a plant is loaded, its due time is read back with
+ * {@link #restore}; nothing has to be registered for plants whose chunks are not loaded.  When a plant is due, it is
+ * sent a {@link org.terasology.engine.logic.delay.DelayedActionTriggeredEvent} with the action id it was scheduled
+ * with, exactly as the delay manager would, so growth timers left by earlier versions keep working alongside.
+ * <p>
+ * Each plant has at most one scheduled growth; scheduling it again replaces the previous one.
+ */
+public interface GrowthScheduler {
+
+    /**
+     * Schedules the plant to grow after the given delay.
+     *
+     * @param plant the plant entity
+     * @param actionId the action id of the growth event, one of {@link GrowthActions}
+     * @param delay the delay in milliseconds of game time
+     * @return the game time at which the plant is due, to be stored on the plant
+     */
+    long schedule(EntityRef plant, String actionId, long delay);
+
+    /**
+     * Schedules a loaded plant at the due time stored on it.  Due times in the past fire on the next update.
+     *
+     * @param plant the plant entity
+     * @param actionId the action id of the growth event
+     * @param dueTime the game time at which the plant is due
+     */
+    void restore(EntityRef plant, String actionId, long dueTime);
+
+    /**
+     * Forgets the plant's scheduled growth, if it has one.
+     */
+    void cancel(EntityRef plant);
+}
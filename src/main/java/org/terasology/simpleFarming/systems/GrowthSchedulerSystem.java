@@ -0,0 +1,214 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.terasology.engine.core.Time;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.logic.console.commandSystem.annotations.Command;
+import org.terasology.engine.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.engine.logic.delay.DelayedActionTriggeredEvent;
+import org.terasology.engine.logic.permission.PermissionManager;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+import org.terasology.engine.world.block.BlockComponent;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.CropFieldComponent;
+import org.terasology.simpleFarming.components.RootComponent;
+import org.terasology.simpleFarming.components.SaplingDefinitionComponent;
+import org.terasology.simpleFarming.components.VineDefinitionComponent;
+import org.terasology.simpleFarming.components.VineNodeComponent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the {@link GrowthScheduler} queue.
+ * <p>
+ * Scheduled growths are held in a priority queue ordered by due time, so each update only looks at the plants that
+ * are due.  Rescheduling or unloading a plant does not search the queue: the entry in the queue is left behind and
+ * skipped when it comes up, as it is no longer the plant's current entry.
+ * <p>
+ * The queue is rebuilt from the {@code nextGrowthTime} of each plant as it is activated, i.e. as its chunk loads.
+ * <p>
+ * Dispatch is throttled by its own cost: the scheduler measures how long sending the growth events of each tick takes
+ * and, while that is over the budget on average, dispatches fewer plants per tick (see {@link GrowthThrottle}).  Even
+ * with the throttle fully open the number of plants per tick is capped, so that a burst of due plants is spread over
+ * several ticks.  Plants not dispatched stay in the queue, so their growth is deferred rather than lost.  The share
+ * dispatched is reported as the {@link FarmingMetrics.Gauge#GROWTH_THROTTLE} gauge.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share(GrowthScheduler.class)
+public class GrowthSchedulerSystem extends BaseComponentSystem implements GrowthScheduler, UpdateSubscriberSystem {
+
+    @In
+    private Time time;
+    @In
+    private FarmingMetrics metrics;
+
+    private final GrowthThrottle throttle = new GrowthThrottle();
+
+    private final PriorityQueue<Scheduled> queue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry.dueTime));
+
+    /**
+     * The current entry of each scheduled plant.
+     */
+    private final Map<EntityRef, Scheduled> scheduled = new HashMap<>();
+
+    @Override
+    public void shutdown() {
+        queue.clear();
+        scheduled.clear();
+    }
+
+    @Override
+    public long schedule(EntityRef plant, String actionId, long delay) {
+        long dueTime = time.getGameTimeInMs() + Math.max(0, delay);
+        restore(plant, actionId, dueTime);
+        return dueTime;
+    }
+
+    @Override
+    public void restore(EntityRef plant, String actionId, long dueTime) {
+        Scheduled entry = new Scheduled(plant, actionId, dueTime);
+        scheduled.put(plant, entry);
+        queue.add(entry);
+    }
+
+    @Override
+    public void cancel(EntityRef plant) {
+        scheduled.remove(plant);
+    }
+
+    /**
+     * Sends the growth events of the plants that are due, as many as the throttle allows.
+     * <p>
+     * The due plants are taken off the queue before any event is sent, so growth scheduled by the handlers is never
+     * run in the same update.  The time the events take to handle feeds the throttle.
+     */
+    @Override
+    public void update(float delta) {
+        int limit = throttle.limit();
+        long now = time.getGameTimeInMs();
+        List<Scheduled> due = null;
+        while (!queue.isEmpty() && queue.peek().dueTime <= now && (due == null || due.size() < limit)) {
+            Scheduled entry = queue.poll();
+            if (scheduled.get(entry.plant) == entry) {
+                scheduled.remove(entry.plant);
+                if (due == null) {
+                    due = new ArrayList<>();
+                }
+                due.add(entry);
+            }
+        }
+        metrics.set(FarmingMetrics.Gauge.GROWTH_QUEUED, scheduled.size());
+        long start = System.nanoTime();
+        if (due != null) {
+            for (Scheduled entry : due) {
+                if (entry.plant.exists()) {
+                    entry.plant.send(new DelayedActionTriggeredEvent(entry.actionId));
+                }
+            }
+        }
+        throttle.update((System.nanoTime() - start) / 1e6f);
+        metrics.set(FarmingMetrics.Gauge.GROWTH_THROTTLE, Math.round(throttle.share() * 100));
+    }
+
+    @Command(shortDescription = "Sets the time in ms per tick above which SimpleFarming dispatches fewer growths (0 disables it)",
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String farmingGrowthBudget(@CommandParam("milliseconds") float milliseconds) {
+        throttle.setBudget(milliseconds);
+        return throttle.getBudget() == 0 ? "SimpleFarming growth throttling disabled"
+                : "SimpleFarming growth will slow down while it takes longer than " + throttle.getBudget() + " ms per tick";
+    }
+
+    @ReceiveEvent
+    public void onBushActivated(OnActivatedComponent event, EntityRef bush, BushDefinitionComponent bushComponent,
+                                BlockComponent blockComponent) {
+        if (bushComponent.nextGrowthTime > 0) {
+            restore(bush, GrowthActions.BUSH, bushComponent.nextGrowthTime);
+        }
+    }
+
+    @ReceiveEvent
+    public void onBushDeactivated(BeforeDeactivateComponent event, EntityRef bush,
+                                  BushDefinitionComponent bushComponent) {
+        cancel(bush);
+    }
+
+    @ReceiveEvent
+    public void onVineActivated(OnActivatedComponent event, EntityRef root, VineNodeComponent nodeComponent,
+                                VineDefinitionComponent vineComponent) {
+        if (nodeComponent.nextGrowthTime > 0) {
+            restore(root, GrowthActions.VINE, nodeComponent.nextGrowthTime);
+        }
+    }
+
+    @ReceiveEvent
+    public void onVineDeactivated(BeforeDeactivateComponent event, EntityRef root, VineNodeComponent nodeComponent) {
+        cancel(root);
+    }
+
+    @ReceiveEvent
+    public void onSaplingActivated(OnActivatedComponent event, EntityRef sapling,
+                                   SaplingDefinitionComponent saplingComponent) {
+        if (saplingComponent.nextGrowthTime > 0) {
+            restore(sapling, GrowthActions.TREE, saplingComponent.nextGrowthTime);
+        }
+    }
+
+    @ReceiveEvent
+    public void onSaplingDeactivated(BeforeDeactivateComponent event, EntityRef sapling,
+                                     SaplingDefinitionComponent saplingComponent) {
+        cancel(sapling);
+    }
+
+    @ReceiveEvent
+    public void onRootActivated(OnActivatedComponent event, EntityRef rootEntity, RootComponent rootComponent) {
+        if (rootComponent.nextGrowthTime > 0) {
+            restore(rootEntity, GrowthActions.TREE, rootComponent.nextGrowthTime);
+        }
+    }
+
+    @ReceiveEvent
+    public void onRootDeactivated(BeforeDeactivateComponent event, EntityRef rootEntity, RootComponent rootComponent) {
+        cancel(rootEntity);
+    }
+
+    @ReceiveEvent
+    public void onFieldActivated(OnActivatedComponent event, EntityRef field, CropFieldComponent fieldComponent) {
+        if (fieldComponent.nextGrowthTime > 0) {
+            restore(field, GrowthActions.FIELD, fieldComponent.nextGrowthTime);
+        }
+    }
+
+    @ReceiveEvent
+    public void onFieldDeactivated(BeforeDeactivateComponent event, EntityRef field, CropFieldComponent fieldComponent) {
+        cancel(field);
+    }
+
+    /**
+     * A growth in the queue.
+     */
+    private static final class Scheduled {
+        private final EntityRef plant;
+        private final String actionId;
+        private final long dueTime;
+
+        private Scheduled(EntityRef plant, String actionId, long dueTime) {
+            this.plant = plant;
+            this.actionId = actionId;
+            this.dueTime = dueTime;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+/**
+ * Decides how many due plants {@link GrowthSchedulerSystem} dispatches per tick.
+ * <p>
+ * Keeps an average of the time recent dispatches took and, while it is over the budget, closes the throttle by a
+ * factor per tick, so that spikes are answered quickly; within budget, the throttle opens again in small steps.  The
+ * number of plants dispatched per tick is the throttle's share of {@link #MAX_DISPATCH}, but never less than
+ * {@link #MIN_DISPATCH}, so growth never stops entirely.
+ */
+final class GrowthThrottle {
+
+    /**
+     * Default dispatch budget in milliseconds per tick, a fifth of a tick on a server running at 20 ticks per second.
+     */
+    static final float DEFAULT_BUDGET = 10f;
+
+    /**
+     * Plants dispatched per tick with the throttle fully open.
+     */
+    static final int MAX_DISPATCH = 256;
+
+    /**
+     * Plants dispatched per tick however long dispatching takes.
+     */
+    static final int MIN_DISPATCH = 4;
+
+    static final float MIN_THROTTLE = 0.05f;
+
+    /**
+     * Weight of the latest tick in the average dispatch time.
+     */
+    private static final float SMOOTHING = 0.1f;
+
+    /**
+     * Factor applied to the throttle for each tick over budget.
+     */
+    private static final float DECREASE = 0.75f;
+
+    /**
+     * Amount added to the throttle for each tick within budget.
+     */
+    private static final float INCREASE = 0.05f;
+
+    /**
+     * Dispatch budget in milliseconds per tick; zero or less keeps the throttle open.
+     */
+    private float budget = DEFAULT_BUDGET;
+    private float average;
+    private float throttle = 1f;
+
+    /**
+     * Folds the time the last dispatch took into the average and closes or opens the throttle accordingly.
+     *
+     * @param spentMillis the time spent dispatching in the last tick, in milliseconds
+     */
+    void update(float spentMillis) {
+        if (budget <= 0) {
+            throttle = 1f;
+            return;
+        }
+        average += (spentMillis - average) * SMOOTHING;
+        if (average > budget) {
+            throttle = Math.max(MIN_THROTTLE, throttle * DECREASE);
+        } else {
+            throttle = Math.min(1f, throttle + INCREASE);
+        }
+    }
+
+    /**
+     * @return the number of plants to dispatch in the next tick
+     */
+    int limit() {
+        return Math.max(MIN_DISPATCH, (int) (MAX_DISPATCH * throttle));
+    }
+
+    /**
+     * @return the share of {@link #MAX_DISPATCH} dispatched per tick, between {@link #MIN_THROTTLE} and 1
+     */
+    float share() {
+        return throttle;
+    }
+
+    float getBudget() {
+        return budget;
+    }
+
+    void setBudget(float budget) {
+        this.budget = Math.max(0, budget);
+        if (this.budget == 0) {
+            throttle = 1f;
+        }
+    }
+}
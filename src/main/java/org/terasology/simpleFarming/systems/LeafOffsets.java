@@ -0,0 +1,49 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+
+/**
+ * Packs the position of a leaf relative to its tree's root into a single int, as stored in
+ * {@link org.terasology.simpleFarming.components.RootComponent#leafOffsets}.
+ * <p>
+ * Each axis takes ten bits, so leaves may be up to 511 blocks away from the root along every axis.
+ */
+final class LeafOffsets {
+    private static final int BITS = 10;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int BIAS = 1 << (BITS - 1);
+
+    private LeafOffsets() {
+    }
+
+    /**
+     * @param root the position of the root log
+     * @param leaf the position of the leaf
+     * @return the packed offset of the leaf from the root
+     * @throws IllegalArgumentException if the leaf is too far from the root
+     */
+    static int pack(Vector3ic root, Vector3ic leaf) {
+        int dx = leaf.x() - root.x() + BIAS;
+        int dy = leaf.y() - root.y() + BIAS;
+        int dz = leaf.z() - root.z() + BIAS;
+        if (((dx | dy | dz) & ~MASK) != 0) {
+            throw new IllegalArgumentException("Leaf " + leaf + " is too far from root " + root);
+        }
+        return dx << (2 * BITS) | dy << BITS | dz;
+    }
+
+    /**
+     * @param root the position of the root log
+     * @param offset a packed offset, as returned by {@link #pack}
+     * @param dest will hold the position of the leaf
+     * @return dest
+     */
+    static Vector3i unpack(Vector3ic root, int offset, Vector3i dest) {
+        return dest.set(root.x() + (offset >> (2 * BITS) & MASK) - BIAS,
+                root.y() + (offset >> BITS & MASK) - BIAS,
+                root.z() + (offset & MASK) - BIAS);
+    }
+}
@@ -0,0 +1,22 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+/**
+ * Decides how the plant authorities tell other systems about the actions of a plant.
+ * <p>
+ * By default every fact of an action is sent as an event of its own, each one a dispatch across all the registered
+ * handlers.  With compound events, the facts of one action are sent together as a single
+ * {@link org.terasology.simpleFarming.events.PlantLifecycle} event.  Compound events should only be enabled when every
+ * system that listens for the separate events also handles the compound one, as the systems of this module do.
+ *
+ * @see LifecycleEventsSystem
+ */
+public interface LifecycleEvents {
+
+    /**
+     * @return whether the actions of a plant are sent as single {@link org.terasology.simpleFarming.events.PlantLifecycle}
+     *     events
+     */
+    boolean isCompound();
+}
@@ -0,0 +1,37 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.logic.console.commandSystem.annotations.Command;
+import org.terasology.engine.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.engine.logic.permission.PermissionManager;
+import org.terasology.engine.registry.Share;
+
+/**
+ * Provides the {@link LifecycleEvents} setting.
+ * <p>
+ * Compound events are off by default, so that systems of other modules listening for the separate events keep
+ * receiving them, and are switched with the {@code farmingCompoundLifecycle} command.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share(LifecycleEvents.class)
+public class LifecycleEventsSystem extends BaseComponentSystem implements LifecycleEvents {
+
+    private boolean compound;
+
+    @Override
+    public boolean isCompound() {
+        return compound;
+    }
+
+    @Command(shortDescription = "Sets whether each action of a plant is sent as a single compound event",
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String farmingCompoundLifecycle(@CommandParam("enabled") boolean enable) {
+        compound = enable;
+        return compound ? "SimpleFarming will send one PlantLifecycle event per plant action"
+                : "SimpleFarming will send separate events for each plant action";
+    }
+}
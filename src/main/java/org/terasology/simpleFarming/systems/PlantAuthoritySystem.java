@@ -3,6 +3,7 @@
 package org.terasology.simpleFarming.systems;
 
 import org.joml.Vector3i;
+import org.joml.Vector3ic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.entitySystem.entity.EntityManager;
@@ -13,6 +14,7 @@ import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
 import org.terasology.engine.logic.common.ActivateEvent;
+import org.terasology.engine.logic.inventory.ItemComponent;
 import org.terasology.engine.math.Side;
 import org.terasology.engine.registry.In;
 import org.terasology.engine.utilities.random.FastRandom;
@@ -25,8 +27,11 @@ import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
 import org.terasology.module.inventory.systems.InventoryManager;
 import org.terasology.simpleFarming.components.SeedDefinitionComponent;
 import org.terasology.simpleFarming.events.BeforePlanted;
+import org.terasology.simpleFarming.events.DoPlantSeeds;
 import org.terasology.simpleFarming.events.OnSeedPlanted;
 
+import java.util.List;
+
 /**
  * System handling the planting of seeds.
  * <p>
@@ -46,6 +51,8 @@ public class PlantAuthoritySystem extends BaseComponentSystem {
     private EntityManager entityManager;
     @In
     private BlockManager blockManager;
+    @In
+    private FarmingMetrics metrics;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PlantAuthoritySystem.class);
 
@@ -88,13 +95,72 @@ public class PlantAuthoritySystem extends BaseComponentSystem {
         if (Side.inDirection(event.getHitNormal()) == Side.TOP && isValidPosition(position)) {
             /* If the prefab field is null, there is a DefinitionComponent on the seed */
             EntityRef plantEntity = seedComponent.prefab == null ? seed : entityManager.create(seedComponent.prefab);
-            plantEntity.send(new BeforePlanted(seed));
-            plantEntity.send(new OnSeedPlanted(position));
+            if (seedComponent.prefab != null) {
+                metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+            }
+            plant(seed, plantEntity, position);
             inventoryManager.removeItem(seed.getOwner(), seed, seed, true, 1);
             event.consume();
         }
     }
 
+    /**
+     * Called to plant a seed stack at many positions at once, e.g. by an automated seeder.
+     * <p>
+     * All target and below-block positions are validated against a single {@link RegionSnapshot} of the area.  One
+     * plant is created per valid position until the stack runs out, and the consumed seeds are then removed from the
+     * owning inventory in a single call.
+     *
+     * @param event         the batch planting request
+     * @param seed          the seed stack
+     * @param seedComponent the seed's definition component
+     * @param itemComponent the seed's item component, holding the stack size
+     */
+    @ReceiveEvent
+    public void onPlantSeeds(DoPlantSeeds event, EntityRef seed, SeedDefinitionComponent seedComponent,
+                             ItemComponent itemComponent) {
+        List<Vector3ic> positions = event.getPositions();
+        int available = itemComponent.stackCount;
+        if (positions.isEmpty() || available <= 0) {
+            return;
+        }
+
+        RegionSnapshot snapshot = RegionSnapshot.around(worldProvider, positions, 0, 1, 0);
+        for (Vector3ic position : positions) {
+            if (event.getPlanted().size() == available) {
+                break;
+            }
+            if (isValidPosition(snapshot, position)) {
+                /* Each plant needs its own definition entity, so a seed carrying its own definition is copied */
+                EntityRef plantEntity = seedComponent.prefab == null ? seed.copy() : entityManager.create(seedComponent.prefab);
+                metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+                plant(seed, plantEntity, position);
+                /* The definition has been handed over to the block entity by now */
+                plantEntity.destroy();
+                metrics.increment(FarmingMetrics.Counter.ENTITIES_DESTROYED);
+                snapshot.set(position.x(), position.y(), position.z(), null);
+                event.addPlanted(position);
+            }
+        }
+
+        if (!event.getPlanted().isEmpty()) {
+            inventoryManager.removeItem(seed.getOwner(), seed, seed, true, event.getPlanted().size());
+        }
+    }
+
+    /**
+     * Hands a new plant over to the authority responsible for it.
+     *
+     * @param seed the seed being planted
+     * @param plantEntity the entity holding the plant's definition
+     * @param position the position the new plant will occupy
+     */
+    private void plant(EntityRef seed, EntityRef plantEntity, Vector3ic position) {
+        plantEntity.send(new BeforePlanted(seed));
+        plantEntity.send(new OnSeedPlanted(position));
+        metrics.increment(FarmingMetrics.Counter.PLANTS_PLANTED);
+    }
+
     /**
      * Determines whether a seed can be planted at the given position.
      * <p>
@@ -118,13 +184,30 @@ public class PlantAuthoritySystem extends BaseComponentSystem {
         return (targetBlock == airBlock && !belowBlock.isPenetrable());
     }
 
+    /**
+     * Determines whether a seed can be planted at the given position, using previously read blocks.
+     *
+     * @param snapshot the blocks around the position, including the one below it
+     * @param position the position the new plant will occupy
+     * @return true if the position is valid, false otherwise
+     * @see #isValidPosition(Vector3i)
+     */
+    private boolean isValidPosition(RegionSnapshot snapshot, Vector3ic position) {
+        Block targetBlock = snapshot.get(position.x(), position.y(), position.z());
+        Block belowBlock = snapshot.get(position.x(), position.y() - 1, position.z());
+        return targetBlock == airBlock && belowBlock != null && !belowBlock.isPenetrable();
+    }
+
     /**
      * Returns a random integer in the specified interval.
      *
      * @param min The minimum number
      * @param max The maximum number
      * @return the random number, or {@code min} if {@code max <= min}
+     * @deprecated not reproducible; use {@link PlantRandom#growthTime(org.joml.Vector3ic,
+     *     org.terasology.simpleFarming.components.RandomOrdinals, int, int)} instead
      */
+    @Deprecated
     public static long generateRandom(int min, int max) {
         return max == 0 ? min : random.nextInt(min, max);
     }
@@ -0,0 +1,129 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.prefab.PrefabManager;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.logic.console.commandSystem.annotations.Command;
+import org.terasology.engine.logic.permission.PermissionManager;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockRegistrationListener;
+import org.terasology.engine.world.block.family.BlockFamily;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.BushGrowthStage;
+import org.terasology.simpleFarming.components.BushGrowthStages;
+import org.terasology.simpleFarming.components.LeafStructureComponent;
+import org.terasology.simpleFarming.components.TreeGrowthStage;
+
+import java.util.Map;
+
+/**
+ * Keeps the {@link PlantDefinitions} cache.
+ * <p>
+ * Compiled definitions are checked against the component they were compiled from, which is replaced when its prefab
+ * is reloaded.  Blocks keep their identity once registered, so the compiled definitions hold on to them directly; as
+ * a block named by a definition may only be registered after it was compiled, compiled bushes are dropped whenever a
+ * block family is registered.  The cache is emptied when the game ends and can be emptied by hand with the
+ * {@code farmingDefinitionCache} command.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share(PlantDefinitions.class)
+public class PlantDefinitionSystem extends BaseComponentSystem implements PlantDefinitions, BlockRegistrationListener {
+
+    /**
+     * Number of definitions of each kind kept before the least recently used ones are evicted.
+     */
+    private static final int CAPACITY = 512;
+
+    @In
+    private PrefabManager prefabManager;
+    @In
+    private BlockManager blockManager;
+    @In
+    private FarmingMetrics metrics;
+
+    private DefinitionCache<BushStages> bushes;
+    private DefinitionCache<TreeFootprint> footprints;
+
+    @Override
+    public void initialise() {
+        super.initialise();
+        bushes = new DefinitionCache<>(CAPACITY, metrics);
+        footprints = new DefinitionCache<>(CAPACITY, metrics);
+        blockManager.subscribe(this);
+    }
+
+    @Override
+    public void shutdown() {
+        blockManager.unsubscribe(this);
+        invalidate();
+    }
+
+    @Override
+    public void onBlockFamilyRegistered(BlockFamily family) {
+        bushes.clear();
+    }
+
+    @Override
+    public Block[] bushStages(String prefab) {
+        BushStages stages = compiledBush(prefab);
+        return stages == null ? null : stages.blocks();
+    }
+
+    @Override
+    public BushStages stagesOf(BushDefinitionComponent bushComponent) {
+        Map<String, BushGrowthStage> growthStages = bushComponent.growthStages;
+        String definition = growthStages instanceof BushGrowthStages
+                ? ((BushGrowthStages) growthStages).getDefinition() : null;
+        BushStages stages = compiledBush(definition);
+        if (stages != null && stages.size() == growthStages.size()) {
+            return stages;
+        }
+        // stages not known to be those of a prefab are compiled for the one lookup
+        metrics.increment(FarmingMetrics.Counter.DEFINITION_CACHE_MISSES);
+        return BushStages.of(growthStages, blockManager);
+    }
+
+    private BushStages compiledBush(String prefab) {
+        if (prefab == null) {
+            return null;
+        }
+        Prefab definition = prefabManager.getPrefab(prefab);
+        BushDefinitionComponent bushComponent =
+                definition == null ? null : definition.getComponent(BushDefinitionComponent.class);
+        if (bushComponent == null) {
+            return null;
+        }
+        return bushes.get(definition.getUrn().toString(), bushComponent,
+                () -> BushStages.of(bushComponent.growthStages, blockManager));
+    }
+
+    @Override
+    public TreeFootprint treeFootprint(TreeGrowthStage stage) {
+        LeafStructureComponent structure = stage.leafStructure.getComponent(LeafStructureComponent.class);
+        return footprints.get(stage.leafStructure.getUrn() + "@" + stage.height, structure,
+                () -> TreeFootprint.of(stage));
+    }
+
+    @Override
+    public void invalidate() {
+        bushes.clear();
+        footprints.clear();
+    }
+
+    @Command(shortDescription = "Empties the SimpleFarming cache of compiled plant definitions",
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String farmingDefinitionCache() {
+        int size = bushes.size() + footprints.size();
+        invalidate();
+        return "Dropped " + size + " compiled plant definitions ("
+                + metrics.get(FarmingMetrics.Counter.DEFINITION_CACHE_HITS) + " hits, "
+                + metrics.get(FarmingMetrics.Counter.DEFINITION_CACHE_MISSES) + " misses so far)";
+    }
+}
@@ -0,0 +1,48 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.terasology.engine.world.block.Block;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.TreeGrowthStage;
+
+/**
+ * Compiled forms of plant definitions, cached by the URN of the prefab defining them.
+ * <p>
+ * Definitions are compiled on first use.  The cache is bounded and only holds on to compiled definitions softly, so
+ * those of plants that are not in use are dropped under memory pressure and compiled again when next needed.  A
+ * definition is compiled again as well when its prefab has been reloaded since, and a bush when a block family has been
+ * registered since.
+ *
+ * @see PlantDefinitionSystem
+ */
+interface PlantDefinitions {
+
+    /**
+     * @param prefab the name of a prefab with a {@link BushDefinitionComponent}
+     * @return the block of each stage of the bush, in order, or null if the prefab does not define a bush; the array
+     *         is shared and must not be modified
+     */
+    Block[] bushStages(String prefab);
+
+    /**
+     * Gets the compiled growth stages of a bush or vine bud.  Stages that are those of their prefab share the
+     * compiled definition of the prefab; others are compiled anew.
+     *
+     * @param bushComponent the definition of the bush
+     * @return the compiled stages of the bush
+     */
+    BushStages stagesOf(BushDefinitionComponent bushComponent);
+
+    /**
+     * @param stage a growth stage whose leaf structure has a
+     *              {@link org.terasology.simpleFarming.components.LeafStructureComponent}
+     * @return the footprint of the stage
+     */
+    TreeFootprint treeFootprint(TreeGrowthStage stage);
+
+    /**
+     * Drops all compiled definitions.
+     */
+    void invalidate();
+}
@@ -0,0 +1,86 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+
+import java.util.List;
+
+/**
+ * Authority-side index of all loaded SimpleFarming plants, bucketed by chunk.
+ * <p>
+ * Each entry holds the position, {@link PlantType type}, current stage and last stage of one plant.  The index is kept
+ * up to date by the planting, growth and destruction handlers of {@link BushAuthoritySystem},
+ * {@link VineAuthoritySystem} and {@link TreeAuthoritySystem}, and by {@link PlantIndexSystem} as plants are loaded and
+ * unloaded with their chunks.  Queries only look at the chunks overlapping the queried area, or at the indexed chunks
+ * if the area overlaps more chunks than that.
+ */
+public interface PlantIndex {
+
+    /**
+     * Adds a plant to the index, or updates the entry already at its position.
+     *
+     * @param position the position of the plant
+     * @param type the kind of plant
+     * @param stage the current stage
+     * @param lastStage the final stage; a plant in this stage is considered ripe
+     */
+    void put(Vector3ic position, PlantType type, int stage, int lastStage);
+
+    /**
+     * Updates a plant that moved from one stage to another, publishing a change in ripeness between the two stages.
+     * <p>
+     * Used instead of {@link #put} when the plant's block has changed, since the plant is then indexed again at its new
+     * stage as its entity is refreshed, which hides the change from {@link #put}.
+     *
+     * @param position the position of the plant
+     * @param type the kind of plant
+     * @param previousStage the stage the plant was in before the change
+     * @param stage the current stage
+     * @param lastStage the final stage; a plant in this stage is considered ripe
+     */
+    void update(Vector3ic position, PlantType type, int previousStage, int stage, int lastStage);
+
+    /**
+     * Removes the plant at the given position, if there is one, because it was destroyed.
+     */
+    void remove(Vector3ic position);
+
+    /**
+     * Removes the plant at the given position, if there is one, because it is being unloaded.
+     * <p>
+     * Unlike {@link #remove}, a ripe plant is not published to the {@link RipenessStream} as removed.
+     */
+    void unload(Vector3ic position);
+
+    /**
+     * @return the number of plants in the index
+     */
+    int size();
+
+    /**
+     * Visits every plant within {@code radius} blocks (Euclidean distance) of the center.
+     */
+    void forEachInRadius(Vector3ic center, int radius, PlantVisitor visitor);
+
+    /**
+     * Visits every plant inside the box between the given corners, inclusive.
+     */
+    void forEachInBox(Vector3ic min, Vector3ic max, PlantVisitor visitor);
+
+    /**
+     * Finds all ripe plants of the given type within {@code radius} blocks of the center.
+     *
+     * @return the positions of the plants found
+     */
+    List<Vector3i> findRipe(Vector3ic center, int radius, PlantType type);
+
+    /**
+     * Callback for index queries.  The arguments are only valid for the duration of the call.
+     */
+    @FunctionalInterface
+    interface PlantVisitor {
+        void visit(int x, int y, int z, PlantType type, int stage, int lastStage);
+    }
+}
@@ -0,0 +1,317 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.registry.Share;
+import org.terasology.engine.world.block.BlockComponent;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.LogComponent;
+import org.terasology.simpleFarming.components.RootComponent;
+import org.terasology.simpleFarming.components.SaplingDefinitionComponent;
+import org.terasology.simpleFarming.components.VineDefinitionComponent;
+import org.terasology.simpleFarming.components.VineNodeComponent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Maintains the {@link PlantIndex} and publishes the {@link RipenessStream} derived from it.
+ * <p>
+ * Changes made by the plant authorities are reported to the index directly.  This system additionally adds plants
+ * when their entities are activated (e.g. when a chunk is loaded) and removes them when they are deactivated, so the
+ * index always covers exactly the loaded plants.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share({PlantIndex.class, RipenessStream.class})
+public class PlantIndexSystem extends BaseComponentSystem implements PlantIndex, RipenessStream, UpdateSubscriberSystem {
+
+    /**
+     * Mask for one chunk coordinate in a chunk key.
+     */
+    private static final long KEY_MASK = (1L << 21) - 1;
+
+    private final Map<Long, ChunkPlants> chunks = new HashMap<>();
+    private int size;
+
+    private final List<RipenessListener> listeners = new CopyOnWriteArrayList<>();
+    private final RipenessBatch ripenessChanges = new RipenessBatch();
+
+    @Override
+    public void shutdown() {
+        chunks.clear();
+        size = 0;
+        listeners.clear();
+        ripenessChanges.clear();
+    }
+
+    @Override
+    public void update(float delta) {
+        if (ripenessChanges.size() == 0) {
+            return;
+        }
+        for (RipenessListener listener : listeners) {
+            listener.onRipenessChanged(ripenessChanges);
+        }
+        ripenessChanges.clear();
+    }
+
+    @Override
+    public void addListener(RipenessListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(RipenessListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void put(Vector3ic position, PlantType type, int stage, int lastStage) {
+        put(position, type, stage, lastStage, true);
+    }
+
+    @Override
+    public void update(Vector3ic position, PlantType type, int previousStage, int stage, int lastStage) {
+        put(position, type, stage, lastStage, false);
+        boolean isRipe = stage == lastStage;
+        if ((previousStage == lastStage) != isRipe) {
+            ripenessChanges.record(position.x(), position.y(), position.z(), type, stage, isRipe);
+        }
+    }
+
+    @Override
+    public void remove(Vector3ic position) {
+        remove(position, true);
+    }
+
+    @Override
+    public void unload(Vector3ic position) {
+        remove(position, false);
+    }
+
+    /**
+     * @param publish whether a change in ripeness should be published to the {@link RipenessStream}
+     */
+    private void put(Vector3ic position, PlantType type, int stage, int lastStage, boolean publish) {
+        long key = chunkKey(position.x(), position.y(), position.z());
+        ChunkPlants plants = chunks.get(key);
+        if (plants == null) {
+            plants = new ChunkPlants();
+            chunks.put(key, plants);
+        }
+        int cell = cell(position.x(), position.y(), position.z());
+        if (plants.indexOf(cell) < 0) {
+            size++;
+        }
+        int previousStage = plants.put(cell, type, stage, lastStage);
+        boolean wasRipe = previousStage >= 0 && previousStage == lastStage;
+        boolean isRipe = stage == lastStage;
+        if (publish && wasRipe != isRipe) {
+            ripenessChanges.record(position.x(), position.y(), position.z(), type, stage, isRipe);
+        }
+    }
+
+    private void remove(Vector3ic position, boolean publish) {
+        long key = chunkKey(position.x(), position.y(), position.z());
+        ChunkPlants plants = chunks.get(key);
+        if (plants == null) {
+            return;
+        }
+        int i = plants.indexOf(cell(position.x(), position.y(), position.z()));
+        if (i < 0) {
+            return;
+        }
+        if (publish && plants.stage(i) == plants.lastStage(i)) {
+            ripenessChanges.record(position.x(), position.y(), position.z(), plants.type(i), RipenessBatch.REMOVED, false);
+        }
+        plants.remove(plants.cell(i));
+        size--;
+        if (plants.size() == 0) {
+            chunks.remove(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEachInRadius(Vector3ic center, int radius, PlantVisitor visitor) {
+        long radiusSquared = (long) radius * radius;
+        forEachInBox(center.x() - radius, center.y() - radius, center.z() - radius,
+                center.x() + radius, center.y() + radius, center.z() + radius,
+                (x, y, z, type, stage, lastStage) -> {
+                    long dx = x - center.x();
+                    long dy = y - center.y();
+                    long dz = z - center.z();
+                    if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                        visitor.visit(x, y, z, type, stage, lastStage);
+                    }
+                });
+    }
+
+    @Override
+    public void forEachInBox(Vector3ic min, Vector3ic max, PlantVisitor visitor) {
+        forEachInBox(min.x(), min.y(), min.z(), max.x(), max.y(), max.z(), visitor);
+    }
+
+    @Override
+    public List<Vector3i> findRipe(Vector3ic center, int radius, PlantType type) {
+        List<Vector3i> result = new ArrayList<>();
+        forEachInRadius(center, radius, (x, y, z, plantType, stage, lastStage) -> {
+            if (plantType == type && stage == lastStage) {
+                result.add(new Vector3i(x, y, z));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Visits the plants in the box.  A box covering more chunks than the index holds, such as one with a huge radius,
+     * is answered by going through the indexed chunks instead of the chunks of the box.
+     */
+    private void forEachInBox(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, PlantVisitor visitor) {
+        int minChunkX = Math.floorDiv(minX, Chunks.SIZE_X);
+        int minChunkY = Math.floorDiv(minY, Chunks.SIZE_Y);
+        int minChunkZ = Math.floorDiv(minZ, Chunks.SIZE_Z);
+        int maxChunkX = Math.floorDiv(maxX, Chunks.SIZE_X);
+        int maxChunkY = Math.floorDiv(maxY, Chunks.SIZE_Y);
+        int maxChunkZ = Math.floorDiv(maxZ, Chunks.SIZE_Z);
+        double boxChunks = (maxChunkX - minChunkX + 1.0) * (maxChunkY - minChunkY + 1.0) * (maxChunkZ - minChunkZ + 1.0);
+        if (boxChunks > chunks.size()) {
+            for (Map.Entry<Long, ChunkPlants> entry : chunks.entrySet()) {
+                long key = entry.getKey();
+                int chunkX = (int) (key << 1 >> 43);
+                int chunkY = (int) (key << 22 >> 43);
+                int chunkZ = (int) (key << 43 >> 43);
+                if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkY >= minChunkY && chunkY <= maxChunkY
+                        && chunkZ >= minChunkZ && chunkZ <= maxChunkZ) {
+                    visitChunk(chunkX, chunkY, chunkZ, entry.getValue(), minX, minY, minZ, maxX, maxY, maxZ, visitor);
+                }
+            }
+            return;
+        }
+        for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                    ChunkPlants plants = chunks.get(packKey(chunkX, chunkY, chunkZ));
+                    if (plants != null) {
+                        visitChunk(chunkX, chunkY, chunkZ, plants, minX, minY, minZ, maxX, maxY, maxZ, visitor);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void visitChunk(int chunkX, int chunkY, int chunkZ, ChunkPlants plants, int minX, int minY,
+                                   int minZ, int maxX, int maxY, int maxZ, PlantVisitor visitor) {
+        for (int i = 0; i < plants.size(); i++) {
+            int cell = plants.cell(i);
+            int x = chunkX * Chunks.SIZE_X + cell % Chunks.SIZE_X;
+            int z = chunkZ * Chunks.SIZE_Z + (cell / Chunks.SIZE_X) % Chunks.SIZE_Z;
+            int y = chunkY * Chunks.SIZE_Y + cell / (Chunks.SIZE_X * Chunks.SIZE_Z);
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                visitor.visit(x, y, z, plants.type(i), plants.stage(i), plants.lastStage(i));
+            }
+        }
+    }
+
+    /**
+     * Indexes bushes and vine buds as they are loaded.
+     */
+    @ReceiveEvent
+    public void onBushActivated(OnActivatedComponent event, EntityRef entity, BushDefinitionComponent bushComponent,
+                                BlockComponent blockComponent) {
+        put(blockComponent.getPosition(), bushComponent.parent == null ? PlantType.BUSH : PlantType.BUD,
+                bushComponent.currentStage, bushComponent.growthStages.size() - 1, false);
+    }
+
+    @ReceiveEvent
+    public void onBushDeactivated(BeforeDeactivateComponent event, EntityRef entity,
+                                  BushDefinitionComponent bushComponent, BlockComponent blockComponent) {
+        remove(blockComponent.getPosition(), false);
+    }
+
+    /**
+     * Indexes vine roots as they are loaded.
+     */
+    @ReceiveEvent
+    public void onVineActivated(OnActivatedComponent event, EntityRef entity, VineNodeComponent nodeComponent,
+                                VineDefinitionComponent vineComponent) {
+        if (nodeComponent.parent == null && nodeComponent.length >= 0) {
+            put(nodeComponent.position, PlantType.VINE, nodeComponent.length, vineComponent.maxLength, false);
+        }
+    }
+
+    @ReceiveEvent
+    public void onVineDeactivated(BeforeDeactivateComponent event, EntityRef entity, VineNodeComponent nodeComponent,
+                                  VineDefinitionComponent vineComponent) {
+        if (nodeComponent.parent == null) {
+            remove(nodeComponent.position, false);
+        }
+    }
+
+    /**
+     * Indexes saplings as they are loaded.
+     */
+    @ReceiveEvent
+    public void onSaplingActivated(OnActivatedComponent event, EntityRef entity,
+                                   SaplingDefinitionComponent saplingComponent, BlockComponent blockComponent) {
+        put(blockComponent.getPosition(), PlantType.SAPLING, 0, 1, false);
+    }
+
+    @ReceiveEvent
+    public void onSaplingDeactivated(BeforeDeactivateComponent event, EntityRef entity,
+                                     SaplingDefinitionComponent saplingComponent, BlockComponent blockComponent) {
+        remove(blockComponent.getPosition(), false);
+    }
+
+    /**
+     * Indexes tree roots as they are loaded.
+     */
+    @ReceiveEvent
+    public void onRootActivated(OnActivatedComponent event, EntityRef entity, LogComponent logComponent,
+                                RootComponent rootComponent) {
+        if (!rootComponent.alive) {
+            return;
+        }
+        put(logComponent.location, PlantType.TREE, rootComponent.growthStage, rootComponent.growthStages.size() - 1, false);
+    }
+
+    @ReceiveEvent
+    public void onRootDeactivated(BeforeDeactivateComponent event, EntityRef entity, LogComponent logComponent,
+                                  RootComponent rootComponent) {
+        remove(logComponent.location, false);
+    }
+
+    private static long chunkKey(int x, int y, int z) {
+        return packKey(Math.floorDiv(x, Chunks.SIZE_X), Math.floorDiv(y, Chunks.SIZE_Y), Math.floorDiv(z, Chunks.SIZE_Z));
+    }
+
+    private static long packKey(int chunkX, int chunkY, int chunkZ) {
+        return ((chunkX & KEY_MASK) << 42) | ((chunkY & KEY_MASK) << 21) | (chunkZ & KEY_MASK);
+    }
+
+    /**
+     * @return the index of the position within its chunk
+     */
+    private static int cell(int x, int y, int z) {
+        return Math.floorMod(x, Chunks.SIZE_X)
+                + Chunks.SIZE_X * (Math.floorMod(z, Chunks.SIZE_Z) + Chunks.SIZE_Z * Math.floorMod(y, Chunks.SIZE_Y));
+    }
+}
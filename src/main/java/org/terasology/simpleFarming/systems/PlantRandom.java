@@ -0,0 +1,77 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3ic;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.utilities.random.Random;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.RandomOrdinals;
+
+/**
+ * Source of the random numbers that decide how plants evolve.
+ * <p>
+ * Each plant gets its own independent streams, derived from the world seed, the plant's position, the purpose of the
+ * numbers and how many times that plant has drawn for that purpose.  Nothing else goes into the seed, so given the same
+ * inputs the same world evolves identically from run to run.  The counts are {@link RandomOrdinals} kept on the plant's
+ * own component, so they are saved with the plant and continue after the world is loaded again.
+ *
+ * @see PlantRandomSystem
+ */
+public interface PlantRandom {
+
+    /**
+     * What random numbers are drawn for.  Each purpose has its own streams, so drawing more numbers for one purpose
+     * does not change the numbers drawn for another.
+     */
+    enum Purpose {
+        GROWTH_TIME,
+        VINE_GROWTH,
+        SEEDS,
+        GENES
+    }
+
+    /**
+     * Returns a generator for the next event of the plant at the given position.
+     * <p>
+     * Every call returns a new generator, seeded from the next ordinal of the plant and purpose, which is counted in the
+     * given ordinals.  For a single number, use {@link #nextInt} instead, which does not create a generator.
+     *
+     * @param ordinals the draws the plant has made so far, kept on the plant's component; the caller saves it
+     */
+    Random next(Vector3ic position, RandomOrdinals ordinals, Purpose purpose);
+
+    /**
+     * Returns a generator for the next event of the given plant.
+     * <p>
+     * The plant is identified by its block position, or by its location if it has no block, and falls back to the
+     * origin if it has neither.  Its draws are counted on its {@link BushDefinitionComponent}, which is saved.  Plants
+     * without one always draw the first number of their stream.
+     */
+    Random next(EntityRef plant, Purpose purpose);
+
+    /**
+     * Draws a single number for the next event of the plant at the given position.
+     *
+     * @param ordinals the draws the plant has made so far, kept on the plant's component; the caller saves it
+     * @param bound the upper bound (exclusive); must be positive
+     * @return a number between zero (inclusive) and {@code bound} (exclusive)
+     */
+    int nextInt(Vector3ic position, RandomOrdinals ordinals, Purpose purpose, int bound);
+
+    /**
+     * Draws the duration of a growth timer for the plant at the given position.
+     *
+     * @param ordinals the draws the plant has made so far, kept on the plant's component; the caller saves it
+     * @param min the minimum duration in milliseconds
+     * @param max the maximum duration in milliseconds
+     * @return the duration, between {@code min} and {@code max} (both inclusive), or {@code min} if {@code max} is not
+     *         greater than it
+     */
+    long growthTime(Vector3ic position, RandomOrdinals ordinals, int min, int max);
+
+    /**
+     * @return whether replay mode is on
+     */
+    boolean isReplay();
+}
@@ -0,0 +1,137 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.logic.console.commandSystem.annotations.Command;
+import org.terasology.engine.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.logic.permission.PermissionManager;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+import org.terasology.engine.utilities.random.FastRandom;
+import org.terasology.engine.utilities.random.Random;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.BlockComponent;
+import org.terasology.engine.world.block.Blocks;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.RandomOrdinals;
+
+/**
+ * Derives the random streams of {@link PlantRandom} by hashing the world seed, the plant's position, the purpose and
+ * the plant's ordinal for that purpose.
+ * <p>
+ * The system keeps no state per plant: the ordinals are counted in the {@link RandomOrdinals} of the plant's component.
+ * Replay mode is switched on with the {@code farmingReplay} console command or the
+ * {@code simpleFarming.replay} system property.  It turns off the growth level of detail, as when plants catch up
+ * depends on where players go.  Identical evolution additionally requires identical inputs: the same world and the
+ * same actions in the same ticks.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share(PlantRandom.class)
+public class PlantRandomSystem extends BaseComponentSystem implements PlantRandom {
+
+    private static final long COORDINATE_MASK = (1L << 21) - 1;
+
+    @In
+    private WorldProvider worldProvider;
+
+    private long baseSeed;
+    private boolean replay;
+
+    @Override
+    public void postBegin() {
+        replay = Boolean.getBoolean("simpleFarming.replay");
+        setWorldSeed(worldProvider.getSeed());
+    }
+
+    @Override
+    public Random next(Vector3ic position, RandomOrdinals ordinals, Purpose purpose) {
+        return new FastRandom(seed(positionKey(position), purpose, ordinals.next(purpose.ordinal())));
+    }
+
+    @Override
+    public Random next(EntityRef plant, Purpose purpose) {
+        Vector3i position = new Vector3i();
+        BlockComponent blockComponent = plant.getComponent(BlockComponent.class);
+        LocationComponent location = plant.getComponent(LocationComponent.class);
+        if (blockComponent != null) {
+            blockComponent.getPosition(position);
+        } else if (location != null) {
+            Vector3f worldPosition = location.getWorldPosition(new Vector3f());
+            if (worldPosition.isFinite()) {
+                Blocks.toBlockPos(worldPosition, position);
+            }
+        }
+        BushDefinitionComponent bushComponent = plant.getComponent(BushDefinitionComponent.class);
+        if (bushComponent == null) {
+            return next(position, new RandomOrdinals(), purpose);
+        }
+        Random random = next(position, bushComponent.randomOrdinals, purpose);
+        plant.saveComponent(bushComponent);
+        return random;
+    }
+
+    @Override
+    public int nextInt(Vector3ic position, RandomOrdinals ordinals, Purpose purpose, int bound) {
+        return (int) Long.remainderUnsigned(seed(positionKey(position), purpose, ordinals.next(purpose.ordinal())),
+                bound);
+    }
+
+    @Override
+    public long growthTime(Vector3ic position, RandomOrdinals ordinals, int min, int max) {
+        return max <= min ? min : min + nextInt(position, ordinals, Purpose.GROWTH_TIME, max - min + 1);
+    }
+
+    @Override
+    public boolean isReplay() {
+        return replay;
+    }
+
+    @Command(shortDescription = "Turns SimpleFarming replay mode, in which plants evolve identically on every run, on or off",
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String farmingReplay(@CommandParam("enabled") boolean enabled) {
+        replay = enabled;
+        return replay ? "SimpleFarming replay mode on" : "SimpleFarming replay mode off";
+    }
+
+    /**
+     * Derives all streams from the given world seed.
+     */
+    void setWorldSeed(String worldSeed) {
+        long seed = 0;
+        if (worldSeed != null) {
+            for (int i = 0; i < worldSeed.length(); i++) {
+                seed = 31 * seed + worldSeed.charAt(i);
+            }
+        }
+        baseSeed = mix(seed);
+    }
+
+    private long seed(long key, Purpose purpose, int ordinal) {
+        long seed = mix(baseSeed ^ key);
+        seed = mix(seed ^ purpose.ordinal());
+        return mix(seed ^ ordinal);
+    }
+
+    private static long positionKey(Vector3ic position) {
+        return ((position.x() & COORDINATE_MASK) << 42) | ((position.y() & COORDINATE_MASK) << 21)
+                | (position.z() & COORDINATE_MASK);
+    }
+
+    /**
+     * The SplitMix64 finaliser, so that nearby positions and consecutive ordinals give unrelated seeds.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
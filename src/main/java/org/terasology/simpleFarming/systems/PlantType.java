@@ -0,0 +1,39 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+/**
+ * The kinds of plant tracked by the {@link PlantIndex}.
+ */
+public enum PlantType {
+    /**
+     * A free-standing bush, including tree leaves.  The stage is {@code BushDefinitionComponent#currentStage}.
+     */
+    BUSH,
+
+    /**
+     * A bush growing off a vine.  The stage is {@code BushDefinitionComponent#currentStage}.
+     */
+    BUD,
+
+    /**
+     * The root of a vine.  The stage is the vine's length.
+     */
+    VINE,
+
+    /**
+     * A sapling that has not grown into a tree yet.  Always at stage 0 of 1, so never ripe.
+     */
+    SAPLING,
+
+    /**
+     * The root of a tree.  The stage is {@code RootComponent#growthStage}.
+     */
+    TREE;
+
+    private static final PlantType[] VALUES = values();
+
+    static PlantType byOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,33 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.simpleFarming.events.CaptureProduceGenes;
+
+/**
+ * Keys for grouping harvested items into stacks, so that only items with the same genes share a stack.
+ */
+final class ProduceGenes {
+
+    private ProduceGenes() {
+    }
+
+    /**
+     * Builds the stack key of items of the given prefab carrying the genes of the given plant or item.
+     * <p>
+     * The genes are read with a {@link CaptureProduceGenes} event; if the entity has none, for example because the
+     * Genome module is not active, the key is the prefab alone.
+     *
+     * @param prefab the prefab of the items
+     * @param entity the plant the items are harvested from, or an item already carrying their genes
+     * @return the key of the stack
+     */
+    static String stackKey(String prefab, EntityRef entity) {
+        CaptureProduceGenes genes = entity.send(new CaptureProduceGenes());
+        if (genes.getGenomeId() == null) {
+            return prefab;
+        }
+        return prefab + '#' + genes.getGenomeId() + ':' + genes.getGenes();
+    }
+}
@@ -0,0 +1,42 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3ic;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+/**
+ * Records produce that did not fit into an inventory, so that it need not be dropped as physical items.
+ * <p>
+ * Entries are bucketed by chunk and merged by position, prefab and genes, so a full field harvested into a full chest
+ * costs an entry per plant rather than an item per produce.  Items are created again only when they are collected, either by a
+ * {@link org.terasology.simpleFarming.events.DoCollectProduce} request or by a player walking by.
+ */
+public interface ProduceLedger {
+
+    /**
+     * @return whether produce that does not fit should be recorded rather than dropped
+     */
+    boolean isEnabled();
+
+    /**
+     * Records the items and destroys the item entity.
+     *
+     * @param item the item; its genes are captured before it is destroyed
+     * @param count the number of items it stands for
+     * @param position where the items would have been dropped
+     */
+    void record(EntityRef item, int count, Vector3ic position);
+
+    /**
+     * Gives the recorded items within {@code radius} blocks of the center to the collector, as far as they fit.
+     *
+     * @return the number of items given
+     */
+    int collect(EntityRef collector, Vector3ic center, int radius);
+
+    /**
+     * @return the number of items recorded
+     */
+    int size();
+}
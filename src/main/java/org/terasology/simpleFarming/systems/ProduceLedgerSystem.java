@@ -0,0 +1,309 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.logic.console.commandSystem.annotations.Command;
+import org.terasology.engine.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.engine.logic.inventory.ItemComponent;
+import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.logic.permission.PermissionManager;
+import org.terasology.engine.logic.players.PlayerCharacterComponent;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+import org.terasology.engine.world.block.Blocks;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.module.inventory.components.InventoryComponent;
+import org.terasology.module.inventory.systems.InventoryManager;
+import org.terasology.simpleFarming.components.ProduceLedgerComponent;
+import org.terasology.simpleFarming.components.ProduceLedgerEntry;
+import org.terasology.simpleFarming.events.CaptureProduceGenes;
+import org.terasology.simpleFarming.events.DoCollectProduce;
+import org.terasology.simpleFarming.events.RestoreProduceGenes;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps the {@link ProduceLedger}.
+ * <p>
+ * The ledger is off by default and is switched with the {@code farmingProduceLedger} command.  Once a second, the
+ * produce recorded within {@link #PICKUP_RADIUS} blocks of a player is collected into the player's inventory, as loose
+ * items would be picked up.  Each chunk with recorded produce has an entity with a {@link ProduceLedgerComponent}, so
+ * that the ledger is saved with the world.  Only the chunks whose entries have changed are copied to their entities.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share(ProduceLedger.class)
+public class ProduceLedgerSystem extends BaseComponentSystem implements ProduceLedger, UpdateSubscriberSystem {
+
+    /**
+     * Distance in blocks within which players pick up recorded produce.
+     */
+    private static final int PICKUP_RADIUS = 2;
+
+    /**
+     * Seconds between two pickup checks and saves of the changed chunks.
+     */
+    private static final float UPDATE_INTERVAL = 1f;
+
+    @In
+    private EntityManager entityManager;
+    @In
+    private InventoryManager inventoryManager;
+    @In
+    private FarmingMetrics metrics;
+
+    private boolean enabled;
+
+    /**
+     * Recorded produce by chunk position.
+     */
+    private final Map<Vector3i, List<ProduceLedgerEntry>> chunks = new HashMap<>();
+    private int size;
+
+    /**
+     * The entity saving the entries of each chunk, by chunk position.
+     */
+    private final Map<Vector3i, EntityRef> chunkEntities = new HashMap<>();
+
+    /**
+     * Chunks whose entries have changed since they were last saved.
+     */
+    private final Set<Vector3i> dirtyChunks = new HashSet<>();
+    private float sinceLastUpdate;
+
+    @Override
+    public void postBegin() {
+        super.postBegin();
+        for (EntityRef entity : entityManager.getEntitiesWith(ProduceLedgerComponent.class)) {
+            ProduceLedgerComponent ledgerComponent = entity.getComponent(ProduceLedgerComponent.class);
+            if (ledgerComponent.chunk == null) {
+                // saved whole by an earlier version; saved again chunk by chunk
+                for (ProduceLedgerEntry entry : ledgerComponent.entries) {
+                    dirtyChunks.add(add(new ProduceLedgerEntry(entry)));
+                }
+                entity.destroy();
+            } else {
+                for (ProduceLedgerEntry entry : ledgerComponent.entries) {
+                    add(new ProduceLedgerEntry(entry));
+                }
+                chunkEntities.put(new Vector3i(ledgerComponent.chunk), entity);
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        chunks.clear();
+        chunkEntities.clear();
+        dirtyChunks.clear();
+        size = 0;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void record(EntityRef item, int count, Vector3ic position) {
+        CaptureProduceGenes genes = item.send(new CaptureProduceGenes());
+        ProduceLedgerEntry entry = new ProduceLedgerEntry();
+        entry.prefab = item.getParentPrefab().getName();
+        entry.genomeId = genes.getGenomeId();
+        entry.genes = genes.getGenes();
+        entry.count = count;
+        entry.position.set(position);
+        dirtyChunks.add(add(entry));
+        item.destroy();
+        metrics.increment(FarmingMetrics.Counter.ENTITIES_DESTROYED);
+        metrics.add(FarmingMetrics.Counter.PRODUCE_RECORDED, count);
+    }
+
+    @Override
+    public int collect(EntityRef collector, Vector3ic center, int radius) {
+        long radiusSquared = (long) radius * radius;
+        int collected = 0;
+        for (int chunkZ = chunkZ(center.z() - radius); chunkZ <= chunkZ(center.z() + radius); chunkZ++) {
+            for (int chunkY = chunkY(center.y() - radius); chunkY <= chunkY(center.y() + radius); chunkY++) {
+                for (int chunkX = chunkX(center.x() - radius); chunkX <= chunkX(center.x() + radius); chunkX++) {
+                    Vector3i chunk = new Vector3i(chunkX, chunkY, chunkZ);
+                    List<ProduceLedgerEntry> entries = chunks.get(chunk);
+                    if (entries == null) {
+                        continue;
+                    }
+                    Iterator<ProduceLedgerEntry> iterator = entries.iterator();
+                    while (iterator.hasNext()) {
+                        ProduceLedgerEntry entry = iterator.next();
+                        if (entry.position.distanceSquared(center) > radiusSquared) {
+                            continue;
+                        }
+                        int given = materialise(collector, entry);
+                        collected += given;
+                        size -= given;
+                        if (given > 0) {
+                            dirtyChunks.add(chunk);
+                        }
+                        if (entry.count == 0) {
+                            iterator.remove();
+                        }
+                    }
+                    if (entries.isEmpty()) {
+                        chunks.remove(chunk);
+                    }
+                }
+            }
+        }
+        return collected;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Called to collect recorded produce into an inventory.
+     *
+     * @param event the collection request, which receives the number of items collected
+     * @param collector the entity whose inventory receives the items
+     * @param inventoryComponent the collector's inventory
+     */
+    @ReceiveEvent
+    public void onCollectProduce(DoCollectProduce event, EntityRef collector, InventoryComponent inventoryComponent) {
+        event.addCollected(collect(collector, event.getCenter(), event.getRadius()));
+    }
+
+    @Override
+    public void update(float delta) {
+        sinceLastUpdate += delta;
+        if (sinceLastUpdate < UPDATE_INTERVAL) {
+            return;
+        }
+        sinceLastUpdate = 0;
+        if (size > 0) {
+            for (EntityRef player : entityManager.getEntitiesWith(PlayerCharacterComponent.class,
+                    LocationComponent.class, InventoryComponent.class)) {
+                Vector3f position = player.getComponent(LocationComponent.class).getWorldPosition(new Vector3f());
+                if (position.isFinite()) {
+                    collect(player, Blocks.toBlockPos(position, new Vector3i()), PICKUP_RADIUS);
+                }
+            }
+        }
+        if (!dirtyChunks.isEmpty()) {
+            save();
+        }
+    }
+
+    @Command(shortDescription = "Sets whether produce that does not fit into a harvester is recorded instead of dropped",
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String farmingProduceLedger(@CommandParam("enabled") boolean enable) {
+        enabled = enable;
+        return enabled ? "SimpleFarming will record uncollected produce (" + size + " items recorded)"
+                : "SimpleFarming will drop uncollected produce (" + size + " items still recorded)";
+    }
+
+    /**
+     * Adds an entry to its chunk, merging it with an entry of the same produce at the same position if there is one.
+     *
+     * @return the position of the chunk
+     */
+    private Vector3i add(ProduceLedgerEntry entry) {
+        Vector3i chunk = new Vector3i(chunkX(entry.position.x), chunkY(entry.position.y), chunkZ(entry.position.z));
+        List<ProduceLedgerEntry> entries = chunks.computeIfAbsent(chunk, key -> new ArrayList<>());
+        size += entry.count;
+        for (ProduceLedgerEntry existing : entries) {
+            if (existing.position.equals(entry.position) && existing.prefab.equals(entry.prefab)
+                    && Objects.equals(existing.genomeId, entry.genomeId)
+                    && Objects.equals(existing.genes, entry.genes)) {
+                existing.count += entry.count;
+                return chunk;
+            }
+        }
+        entries.add(entry);
+        return chunk;
+    }
+
+    /**
+     * Creates the items of an entry and gives them to the collector, stack by stack, until it is full.
+     *
+     * @return the number of items given; the entry's count is reduced by as many
+     */
+    private int materialise(EntityRef collector, ProduceLedgerEntry entry) {
+        int given = 0;
+        while (entry.count > 0) {
+            EntityRef item = entityManager.create(entry.prefab);
+            ItemComponent itemComponent = item.getComponent(ItemComponent.class);
+            int stackSize = itemComponent == null ? 1 : Math.min(entry.count, Math.max(1, itemComponent.maxStackSize));
+            if (itemComponent != null) {
+                itemComponent.stackCount = (byte) stackSize;
+                item.saveComponent(itemComponent);
+            }
+            if (entry.genomeId != null) {
+                item.send(new RestoreProduceGenes(entry.genomeId, entry.genes));
+            }
+            if (!inventoryManager.giveItem(collector, EntityRef.NULL, item)) {
+                item.destroy();
+                break;
+            }
+            metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+            entry.count -= stackSize;
+            given += stackSize;
+        }
+        metrics.add(FarmingMetrics.Counter.PRODUCE_COLLECTED, given);
+        return given;
+    }
+
+    /**
+     * Copies the entries of the changed chunks to their entities, destroying the entities of chunks left empty.
+     */
+    private void save() {
+        for (Vector3i chunk : dirtyChunks) {
+            List<ProduceLedgerEntry> entries = chunks.get(chunk);
+            EntityRef chunkEntity = chunkEntities.getOrDefault(chunk, EntityRef.NULL);
+            if (entries == null) {
+                chunkEntity.destroy();
+                chunkEntities.remove(chunk);
+                continue;
+            }
+            ProduceLedgerComponent ledgerComponent = new ProduceLedgerComponent();
+            ledgerComponent.chunk = new Vector3i(chunk);
+            for (ProduceLedgerEntry entry : entries) {
+                ledgerComponent.entries.add(new ProduceLedgerEntry(entry));
+            }
+            if (chunkEntity.exists()) {
+                chunkEntity.saveComponent(ledgerComponent);
+            } else {
+                chunkEntities.put(chunk, entityManager.create(ledgerComponent));
+            }
+        }
+        dirtyChunks.clear();
+    }
+
+    private static int chunkX(int x) {
+        return Math.floorDiv(x, Chunks.SIZE_X);
+    }
+
+    private static int chunkY(int y) {
+        return Math.floorDiv(y, Chunks.SIZE_Y);
+    }
+
+    private static int chunkZ(int z) {
+        return Math.floorDiv(z, Chunks.SIZE_Z);
+    }
+}
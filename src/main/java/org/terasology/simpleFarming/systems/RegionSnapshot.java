@@ -0,0 +1,243 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3ic;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A copy of the blocks in a region of the world, taken in a single pass.
+ * <p>
+ * Used wherever many positions need to be validated together, so that the checks can run against one read of the
+ * world instead of a {@link WorldProvider#getBlock} call per position.  Positions that are outside the region, or that
+ * were not relevant (loaded) when the snapshot was taken, are reported as {@code null}.
+ * <p>
+ * The region is either a box, stored densely, or the union of small boxes around scattered positions, stored sparsely
+ * so that positions far apart do not cost the whole box between them.  The sparse form is an open-addressed table keyed
+ * by packed positions, so looking a position up allocates nothing.
+ */
+public final class RegionSnapshot {
+
+    /**
+     * The largest number of blocks {@link #around} reads as a single box; larger regions are read around each
+     * position instead.
+     */
+    static final int MAX_DENSE_VOLUME = 4096;
+
+    /**
+     * Marks a free slot of a sparse snapshot.  Packed positions never have the sign bit set.
+     */
+    private static final long FREE = -1L;
+
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    /**
+     * The blocks of a box, in {@link #index} order, or of a sparse snapshot, in the slots of {@link #sparse}.
+     */
+    private final Block[] blocks;
+
+    /**
+     * The packed positions held by each slot of a sparse snapshot, or null for a box.  Irrelevant positions are held
+     * with a null block.
+     */
+    private final long[] sparse;
+
+    private RegionSnapshot(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = maxX - minX + 1;
+        this.sizeY = maxY - minY + 1;
+        this.sizeZ = maxZ - minZ + 1;
+        this.blocks = new Block[sizeX * sizeY * sizeZ];
+        this.sparse = null;
+    }
+
+    private RegionSnapshot(int capacity) {
+        this.minX = 0;
+        this.minY = 0;
+        this.minZ = 0;
+        this.sizeX = 0;
+        this.sizeY = 0;
+        this.sizeZ = 0;
+        this.blocks = new Block[capacity];
+        this.sparse = new long[capacity];
+        Arrays.fill(sparse, FREE);
+    }
+
+    /**
+     * Reads all blocks between the given corners, inclusive.
+     *
+     * @param worldProvider the world to read from
+     * @return the snapshot of the region
+     */
+    public static RegionSnapshot read(WorldProvider worldProvider, int minX, int minY, int minZ, int maxX, int maxY,
+                                      int maxZ) {
+        RegionSnapshot snapshot = new RegionSnapshot(minX, minY, minZ, maxX, maxY, maxZ);
+        int i = 0;
+        for (int y = minY; y <= maxY; y++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    if (worldProvider.isBlockRelevant(x, y, z)) {
+                        snapshot.blocks[i] = worldProvider.getBlock(x, y, z);
+                    }
+                    i++;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reads the bounding box of the given positions, grown by the given margins.
+     * <p>
+     * If the box holds more than {@link #MAX_DENSE_VOLUME} blocks, only the margins around each position are read, as
+     * by {@link #neighbourhoods}.
+     *
+     * @param worldProvider the world to read from
+     * @param positions the positions to cover; must not be empty
+     * @param horizontalMargin the number of extra blocks to read on each horizontal side
+     * @param below the number of extra blocks to read below the lowest position
+     * @param above the number of extra blocks to read above the highest position
+     * @return the snapshot of the region
+     */
+    public static RegionSnapshot around(WorldProvider worldProvider, Collection<? extends Vector3ic> positions,
+                                        int horizontalMargin, int below, int above) {
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        for (Vector3ic position : positions) {
+            minX = Math.min(minX, position.x());
+            minY = Math.min(minY, position.y());
+            minZ = Math.min(minZ, position.z());
+            maxX = Math.max(maxX, position.x());
+            maxY = Math.max(maxY, position.y());
+            maxZ = Math.max(maxZ, position.z());
+        }
+        long volume = (long) (maxX - minX + 1 + 2 * horizontalMargin) * (maxY - minY + 1 + below + above)
+                * (maxZ - minZ + 1 + 2 * horizontalMargin);
+        if (volume > MAX_DENSE_VOLUME) {
+            return neighbourhoods(worldProvider, positions, horizontalMargin, below, above);
+        }
+        return read(worldProvider, minX - horizontalMargin, minY - below, minZ - horizontalMargin,
+                maxX + horizontalMargin, maxY + above, maxZ + horizontalMargin);
+    }
+
+    /**
+     * Reads the box around each of the given positions, reading blocks shared by several boxes only once.
+     *
+     * @param worldProvider the world to read from
+     * @param positions the positions to cover
+     * @param horizontalMargin the number of extra blocks to read on each horizontal side of a position
+     * @param below the number of extra blocks to read below a position
+     * @param above the number of extra blocks to read above a position
+     * @return the snapshot of the boxes
+     */
+    public static RegionSnapshot neighbourhoods(WorldProvider worldProvider, Collection<? extends Vector3ic> positions,
+                                                int horizontalMargin, int below, int above) {
+        int side = 2 * horizontalMargin + 1;
+        long volume = (long) side * side * (below + above + 1) * positions.size();
+        // at most half full
+        int capacity = Integer.highestOneBit((int) Math.min(1 << 29, Math.max(1, volume)) * 2 - 1) * 2;
+        RegionSnapshot snapshot = new RegionSnapshot(capacity);
+        for (Vector3ic position : positions) {
+            for (int y = position.y() - below; y <= position.y() + above; y++) {
+                for (int z = position.z() - horizontalMargin; z <= position.z() + horizontalMargin; z++) {
+                    for (int x = position.x() - horizontalMargin; x <= position.x() + horizontalMargin; x++) {
+                        long key = pack(x, y, z);
+                        int slot = snapshot.slot(key);
+                        if (snapshot.sparse[slot] == FREE) {
+                            snapshot.sparse[slot] = key;
+                            snapshot.blocks[slot] = worldProvider.isBlockRelevant(x, y, z)
+                                    ? worldProvider.getBlock(x, y, z) : null;
+                        }
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return whether the position lies inside the snapshot region
+     */
+    public boolean contains(int x, int y, int z) {
+        if (sparse != null) {
+            return sparse[slot(pack(x, y, z))] != FREE;
+        }
+        return x >= minX && y >= minY && z >= minZ
+                && x < minX + sizeX && y < minY + sizeY && z < minZ + sizeZ;
+    }
+
+    /**
+     * @return the block at the position when the snapshot was taken, or null if unknown
+     */
+    public Block get(int x, int y, int z) {
+        if (sparse != null) {
+            return blocks[slot(pack(x, y, z))];
+        }
+        if (!contains(x, y, z)) {
+            return null;
+        }
+        return blocks[index(x, y, z)];
+    }
+
+    /**
+     * @see #get(int, int, int)
+     */
+    public Block get(Vector3ic position) {
+        return get(position.x(), position.y(), position.z());
+    }
+
+    /**
+     * Overwrites the recorded block at the position.
+     * <p>
+     * Used to keep the snapshot in step with changes made while it is being consumed.  Setting a position to null
+     * marks it as unavailable.  Positions outside the region are ignored.
+     */
+    public void set(int x, int y, int z, Block block) {
+        if (sparse != null) {
+            int slot = slot(pack(x, y, z));
+            if (sparse[slot] != FREE) {
+                blocks[slot] = block;
+            }
+        } else if (contains(x, y, z)) {
+            blocks[index(x, y, z)] = block;
+        }
+    }
+
+    private int index(int x, int y, int z) {
+        return ((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX);
+    }
+
+    /**
+     * @return the slot of a sparse snapshot holding the packed position, or the free slot where it would go
+     */
+    private int slot(long key) {
+        int mask = sparse.length - 1;
+        long hash = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (sparse[slot] != FREE && sparse[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Packs a position into 21 bits per axis.
+     */
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x1FFFFF) << 42) | ((long) (y & 0x1FFFFF) << 21) | (z & 0x1FFFFF);
+    }
+}
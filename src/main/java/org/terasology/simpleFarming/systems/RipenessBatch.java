@@ -0,0 +1,145 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3i;
+
+import java.util.Arrays;
+
+/**
+ * The ripeness changes of one tick, as delivered to {@link RipenessListener}s.
+ * <p>
+ * Changes are coalesced per position: if a plant changes several times within a tick, only its latest state is
+ * reported.  The batch is reused between ticks, so listeners must copy out anything they want to keep.
+ *
+ * @see RipenessStream
+ */
+public final class RipenessBatch {
+    /**
+     * The stage reported for plants that were removed while ripe.
+     */
+    public static final int REMOVED = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final long COORDINATE_MASK = (1L << 21) - 1;
+
+    private int[] xs = new int[INITIAL_CAPACITY];
+    private int[] ys = new int[INITIAL_CAPACITY];
+    private int[] zs = new int[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private short[] stages = new short[INITIAL_CAPACITY];
+    private boolean[] ripe = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Open-addressing table from packed position to entry, used for coalescing.
+     */
+    private long[] keys = new long[INITIAL_CAPACITY * 2];
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+    RipenessBatch() {
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * @return the number of plants whose ripeness changed
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getX(int i) {
+        return xs[i];
+    }
+
+    public int getY(int i) {
+        return ys[i];
+    }
+
+    public int getZ(int i) {
+        return zs[i];
+    }
+
+    public Vector3i getPosition(int i, Vector3i dest) {
+        return dest.set(xs[i], ys[i], zs[i]);
+    }
+
+    public PlantType getType(int i) {
+        return PlantType.byOrdinal(types[i]);
+    }
+
+    /**
+     * @return the plant's new stage, or {@link #REMOVED}
+     */
+    public int getStage(int i) {
+        return stages[i];
+    }
+
+    /**
+     * @return whether the plant became ripe (true) or stopped being ripe (false)
+     */
+    public boolean isRipe(int i) {
+        return ripe[i];
+    }
+
+    void record(int x, int y, int z, PlantType type, int stage, boolean isRipe) {
+        long key = ((x & COORDINATE_MASK) << 42) | ((y & COORDINATE_MASK) << 21) | (z & COORDINATE_MASK);
+        int mask = keys.length - 1;
+        int bucket = (int) (key ^ (key >>> 29)) & mask;
+        while (keys[bucket] != EMPTY && keys[bucket] != key) {
+            bucket = (bucket + 1) & mask;
+        }
+
+        int i;
+        if (keys[bucket] == key) {
+            i = slots[bucket];
+        } else {
+            if (size == xs.length) {
+                grow();
+                record(x, y, z, type, stage, isRipe);
+                return;
+            }
+            i = size++;
+            keys[bucket] = key;
+            slots[bucket] = i;
+            xs[i] = x;
+            ys[i] = y;
+            zs[i] = z;
+        }
+        types[i] = (byte) type.ordinal();
+        stages[i] = (short) stage;
+        ripe[i] = isRipe;
+    }
+
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+    }
+
+    private void grow() {
+        int capacity = xs.length * 2;
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        zs = Arrays.copyOf(zs, capacity);
+        types = Arrays.copyOf(types, capacity);
+        stages = Arrays.copyOf(stages, capacity);
+        ripe = Arrays.copyOf(ripe, capacity);
+
+        keys = new long[capacity * 2];
+        slots = new int[capacity * 2];
+        Arrays.fill(keys, EMPTY);
+        int mask = keys.length - 1;
+        for (int i = 0; i < size; i++) {
+            long key = ((xs[i] & COORDINATE_MASK) << 42) | ((ys[i] & COORDINATE_MASK) << 21) | (zs[i] & COORDINATE_MASK);
+            int bucket = (int) (key ^ (key >>> 29)) & mask;
+            while (keys[bucket] != EMPTY) {
+                bucket = (bucket + 1) & mask;
+            }
+            keys[bucket] = key;
+            slots[bucket] = i;
+        }
+    }
+}
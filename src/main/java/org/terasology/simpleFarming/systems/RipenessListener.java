@@ -0,0 +1,19 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+/**
+ * Receives the plants that became ripe, or stopped being ripe, during a tick.
+ *
+ * @see RipenessStream
+ */
+@FunctionalInterface
+public interface RipenessListener {
+
+    /**
+     * Called once per tick in which at least one plant changed ripeness.
+     *
+     * @param batch the changes of this tick; only valid for the duration of the call
+     */
+    void onRipenessChanged(RipenessBatch batch);
+}
@@ -0,0 +1,17 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+/**
+ * Publishes ripeness changes of all loaded plants, so that automation and UI do not need to poll plant entities.
+ * <p>
+ * A plant is ripe when it is in its last stage: a harvestable bush or vine bud, a fully grown tree or a vine at its
+ * maximum length.  Changes are gathered from the {@link PlantIndex} and delivered once per tick as a
+ * {@link RipenessBatch}.  Plants merely being loaded or unloaded with their chunk are not reported.
+ */
+public interface RipenessStream {
+
+    void addListener(RipenessListener listener);
+
+    void removeListener(RipenessListener listener);
+}
@@ -3,6 +3,7 @@
 package org.terasology.simpleFarming.systems;
 
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.prefab.Prefab;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
@@ -11,29 +12,112 @@ import org.terasology.simpleFarming.events.ModifyTint;
 import org.terasology.substanceMatters.components.MaterialCompositionComponent;
 import org.terasology.substanceMatters.components.MaterialItemComponent;
 
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tints produce according to its filling, using the tinter substances defined by this module.
+ * <p>
+ * There are only three tint tiers and the icon only depends on the produce prefab, so the material components for each
+ * (prefab, tier) pair are built once and copied onto the produce from then on.
+ */
 @RegisterSystem(value = RegisterMode.AUTHORITY, requiresOptional = {"SubstanceMatters"})
 public class TintModifierSystem extends BaseComponentSystem {
 
+    /**
+     * Tint values at or below this threshold leave the produce untinted.
+     */
+    private static final float MIN_TINT = 1.5f;
+
+    /**
+     * Material templates per produce prefab, indexed by {@link TintTier#ordinal()}.
+     */
+    private final Map<Prefab, TintTemplate[]> templates = new HashMap<>();
+
+    @Override
+    public void shutdown() {
+        templates.clear();
+    }
+
+    /**
+     * Tints the produce according to the tint parameter, which is its filling after genetic modification.
+     *
+     * @param event the tint event
+     * @param entity the produce being tinted
+     * @see GenomeUtil#updateFilling
+     */
     @ReceiveEvent
     public void onTintModified(ModifyTint event, EntityRef entity) {
-        if (event.tintParameter > 1.5f) {
-            MaterialItemComponent materialItemComponent = new MaterialItemComponent();
-            materialItemComponent.icon = entity.getParentPrefab().getName();
-            entity.addOrSaveComponent(materialItemComponent);
-            MaterialCompositionComponent materialCompositionComponent = new MaterialCompositionComponent();
-            materialCompositionComponent.addSubstance(getTinter(event.tintParameter), 1f);
-            entity.addOrSaveComponent(materialCompositionComponent);
+        applyTint(entity, event.tintParameter);
+    }
+
+    private void applyTint(EntityRef entity, float tintParameter) {
+        Prefab prefab = entity.getParentPrefab();
+        if (tintParameter <= MIN_TINT || prefab == null) {
+            return;
+        }
+        TintTemplate template = getTemplate(prefab, TintTier.of(tintParameter));
+
+        MaterialItemComponent materialItemComponent = entity.getComponent(MaterialItemComponent.class);
+        if (materialItemComponent == null) {
+            materialItemComponent = new MaterialItemComponent();
         }
+        materialItemComponent.copyFrom(template.item);
+        entity.addOrSaveComponent(materialItemComponent);
 
+        MaterialCompositionComponent materialCompositionComponent = entity.getComponent(MaterialCompositionComponent.class);
+        if (materialCompositionComponent == null) {
+            materialCompositionComponent = new MaterialCompositionComponent();
+        }
+        materialCompositionComponent.copyFrom(template.composition);
+        entity.addOrSaveComponent(materialCompositionComponent);
     }
 
-    private static String getTinter(float amount) {
-        if (amount > 2.5f) {
-            return "MaxTinter";
-        } else if (amount > 2f) {
-            return "ModerateTinter";
-        } else {
-            return "LowTinter";
+    private TintTemplate getTemplate(Prefab prefab, TintTier tier) {
+        TintTemplate[] prefabTemplates = templates.computeIfAbsent(prefab, key -> new TintTemplate[TintTier.values().length]);
+        TintTemplate template = prefabTemplates[tier.ordinal()];
+        if (template == null) {
+            template = new TintTemplate(prefab.getName(), tier.tinter);
+            prefabTemplates[tier.ordinal()] = template;
+        }
+        return template;
+    }
+
+    /**
+     * The tinter substance used for each range of tint values.
+     */
+    private enum TintTier {
+        LOW("LowTinter"),
+        MODERATE("ModerateTinter"),
+        MAX("MaxTinter");
+
+        private final String tinter;
+
+        TintTier(String tinter) {
+            this.tinter = tinter;
+        }
+
+        private static TintTier of(float amount) {
+            if (amount > 2.5f) {
+                return MAX;
+            } else if (amount > 2f) {
+                return MODERATE;
+            } else {
+                return LOW;
+            }
+        }
+    }
+
+    /**
+     * Precomputed material components for one (prefab, tier) pair.  Never added to an entity directly.
+     */
+    private static final class TintTemplate {
+        private final MaterialItemComponent item = new MaterialItemComponent();
+        private final MaterialCompositionComponent composition = new MaterialCompositionComponent();
+
+        private TintTemplate(String icon, String tinter) {
+            item.icon = icon;
+            composition.addSubstance(tinter, 1f);
         }
     }
 }
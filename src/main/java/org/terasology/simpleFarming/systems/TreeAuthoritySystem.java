@@ -4,6 +4,8 @@ package org.terasology.simpleFarming.systems;
 
 import org.joml.Vector3f;
 import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.core.Time;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.entitySystem.prefab.Prefab;
@@ -28,16 +30,26 @@ import org.terasology.engine.world.block.items.BlockItemFactory;
 import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
 import org.terasology.simpleFarming.components.BushDefinitionComponent;
 import org.terasology.simpleFarming.components.CheatGrowthComponent;
-import org.terasology.simpleFarming.components.LeafStructureComponent;
+import org.terasology.simpleFarming.components.DormantGrowthComponent;
 import org.terasology.simpleFarming.components.LogComponent;
+import org.terasology.simpleFarming.components.RandomOrdinals;
 import org.terasology.simpleFarming.components.RootComponent;
 import org.terasology.simpleFarming.components.SaplingDefinitionComponent;
 import org.terasology.simpleFarming.components.TreeGrowthStage;
+import org.terasology.simpleFarming.components.TreeGrowthStages;
+import org.terasology.simpleFarming.events.DoCatchUpGrowth;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
 import org.terasology.simpleFarming.events.DoDestroyPlant;
+import org.terasology.simpleFarming.events.DoRemoveLeaf;
 import org.terasology.simpleFarming.events.OnSeedPlanted;
+import org.terasology.simpleFarming.events.ProduceCreated;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Manages the growth, destruction, and other events for trees.
@@ -52,16 +64,33 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
     @In
     private WorldProvider worldProvider;
     @In
+    private Time time;
+    @In
     private BlockManager blockManager;
     @In
     private BlockEntityRegistry blockEntityRegistry;
     @In
     private DelayManager delayManager;
     @In
+    private GrowthScheduler growthScheduler;
+    @In
     private EntityManager entityManager;
+    @In
+    private PlantIndex plantIndex;
+    @In
+    private FarmingMetrics metrics;
+    @In
+    private GrowthLod growthLod;
+    @In
+    private PlantRandom plantRandom;
+    @In
+    private PlantDefinitions plantDefinitions;
 
     private BlockItemFactory blockItemFactory;
 
+    /**
+     * Used for the impulses of dropped items only, which do not affect how trees evolve.
+     */
     private FastRandom random = new FastRandom();
 
     private Block airBlock;
@@ -74,7 +103,8 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
 
     /**
      * Creates a sapling and adds the SaplingDefinitionComponent to it, then resets the growth timer using {@link
-     * #resetDelay(EntityRef, int, int)}.
+     * #resetDelay(EntityRef, int, int)}. The prefab of the definition is recorded with the growth stages, so that they
+     * are saved as a reference to it.
      *
      * @param event The event for the seed being planted.
      * @param definitionEntity The entity receiving the event, not used.
@@ -83,25 +113,46 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onTreePlanted(OnSeedPlanted event, EntityRef definitionEntity, SaplingDefinitionComponent saplingComponent) {
+        long start = System.nanoTime();
+        FarmingFlightRecorder.Recording recording = FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.PLANTING);
+        Prefab prefab = definitionEntity.getParentPrefab();
+        if (prefab != null && prefab.hasComponent(SaplingDefinitionComponent.class)
+            && saplingComponent.growthStages instanceof TreeGrowthStages) {
+            ((TreeGrowthStages) saplingComponent.growthStages).setDefinition(prefab.getName());
+        }
         worldProvider.setBlock(event.getPosition(), saplingComponent.sapling);
+        metrics.increment(FarmingMetrics.Counter.BLOCK_WRITES);
         saplingComponent.location = new Vector3i(event.getPosition());
         EntityRef sapling = blockEntityRegistry.getExistingEntityAt(event.getPosition());
         sapling.addOrSaveComponent(saplingComponent);
+        plantIndex.put(saplingComponent.location, PlantType.SAPLING, 0, 1);
         TreeGrowthStage currentStage = saplingComponent.growthStages.get(0);
         resetDelay(sapling, currentStage.minTime, currentStage.maxTime);
+        metrics.record(FarmingMetrics.Timer.PLANTING, start);
+        FarmingFlightRecorder.commit(recording, sapling, saplingComponent.location, 1, 1);
     }
 
     /**
      * Grows the sapling into a tree using {@link #growSapling(SaplingDefinitionComponent)}.
      *
      * @param event The delayed growth event.
-     * @param sapling The sapling's block entity in the world, not used.
+     * @param sapling The sapling's block entity in the world.
      * @param saplingComponent The sapling definition used to grow the tree.
      */
     @ReceiveEvent
     public void onSaplingGrowth(DelayedActionTriggeredEvent event, EntityRef sapling, SaplingDefinitionComponent saplingComponent) {
-        if (event.getActionId().equals("SimpleFarming:" + sapling.getId() + ":Growth")) {
+        if (!GrowthActions.isTreeGrowth(event.getActionId()) || saplingComponent.growthStages.isEmpty()) {
+            // stages whose prefab is missing keep their timer for when it is loaded again
+            return;
+        }
+        saplingComponent.nextGrowthTime = 0;
+        if (growthLod.deferIfUnobserved(sapling, saplingComponent.location)) {
+            sapling.saveComponent(saplingComponent);
+        } else {
+            long start = System.nanoTime();
+            metrics.increment(FarmingMetrics.Counter.GROWTH_EVENTS);
             growSapling(saplingComponent);
+            metrics.record(FarmingMetrics.Timer.TREE_GROWTH, start);
         }
     }
 
@@ -121,11 +172,21 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onRootGrowth(DelayedActionTriggeredEvent event, EntityRef rootEntity, LogComponent logComponent, RootComponent rootComponent) {
-        if (!rootComponent.alive || rootComponent.growthStage + 1 == rootComponent.growthStages.size()
-            || !event.getActionId().equals("SimpleFarming:" + rootEntity.getId() + ":Growth")) {
+        if (!GrowthActions.isTreeGrowth(event.getActionId()) || rootComponent.growthStages.isEmpty()) {
+            // stages whose prefab is missing keep their timer for when it is loaded again
+            return;
+        }
+        rootComponent.nextGrowthTime = 0;
+        if (!rootComponent.alive || rootComponent.growthStage + 1 == rootComponent.growthStages.size()) {
+            return;
+        }
+        if (growthLod.deferIfUnobserved(rootEntity, logComponent.location)) {
+            rootEntity.saveComponent(rootComponent);
             return;
         }
 
+        long start = System.nanoTime();
+        metrics.increment(FarmingMetrics.Counter.GROWTH_EVENTS);
         rootComponent.growthStage++;
         if (canGenerateTree(rootEntity)) {
             rootEntity.addOrSaveComponent(rootComponent);
@@ -136,6 +197,217 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
                 resetDelay(rootEntity, nextStage.minTime, nextStage.maxTime);
             }
         }
+        metrics.record(FarmingMetrics.Timer.TREE_GROWTH, start);
+    }
+
+    /**
+     * Called when a player comes near a sapling whose growth was deferred. Grows the sapling into a tree and then
+     * straight to the stage it would have reached, generating the tree only once.
+     *
+     * @param event The event holding the time the sapling has been dormant.
+     * @param sapling The sapling's block entity.
+     * @param saplingComponent The sapling definition used to grow the tree.
+     * @see GrowthLodSystem
+     */
+    @ReceiveEvent
+    public void onSaplingCatchUp(DoCatchUpGrowth event, EntityRef sapling, SaplingDefinitionComponent saplingComponent) {
+        long start = System.nanoTime();
+        catchUpSapling(saplingComponent, event.getElapsed());
+        metrics.record(FarmingMetrics.Timer.TREE_GROWTH, start);
+    }
+
+    /**
+     * Grows a sapling into a tree and then straight to the stage it would have reached after the given time.
+     *
+     * @param saplingComponent The sapling definition used to grow the tree.
+     * @param elapsed The time since the sapling's growth was due, in milliseconds.
+     * @return The block entity of the root of the new tree, or {@link EntityRef#NULL} if it could not grow.
+     */
+    private EntityRef catchUpSapling(SaplingDefinitionComponent saplingComponent, long elapsed) {
+        List<TreeGrowthStage> stages = saplingComponent.growthStages;
+        GrowthCatchUp catchUp = GrowthCatchUp.advance(elapsed, stages.size(),
+            step -> sampleStageTime(saplingComponent.location, saplingComponent.randomOrdinals, stages, step));
+        metrics.add(FarmingMetrics.Counter.GROWTH_EVENTS, catchUp.steps);
+        EntityRef rootEntity = growSapling(saplingComponent);
+        if (rootEntity.exists()) {
+            if (catchUp.steps > 1) {
+                advanceTree(rootEntity, catchUp.steps - 1, catchUp.remaining);
+            } else if (catchUp.remaining != GrowthCatchUp.NO_TIMER) {
+                resetDelay(rootEntity, catchUp.remaining);
+            }
+        }
+        return rootEntity;
+    }
+
+    /**
+     * Called when a player comes near a tree whose growth was deferred. Regenerates the tree once, at the stage it
+     * would have reached.
+     *
+     * @param event The event holding the time the tree has been dormant.
+     * @param rootEntity The block entity of the root of the tree.
+     * @param logComponent The log component of the root.
+     * @param rootComponent The root component of the root.
+     * @see GrowthLodSystem
+     */
+    @ReceiveEvent
+    public void onRootCatchUp(DoCatchUpGrowth event, EntityRef rootEntity, LogComponent logComponent, RootComponent rootComponent) {
+        int stage = rootComponent.growthStage;
+        if (!rootComponent.alive || stage + 1 >= rootComponent.growthStages.size()) {
+            return;
+        }
+        long start = System.nanoTime();
+        catchUpTree(rootEntity, logComponent, rootComponent, event.getElapsed());
+        metrics.record(FarmingMetrics.Timer.TREE_GROWTH, start);
+    }
+
+    /**
+     * Regenerates a tree once, at the stage it would have reached after the given time.
+     *
+     * @param rootEntity The block entity of the root of the tree, which is alive and not in its last stage.
+     * @param logComponent The log component of the root.
+     * @param rootComponent The root component of the root.
+     * @param elapsed The time since the tree's growth was due, in milliseconds.
+     */
+    private void catchUpTree(EntityRef rootEntity, LogComponent logComponent, RootComponent rootComponent,
+                             long elapsed) {
+        int stage = rootComponent.growthStage;
+        List<TreeGrowthStage> stages = rootComponent.growthStages;
+        GrowthCatchUp catchUp = GrowthCatchUp.advance(elapsed, stages.size() - 1 - stage,
+            step -> sampleStageTime(logComponent.location, rootComponent.randomOrdinals, stages, stage + step + 1));
+        metrics.add(FarmingMetrics.Counter.GROWTH_EVENTS, catchUp.steps);
+        advanceTree(rootEntity, catchUp.steps, catchUp.remaining);
+    }
+
+    /**
+     * Advances all the saplings and trees rooted among the positions of a fast-forward.
+     * <p>
+     * Advanced by time, the time first runs down the current growth timer: a sapling or tree whose timer does not
+     * expire within it only has the timer shortened, and one whose timer does grows with the rest of the time as it
+     * would when catching up (see {@link #onSaplingCatchUp} and {@link #onRootCatchUp}).  By stages, a sapling first
+     * grows into a tree, which takes one stage.  Either way, each tree is generated once, at the stage it reaches, and
+     * its blocks are written together.
+     *
+     * @param event The fast-forward, which receives the number of saplings and trees that grew.
+     * @param entity The entity the event was sent to, not used.
+     * @see GrowthFastForwardSystem
+     */
+    @ReceiveEvent
+    public void onFastForward(DoFastForwardGrowth event, EntityRef entity) {
+        long start = System.nanoTime();
+        long now = time.getGameTimeInMs();
+        for (List<Vector3ic> chunk : event.getChunks()) {
+            for (Vector3ic position : chunk) {
+                EntityRef plant = blockEntityRegistry.getExistingEntityAt(position);
+                SaplingDefinitionComponent saplingComponent = plant.getComponent(SaplingDefinitionComponent.class);
+                LogComponent logComponent = plant.getComponent(LogComponent.class);
+                RootComponent rootComponent = plant.getComponent(RootComponent.class);
+                if (saplingComponent != null) {
+                    EntityRef rootEntity;
+                    if (event.isByTime()) {
+                        long overdue = fastForwardTimer(plant, saplingComponent.nextGrowthTime, now, event.getElapsed());
+                        if (overdue < 0) {
+                            event.addShortened(1);
+                            continue;
+                        }
+                        rootEntity = catchUpSapling(saplingComponent, overdue);
+                    } else {
+                        metrics.increment(FarmingMetrics.Counter.GROWTH_EVENTS);
+                        rootEntity = growSapling(saplingComponent);
+                        if (rootEntity.exists() && event.getStages() > 1) {
+                            advanceTree(rootEntity, event.getStages() - 1, GrowthCatchUp.NO_TIMER);
+                        }
+                    }
+                    if (rootEntity.exists()) {
+                        event.addChanged(1);
+                    }
+                } else if (logComponent != null && rootComponent != null && rootComponent.alive
+                        && rootComponent.growthStage + 1 < rootComponent.growthStages.size()) {
+                    int stage = rootComponent.growthStage;
+                    if (event.isByTime()) {
+                        long overdue = fastForwardTimer(plant, rootComponent.nextGrowthTime, now, event.getElapsed());
+                        if (overdue < 0) {
+                            event.addShortened(1);
+                            continue;
+                        }
+                        catchUpTree(plant, logComponent, rootComponent, overdue);
+                    } else {
+                        metrics.add(FarmingMetrics.Counter.GROWTH_EVENTS, event.getStages());
+                        advanceTree(plant, event.getStages(), GrowthCatchUp.NO_TIMER);
+                    }
+                    if (rootComponent.growthStage != stage) {
+                        event.addChanged(1);
+                    }
+                }
+            }
+        }
+        metrics.record(FarmingMetrics.Timer.TREE_GROWTH, start);
+    }
+
+    /**
+     * Runs down the growth timer of a sapling or tree being fast-forwarded by some time.
+     *
+     * @param plant The sapling or the root of the tree.
+     * @param nextGrowthTime The game time at which its growth is due, or 0 if it has none.
+     * @param now The current game time.
+     * @param elapsed The time it is fast-forwarded by.
+     * @return The time since its growth fell due, or a negative value if the timer does not expire within the time, in
+     *     which case the timer has been shortened by it.
+     * @see GrowthCatchUp#overdue(EntityRef, long, long, long)
+     */
+    private long fastForwardTimer(EntityRef plant, long nextGrowthTime, long now, long elapsed) {
+        long overdue = GrowthCatchUp.overdue(plant, nextGrowthTime, now, elapsed);
+        if (overdue < 0) {
+            resetDelay(plant, -overdue);
+        } else if (plant.hasComponent(DormantGrowthComponent.class)) {
+            plant.removeComponent(DormantGrowthComponent.class);
+        }
+        return overdue;
+    }
+
+    /**
+     * Grows a tree by several stages at once. If the tree cannot be generated at the target stage, the highest stage
+     * it can be generated at is used and the tree stops growing, as it would have when growing stage by stage.
+     *
+     * @param rootEntity The block entity of the root of the tree.
+     * @param steps The number of stages to grow.
+     * @param delay The delay of the growth timer for the following stage, or {@link GrowthCatchUp#NO_TIMER} for a
+     *     random one.
+     */
+    private void advanceTree(EntityRef rootEntity, int steps, long delay) {
+        LogComponent logComponent = rootEntity.getComponent(LogComponent.class);
+        RootComponent rootComponent = rootEntity.getComponent(RootComponent.class);
+        int stage = rootComponent.growthStage;
+        int target = Math.min(stage + steps, rootComponent.growthStages.size() - 1);
+        for (int reached = target; reached > stage; reached--) {
+            rootComponent.growthStage = reached;
+            if (canGenerateTree(rootEntity)) {
+                rootEntity.addOrSaveComponent(rootComponent);
+                destroyTree(rootEntity, logComponent.location);
+                generateTree(rootEntity);
+                if (reached == target && reached + 1 < rootComponent.growthStages.size()) {
+                    if (delay == GrowthCatchUp.NO_TIMER) {
+                        TreeGrowthStage nextStage = rootComponent.growthStages.get(reached + 1);
+                        resetDelay(rootEntity, nextStage.minTime, nextStage.maxTime);
+                    } else {
+                        resetDelay(rootEntity, delay);
+                    }
+                }
+                return;
+            }
+        }
+        rootComponent.growthStage = stage;
+    }
+
+    /**
+     * @return a random duration for the growth timer leading to the given stage, or {@link GrowthCatchUp#NO_TIMER}
+     *     if there is no such stage
+     */
+    private long sampleStageTime(Vector3ic location, RandomOrdinals ordinals, List<TreeGrowthStage> stages, int index) {
+        if (index >= stages.size()) {
+            return GrowthCatchUp.NO_TIMER;
+        }
+        TreeGrowthStage stage = stages.get(index);
+        return plantRandom.growthTime(location, ordinals, stage.minTime, stage.maxTime);
     }
 
     /**
@@ -188,8 +460,11 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onSaplingDestroyed(DoDestroyPlant event, EntityRef sapling, SaplingDefinitionComponent saplingComponent) {
+        plantIndex.remove(saplingComponent.location);
         String seed = saplingComponent.leaf.getComponent(BushDefinitionComponent.class).seed;
         EntityRef seedItem = entityManager.create(seed);
+        metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+        metrics.increment(FarmingMetrics.Counter.SEEDS_DROPPED);
         seedItem.send(new DropItemEvent(new Vector3f(saplingComponent.location).add(0, 0.5f, 0)));
         seedItem.send(new ImpulseEvent(random.nextVector3f(DROP_IMPULSE_AMOUNT, new Vector3f())));
     }
@@ -218,7 +493,9 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onLogDestroyed(DoDestroyPlant event, EntityRef log, LogComponent logComponent) {
+        long start = System.nanoTime();
         destroyLog(log, true);
+        metrics.record(FarmingMetrics.Timer.DESTRUCTION, start);
     }
 
     /**
@@ -238,9 +515,11 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
             if (rootComponent.growthStage == 0) {
                 destroyTree(rootEntity, logComponent.location);
                 worldProvider.setBlock(logComponent.location, rootComponent.sapling);
+                metrics.increment(FarmingMetrics.Counter.BLOCK_WRITES);
                 EntityRef saplingEntity = blockEntityRegistry.getExistingEntityAt(logComponent.location);
                 SaplingDefinitionComponent saplingComponent = new SaplingDefinitionComponent(rootComponent, logComponent.location);
                 saplingEntity.addOrSaveComponent(saplingComponent);
+                plantIndex.put(logComponent.location, PlantType.SAPLING, 0, 1);
                 TreeGrowthStage currentStage = saplingComponent.growthStages.get(0);
                 resetDelay(saplingEntity, currentStage.minTime, currentStage.maxTime);
                 return;
@@ -271,33 +550,32 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
 
     /**
      * Checks if a root is able to generate the tree for its current growth stage. It is able to generate if nothing is
-     * blocking the positions where new log blocks would go. Because this method is also used for checking if a
-     * currently existing tree can be grown, it will consider logs and leaves which are part of the same tree to be
+     * blocking the positions where new log blocks would go, and also the positions of its leaves if the tree
+     * {@link RootComponent#requireFullCanopy requires its full canopy}. Because this method is also used for checking
+     * if a currently existing tree can be grown, it will consider logs and leaves which are part of the same tree to be
      * valid spaces.
+     * <p>
+     * The whole footprint of the stage is checked against a single read of the world.
      *
      * @param rootEntity The block entity for the root of the tree.
      * @return Whether or not the tree can be generated.
      * @see #isValidBlock(Vector3i, EntityRef)
+     * @see TreeFootprint
      */
     private boolean canGenerateTree(EntityRef rootEntity) {
         LogComponent logComponent = rootEntity.getComponent(LogComponent.class);
         RootComponent rootComponent = rootEntity.getComponent(RootComponent.class);
-        TreeGrowthStage currentStage = rootComponent.growthStages.get(rootComponent.growthStage);
-        Vector3i location = new Vector3i(logComponent.location);
-        location.y += 1;
-        int rootY = location.y;
-        while (location.y - rootY < currentStage.height - 1) {
-            if (!isValidBlock(location, rootEntity)) {
-                return false;
-            }
-            location.y += 1;
-        }
-        return true;
+        migrateLeaves(rootEntity, rootComponent);
+        TreeGrowthStage growthStage = rootComponent.growthStages.get(rootComponent.growthStage);
+        TreeFootprint footprint = plantDefinitions.treeFootprint(growthStage);
+        RegionSnapshot snapshot = footprint.read(worldProvider, logComponent.location);
+        return footprint.fits(snapshot, logComponent.location, airBlock, rootComponent.requireFullCanopy,
+            position -> isValidBlock(position, rootEntity));
     }
 
     /**
      * Checks if the position is a valid space to spawn a new block. The space is considered valid if it is an air block
-     * or if it is part of the tree.
+     * or if it is part of the tree, as determined by {@link #isLeafOf} for leaves.
      *
      * @param position The position to check.
      * @param rootEntity The block entity of the root of the tree this block will be part of, used for checking if
@@ -312,7 +590,93 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
         EntityRef e = blockEntityRegistry.getExistingEntityAt(position);
         return isValidBlock(position) //Air block
             || (e != EntityRef.NULL && e.hasComponent(LogComponent.class) && e.getComponent(LogComponent.class).root == rootEntity)   //Log Block
-            || rootEntity.getComponent(RootComponent.class).leaves.contains(e);   //Leaf block
+            || isLeafOf(e, position, rootEntity, rootEntity.getComponent(RootComponent.class));   //Leaf block
+    }
+
+    /**
+     * Checks whether an entity is a leaf of the given tree.
+     * <p>
+     * Leaves refer to their tree. Leaves grown by earlier versions do not; they are taken to belong to the tree if their
+     * position is among its {@link RootComponent#leafOffsets} and their block is a stage of the tree's
+     * {@link RootComponent#leaf}.
+     *
+     * @param entity The entity to check, possibly {@link EntityRef#NULL}.
+     * @param position The position of the entity.
+     * @param rootEntity The block entity of the root of the tree.
+     * @param rootComponent The root component of the root.
+     * @return Whether or not the entity is a leaf of the tree.
+     */
+    private boolean isLeafOf(EntityRef entity, Vector3ic position, EntityRef rootEntity, RootComponent rootComponent) {
+        if (!isLeaf(entity)) {
+            return false;
+        }
+        EntityRef tree = entity.getComponent(BushDefinitionComponent.class).tree;
+        if (tree != null && tree != EntityRef.NULL) {
+            return tree.equals(rootEntity);
+        }
+        Vector3ic rootLocation = rootEntity.getComponent(LogComponent.class).location;
+        if (!rootComponent.leafOffsets.contains(LeafOffsets.pack(rootLocation, position))) {
+            return false;
+        }
+        Block[] stages = rootComponent.leaf == null ? null : plantDefinitions.bushStages(rootComponent.leaf.getName());
+        return stages != null && Arrays.asList(stages).contains(worldProvider.getBlock(position));
+    }
+
+    /**
+     * Forgets the position of a leaf of the tree that was destroyed or harvested away, so that a leaf of another tree
+     * can take it.
+     *
+     * @param event The event holding the position of the leaf.
+     * @param rootEntity The block entity of the root of the tree.
+     * @param logComponent The log component of the root.
+     * @param rootComponent The root component of the root.
+     */
+    @ReceiveEvent
+    public void onLeafRemoved(DoRemoveLeaf event, EntityRef rootEntity, LogComponent logComponent,
+                              RootComponent rootComponent) {
+        if (rootComponent.leafOffsets.remove(LeafOffsets.pack(logComponent.location, event.getPosition()))) {
+            rootEntity.saveComponent(rootComponent);
+        }
+    }
+
+    /**
+     * Moves the leaves of a tree saved by an earlier version from {@link RootComponent#leaves} into
+     * {@link RootComponent#leafOffsets}, dropping references to leaves that no longer exist. This is done the first
+     * time the canopy is needed rather than when the root is loaded, so that the chunks holding the leaves are loaded
+     * too.
+     *
+     * @param rootEntity The block entity of the root of the tree.
+     * @param rootComponent The root component of the entity.
+     */
+    private void migrateLeaves(EntityRef rootEntity, RootComponent rootComponent) {
+        if (rootComponent.leaves.isEmpty()) {
+            return;
+        }
+        Vector3ic rootLocation = rootEntity.getComponent(LogComponent.class).location;
+        for (EntityRef leaf : rootComponent.leaves) {
+            BlockComponent blockComponent = leaf.getComponent(BlockComponent.class);
+            if (blockComponent != null && isLeaf(leaf)) {
+                rootComponent.leafOffsets.add(LeafOffsets.pack(rootLocation, blockComponent.getPosition()));
+                BushDefinitionComponent bushComponent = leaf.getComponent(BushDefinitionComponent.class);
+                if (bushComponent.tree == null || bushComponent.tree == EntityRef.NULL) {
+                    bushComponent.tree = rootEntity;
+                    leaf.saveComponent(bushComponent);
+                }
+            }
+        }
+        rootComponent.leaves.clear();
+        rootEntity.saveComponent(rootComponent);
+    }
+
+    /**
+     * Checks whether an entity is a leaf, i.e. a bush that did not grow from a vine.
+     *
+     * @param entity The entity to check, possibly {@link EntityRef#NULL}.
+     * @return Whether or not the entity is a leaf.
+     */
+    private static boolean isLeaf(EntityRef entity) {
+        BushDefinitionComponent bushComponent = entity.getComponent(BushDefinitionComponent.class);
+        return bushComponent != null && bushComponent.parent == null;
     }
 
     /**
@@ -336,11 +700,12 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
      * reverting back to the sapling form.
      *
      * @param saplingComponent The sapling's definition.
+     * @return The root of the new tree, or {@link EntityRef#NULL} if the sapling could not grow.
      * @see #addLog(Vector3i, Block, boolean, SaplingDefinitionComponent)
      * @see #canGenerateTree(EntityRef)
      * @see #generateTree(EntityRef)
      */
-    private void growSapling(SaplingDefinitionComponent saplingComponent) {
+    private EntityRef growSapling(SaplingDefinitionComponent saplingComponent) {
         Vector3i location = saplingComponent.location;
         Block log = saplingComponent.log;
 
@@ -352,13 +717,15 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
                 TreeGrowthStage nextStage = rootComponent.growthStages.get(rootComponent.growthStage + 1);
                 resetDelay(rootEntity, nextStage.minTime, nextStage.maxTime);
             }
+            return rootEntity;
         } else {
             worldProvider.setBlock(location, saplingComponent.sapling);
+            metrics.increment(FarmingMetrics.Counter.BLOCK_WRITES);
             EntityRef saplingEntity = blockEntityRegistry.getExistingEntityAt(location);
             saplingEntity.addOrSaveComponent(saplingComponent);
             TreeGrowthStage currentStage = saplingComponent.growthStages.get(0);
             resetDelay(saplingEntity, currentStage.minTime, currentStage.maxTime);
-            return;
+            return EntityRef.NULL;
         }
     }
 
@@ -368,9 +735,11 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
      * @param rootEntity The block entity for the root.
      * @see TreeGrowthStage
      * @see #addLog(Vector3i, Block, boolean, EntityRef)
-     * @see #addLeaf(Vector3i, Prefab, RootComponent)
+     * @see #addLeaf(Vector3i, Prefab, EntityRef, RootComponent, Vector3ic)
      */
     private void generateTree(EntityRef rootEntity) {
+        long start = System.nanoTime();
+        FarmingFlightRecorder.Recording recording = FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.TREE_GENERATE);
         LogComponent logComponent = rootEntity.getComponent(LogComponent.class);
         RootComponent rootComponent = rootEntity.getComponent(RootComponent.class);
 
@@ -378,21 +747,31 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
         Prefab leaf = rootComponent.leaf;
 
         TreeGrowthStage currentStage = rootComponent.growthStages.get(rootComponent.growthStage);
+        TreeFootprint footprint = plantDefinitions.treeFootprint(currentStage);
+        RegionSnapshot snapshot = footprint.read(worldProvider, logComponent.location);
         Vector3i location = new Vector3i(logComponent.location);
         location.y += 1;
         int rootY = location.y;
+        int blocks = 0;
         while (location.y - rootY < currentStage.height - 1) {
-            addLog(new Vector3i(location), log, false, rootEntity);
+            if (snapshot.get(location) == airBlock) {
+                addLog(new Vector3i(location), log, true, rootEntity);
+                blocks++;
+            }
             location.y += 1;
         }
 
-        Set<Vector3i> leaves = getLeaves(currentStage);
-        for (Vector3i leafLocation : leaves) {
-            addLeaf(new Vector3i(logComponent.location).add(leafLocation), leaf, rootComponent);
+        BitSet leaves = footprint.freeLeaves(snapshot, logComponent.location, airBlock);
+        for (int i = leaves.nextSetBit(0); i >= 0; i = leaves.nextSetBit(i + 1)) {
+            addLeaf(footprint.position(i, logComponent.location, new Vector3i()), leaf, rootEntity, rootComponent,
+                logComponent.location);
         }
 
         rootComponent.alive = true;
         rootEntity.addOrSaveComponent(rootComponent);
+        plantIndex.put(logComponent.location, PlantType.TREE, rootComponent.growthStage, rootComponent.growthStages.size() - 1);
+        FarmingFlightRecorder.commit(recording, rootEntity, logComponent.location, rootComponent.growthStage + 1,
+            blocks + leaves.cardinality());
     }
 
     /**
@@ -407,6 +786,7 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
     private EntityRef addLog(Vector3i location, Block log, boolean force) {
         if (force || isValidBlock(location)) {
             worldProvider.setBlock(location, log);
+            metrics.increment(FarmingMetrics.Counter.BLOCK_WRITES);
             return blockEntityRegistry.getExistingEntityAt(location);
         }
         return EntityRef.NULL;
@@ -461,19 +841,18 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
 
     /**
      * Creates a leaf at the specified location. This method only creates the bush block, it is mainly a helper method.
+     * The location should already have been checked to be free.
      *
      * @param location The place to add the leaf block.
      * @param leaf The prefab for the leaf. It should have a {@link BushDefinitionComponent}
      * @return The newly created leaf's block entity.
-     * @see #addLeaf(Vector3i, Prefab, RootComponent)
+     * @see #addLeaf(Vector3i, Prefab, EntityRef, RootComponent, Vector3ic)
      */
     private EntityRef addLeaf(Vector3i location, Prefab leaf) {
-        if (isValidBlock(location)) {
-            EntityRef leafEntity = entityManager.create(leaf);
-            leafEntity.send(new OnSeedPlanted(location));
-            return blockEntityRegistry.getExistingEntityAt(location);
-        }
-        return EntityRef.NULL;
+        EntityRef leafEntity = entityManager.create(leaf);
+        metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+        leafEntity.send(new OnSeedPlanted(location));
+        return blockEntityRegistry.getExistingEntityAt(location);
     }
 
     /**
@@ -481,15 +860,22 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
      *
      * @param location The place to add the leaf block.
      * @param leaf The prefab for the leaf. It should have a {@link BushDefinitionComponent}
-     * @param rootComponent The RootComponent to add the leaf's {@link EntityRef} to.
+     * @param rootEntity The block entity of the root, which the leaf refers to.
+     * @param rootComponent The RootComponent to add the leaf's position to.
+     * @param rootLocation The location of the root.
      * @return The newly created leaf's block entity.
      * @see #addLeaf(Vector3i, Prefab)
-     * @see RootComponent#leaves
+     * @see RootComponent#leafOffsets
+     * @see BushDefinitionComponent#tree
      */
-    private EntityRef addLeaf(Vector3i location, Prefab leaf, RootComponent rootComponent) {
+    private EntityRef addLeaf(Vector3i location, Prefab leaf, EntityRef rootEntity, RootComponent rootComponent,
+                              Vector3ic rootLocation) {
         EntityRef leafEntity = addLeaf(location, leaf);
-        if (leafEntity != EntityRef.NULL) {
-            rootComponent.leaves.add(leafEntity);
+        BushDefinitionComponent bushComponent = leafEntity.getComponent(BushDefinitionComponent.class);
+        if (bushComponent != null) {
+            bushComponent.tree = rootEntity;
+            leafEntity.saveComponent(bushComponent);
+            rootComponent.leafOffsets.add(LeafOffsets.pack(rootLocation, location));
         }
         return leafEntity;
     }
@@ -514,61 +900,146 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
     /**
      * Destroys a log block in a tree, and all of the logs above it along with all of the leaves on a tree. Also marks
      * the tree as no longer alive so that it does not grow anymore.
+     * <p>
+     * The trunk and canopy are collected first and then cleared in a single batched write. If items are dropped, the
+     * logs drop as one stack and the saplings of ripe leaves as one stack per sapling type, rather than an item per
+     * block, so felling a tree sends the same number of events however tall it is.
      *
      * @param log The log to be destroyed.
-     * @param doItemDrops Whether or not the tree should drop its items. If true, then the leaves and logs will be
-     *     sent {@link DoDestroyPlant} events. Otherwise, they will just be replaced with air.
-     * @see #destroyLeaves(Set, boolean)
+     * @param doItemDrops Whether or not the tree should drop its items. Otherwise, the blocks are just replaced with
+     *     air.
+     * @see #dropStack(EntityRef, int, Vector3f)
      */
     private void destroyLog(EntityRef log, boolean doItemDrops) {
+        long start = System.nanoTime();
+        FarmingFlightRecorder.Recording recording = FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.TREE_DESTROY);
         LogComponent logComponent = log.getComponent(LogComponent.class);
         EntityRef rootEntity = logComponent.root;
         RootComponent rootComponent = rootEntity.getComponent(RootComponent.class);
+        Map<Vector3ic, Block> cleared = new HashMap<>();
 
+        List<EntityRef> leaves = new ArrayList<>();
+        Vector3ic killedRoot = null;
         if (rootComponent != null && rootComponent.alive) {
-            destroyLeaves(rootComponent.leaves, doItemDrops);
-            rootComponent.leaves.clear();
+            migrateLeaves(rootEntity, rootComponent);
+            Vector3ic rootLocation = rootEntity.getComponent(LogComponent.class).location;
+            killedRoot = rootLocation;
+            for (int offset : rootComponent.leafOffsets) {
+                Vector3i leafLocation = LeafOffsets.unpack(rootLocation, offset, new Vector3i());
+                EntityRef leaf = blockEntityRegistry.getExistingEntityAt(leafLocation);
+                if (isLeafOf(leaf, leafLocation, rootEntity, rootComponent)) {
+                    leaves.add(leaf);
+                    cleared.put(leafLocation, airBlock);
+                }
+            }
+            rootComponent.leafOffsets.clear();
             rootComponent.alive = false;
             rootEntity.addOrSaveComponent(rootComponent);
         }
 
+        int logs = 0;
+        Vector3i location = new Vector3i(logComponent.location);
+        EntityRef current = log;
+        while (current != EntityRef.NULL && current.hasComponent(LogComponent.class)
+            && current.getComponent(LogComponent.class).root == rootEntity) {
+            cleared.put(new Vector3i(location), airBlock);
+            logs++;
+            location.y += 1;
+            current = blockEntityRegistry.getExistingEntityAt(location);
+        }
+
         if (doItemDrops) {
+            Vector3f dropLocation = new Vector3f(logComponent.location);
             EntityRef logItem = blockItemFactory.newInstance(log.getComponent(BlockComponent.class).getBlock().getBlockFamily(), 1);
-            logItem.send(new DropItemEvent(new Vector3f(logComponent.location).add(0, 0.5f, 0)));
-            logItem.send(new ImpulseEvent(random.nextVector3f(DROP_IMPULSE_AMOUNT, new Vector3f())));
+            metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+            dropStack(logItem, logs, dropLocation);
+            dropSaplings(leaves, dropLocation);
         }
-        worldProvider.setBlock(logComponent.location, airBlock);
 
-        Vector3i aboveLocation = new Vector3i(logComponent.location);
-        aboveLocation.y += 1;
-        EntityRef aboveLogEntity = blockEntityRegistry.getExistingEntityAt(aboveLocation);
-        if (aboveLogEntity != EntityRef.NULL && aboveLogEntity.hasComponent(LogComponent.class)
-            && aboveLogEntity.getComponent(LogComponent.class).root == rootEntity) {
-            if (doItemDrops) {
-                aboveLogEntity.send(new DoDestroyPlant());
-            } else {
-                destroyLog(aboveLogEntity, false);
-            }
+        for (EntityRef leaf : leaves) {
+            plantIndex.remove(leaf.getComponent(BlockComponent.class).getPosition());
+        }
+        if (rootEntity == log) {
+            plantIndex.remove(logComponent.location);
+        } else if (killedRoot != null) {
+            // the root's log is left standing, but it no longer grows
+            plantIndex.remove(killedRoot);
         }
+        worldProvider.setBlocks(cleared);
+        metrics.add(FarmingMetrics.Counter.BLOCK_WRITES, cleared.size());
+        FarmingFlightRecorder.commit(recording, rootEntity, logComponent.location,
+            rootComponent == null ? 0 : rootComponent.growthStage + 1, cleared.size());
     }
 
     /**
-     * Destroys all of the leaves in a set of leaves.
+     * Drops the saplings of the ripe leaves of a tree, aggregated into one stack per sapling prefab and genes, so the
+     * leaves must still exist.  A leaf without a genome gets one with the item created for it, as when it is harvested.
      *
-     * @param leaves The set of leaves to destroy.
-     * @param doItemDrops Whether or not the leaves should drop their items (saplings). If true, then the leaves
-     *     will be sent {@link DoDestroyPlant} events. Otherwise, they will just be replaced with air.
-     * @see RootComponent#leaves
+     * @param leaves The leaves of the tree.
+     * @param location Where to drop the saplings.
      */
-    private void destroyLeaves(Set<EntityRef> leaves, boolean doItemDrops) {
+    private void dropSaplings(List<EntityRef> leaves, Vector3f location) {
+        Map<String, EntityRef> items = new HashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
         for (EntityRef leaf : leaves) {
-            if (leaf.exists() && leaf.hasComponent(BushDefinitionComponent.class)) {
-                Vector3i leafLocation = leaf.getComponent(BlockComponent.class).getPosition(new Vector3i());
-                if (doItemDrops) {
-                    leaf.send(new DoDestroyPlant());
+            BushDefinitionComponent bushComponent = leaf.getComponent(BushDefinitionComponent.class);
+            if (bushComponent.currentStage != bushComponent.growthStages.size() - 1) {
+                continue;
+            }
+            int seeds = BushAuthoritySystem.numSeeds(bushComponent,
+                leaf.getComponent(BlockComponent.class).getPosition(), plantRandom);
+            if (seeds <= 0) {
+                continue;
+            }
+            String seed = bushComponent.seed == null ? bushComponent.produce : bushComponent.seed;
+            String key = ProduceGenes.stackKey(seed, leaf);
+            if (!items.containsKey(key)) {
+                EntityRef seedItem = entityManager.create(seed);
+                metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+                seedItem.send(new ProduceCreated(leaf, seedItem));
+                key = ProduceGenes.stackKey(seed, seedItem);
+                if (items.containsKey(key)) {
+                    seedItem.destroy();
+                    metrics.increment(FarmingMetrics.Counter.ENTITIES_DESTROYED);
+                } else {
+                    items.put(key, seedItem);
                 }
-                worldProvider.setBlock(leafLocation, airBlock);
             }
+            counts.merge(key, seeds, Integer::sum);
+        }
+        for (Map.Entry<String, EntityRef> entry : items.entrySet()) {
+            int count = counts.get(entry.getKey());
+            metrics.add(FarmingMetrics.Counter.SEEDS_DROPPED, count);
+            dropStack(entry.getValue(), count, location);
+        }
+    }
+
+    /**
+     * Drops a number of items, as few stacks as the item's maximum stack size allows.
+     *
+     * @param item The item to drop; further stacks are copies of it.
+     * @param count The number of items to drop.
+     * @param location Where to drop the items.
+     */
+    private void dropStack(EntityRef item, int count, Vector3f location) {
+        ItemComponent template = item.getComponent(ItemComponent.class);
+        int maxStackSize = template == null ? 1 : Math.max(1, template.maxStackSize);
+        int remaining = count;
+        while (remaining > 0) {
+            int size = Math.min(remaining, maxStackSize);
+            remaining -= size;
+            EntityRef stack = item;
+            if (remaining > 0) {
+                stack = item.copy();
+                metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+            }
+            ItemComponent itemComponent = stack.getComponent(ItemComponent.class);
+            if (itemComponent != null) {
+                itemComponent.stackCount = (byte) size;
+                stack.saveComponent(itemComponent);
+            }
+            stack.send(new DropItemEvent(new Vector3f(location).add(0, 0.5f, 0)));
+            stack.send(new ImpulseEvent(random.nextVector3f(DROP_IMPULSE_AMOUNT, new Vector3f())));
         }
     }
 
@@ -581,23 +1052,39 @@ public class TreeAuthoritySystem extends BaseComponentSystem {
      * @param max the maximum duration in milliseconds
      */
     private void resetDelay(EntityRef entity, int min, int max) {
-        String actionId = "SimpleFarming:" + entity.getId() + ":Growth";
-        if (delayManager.hasDelayedAction(entity, actionId)) {
-            delayManager.cancelDelayedAction(entity, actionId);
+        LogComponent logComponent = entity.getComponent(LogComponent.class);
+        if (logComponent != null) {
+            RootComponent rootComponent = entity.getComponent(RootComponent.class);
+            resetDelay(entity, plantRandom.growthTime(logComponent.location, rootComponent.randomOrdinals, min, max));
+        } else {
+            SaplingDefinitionComponent saplingComponent = entity.getComponent(SaplingDefinitionComponent.class);
+            resetDelay(entity, plantRandom.growthTime(saplingComponent.location, saplingComponent.randomOrdinals, min,
+                max));
         }
-        delayManager.addDelayedAction(entity, actionId, PlantAuthoritySystem.generateRandom(min, max));
     }
 
     /**
-     * Gets the leaf locations for a growth stage.
+     * Starts a new growth timer with the given duration, replacing any previously started growth timer, and stores its
+     * due time on the root or sapling. Timers left in the delay manager by earlier versions are cancelled.
      *
-     * @param growthStage The growth stage to get the values from.
-     * @return A Set of all of the locations where a leaf should be grown.
+     * @param entity the entity to set the timer on
+     * @param delay the duration in milliseconds
      */
-    private static Set<Vector3i> getLeaves(TreeGrowthStage growthStage) {
-        Set<Vector3i> locations = growthStage.leafStructure.getComponent(LeafStructureComponent.class).leaves;
-        Set<Vector3i> adjustedLocations = new HashSet<>();
-        locations.forEach(location -> adjustedLocations.add(new Vector3i(location).add(0, growthStage.height - 1, 0)));
-        return adjustedLocations;
+    private void resetDelay(EntityRef entity, long delay) {
+        String legacyAction = GrowthActions.legacyTreeGrowth(entity.getId());
+        if (delayManager.hasDelayedAction(entity, legacyAction)) {
+            delayManager.cancelDelayedAction(entity, legacyAction);
+        }
+        long dueTime = growthScheduler.schedule(entity, GrowthActions.TREE, delay);
+        RootComponent rootComponent = entity.getComponent(RootComponent.class);
+        if (rootComponent != null) {
+            rootComponent.nextGrowthTime = dueTime;
+            entity.saveComponent(rootComponent);
+        } else {
+            SaplingDefinitionComponent saplingComponent = entity.getComponent(SaplingDefinitionComponent.class);
+            saplingComponent.nextGrowthTime = dueTime;
+            entity.saveComponent(saplingComponent);
+        }
     }
+
 }
@@ -0,0 +1,155 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.simpleFarming.components.LeafStructureComponent;
+import org.terasology.simpleFarming.components.TreeGrowthStage;
+
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+/**
+ * The blocks a tree occupies in one growth stage, compiled into bitmasks over the stage's bounding box.
+ * <p>
+ * Positions are relative to the root log.  The trunk is the column above the root; leaves that would fall on the root
+ * or the trunk are left out, as they could never be placed.  The bounding box always contains the root, so a footprint
+ * is never empty.
+ */
+final class TreeFootprint {
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final BitSet logs;
+    private final BitSet leaves;
+
+    private TreeFootprint(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = maxX - minX + 1;
+        this.sizeY = maxY - minY + 1;
+        this.sizeZ = maxZ - minZ + 1;
+        this.logs = new BitSet(sizeX * sizeY * sizeZ);
+        this.leaves = new BitSet(sizeX * sizeY * sizeZ);
+    }
+
+    /**
+     * Compiles the footprint of a growth stage.
+     *
+     * @param stage the growth stage, whose leaf structure must have a {@link LeafStructureComponent}
+     */
+    static TreeFootprint of(TreeGrowthStage stage) {
+        int top = stage.height - 1;
+        int minX = 0;
+        int minY = 0;
+        int minZ = 0;
+        int maxX = 0;
+        int maxY = Math.max(0, top);
+        int maxZ = 0;
+        Iterable<Vector3i> structure = stage.leafStructure.getComponent(LeafStructureComponent.class).leaves;
+        for (Vector3i leaf : structure) {
+            minX = Math.min(minX, leaf.x);
+            minY = Math.min(minY, leaf.y + top);
+            minZ = Math.min(minZ, leaf.z);
+            maxX = Math.max(maxX, leaf.x);
+            maxY = Math.max(maxY, leaf.y + top);
+            maxZ = Math.max(maxZ, leaf.z);
+        }
+
+        TreeFootprint footprint = new TreeFootprint(minX, minY, minZ, maxX, maxY, maxZ);
+        for (int y = 1; y <= top; y++) {
+            footprint.logs.set(footprint.index(0, y, 0));
+        }
+        for (Vector3i leaf : structure) {
+            int index = footprint.index(leaf.x, leaf.y + top, leaf.z);
+            boolean onTrunk = leaf.x == 0 && leaf.z == 0 && leaf.y + top >= 0 && leaf.y + top <= top;
+            if (!onTrunk) {
+                footprint.leaves.set(index);
+            }
+        }
+        return footprint;
+    }
+
+    /**
+     * Reads the bounding box of the footprint around a root.
+     */
+    RegionSnapshot read(WorldProvider worldProvider, Vector3ic root) {
+        return RegionSnapshot.read(worldProvider, root.x() + minX, root.y() + minY, root.z() + minZ,
+                root.x() + minX + sizeX - 1, root.y() + minY + sizeY - 1, root.z() + minZ + sizeZ - 1);
+    }
+
+    /**
+     * Checks whether the tree fits at a root.
+     * <p>
+     * A position fits if it is air in the snapshot or if {@code ownBlock} accepts it, which is only asked for
+     * positions that are not air.
+     *
+     * @param snapshot a snapshot covering the footprint, see {@link #read}
+     * @param root the position of the root log
+     * @param air the air block
+     * @param includeCanopy whether the leaves must fit as well as the trunk
+     * @param ownBlock accepts blocks that may be replaced, such as those of the tree being regrown
+     * @return whether all the checked positions fit
+     */
+    boolean fits(RegionSnapshot snapshot, Vector3ic root, Block air, boolean includeCanopy,
+                 Predicate<Vector3i> ownBlock) {
+        return fits(logs, snapshot, root, air, ownBlock)
+                && (!includeCanopy || fits(leaves, snapshot, root, air, ownBlock));
+    }
+
+    /**
+     * @param snapshot a snapshot covering the footprint, see {@link #read}
+     * @param air the air block
+     * @return the leaf positions that are air in the snapshot, as indices for {@link #position}
+     */
+    BitSet freeLeaves(RegionSnapshot snapshot, Vector3ic root, Block air) {
+        BitSet free = new BitSet();
+        Vector3i position = new Vector3i();
+        for (int i = leaves.nextSetBit(0); i >= 0; i = leaves.nextSetBit(i + 1)) {
+            position(i, root, position);
+            if (snapshot.get(position) == air) {
+                free.set(i);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Converts an index of the bitmasks into a world position.
+     *
+     * @param index the index
+     * @param root the position of the root log
+     * @param dest will hold the result
+     * @return dest
+     */
+    Vector3i position(int index, Vector3ic root, Vector3i dest) {
+        int x = index % sizeX;
+        int z = index / sizeX % sizeZ;
+        int y = index / (sizeX * sizeZ);
+        return dest.set(root.x() + minX + x, root.y() + minY + y, root.z() + minZ + z);
+    }
+
+    private boolean fits(BitSet mask, RegionSnapshot snapshot, Vector3ic root, Block air,
+                         Predicate<Vector3i> ownBlock) {
+        Vector3i position = new Vector3i();
+        for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+            position(i, root, position);
+            Block block = snapshot.get(position);
+            if (block != air && (block == null || !ownBlock.test(position))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(int x, int y, int z) {
+        return ((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX);
+    }
+}
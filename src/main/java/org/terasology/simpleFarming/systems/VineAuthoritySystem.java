@@ -4,17 +4,17 @@ package org.terasology.simpleFarming.systems;
 
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
+import org.terasology.engine.core.Time;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.engine.logic.common.ActivateEvent;
-import org.terasology.engine.logic.delay.DelayManager;
 import org.terasology.engine.logic.delay.DelayedActionTriggeredEvent;
 import org.terasology.engine.logic.inventory.ItemComponent;
 import org.terasology.engine.registry.In;
-import org.terasology.engine.utilities.random.FastRandom;
 import org.terasology.engine.world.BlockEntityRegistry;
 import org.terasology.engine.world.WorldProvider;
 import org.terasology.engine.world.block.Block;
@@ -23,25 +23,34 @@ import org.terasology.engine.world.block.entity.CreateBlockDropsEvent;
 import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
 import org.terasology.simpleFarming.components.BushDefinitionComponent;
 import org.terasology.simpleFarming.components.CheatGrowthComponent;
+import org.terasology.simpleFarming.components.DormantGrowthComponent;
 import org.terasology.simpleFarming.components.SeedDefinitionComponent;
 import org.terasology.simpleFarming.components.VineDefinitionComponent;
 import org.terasology.simpleFarming.components.VineNodeComponent;
+import org.terasology.simpleFarming.events.DoCatchUpGrowth;
 import org.terasology.simpleFarming.events.DoDestroyPlant;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
 import org.terasology.simpleFarming.events.DoRemoveBud;
 import org.terasology.simpleFarming.events.OnSeedPlanted;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * System managing the lifecycle of vines.
  * <p>
  * See {@link VineDefinitionComponent} for an explanation of the vine lifecycle.
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
-public class VineAuthoritySystem extends BaseComponentSystem {
+public class VineAuthoritySystem extends BaseComponentSystem implements UpdateSubscriberSystem {
 
     /**
      * The maximum number of non-air blocks adjacent to a vine stem block.
      */
-    private static final int MAX_NEIGHBOURS = 2;
+    static final int MAX_NEIGHBOURS = 2;
 
     /**
      * The percentage chance that a new bud will spawn each growth cycle.
@@ -49,20 +58,42 @@ public class VineAuthoritySystem extends BaseComponentSystem {
      * This is checked for each vine stem block that doesn't already have a bud, every growth
      * cycle.
      */
-    private static final double BUD_CHANCE = 0.2;
+    static final double BUD_CHANCE = 0.2;
+
+    /**
+     * The most growth cycles applied when a dormant vine catches up.
+     * <p>
+     * Catching up stops early once the vine is at full length, as further cycles have no effect.  A vine that is
+     * blocked may never get there; each of its cycles has only a small chance of adding a bud, so after this many
+     * cycles further ones would almost certainly not change it.
+     */
+    private static final int MAX_CATCH_UP_CYCLES = 256;
 
     @In
     private WorldProvider worldProvider;
     @In
+    private Time time;
+    @In
     private BlockManager blockManager;
     @In
     private BlockEntityRegistry blockEntityRegistry;
     @In
-    private DelayManager delayManager;
+    private GrowthScheduler growthScheduler;
     @In
     private EntityManager entityManager;
+    @In
+    private PlantIndex plantIndex;
+    @In
+    private FarmingMetrics metrics;
+    @In
+    private GrowthLod growthLod;
+    @In
+    private PlantRandom plantRandom;
 
-    private FastRandom random = new FastRandom();
+    /**
+     * Vine roots whose growth timer fired since the last update.
+     */
+    private final Set<EntityRef> pendingVines = new LinkedHashSet<>();
 
     /**
      * The standard air block, cached on initialization.
@@ -70,18 +101,50 @@ public class VineAuthoritySystem extends BaseComponentSystem {
     private Block airBlock;
 
     /**
-     * Array holding all possible spawn directions.
+     * Reads the live world for planning, reporting blocks that are not relevant as unknown.
      */
-    private Vector3i[] spawnPos = new Vector3i[4];
+    private VineGrowthPlanner.BlockReader worldBlocks;
 
     @Override
     public void postBegin() {
         super.postBegin();
         airBlock = blockManager.getBlock(BlockManager.AIR_ID);
-        spawnPos[0] = new Vector3i(-1, 0, 0);
-        spawnPos[1] = new Vector3i(1, 0, 0);
-        spawnPos[2] = new Vector3i(0, 0, 1);
-        spawnPos[3] = new Vector3i(0, 0, -1);
+        worldBlocks = (x, y, z) -> worldProvider.isBlockRelevant(x, y, z) ? worldProvider.getBlock(x, y, z) : null;
+    }
+
+    @Override
+    public void shutdown() {
+        pendingVines.clear();
+    }
+
+    /**
+     * Grows the vines that became due since the last update.
+     * <p>
+     * The vines due in a tick are grown together, one after the other, once the event handlers of the tick have run.
+     *
+     * @see #growVines(List)
+     */
+    @Override
+    public void update(float delta) {
+        if (pendingVines.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<VineGrowthPlanner.Sketch> sketches = new ArrayList<>(pendingVines.size());
+        for (EntityRef root : pendingVines) {
+            VineNodeComponent nodeComponent = root.getComponent(VineNodeComponent.class);
+            VineDefinitionComponent vineComponent = root.getComponent(VineDefinitionComponent.class);
+            if (nodeComponent == null || vineComponent == null || nodeComponent.length == -1) {
+                continue;
+            }
+            if (nodeComponent.length < vineComponent.maxLength) {
+                sketches.add(sketch(root, nodeComponent, vineComponent));
+            }
+            resetDelay(root, nodeComponent, vineComponent.minGrowTime, vineComponent.maxGrowTime);
+        }
+        pendingVines.clear();
+        growVines(sketches);
+        metrics.record(FarmingMetrics.Timer.VINE_GROWTH, start);
     }
 
     /**
@@ -99,18 +162,25 @@ public class VineAuthoritySystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onVinePlanted(OnSeedPlanted event, EntityRef definitionEntity, VineDefinitionComponent vineComponent) {
+        long start = System.nanoTime();
+        FarmingFlightRecorder.Recording recording = FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.PLANTING);
         worldProvider.setBlock(event.getPosition(), vineComponent.stem);
+        metrics.increment(FarmingMetrics.Counter.BLOCK_WRITES);
         EntityRef vine = blockEntityRegistry.getExistingEntityAt(event.getPosition());
         vine.addOrSaveComponent(vineComponent);
-        vine.addComponent(new VineNodeComponent(new Vector3i(event.getPosition())));
-        resetDelay(vine, vineComponent.minGrowTime, vineComponent.maxGrowTime);
+        VineNodeComponent rootComponent = new VineNodeComponent(new Vector3i(event.getPosition()));
+        vine.addComponent(rootComponent);
+        plantIndex.put(event.getPosition(), PlantType.VINE, 0, vineComponent.maxLength);
+        resetDelay(vine, rootComponent, vineComponent.minGrowTime, vineComponent.maxGrowTime);
+        metrics.record(FarmingMetrics.Timer.PLANTING, start);
+        FarmingFlightRecorder.commit(recording, vine, event.getPosition(), 1, 1);
     }
 
     /**
      * Called periodically to grow the current vine.
      * <p>
-     * See {@link #recurseGrow(EntityRef, VineDefinitionComponent)} for details of what happens during a growth cycle.
-     * After the growth cycle is complete, restarts the growth timer.
+     * Queues the vine for the next {@link #update(float)}, which runs its growth cycle (see
+     * {@link VineGrowthPlanner#plan}) and restarts the growth timer.
      *
      * @param event         the event indicating the timer has ended
      * @param root          the vine root
@@ -118,213 +188,294 @@ public class VineAuthoritySystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onVineGrowth(DelayedActionTriggeredEvent event, EntityRef root, VineNodeComponent nodeComponent, VineDefinitionComponent vineComponent) {
-        doGrowVine(root, nodeComponent, vineComponent);
-    }
-
-    private void doGrowVine(EntityRef root, VineNodeComponent nodeComponent, VineDefinitionComponent vineComponent) {
-        if (nodeComponent.length != -1) {
-            if (nodeComponent.length < vineComponent.maxLength) {
-                recurseGrow(root, vineComponent);
-            }
-            resetDelay(root, vineComponent.minGrowTime, vineComponent.maxGrowTime);
+        if (!GrowthActions.isVineGrowth(event.getActionId())) {
+            return;
         }
+        nodeComponent.nextGrowthTime = 0;
+        if (growthLod.deferIfUnobserved(root, nodeComponent.position)) {
+            root.saveComponent(nodeComponent);
+            return;
+        }
+        metrics.increment(FarmingMetrics.Counter.GROWTH_EVENTS);
+        pendingVines.add(root);
     }
 
     /**
-     * Called when an item with the cheat component is used on a block
+     * Called when a player comes near a vine whose growth was deferred.
      * <p>
-     * Grows the targeted vine
+     * Runs all the growth cycles the vine missed back to back, up to {@link #MAX_CATCH_UP_CYCLES}, and continues the
+     * growth timer where the last missed cycle left it.
      *
-     * @param event
-     * @param item
-     * @param cheatGrowthComponent
-     * @param itemComponent
+     * @param event         the event holding the time the vine has been dormant
+     * @param root          the vine root
+     * @param nodeComponent the root's node
+     * @param vineComponent the vine's definition
+     * @see GrowthLodSystem
      */
     @ReceiveEvent
-    public void onCheatGrowth(ActivateEvent event, EntityRef item, CheatGrowthComponent cheatGrowthComponent, ItemComponent itemComponent) {
-        EntityRef target = event.getTarget();
-        if (!target.hasComponent(VineDefinitionComponent.class) || !target.hasComponent(VineNodeComponent.class)) {
+    public void onCatchUpGrowth(DoCatchUpGrowth event, EntityRef root, VineNodeComponent nodeComponent,
+                                VineDefinitionComponent vineComponent) {
+        if (nodeComponent.length == -1) {
             return;
         }
-
-        VineDefinitionComponent vineDefinitionComponent = target.getComponent(VineDefinitionComponent.class);
-        VineNodeComponent vineNodeComponent = target.getComponent(VineNodeComponent.class);
-        if (!cheatGrowthComponent.causesUnGrowth) {
-            doGrowVine(target, vineNodeComponent, vineDefinitionComponent);
+        long start = System.nanoTime();
+        GrowthCatchUp catchUp = GrowthCatchUp.advance(event.getElapsed(), MAX_CATCH_UP_CYCLES,
+                step -> plantRandom.growthTime(nodeComponent.position, nodeComponent.randomOrdinals,
+                        vineComponent.minGrowTime, vineComponent.maxGrowTime));
+        metrics.add(FarmingMetrics.Counter.GROWTH_EVENTS, catchUp.steps);
+        for (int cycle = 0; cycle < catchUp.steps && nodeComponent.length < vineComponent.maxLength; cycle++) {
+            growVine(root, nodeComponent, vineComponent);
+        }
+        if (catchUp.remaining == GrowthCatchUp.NO_TIMER) {
+            resetDelay(root, nodeComponent, vineComponent.minGrowTime, vineComponent.maxGrowTime);
+        } else {
+            scheduleGrowth(root, catchUp.remaining);
         }
+        metrics.record(FarmingMetrics.Timer.VINE_GROWTH, start);
     }
 
-
     /**
-     * Recursively grows the vine.
+     * Advances all the vines rooted among the positions of a fast-forward.
      * <p>
-     * Called once for each stem block in the vine.  Each stem block that doesn't already have a bud
-     * has a chance to grow one, and if the vine is not already at maximum length (20 blocks),
-     * a new stem block is added at the end.
+     * The vines grow cycle by cycle in lockstep, each cycle planning all the vines that still have cycles to run
+     * together, as in {@link #update(float)}.  Advanced by time, the time first runs down the vine's current growth
+     * timer: a vine whose timer does not expire within it only has the timer shortened, and one whose timer does runs
+     * as many cycles as when catching up with the rest of the time (see {@link #onCatchUpGrowth}).  By stages, a vine
+     * runs one cycle per stage.  Growth timers then continue as after catching up.
      *
-     * @param node          the current node to process
-     * @param vineComponent the vine's definition
-     * @return the {@link VineNodeComponent#length} of this node, after all growth is complete
+     * @param event the fast-forward, which receives the number of vines that grew
+     * @param entity the entity the event was sent to, not used
+     * @see GrowthFastForwardSystem
      */
-    private int recurseGrow(EntityRef node, VineDefinitionComponent vineComponent) {
-        VineNodeComponent nodeComponent = node.getComponent(VineNodeComponent.class);
-        if (nodeComponent.bud != null && nodeComponent.child != null) {
-            nodeComponent.length = recurseGrow(nodeComponent.child, vineComponent) + 1;
+    @ReceiveEvent
+    public void onFastForward(DoFastForwardGrowth event, EntityRef entity) {
+        long start = System.nanoTime();
+        List<EntityRef> roots = new ArrayList<>();
+        List<Integer> cycles = new ArrayList<>();
+        List<Long> delays = new ArrayList<>();
+        int maxCycles = 0;
+        long now = time.getGameTimeInMs();
+        for (List<Vector3ic> chunk : event.getChunks()) {
+            for (Vector3ic position : chunk) {
+                EntityRef root = blockEntityRegistry.getExistingEntityAt(position);
+                VineNodeComponent nodeComponent = root.getComponent(VineNodeComponent.class);
+                VineDefinitionComponent vineComponent = root.getComponent(VineDefinitionComponent.class);
+                if (nodeComponent == null || vineComponent == null || nodeComponent.length == -1) {
+                    continue;
+                }
+                int steps = Math.min(MAX_CATCH_UP_CYCLES, event.getStages());
+                long delay = GrowthCatchUp.NO_TIMER;
+                if (event.isByTime()) {
+                    long overdue = GrowthCatchUp.overdue(root, nodeComponent.nextGrowthTime, now, event.getElapsed());
+                    if (overdue < 0) {
+                        scheduleGrowth(root, -overdue);
+                        event.addShortened(1);
+                        continue;
+                    }
+                    if (root.hasComponent(DormantGrowthComponent.class)) {
+                        root.removeComponent(DormantGrowthComponent.class);
+                    }
+                    // the cycle due in the next update is the first of the catch-up
+                    pendingVines.remove(root);
+                    GrowthCatchUp catchUp = GrowthCatchUp.advance(overdue, MAX_CATCH_UP_CYCLES, step ->
+                            plantRandom.growthTime(position, nodeComponent.randomOrdinals, vineComponent.minGrowTime,
+                                    vineComponent.maxGrowTime));
+                    steps = catchUp.steps;
+                    delay = catchUp.remaining;
+                }
+                roots.add(root);
+                cycles.add(steps);
+                delays.add(delay);
+                maxCycles = Math.max(maxCycles, steps);
+            }
+        }
 
-        } else if (nodeComponent.child != null) {
-            if (random.nextDouble() < BUD_CHANCE) {
-                if (addBud(node, vineComponent)) {
-                    return nodeComponent.length;
+        int[] startLengths = new int[roots.size()];
+        for (int i = 0; i < roots.size(); i++) {
+            startLengths[i] = roots.get(i).getComponent(VineNodeComponent.class).length;
+        }
+        for (int cycle = 0; cycle < maxCycles; cycle++) {
+            List<VineGrowthPlanner.Sketch> sketches = new ArrayList<>();
+            for (int i = 0; i < roots.size(); i++) {
+                EntityRef root = roots.get(i);
+                VineNodeComponent nodeComponent = root.getComponent(VineNodeComponent.class);
+                VineDefinitionComponent vineComponent = root.getComponent(VineDefinitionComponent.class);
+                if (cycle < cycles.get(i) && nodeComponent != null && vineComponent != null
+                        && nodeComponent.length < vineComponent.maxLength) {
+                    sketches.add(sketch(root, nodeComponent, vineComponent));
                 }
             }
-            nodeComponent.length = recurseGrow(nodeComponent.child, vineComponent) + 1;
-        } else {
-            if (addChild(node, vineComponent)) {
-                nodeComponent.length = 1;
+            if (sketches.isEmpty()) {
+                break;
+            }
+            metrics.add(FarmingMetrics.Counter.GROWTH_EVENTS, sketches.size());
+            growVines(sketches);
+        }
+
+        for (int i = 0; i < roots.size(); i++) {
+            EntityRef root = roots.get(i);
+            VineNodeComponent nodeComponent = root.getComponent(VineNodeComponent.class);
+            VineDefinitionComponent vineComponent = root.getComponent(VineDefinitionComponent.class);
+            if (nodeComponent == null || vineComponent == null) {
+                continue;
+            }
+            if (delays.get(i) == GrowthCatchUp.NO_TIMER) {
+                resetDelay(root, nodeComponent, vineComponent.minGrowTime, vineComponent.maxGrowTime);
+            } else {
+                scheduleGrowth(root, delays.get(i));
+            }
+            if (nodeComponent.length != startLengths[i]) {
+                event.addChanged(1);
             }
         }
-        node.addOrSaveComponent(nodeComponent);
-        return nodeComponent.length;
+        metrics.record(FarmingMetrics.Timer.VINE_GROWTH, start);
+    }
+
+    private void doGrowVine(EntityRef root, VineNodeComponent nodeComponent, VineDefinitionComponent vineComponent) {
+        if (nodeComponent.length != -1) {
+            growVine(root, nodeComponent, vineComponent);
+            resetDelay(root, nodeComponent, vineComponent.minGrowTime, vineComponent.maxGrowTime);
+        }
     }
 
     /**
-     * Attempts to add a new bud to the vine.
-     * <p>
-     * After the new bud entity has been created, passes control to the {@link BushAuthoritySystem}
-     * via an {@link OnSeedPlanted} event.  The {@code BushAuthoritySystem} is responsible for
-     * managing the remainder of the bud's lifecycle.
-     * <p>
-     * This method can fail to add a bud if there are no valid positions adjacent to {@code parent}.
-     * See {@link #isValidPosition(Vector3i)} for the definition of a valid position.
-     *
-     * @param parent the budding vine node
-     * @return true if a bud was added, or false if no valid position for a bud could be found
+     * Runs a single growth cycle, without restarting the growth timer.
      */
-    private boolean addBud(EntityRef parent, VineDefinitionComponent vineComponent) {
-        VineNodeComponent nodeComponent = parent.getComponent(VineNodeComponent.class);
-        Vector3i pos = getGrowthPosition(nodeComponent, true);
-        if (pos != null) {
-            EntityRef budEntity = entityManager.create(vineComponent.bud);
-            BushDefinitionComponent bushComponent = budEntity.getComponent(BushDefinitionComponent.class);
-            bushComponent.parent = parent;
-            budEntity.saveComponent(bushComponent);
-
-            budEntity.send(new OnSeedPlanted(pos));
-
-            nodeComponent.bud = budEntity;
-            parent.saveComponent(nodeComponent);
-            return true;
+    private void growVine(EntityRef root, VineNodeComponent nodeComponent, VineDefinitionComponent vineComponent) {
+        if (nodeComponent.length < vineComponent.maxLength) {
+            growVines(Collections.singletonList(sketch(root, nodeComponent, vineComponent)));
         }
-        return false;
     }
 
-
     /**
-     * Attempts to grow a new block of vine stem.
+     * Runs a growth cycle for each of the vines, in order.
      * <p>
-     * This method can fail to add a new stem block if there are no valid positions adjacent to
-     * {@code parent}.  See {@link #isValidPosition(Vector3i)} for the definition of a valid
-     * position.
+     * Each vine is planned against the live world right before its plan is applied, so it sees the blocks added by the
+     * vines before it, and only the blocks the plan checks are read.
      *
-     * @param parent        the vine node to attach to
-     * @param vineComponent the vine's definition
-     * @return true if the child was added, or false if no valid position could be found
+     * @param sketches the vines to grow, none of them at full length
      */
-    private boolean addChild(EntityRef parent, VineDefinitionComponent vineComponent) {
-        VineNodeComponent nodeComponent = parent.getComponent(VineNodeComponent.class);
-        Vector3i pos = getGrowthPosition(nodeComponent, false);
-        if (pos != null) {
-            worldProvider.setBlock(pos, vineComponent.stem);
-            nodeComponent.child = blockEntityRegistry.getExistingEntityAt(pos);
-            nodeComponent.child.addComponent(new VineNodeComponent(parent, pos));
-            parent.addOrSaveComponent(nodeComponent);
-            return true;
+    private void growVines(List<VineGrowthPlanner.Sketch> sketches) {
+        for (VineGrowthPlanner.Sketch sketch : sketches) {
+            commit(VineGrowthPlanner.plan(sketch, worldBlocks, airBlock));
         }
-        return false;
     }
 
     /**
-     * Returns the position to spawn a new vine element in.
-     * <p>
-     * The positions considered are the four positions adjacent to {@code parent} and on the same Y-level.
-     * See {@link #isValidPosition(Vector3i)} for the definition of a valid position; additionally, a
-     * position is considered invalid if it is horizontally adjacent to more than {@link #MAX_NEIGHBOURS}
-     * non-air blocks.
-     * <p>
-     * If a valid position exists, returns one selected at random; otherwise returns null.
-     * <p>
-     * Get the position to spawn a new vine element in
-     *
-     * @param parent the node this new element will be attached to
-     * @param isBud  if the node is to be a bud.
-     * @return a position to grow in, or null if none exist
+     * Copies what planning needs out of the vine's entities.
      */
-    private Vector3i getGrowthPosition(VineNodeComponent parent, boolean isBud) {
-
-        shuffleArray(spawnPos);
-        for (Vector3i possiblePos : spawnPos) {
-            Vector3i nextPos = new Vector3i(possiblePos);
-            nextPos.add(parent.position);
+    private VineGrowthPlanner.Sketch sketch(EntityRef root, VineNodeComponent rootComponent,
+                                            VineDefinitionComponent vineComponent) {
+        List<EntityRef> nodes = new ArrayList<>();
+        List<Vector3ic> positions = new ArrayList<>();
+        List<Boolean> hasBud = new ArrayList<>();
+        EntityRef node = root;
+        VineNodeComponent nodeComponent = rootComponent;
+        while (nodeComponent != null) {
+            Vector3i position = new Vector3i(nodeComponent.position);
+            nodes.add(node);
+            positions.add(position);
+            hasBud.add(nodeComponent.bud != null);
+            node = nodeComponent.child;
+            nodeComponent = node == null ? null : node.getComponent(VineNodeComponent.class);
+        }
+        return new VineGrowthPlanner.Sketch(root, vineComponent, nodes, positions, hasBud,
+                plantRandom.next(rootComponent.position, rootComponent.randomOrdinals, PlantRandom.Purpose.VINE_GROWTH));
+    }
 
-            if ((isValidPosition(nextPos) && (countNeighbours(nextPos) <= MAX_NEIGHBOURS || isBud))) {
-                return nextPos;
+    /**
+     * Applies a plan, and updates the vine's entry in the plant index.
+     */
+    private void commit(VineGrowthPlanner.Plan plan) {
+        FarmingFlightRecorder.Recording recording = FarmingFlightRecorder.begin(FarmingFlightRecorder.Kind.VINE_GROWTH);
+        VineGrowthPlanner.Sketch sketch = plan.sketch;
+        int blocks = 0;
+        if (plan.node >= 0) {
+            EntityRef node = sketch.nodes[plan.node];
+            VineNodeComponent nodeComponent = node.getComponent(VineNodeComponent.class);
+            if (nodeComponent != null) {
+                if (plan.bud) {
+                    addBud(node, nodeComponent, sketch.vineComponent, plan.position);
+                } else {
+                    addChild(node, nodeComponent, sketch.vineComponent, plan.position);
+                    rebuildLength(node, 1);
+                }
+                blocks++;
             }
         }
-
-        return null;
+        VineNodeComponent rootComponent = sketch.root.getComponent(VineNodeComponent.class);
+        if (rootComponent != null) {
+            plantIndex.put(rootComponent.position, PlantType.VINE, rootComponent.length, sketch.vineComponent.maxLength);
+            FarmingFlightRecorder.commit(recording, sketch.root, rootComponent.position, blocks, blocks);
+        }
     }
 
     /**
-     * Checks if the position is a valid position for a new stem or bud.
+     * Called when an item with the cheat component is used on a block
      * <p>
-     * A position is considered valid if:
-     * <ol>
-     * <li>It is currently occupied by an air block.</li>
-     * <li>The block immediately beneath it is not {@linkplain Block#isPenetrable()} penetrable.</li>
-     * </ol>
+     * Grows the targeted vine
      *
-     * @param position the position to check for validity; null returns false
-     * @return true if a vine can grow there, false otherwise
+     * @param event
+     * @param item
+     * @param cheatGrowthComponent
+     * @param itemComponent
      */
-    private boolean isValidPosition(Vector3i position) {
-        if (position == null) {
-            return false;
-        }
-        Block targetBlock = worldProvider.getBlock(position);
-        if (targetBlock != airBlock) {
-            return false;
+    @ReceiveEvent
+    public void onCheatGrowth(ActivateEvent event, EntityRef item, CheatGrowthComponent cheatGrowthComponent, ItemComponent itemComponent) {
+        EntityRef target = event.getTarget();
+        if (!target.hasComponent(VineDefinitionComponent.class) || !target.hasComponent(VineNodeComponent.class)) {
+            return;
         }
-        Block belowBlock = worldProvider.getBlock(position.add(0,-1,0));
-        position.add(0,1,0);
-        if (belowBlock.isPenetrable()) {
-            return false;
+
+        VineDefinitionComponent vineDefinitionComponent = target.getComponent(VineDefinitionComponent.class);
+        VineNodeComponent vineNodeComponent = target.getComponent(VineNodeComponent.class);
+        if (!cheatGrowthComponent.causesUnGrowth) {
+            doGrowVine(target, vineNodeComponent, vineDefinitionComponent);
         }
-        return true;
     }
 
     /**
-     * Counts how many non-air blocks are next to the given position.
+     * Attempts to add a new bud to the vine.
      * <p>
-     * Only blocks in the same x-z plane are considered, and the position itself is disregarded.
+     * After the new bud entity has been created, passes control to the {@link BushAuthoritySystem}
+     * via an {@link OnSeedPlanted} event.  The {@code BushAuthoritySystem} is responsible for
+     * managing the remainder of the bud's lifecycle.
      *
-     * @param position the position whose neighbours to count
-     * @return the number of blocks found
+     * @param parent        the budding vine node
+     * @param nodeComponent the node component of {@code parent}
+     * @param vineComponent the vine's definition
+     * @param pos           the position of the new bud
      */
-    private int countNeighbours(Vector3i position) {
-        int count = 0;
-        Vector3i pos = new Vector3i();
-        pos.y = position.y();
-        for (int x = -1; x <= 1; x++) {
-            for (int z = -1; z <= 1; z++) {
-                pos.x = position.x + x;
-                pos.z = position.z + z;
-                Block neighbour = worldProvider.getBlock(pos);
-                if (!neighbour.equals(airBlock)) {
-                    count++;
-                }
-            }
-        }
-        return count;
+    private void addBud(EntityRef parent, VineNodeComponent nodeComponent, VineDefinitionComponent vineComponent,
+                        Vector3ic pos) {
+        EntityRef budEntity = entityManager.create(vineComponent.bud);
+        metrics.increment(FarmingMetrics.Counter.ENTITIES_CREATED);
+        BushDefinitionComponent bushComponent = budEntity.getComponent(BushDefinitionComponent.class);
+        bushComponent.parent = parent;
+        budEntity.saveComponent(bushComponent);
+
+        budEntity.send(new OnSeedPlanted(pos));
+
+        nodeComponent.bud = budEntity;
+        parent.saveComponent(nodeComponent);
+    }
+
+
+    /**
+     * Grows a new block of vine stem.
+     *
+     * @param parent        the vine node to attach to
+     * @param nodeComponent the node component of {@code parent}
+     * @param vineComponent the vine's definition
+     * @param pos           the position of the new stem block
+     */
+    private void addChild(EntityRef parent, VineNodeComponent nodeComponent, VineDefinitionComponent vineComponent,
+                          Vector3ic pos) {
+        worldProvider.setBlock(pos, vineComponent.stem);
+        metrics.increment(FarmingMetrics.Counter.BLOCK_WRITES);
+        nodeComponent.child = blockEntityRegistry.getExistingEntityAt(pos);
+        nodeComponent.child.addComponent(new VineNodeComponent(parent, new Vector3i(pos)));
+        parent.addOrSaveComponent(nodeComponent);
     }
 
     /**
@@ -350,6 +501,7 @@ public class VineAuthoritySystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onVineDestroyed(CreateBlockDropsEvent event, EntityRef entity, VineNodeComponent nodeComponent) {
+        long start = System.nanoTime();
         recurseKill(entity);
         if (nodeComponent.parent == null) {
             nodeComponent.length = -1;
@@ -361,6 +513,7 @@ public class VineAuthoritySystem extends BaseComponentSystem {
             rebuildLength(nodeComponent.parent, 0);
         }
         event.consume();
+        metrics.record(FarmingMetrics.Timer.DESTRUCTION, start);
     }
 
     /**
@@ -371,6 +524,10 @@ public class VineAuthoritySystem extends BaseComponentSystem {
     private void recurseKill(EntityRef node) {
         VineNodeComponent nodeComponent = node.getComponent(VineNodeComponent.class);
         worldProvider.setBlock(nodeComponent.position, airBlock);
+        metrics.increment(FarmingMetrics.Counter.BLOCK_WRITES);
+        if (nodeComponent.parent == null) {
+            plantIndex.remove(nodeComponent.position);
+        }
         if (nodeComponent.child != null) {
             recurseKill(nodeComponent.child);
         }
@@ -378,6 +535,7 @@ public class VineAuthoritySystem extends BaseComponentSystem {
             nodeComponent.bud.send(new DoDestroyPlant(true));
         }
         node.destroy();
+        metrics.increment(FarmingMetrics.Counter.ENTITIES_DESTROYED);
     }
 
     /**
@@ -396,31 +554,26 @@ public class VineAuthoritySystem extends BaseComponentSystem {
     }
 
     /**
-     * Shuffles an array in place.
+     * Starts a new growth timer with random duration, subject to the given bounds.
      *
-     * @param elements the array to shuffle
+     * @param entity        the entity to set the timer on
+     * @param rootComponent the node component of the vine root, whose draws are saved with the timer
+     * @param min           the minimum duration in milliseconds
+     * @param max           the maximum duration in milliseconds
      */
-    private void shuffleArray(Vector3i[] elements) {
-        Vector3i temp;
-        int a;
-        int b;
-        for (int i = 0; i < elements.length / 2; i++) {
-            a = random.nextInt(elements.length);
-            b = random.nextInt(elements.length);
-            temp = elements[a];
-            elements[a] = elements[b];
-            elements[b] = temp;
-        }
+    private void resetDelay(EntityRef entity, VineNodeComponent rootComponent, int min, int max) {
+        scheduleGrowth(entity, plantRandom.growthTime(rootComponent.position, rootComponent.randomOrdinals, min, max));
     }
 
     /**
-     * Starts a new growth timer with random duration, subject to the given bounds.
+     * Schedules the next growth of the vine and stores its due time on the root.
      *
-     * @param entity the entity to set the timer on
-     * @param min    the minimum duration in milliseconds
-     * @param max    the maximum duration in milliseconds
+     * @param root  the vine root
+     * @param delay the delay in milliseconds
      */
-    private void resetDelay(EntityRef entity, int min, int max) {
-        delayManager.addDelayedAction(entity, "SimpleFarming:" + entity.getId(), PlantAuthoritySystem.generateRandom(min, max));
+    private void scheduleGrowth(EntityRef root, long delay) {
+        VineNodeComponent nodeComponent = root.getComponent(VineNodeComponent.class);
+        nodeComponent.nextGrowthTime = growthScheduler.schedule(root, GrowthActions.VINE, delay);
+        root.saveComponent(nodeComponent);
     }
 }
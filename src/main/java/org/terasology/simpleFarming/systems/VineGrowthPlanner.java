@@ -0,0 +1,172 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.utilities.random.Random;
+import org.terasology.engine.world.block.Block;
+import org.terasology.simpleFarming.components.VineDefinitionComponent;
+
+import java.util.List;
+
+/**
+ * Decides what a vine does in one growth cycle, using data copied out of the vine's entities beforehand and reading
+ * blocks through a {@link BlockReader}.
+ * <p>
+ * Planning does not touch the entity system and only reads the blocks it checks, so {@link VineAuthoritySystem} plans
+ * each vine against the live world right before applying the plan, and tests can plan against a
+ * {@link RegionSnapshot}.
+ */
+final class VineGrowthPlanner {
+
+    /**
+     * The positions considered for a new stem or bud, relative to the node it grows from.
+     */
+    private static final Vector3ic[] DIRECTIONS = {
+            new Vector3i(-1, 0, 0), new Vector3i(1, 0, 0), new Vector3i(0, 0, 1), new Vector3i(0, 0, -1)
+    };
+
+    private VineGrowthPlanner() {
+    }
+
+    /**
+     * Reads the blocks a plan depends on.
+     */
+    @FunctionalInterface
+    interface BlockReader {
+        /**
+         * @return the block at the position, or null if it is not known
+         */
+        Block get(int x, int y, int z);
+    }
+
+    /**
+     * The state of one vine, copied out of its entities on the authority thread.
+     */
+    static final class Sketch {
+        final EntityRef root;
+        final VineDefinitionComponent vineComponent;
+        /**
+         * The stem entities from the root to the tip.
+         */
+        final EntityRef[] nodes;
+        final Vector3ic[] positions;
+        final boolean[] hasBud;
+        final Random random;
+
+        Sketch(EntityRef root, VineDefinitionComponent vineComponent, List<EntityRef> nodes, List<Vector3ic> positions,
+               List<Boolean> hasBud, Random random) {
+            this.root = root;
+            this.vineComponent = vineComponent;
+            this.nodes = nodes.toArray(new EntityRef[0]);
+            this.positions = positions.toArray(new Vector3ic[0]);
+            this.hasBud = new boolean[hasBud.size()];
+            for (int i = 0; i < this.hasBud.length; i++) {
+                this.hasBud[i] = hasBud.get(i);
+            }
+            this.random = random;
+        }
+    }
+
+    /**
+     * The change a vine intends to make: a bud or a new stem block attached to one of its nodes.
+     */
+    static final class Plan {
+        final Sketch sketch;
+        /**
+         * The index of the node to attach to, or -1 if the vine does not change this cycle.
+         */
+        final int node;
+        final Vector3i position;
+        final boolean bud;
+
+        private Plan(Sketch sketch, int node, Vector3i position, boolean bud) {
+            this.sketch = sketch;
+            this.node = node;
+            this.position = position;
+            this.bud = bud;
+        }
+    }
+
+    /**
+     * Plans one growth cycle of the vine.
+     * <p>
+     * Walks the vine from the root.  Each node without a bud has a {@link VineAuthoritySystem#BUD_CHANCE} chance to
+     * grow one, which ends the cycle; otherwise the tip grows a new stem block.
+     *
+     * @param sketch the vine
+     * @param blocks the blocks around the vine
+     * @param air the air block
+     */
+    static Plan plan(Sketch sketch, BlockReader blocks, Block air) {
+        Vector3ic[] directions = DIRECTIONS.clone();
+        int tip = sketch.nodes.length - 1;
+        for (int i = 0; i < tip; i++) {
+            if (!sketch.hasBud[i] && sketch.random.nextDouble() < VineAuthoritySystem.BUD_CHANCE) {
+                Vector3i position = growthPosition(sketch.positions[i], true, directions, sketch.random, blocks, air);
+                if (position != null) {
+                    return new Plan(sketch, i, position, true);
+                }
+            }
+        }
+        Vector3i position = growthPosition(sketch.positions[tip], false, directions, sketch.random, blocks, air);
+        return new Plan(sketch, position == null ? -1 : tip, position, false);
+    }
+
+    /**
+     * Picks a random position next to the node that is air above solid ground and, for stems, not crowded by more
+     * than {@link VineAuthoritySystem#MAX_NEIGHBOURS} blocks.
+     *
+     * @return the position, or null if there is none
+     */
+    private static Vector3i growthPosition(Vector3ic node, boolean isBud, Vector3ic[] directions, Random random,
+                                           BlockReader blocks, Block air) {
+        shuffle(directions, random);
+        for (Vector3ic direction : directions) {
+            int x = node.x() + direction.x();
+            int y = node.y() + direction.y();
+            int z = node.z() + direction.z();
+            if (isValidPosition(x, y, z, blocks, air)
+                    && (isBud || countNeighbours(x, y, z, blocks, air) <= VineAuthoritySystem.MAX_NEIGHBOURS)) {
+                return new Vector3i(x, y, z);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isValidPosition(int x, int y, int z, BlockReader blocks, Block air) {
+        Block below = blocks.get(x, y - 1, z);
+        return blocks.get(x, y, z) == air && below != null && !below.isPenetrable();
+    }
+
+    /**
+     * Counts the non-air blocks in the 3x3 square around the position, including itself.  Unknown blocks count as
+     * non-air.
+     */
+    private static int countNeighbours(int x, int y, int z, BlockReader blocks, Block air) {
+        int count = 0;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                if (blocks.get(x + dx, y, z + dz) != air) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Shuffles the array in place, the same way the vine always has.
+     */
+    private static void shuffle(Vector3ic[] elements, Random random) {
+        for (int i = 0; i < elements.length / 2; i++) {
+            int a = random.nextInt(elements.length);
+            int b = random.nextInt(elements.length);
+            Vector3ic temp = elements[a];
+            elements[a] = elements[b];
+            elements[b] = temp;
+        }
+    }
+}
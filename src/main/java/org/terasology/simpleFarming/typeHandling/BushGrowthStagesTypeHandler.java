@@ -0,0 +1,88 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.typeHandling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.utilities.Assets;
+import org.terasology.persistence.typeHandling.PersistedData;
+import org.terasology.persistence.typeHandling.PersistedDataSerializer;
+import org.terasology.persistence.typeHandling.TypeHandler;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.BushGrowthStage;
+import org.terasology.simpleFarming.components.BushGrowthStages;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Saves the growth stages of a bush as the name of their defining prefab when they still match it, and in full
+ * otherwise.
+ *
+ * @see PlantDefinitionTypeHandlerFactory
+ */
+public class BushGrowthStagesTypeHandler extends TypeHandler<Map<String, BushGrowthStage>> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BushGrowthStagesTypeHandler.class);
+
+    private final TypeHandler<BushGrowthStage> stageHandler;
+
+    public BushGrowthStagesTypeHandler(TypeHandler<BushGrowthStage> stageHandler) {
+        this.stageHandler = stageHandler;
+    }
+
+    @Override
+    protected PersistedData serializeNonNull(Map<String, BushGrowthStage> value, PersistedDataSerializer serializer) {
+        if (value instanceof BushGrowthStages) {
+            String definition = ((BushGrowthStages) value).getDefinition();
+            if (definition != null) {
+                Map<String, BushGrowthStage> definedStages = getDefinedStages(definition);
+                // stages loaded while their prefab was missing are kept as the reference they were loaded from
+                if (definedStages == null ? value.isEmpty() : value.equals(definedStages)) {
+                    return serializer.serialize(definition);
+                }
+            }
+        }
+        Map<String, PersistedData> stages = new LinkedHashMap<>();
+        for (Map.Entry<String, BushGrowthStage> entry : value.entrySet()) {
+            stages.put(entry.getKey(), stageHandler.serialize(entry.getValue(), serializer));
+        }
+        return serializer.serialize(stages);
+    }
+
+    @Override
+    public Optional<Map<String, BushGrowthStage>> deserialize(PersistedData data) {
+        if (data.isString()) {
+            String definition = data.getAsString();
+            Map<String, BushGrowthStage> definedStages = getDefinedStages(definition);
+            if (definedStages == null) {
+                LOGGER.warn("Prefab {} of saved bush growth stages has no BushDefinitionComponent; "
+                        + "the bush will not grow until it is available again", definition);
+                BushGrowthStages stages = new BushGrowthStages();
+                stages.setDefinition(definition);
+                return Optional.of(stages);
+            }
+            BushGrowthStages stages = new BushGrowthStages(definedStages);
+            stages.setDefinition(definition);
+            return Optional.of(stages);
+        }
+        if (!data.isValueMap()) {
+            return Optional.empty();
+        }
+        BushGrowthStages stages = new BushGrowthStages();
+        for (Map.Entry<String, PersistedData> entry : data.getAsValueMap().entrySet()) {
+            stageHandler.deserialize(entry.getValue()).ifPresent(stage -> stages.put(entry.getKey(), stage));
+        }
+        return Optional.of(stages);
+    }
+
+    /**
+     * @return the growth stages defined by the prefab, or null if it does not exist or does not define a bush
+     */
+    private static Map<String, BushGrowthStage> getDefinedStages(String prefab) {
+        return Assets.getPrefab(prefab)
+                .map(definition -> definition.getComponent(BushDefinitionComponent.class))
+                .map(bushComponent -> bushComponent.growthStages)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,55 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.typeHandling;
+
+import org.terasology.engine.persistence.typeHandling.RegisterTypeHandlerFactory;
+import org.terasology.persistence.typeHandling.TypeHandler;
+import org.terasology.persistence.typeHandling.TypeHandlerContext;
+import org.terasology.persistence.typeHandling.TypeHandlerFactory;
+import org.terasology.reflection.TypeInfo;
+import org.terasology.simpleFarming.components.BushGrowthStage;
+import org.terasology.simpleFarming.components.BushGrowthStages;
+import org.terasology.simpleFarming.components.TreeGrowthStage;
+import org.terasology.simpleFarming.components.TreeGrowthStages;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Provides the compact type handlers for the growth stages of plants.
+ * <p>
+ * Every planted bush, sapling and tree carries a copy of the growth stages of its prefab, and saving those in full
+ * dominates the size of farm-heavy saves.  Stages held in a {@link BushGrowthStages} or {@link TreeGrowthStages} that
+ * knows its defining prefab, and that still matches it, are saved as just the prefab name instead, and copied back out
+ * of the prefab on load.  Stages without a definition are saved in full, in the same format as before, and saves in
+ * that format still load.
+ * <p>
+ * If the prefab of saved stages is missing on load, e.g. because its module is not enabled, a warning is logged and the
+ * stages are loaded empty but keep their definition, so that they are saved as the same reference again and are
+ * restored once the prefab is back.  Plants with empty stages do not grow.
+ *
+ * @see BushGrowthStagesTypeHandler
+ * @see TreeGrowthStagesTypeHandler
+ */
+@RegisterTypeHandlerFactory
+public class PlantDefinitionTypeHandlerFactory implements TypeHandlerFactory {
+    private static final Type BUSH_STAGES = new TypeInfo<Map<String, BushGrowthStage>>() { }.getType();
+    private static final Type TREE_STAGES = new TypeInfo<List<TreeGrowthStage>>() { }.getType();
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Optional<TypeHandler<T>> create(TypeInfo<T> typeInfo, TypeHandlerContext context) {
+        Type type = typeInfo.getType();
+        if (BUSH_STAGES.equals(type) || typeInfo.getRawType() == BushGrowthStages.class) {
+            return context.getTypeHandlerLibrary().getTypeHandler(BushGrowthStage.class)
+                    .map(stageHandler -> (TypeHandler<T>) new BushGrowthStagesTypeHandler(stageHandler));
+        }
+        if (TREE_STAGES.equals(type) || typeInfo.getRawType() == TreeGrowthStages.class) {
+            return context.getTypeHandlerLibrary().getTypeHandler(TreeGrowthStage.class)
+                    .map(stageHandler -> (TypeHandler<T>) new TreeGrowthStagesTypeHandler(stageHandler));
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,88 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.typeHandling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.utilities.Assets;
+import org.terasology.persistence.typeHandling.PersistedData;
+import org.terasology.persistence.typeHandling.PersistedDataSerializer;
+import org.terasology.persistence.typeHandling.TypeHandler;
+import org.terasology.simpleFarming.components.SaplingDefinitionComponent;
+import org.terasology.simpleFarming.components.TreeGrowthStage;
+import org.terasology.simpleFarming.components.TreeGrowthStages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Saves the growth stages of a tree as the name of their defining prefab when they still match it, and in full
+ * otherwise.
+ *
+ * @see PlantDefinitionTypeHandlerFactory
+ */
+public class TreeGrowthStagesTypeHandler extends TypeHandler<List<TreeGrowthStage>> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TreeGrowthStagesTypeHandler.class);
+
+    private final TypeHandler<TreeGrowthStage> stageHandler;
+
+    public TreeGrowthStagesTypeHandler(TypeHandler<TreeGrowthStage> stageHandler) {
+        this.stageHandler = stageHandler;
+    }
+
+    @Override
+    protected PersistedData serializeNonNull(List<TreeGrowthStage> value, PersistedDataSerializer serializer) {
+        if (value instanceof TreeGrowthStages) {
+            String definition = ((TreeGrowthStages) value).getDefinition();
+            if (definition != null) {
+                List<TreeGrowthStage> definedStages = getDefinedStages(definition);
+                // stages loaded while their prefab was missing are kept as the reference they were loaded from
+                if (definedStages == null ? value.isEmpty() : value.equals(definedStages)) {
+                    return serializer.serialize(definition);
+                }
+            }
+        }
+        List<PersistedData> stages = new ArrayList<>(value.size());
+        for (TreeGrowthStage stage : value) {
+            stages.add(stageHandler.serialize(stage, serializer));
+        }
+        return serializer.serialize(stages);
+    }
+
+    @Override
+    public Optional<List<TreeGrowthStage>> deserialize(PersistedData data) {
+        if (data.isString()) {
+            String definition = data.getAsString();
+            List<TreeGrowthStage> definedStages = getDefinedStages(definition);
+            if (definedStages == null) {
+                LOGGER.warn("Prefab {} of saved tree growth stages has no SaplingDefinitionComponent; "
+                        + "the tree will not grow until it is available again", definition);
+                TreeGrowthStages stages = new TreeGrowthStages();
+                stages.setDefinition(definition);
+                return Optional.of(stages);
+            }
+            TreeGrowthStages stages = new TreeGrowthStages(definedStages);
+            stages.setDefinition(definition);
+            return Optional.of(stages);
+        }
+        if (!data.isArray()) {
+            return Optional.empty();
+        }
+        TreeGrowthStages stages = new TreeGrowthStages();
+        for (PersistedData stageData : data.getAsArray()) {
+            stageHandler.deserialize(stageData).ifPresent(stages::add);
+        }
+        return Optional.of(stages);
+    }
+
+    /**
+     * @return the growth stages defined by the prefab, or null if it does not exist or does not define a sapling
+     */
+    private static List<TreeGrowthStage> getDefinedStages(String prefab) {
+        return Assets.getPrefab(prefab)
+                .map(definition -> definition.getComponent(SaplingDefinitionComponent.class))
+                .map(saplingComponent -> saplingComponent.growthStages)
+                .orElse(null);
+    }
+}
@@ -7,6 +7,7 @@ import org.joml.Vector3i;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.terasology.engine.core.Time;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.integrationenvironment.ModuleTestingHelper;
@@ -22,11 +23,26 @@ import org.terasology.engine.world.WorldProvider;
 import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockComponent;
 import org.terasology.engine.world.block.BlockManager;
+import org.terasology.module.inventory.components.InventoryComponent;
 import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.BushGrowthStages;
+import org.terasology.simpleFarming.components.FertilizerComponent;
+import org.terasology.simpleFarming.events.DoAutomatedHarvest;
+import org.terasology.simpleFarming.events.DoCollectProduce;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
+import org.terasology.simpleFarming.events.PlantLifecycle;
 import org.terasology.engine.integrationenvironment.jupiter.IntegrationEnvironment;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @IntegrationEnvironment(dependencies = {"SimpleFarming", "CoreAssets"}, worldGenerator = "unittest:empty")
@@ -42,6 +58,18 @@ public class BushAuthoritySystemTest extends BaseAuthorityTest {
     ModuleTestingHelper helper;
     @In
     BlockEntityRegistry blockEntityRegistry;
+    @In
+    PlantIndex plantIndex;
+    @In
+    ProduceLedger produceLedger;
+    @In
+    LifecycleEvents lifecycleEvents;
+    @In
+    PlantDefinitions plantDefinitions;
+    @In
+    RipenessStream ripenessStream;
+    @In
+    Time time;
 
     private Block air;
 
@@ -66,14 +94,107 @@ public class BushAuthoritySystemTest extends BaseAuthorityTest {
             // verify the the bush is on the current stage
             assertEquals(stage, component.currentStage);
             BlockComponent blockComponent = entity.getComponent(BlockComponent.class);
-            String block = BushAuthoritySystem.getGrowthStage(component, stage).getKey();
-            assertEquals(block, worldProvider.getBlock(blockComponent.getPosition()).toString());
+            Block block = plantDefinitions.stagesOf(component).block(stage);
+            assertEquals(block, worldProvider.getBlock(blockComponent.getPosition()));
 
             final int startStage = component.currentStage;
             helper.runWhile(() -> component.currentStage == startStage);
         }
     }
 
+    @Test
+    public void nextGrowthTimeShouldBeStoredOnBush() {
+        EntityRef entity = blockEntityRegistry.getExistingBlockEntityAt(new Vector3i(Direction.UP.asVector3i()));
+        BushDefinitionComponent component = entity.getComponent(BushDefinitionComponent.class);
+        assertTrue(component.nextGrowthTime > time.getGameTimeInMs());
+
+        helper.runWhile(() -> component.currentStage < component.growthStages.size() - 1);
+        assertEquals(0, entity.getComponent(BushDefinitionComponent.class).nextGrowthTime);
+    }
+
+    @Test
+    public void plantedBushShouldReferenceItsDefinition() {
+        EntityRef entity = blockEntityRegistry.getExistingBlockEntityAt(new Vector3i(Direction.UP.asVector3i()));
+        BushDefinitionComponent component = entity.getComponent(BushDefinitionComponent.class);
+
+        assertInstanceOf(BushGrowthStages.class, component.growthStages);
+        assertEquals("SimpleFarming:TestSeed", ((BushGrowthStages) component.growthStages).getDefinition());
+    }
+
+    @Test
+    public void fastForwardShouldAdvanceBushByStages() {
+        Vector3i position = new Vector3i(Direction.UP.asVector3i());
+        BushDefinitionComponent before = blockEntityRegistry.getExistingBlockEntityAt(position)
+                .getComponent(BushDefinitionComponent.class);
+        int lastStage = before.growthStages.size() - 1;
+
+        DoFastForwardGrowth event = DoFastForwardGrowth.byStages(
+                Collections.singletonList(Collections.singletonList(position)), lastStage);
+        entityManager.create().send(event);
+
+        assertEquals(1, event.getChanged());
+        BushDefinitionComponent component = blockEntityRegistry.getExistingBlockEntityAt(position)
+                .getComponent(BushDefinitionComponent.class);
+        assertEquals(lastStage, component.currentStage);
+        assertEquals(plantDefinitions.stagesOf(component).block(lastStage), worldProvider.getBlock(position));
+        assertEquals(1, plantIndex.findRipe(position, 1, PlantType.BUSH).size());
+    }
+
+    @Test
+    public void fertilizerShouldAdvanceBushesAroundTarget() {
+        Vector3i position = new Vector3i(Direction.UP.asVector3i());
+        EntityRef entity = blockEntityRegistry.getExistingBlockEntityAt(position);
+        int stage = entity.getComponent(BushDefinitionComponent.class).currentStage;
+
+        EntityRef fertilizer = entityManager.create("SimpleFarming:Fertilizer");
+        FertilizerComponent fertilizerComponent = fertilizer.getComponent(FertilizerComponent.class);
+        fertilizerComponent.stages = 1;
+        fertilizer.saveComponent(fertilizerComponent);
+        // use it on the ground next to the bush, which is within the radius
+        EntityRef ground = blockEntityRegistry.getBlockEntityAt(new Vector3i(1, 0, 0));
+        fertilizer.send(new ActivateEvent(ground, playerInstigator(), null, null, null, null, 0));
+
+        BushDefinitionComponent component = blockEntityRegistry.getExistingBlockEntityAt(position)
+                .getComponent(BushDefinitionComponent.class);
+        assertEquals(stage + 1, component.currentStage);
+        assertEquals(plantDefinitions.stagesOf(component).block(stage + 1), worldProvider.getBlock(position));
+    }
+
+    @Test
+    public void fastForwardByTimeShouldShortenTimerThatDoesNotExpire() {
+        Vector3i position = new Vector3i(Direction.UP.asVector3i());
+        long dueTime = blockEntityRegistry.getExistingBlockEntityAt(position)
+                .getComponent(BushDefinitionComponent.class).nextGrowthTime;
+        assertTrue(dueTime - time.getGameTimeInMs() > 200);
+
+        DoFastForwardGrowth event = entityManager.create().send(
+                DoFastForwardGrowth.byTime(Collections.singletonList(Collections.singletonList(position)), 200));
+
+        assertEquals(0, event.getChanged());
+        BushDefinitionComponent component = blockEntityRegistry.getExistingBlockEntityAt(position)
+                .getComponent(BushDefinitionComponent.class);
+        assertEquals(0, component.currentStage);
+        assertEquals(dueTime - 200, component.nextGrowthTime);
+    }
+
+    @Test
+    public void fastForwardByTimeShouldGrowOnceTimerExpires() {
+        Vector3i position = new Vector3i(Direction.UP.asVector3i());
+        long dueTime = blockEntityRegistry.getExistingBlockEntityAt(position)
+                .getComponent(BushDefinitionComponent.class).nextGrowthTime;
+        long remaining = dueTime - time.getGameTimeInMs();
+
+        // runs down the current timer and 200 ms of the 500 ms timer of the next stage
+        DoFastForwardGrowth event = entityManager.create().send(DoFastForwardGrowth.byTime(
+                Collections.singletonList(Collections.singletonList(position)), remaining + 200));
+
+        assertEquals(1, event.getChanged());
+        BushDefinitionComponent component = blockEntityRegistry.getExistingBlockEntityAt(position)
+                .getComponent(BushDefinitionComponent.class);
+        assertEquals(1, component.currentStage);
+        assertEquals(time.getGameTimeInMs() + 300, component.nextGrowthTime);
+    }
+
     @Test
     public void harvestingSustainableBushShouldResetGrowthAndDropProduce() {
         EntityRef entity = blockEntityRegistry.getExistingBlockEntityAt(new Vector3i(Direction.UP.asVector3i()));
@@ -93,8 +214,46 @@ public class BushAuthoritySystemTest extends BaseAuthorityTest {
         // check if bush is at max growth state
         assertEquals(component.growthStages.size() - 2, component.currentStage);
         BlockComponent blockComponent = entity.getComponent(BlockComponent.class);
-        String block = BushAuthoritySystem.getGrowthStage(component, component.growthStages.size() - 2).getKey();
-        assertEquals(block, worldProvider.getBlock(blockComponent.getPosition()).toString());
+        Block block = plantDefinitions.stagesOf(component).block(component.growthStages.size() - 2);
+        assertEquals(block, worldProvider.getBlock(blockComponent.getPosition()));
+    }
+
+    @Test
+    public void bushShouldShareTheCompiledStagesOfItsPrefab() {
+        BushDefinitionComponent component = blockEntityRegistry
+                .getExistingBlockEntityAt(new Vector3i(Direction.UP.asVector3i()))
+                .getComponent(BushDefinitionComponent.class);
+        BushDefinitionComponent copy = new BushDefinitionComponent();
+        copy.copyFrom(component);
+
+        assertSame(plantDefinitions.stagesOf(component), plantDefinitions.stagesOf(copy));
+        assertEquals(component.growthStages.size(), plantDefinitions.stagesOf(component).size());
+        assertEquals(blockManager.getBlock(component.growthStages.keySet().iterator().next()),
+                plantDefinitions.stagesOf(component).block(-1));
+    }
+
+    @Test
+    public void compoundHarvestShouldSendOneLifecycleEventAndResetGrowth() {
+        EntityRef entity = blockEntityRegistry.getExistingBlockEntityAt(new Vector3i(Direction.UP.asVector3i()));
+        BushDefinitionComponent component = entity.getComponent(BushDefinitionComponent.class);
+        ((LifecycleEventsSystem) lifecycleEvents).farmingCompoundLifecycle(true);
+
+        // wait until the bush gets to the final growth state
+        helper.runUntil(() -> (component.currentStage == (component.growthStages.size() - 1)));
+
+        final TestEventReceiver<PlantLifecycle> lifecycleSpy = new TestEventReceiver<>(helper.getHostContext(), PlantLifecycle.class);
+        final TestEventReceiver<DropItemEvent> dropSpy = new TestEventReceiver<>(helper.getHostContext(), DropItemEvent.class);
+        entity.send(new ActivateEvent(entity, playerInstigator(), null, null, null, null, 0));
+        ((LifecycleEventsSystem) lifecycleEvents).farmingCompoundLifecycle(false);
+
+        // the whole harvest, including going back a stage, is a single event
+        assertEquals(1, lifecycleSpy.getEvents().size());
+        PlantLifecycle lifecycle = lifecycleSpy.getEvents().get(0);
+        assertEquals(PlantLifecycle.Action.HARVEST, lifecycle.getAction());
+        assertTrue(lifecycle.isRetained());
+        assertEquals(component.produce, lifecycle.getProduce().getParentPrefab().getName());
+        assertTrue(dropSpy.getEntityRefs().stream().anyMatch(k -> k.getParentPrefab().getName().equals(component.produce)));
+        assertEquals(component.growthStages.size() - 2, component.currentStage);
     }
 
     @Test
@@ -140,6 +299,110 @@ public class BushAuthoritySystemTest extends BaseAuthorityTest {
         assertEquals(air, worldProvider.getBlock(new Vector3i(Direction.UP.asVector3i())));
     }
 
+    @Test
+    public void automatedHarvestShouldCollectProduceWithoutPlayer() {
+        EntityRef entity = blockEntityRegistry.getExistingBlockEntityAt(new Vector3i(Direction.UP.asVector3i()));
+        Assertions.assertNotNull(entity);
+        BushDefinitionComponent component = entity.getComponent(BushDefinitionComponent.class);
+
+        // wait until the bush gets to the final growth state
+        helper.runUntil(() -> (component.currentStage == (component.growthStages.size() - 1)));
+
+        EntityRef collector = entityManager.create(new InventoryComponent(10));
+        DoAutomatedHarvest harvest = collector.send(new DoAutomatedHarvest(
+                Collections.singletonList(new Vector3i(Direction.UP.asVector3i()))));
+
+        // check the summary and that the bush was reset like a player harvest
+        assertEquals(1, harvest.getHarvested());
+        assertEquals(1, (int) harvest.getProduce().get(component.produce));
+        assertEquals(component.growthStages.size() - 2, component.currentStage);
+    }
+
+    @Test
+    public void uncollectedProduceShouldBeRecordedAndCollectedLater() {
+        EntityRef entity = blockEntityRegistry.getExistingBlockEntityAt(new Vector3i(Direction.UP.asVector3i()));
+        BushDefinitionComponent component = entity.getComponent(BushDefinitionComponent.class);
+        ((ProduceLedgerSystem) produceLedger).farmingProduceLedger(true);
+
+        // wait until the bush gets to the final growth state
+        helper.runUntil(() -> (component.currentStage == (component.growthStages.size() - 1)));
+
+        // harvest into an inventory without slots, so that the produce is recorded rather than dropped
+        final TestEventReceiver<DropItemEvent> dropSpy = new TestEventReceiver<>(helper.getHostContext(), DropItemEvent.class);
+        EntityRef fullCollector = entityManager.create(new InventoryComponent(0));
+        fullCollector.send(new DoAutomatedHarvest(Collections.singletonList(new Vector3i(Direction.UP.asVector3i()))));
+        assertTrue(dropSpy.getEntityRefs().isEmpty());
+        assertEquals(1, produceLedger.size());
+
+        EntityRef collector = entityManager.create(new InventoryComponent(10));
+        DoCollectProduce collect = collector.send(new DoCollectProduce(new Vector3i(), 5));
+        assertEquals(1, collect.getCollected());
+        assertEquals(0, produceLedger.size());
+        ((ProduceLedgerSystem) produceLedger).farmingProduceLedger(false);
+    }
+
+    @Test
+    public void recordedProduceShouldOnlyBeCollectedNearWhereItWasRecorded() {
+        String produce = blockEntityRegistry.getExistingBlockEntityAt(new Vector3i(Direction.UP.asVector3i()))
+                .getComponent(BushDefinitionComponent.class).produce;
+        Vector3i near = new Vector3i(1, 1, 1);
+        Vector3i far = new Vector3i(11, 1, 1);
+        produceLedger.record(entityManager.create(produce), 1, near);
+        produceLedger.record(entityManager.create(produce), 1, far);
+        assertEquals(2, produceLedger.size());
+
+        // both are in the same chunk, but only the far one is within reach
+        EntityRef collector = entityManager.create(new InventoryComponent(10));
+        DoCollectProduce collect = collector.send(new DoCollectProduce(far, 2));
+        assertEquals(1, collect.getCollected());
+        assertEquals(1, produceLedger.size());
+
+        collect = collector.send(new DoCollectProduce(near, 2));
+        assertEquals(1, collect.getCollected());
+        assertEquals(0, produceLedger.size());
+    }
+
+    @Test
+    public void ripenessChangesOfBushShouldBePublished() {
+        Vector3i position = new Vector3i(Direction.UP.asVector3i());
+        EntityRef entity = blockEntityRegistry.getExistingBlockEntityAt(position);
+        BushDefinitionComponent component = entity.getComponent(BushDefinitionComponent.class);
+        List<Boolean> changes = new ArrayList<>();
+        RipenessListener listener = batch -> {
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.getPosition(i, new Vector3i()).equals(position)) {
+                    changes.add(batch.isRipe(i));
+                }
+            }
+        };
+        ripenessStream.addListener(listener);
+        try {
+            // grow to the last stage, then harvest back to the stage before it
+            helper.runUntil(() -> (component.currentStage == (component.growthStages.size() - 1)));
+            helper.runUntil(() -> !changes.isEmpty());
+            entity.send(new ActivateEvent(entity, playerInstigator(), null, null, null, null, 0));
+            helper.runUntil(() -> changes.size() > 1);
+        } finally {
+            ripenessStream.removeListener(listener);
+        }
+
+        assertEquals(Arrays.asList(true, false), changes);
+    }
+
+    @Test
+    public void ripeBushShouldBeFoundInIndex() {
+        Vector3i position = new Vector3i(Direction.UP.asVector3i());
+        EntityRef entity = blockEntityRegistry.getExistingBlockEntityAt(position);
+        BushDefinitionComponent component = entity.getComponent(BushDefinitionComponent.class);
+        assertTrue(plantIndex.findRipe(new Vector3i(), 5, PlantType.BUSH).isEmpty());
+
+        // wait until the bush gets to the final growth state
+        helper.runUntil(() -> (component.currentStage == (component.growthStages.size() - 1)));
+
+        assertEquals(Collections.singletonList(position), plantIndex.findRipe(new Vector3i(), 5, PlantType.BUSH));
+        assertTrue(plantIndex.findRipe(new Vector3i(100, 0, 0), 5, PlantType.BUSH).isEmpty());
+    }
+
 
     @Override
     public EntityManager getEntityManager() {
@@ -0,0 +1,58 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ChunkPlantsTest {
+
+    private final ChunkPlants plants = new ChunkPlants();
+
+    @Test
+    public void removalShouldKeepTheOtherCellsFindable() {
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 20000; i++) {
+            // few distinct cells, so that probe runs are long and entries are often moved back
+            int cell = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(cell) != null, plants.remove(cell) >= 0);
+            } else {
+                int stage = random.nextInt(8);
+                Integer previous = expected.put(cell, stage);
+                assertEquals(previous == null ? -1 : previous, plants.put(cell, PlantType.BUSH, stage, 7));
+            }
+        }
+
+        assertEquals(expected.size(), plants.size());
+        for (int cell = 0; cell < 500; cell++) {
+            int i = plants.indexOf(cell);
+            if (expected.containsKey(cell)) {
+                assertEquals(cell, plants.cell(i));
+                assertEquals((int) expected.get(cell), plants.stage(i));
+            } else {
+                assertEquals(-1, i);
+            }
+        }
+    }
+
+    @Test
+    public void removedSlotShouldBeFilledByTheLastEntry() {
+        plants.put(10, PlantType.BUSH, 0, 3);
+        plants.put(20, PlantType.TREE, 1, 3);
+        plants.put(30, PlantType.BUD, 2, 3);
+
+        assertEquals(0, plants.remove(10));
+
+        assertEquals(2, plants.size());
+        assertEquals(0, plants.indexOf(30));
+        assertEquals(PlantType.BUD, plants.type(0));
+        assertEquals(1, plants.indexOf(20));
+    }
+}
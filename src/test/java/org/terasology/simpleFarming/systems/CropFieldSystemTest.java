@@ -0,0 +1,206 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.integrationenvironment.ModuleTestingHelper;
+import org.terasology.engine.integrationenvironment.jupiter.IntegrationEnvironment;
+import org.terasology.engine.logic.common.ActivateEvent;
+import org.terasology.engine.logic.delay.DelayedActionComponent;
+import org.terasology.engine.logic.inventory.ItemComponent;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.world.BlockEntityRegistry;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.module.inventory.components.InventoryComponent;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.CropFieldComponent;
+import org.terasology.simpleFarming.events.DoAutomatedHarvest;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
+import org.terasology.simpleFarming.events.DoPlantCropField;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@IntegrationEnvironment(dependencies = {"SimpleFarming", "CoreAssets"}, worldGenerator = "unittest:empty")
+public class CropFieldSystemTest extends BaseAuthorityTest {
+
+    private static final int SIZE = 4;
+
+    @In
+    EntityManager entityManager;
+    @In
+    WorldProvider worldProvider;
+    @In
+    BlockManager blockManager;
+    @In
+    ModuleTestingHelper helper;
+    @In
+    BlockEntityRegistry blockEntityRegistry;
+    @In
+    PlantIndex plantIndex;
+    @In
+    CropFields cropFields;
+
+    private EntityRef field;
+
+    @BeforeEach
+    public void initialize() {
+        Block air = blockManager.getBlock("engine:air");
+        Block dirt = blockManager.getBlock("CoreAssets:Dirt");
+        for (int z = 0; z < SIZE; z++) {
+            for (int x = 0; x < SIZE; x++) {
+                setBlock(new Vector3i(x, 0, z), dirt);
+                setBlock(new Vector3i(x, 1, z), air);
+            }
+        }
+
+        EntityRef seed = entityManager.create("SimpleFarming:TestSeed");
+        ItemComponent itemComponent = seed.getComponent(ItemComponent.class);
+        itemComponent.stackCount = SIZE * SIZE;
+        seed.saveComponent(itemComponent);
+        DoPlantCropField event = seed.send(new DoPlantCropField(0, 0, SIZE - 1, SIZE - 1, 1));
+        assertEquals(SIZE * SIZE, event.getPlanted());
+        field = event.getField();
+    }
+
+    @Test
+    public void fieldShouldGrowAllCropsWithoutBushEntities() {
+        CropFieldComponent fieldComponent = field.getComponent(CropFieldComponent.class);
+        helper.runUntil(() -> plantIndex.findRipe(new Vector3i(), SIZE * 2, PlantType.BUSH).size() == SIZE * SIZE);
+
+        for (int z = 0; z < SIZE; z++) {
+            for (int x = 0; x < SIZE; x++) {
+                Vector3i position = new Vector3i(x, 1, z);
+                assertEquals("SimpleFarming:MatureTestBush", worldProvider.getBlock(position).toString());
+                assertFalse(blockEntityRegistry.getBlockEntityAt(position).hasComponent(BushDefinitionComponent.class));
+            }
+        }
+        assertEquals(SIZE * SIZE, fieldComponent.stages.length);
+    }
+
+    @Test
+    public void fieldTimerShouldBeKeptByTheGrowthScheduler() {
+        CropFieldComponent fieldComponent = field.getComponent(CropFieldComponent.class);
+        assertTrue(fieldComponent.nextGrowthTime > 0);
+        assertFalse(field.hasComponent(DelayedActionComponent.class));
+    }
+
+    @Test
+    public void automatedHarvestShouldHarvestCropsInPlace() {
+        helper.runUntil(() -> plantIndex.findRipe(new Vector3i(), SIZE * 2, PlantType.BUSH).size() == SIZE * SIZE);
+
+        List<Vector3i> ripe = plantIndex.findRipe(new Vector3i(), SIZE * 2, PlantType.BUSH);
+        EntityRef collector = entityManager.create(new InventoryComponent(10));
+        DoAutomatedHarvest harvest = collector.send(new DoAutomatedHarvest(ripe));
+
+        assertEquals(SIZE * SIZE, harvest.getHarvested());
+        assertEquals(SIZE * SIZE, (int) harvest.getProduce().get("SimpleFarming:TestProduce"));
+        assertTrue(plantIndex.findRipe(new Vector3i(), SIZE * 2, PlantType.BUSH).isEmpty());
+        assertTrue(field.exists());
+    }
+
+    @Test
+    public void activatingCropShouldPromoteItToBush() {
+        Vector3i position = new Vector3i(1, 1, 1);
+        EntityRef block = blockEntityRegistry.getBlockEntityAt(position);
+        block.send(new ActivateEvent(block, playerInstigator(), null, null, null, null, 0));
+
+        BushDefinitionComponent bushComponent = blockEntityRegistry.getBlockEntityAt(position)
+                .getComponent(BushDefinitionComponent.class);
+        assertNotNull(bushComponent);
+        assertEquals(0, bushComponent.currentStage);
+        CropFieldComponent fieldComponent = field.getComponent(CropFieldComponent.class);
+        assertEquals(CropFieldComponent.EMPTY, fieldComponent.stages[fieldComponent.cellAt(1, 1, 1)]);
+    }
+
+    @Test
+    public void fieldShouldEndWithTheLastRowTheStackReaches() {
+        // straddles the border between two chunks along x
+        int minX = Chunks.SIZE_X - 2;
+        Block dirt = blockManager.getBlock("CoreAssets:Dirt");
+        for (int z = 0; z < SIZE; z++) {
+            for (int x = minX; x < minX + SIZE; x++) {
+                setBlock(new Vector3i(x, 0, z), dirt);
+                setBlock(new Vector3i(x, 1, z), blockManager.getBlock("engine:air"));
+            }
+        }
+
+        EntityRef seed = entityManager.create("SimpleFarming:TestSeed");
+        ItemComponent itemComponent = seed.getComponent(ItemComponent.class);
+        itemComponent.stackCount = SIZE + 1;
+        seed.saveComponent(itemComponent);
+        DoPlantCropField event = seed.send(new DoPlantCropField(minX, 0, minX + SIZE - 1, SIZE - 1, 1));
+
+        assertEquals(SIZE + 1, event.getPlanted());
+        CropFieldComponent fieldComponent = event.getField().getComponent(CropFieldComponent.class);
+        assertEquals(2, fieldComponent.sizeZ);
+        assertEquals(2 * SIZE, fieldComponent.stages.length);
+        assertEquals(event.getField(), cropFields.getField(new Vector3i(minX, 1, 1)));
+        assertEquals(event.getField(), cropFields.getField(new Vector3i(minX + SIZE - 1, 1, 0)));
+        assertFalse(cropFields.getField(new Vector3i(minX + SIZE - 1, 1, 1)).exists());
+    }
+
+    @Test
+    public void fastForwardShouldAdvanceFieldCrops() {
+        List<Vector3ic> cells = new ArrayList<>();
+        plantIndex.forEachInBox(new Vector3i(0, 1, 0), new Vector3i(SIZE - 1, 1, SIZE - 1),
+                (x, y, z, type, stage, lastStage) -> cells.add(new Vector3i(x, y, z)));
+        assertEquals(SIZE * SIZE, cells.size());
+
+        DoFastForwardGrowth byStages = entityManager.create().send(
+                DoFastForwardGrowth.byStages(Collections.singletonList(cells), 1));
+        assertEquals(SIZE * SIZE, byStages.getChanged());
+        for (Vector3ic cell : cells) {
+            assertEquals("SimpleFarming:TestBush", worldProvider.getBlock(cell).toString());
+        }
+
+        DoFastForwardGrowth byTime = entityManager.create().send(
+                DoFastForwardGrowth.byTime(Collections.singletonList(cells), 3_600_000));
+        assertEquals(SIZE * SIZE, byTime.getChanged());
+        assertEquals(SIZE * SIZE, plantIndex.findRipe(new Vector3i(), SIZE * 2, PlantType.BUSH).size());
+        CropFieldComponent fieldComponent = field.getComponent(CropFieldComponent.class);
+        for (Vector3ic cell : cells) {
+            assertEquals("SimpleFarming:MatureTestBush", worldProvider.getBlock(cell).toString());
+            assertEquals(2, fieldComponent.stages[fieldComponent.cellAt(cell.x(), cell.y(), cell.z())]);
+        }
+    }
+
+    @Test
+    public void oversizedFieldShouldNotBePlanted() {
+        EntityRef seed = entityManager.create("SimpleFarming:TestSeed");
+        DoPlantCropField event = seed.send(new DoPlantCropField(-1000, -1000, 1000, 1000, 1));
+
+        assertEquals(0, event.getPlanted());
+        assertFalse(event.getField().exists());
+        assertTrue(seed.exists());
+    }
+
+    @Override
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    @Override
+    public WorldProvider getWorldProvider() {
+        return worldProvider;
+    }
+
+    @Override
+    public ModuleTestingHelper getModuleTestingHelper() {
+        return helper;
+    }
+}
@@ -0,0 +1,46 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DefinitionCacheTest {
+
+    private final FarmingMetrics metrics = new FarmingMetricsSystem();
+    private final DefinitionCache<Object> cache = new DefinitionCache<>(2, metrics);
+
+    @Test
+    public void definitionShouldOnlyBeCompiledOnce() {
+        Object source = new Object();
+        Object compiled = cache.get("Test:A", source, Object::new);
+
+        assertSame(compiled, cache.get("Test:A", source, Object::new));
+        assertEquals(1, metrics.get(FarmingMetrics.Counter.DEFINITION_CACHE_HITS));
+        assertEquals(1, metrics.get(FarmingMetrics.Counter.DEFINITION_CACHE_MISSES));
+    }
+
+    @Test
+    public void replacedSourceShouldBeCompiledAgain() {
+        Object compiled = cache.get("Test:A", new Object(), Object::new);
+
+        assertNotSame(compiled, cache.get("Test:A", new Object(), Object::new));
+        assertEquals(2, metrics.get(FarmingMetrics.Counter.DEFINITION_CACHE_MISSES));
+    }
+
+    @Test
+    public void leastRecentlyUsedDefinitionShouldBeEvicted() {
+        Object source = new Object();
+        Object a = cache.get("Test:A", source, Object::new);
+        cache.get("Test:B", source, Object::new);
+        cache.get("Test:A", source, Object::new);
+        cache.get("Test:C", source, Object::new);
+
+        assertEquals(2, cache.size());
+        assertSame(a, cache.get("Test:A", source, Object::new));
+        assertEquals(3, metrics.get(FarmingMetrics.Counter.DEFINITION_CACHE_MISSES));
+    }
+}
@@ -0,0 +1,248 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.core.ComponentSystemManager;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.integrationenvironment.ModuleTestingHelper;
+import org.terasology.engine.integrationenvironment.jupiter.IntegrationEnvironment;
+import org.terasology.engine.logic.common.ActivateEvent;
+import org.terasology.engine.logic.delay.DelayedActionTriggeredEvent;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.world.BlockEntityRegistry;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.simpleFarming.events.DoDestroyPlant;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the allocations of the plant lifecycle operations against regressions.
+ * <p>
+ * Each operation is run on a row of plants, a few times to warm up and then many times while the bytes allocated by
+ * the test thread are measured; the handlers run on that thread as the events are sent.  The average per operation
+ * must stay within the budget checked in as {@code simpleFarming-allocation-budgets.properties}.  Set the
+ * {@code simpleFarming.allocation.report} system property to {@code true} to log the measured values.
+ */
+@IntegrationEnvironment(dependencies = {"SimpleFarming", "CoreAssets"}, worldGenerator = "unittest:empty")
+public class FarmAllocationTest extends BaseAuthorityTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FarmAllocationTest.class);
+
+    private static final String BUDGETS = "/simpleFarming-allocation-budgets.properties";
+    private static final int WARM_UP = 8;
+    private static final int MEASURED = 32;
+
+    /**
+     * Blocks between two plants, enough for the test trees not to touch.
+     */
+    private static final int SPACING = 8;
+
+    private static Properties budgets;
+
+    @In
+    EntityManager entityManager;
+    @In
+    WorldProvider worldProvider;
+    @In
+    BlockManager blockManager;
+    @In
+    ModuleTestingHelper helper;
+    @In
+    BlockEntityRegistry blockEntityRegistry;
+    @In
+    ComponentSystemManager componentSystemManager;
+
+    private final List<Vector3i> positions = new ArrayList<>();
+
+    @BeforeAll
+    public static void loadBudgets() throws IOException {
+        budgets = new Properties();
+        try (InputStream in = FarmAllocationTest.class.getResourceAsStream(BUDGETS)) {
+            assertNotNull(in, "Missing " + BUDGETS);
+            budgets.load(in);
+        }
+    }
+
+    @BeforeEach
+    public void initialize() {
+        assumeTrue(allocationCounter() != null, "Per-thread allocation counting is not supported by this JVM");
+        Block air = blockManager.getBlock("engine:air");
+        Block dirt = blockManager.getBlock("CoreAssets:Dirt");
+        for (int i = 0; i < WARM_UP + MEASURED; i++) {
+            Vector3i ground = new Vector3i(i * SPACING, 0, 0);
+            setBlock(ground, dirt);
+            setBlock(new Vector3i(ground).add(0, 1, 0), air);
+            positions.add(new Vector3i(ground).add(0, 1, 0));
+        }
+    }
+
+    @Test
+    public void plantingShouldStayWithinBudget() {
+        List<EntityRef> seeds = new ArrayList<>();
+        for (int i = 0; i < positions.size(); i++) {
+            seeds.add(entityManager.create("SimpleFarming:TestSeed"));
+        }
+        assertWithinBudget("plant", i -> plant(seeds.get(i), new Vector3f(positions.get(i)).sub(0, 1, 0)));
+    }
+
+    @Test
+    public void bushGrowthShouldStayWithinBudget() {
+        List<EntityRef> bushes = plantAll("SimpleFarming:TestSeed");
+        assertWithinBudget("grow", i -> bushes.get(i).send(new DelayedActionTriggeredEvent(GrowthActions.BUSH)));
+    }
+
+    @Test
+    public void harvestShouldStayWithinBudget() {
+        plantAll("SimpleFarming:TestSeed");
+        entityManager.create().send(DoFastForwardGrowth.byStages(Collections.singletonList(positions),
+                Integer.MAX_VALUE));
+        List<EntityRef> bushes = entitiesAtPositions();
+        EntityRef player = playerInstigator();
+        assertWithinBudget("harvest", i -> bushes.get(i).send(
+                new ActivateEvent(bushes.get(i), player, null, null, null, null, 0)));
+    }
+
+    @Test
+    public void destructionShouldStayWithinBudget() {
+        List<EntityRef> bushes = plantAll("SimpleFarming:TestSeed");
+        assertWithinBudget("destroy", i -> bushes.get(i).send(new DoDestroyPlant()));
+    }
+
+    @Test
+    public void vineGrowthShouldStayWithinBudget() {
+        List<EntityRef> vines = plantAll("SimpleFarming:TestVineSeed");
+        VineAuthoritySystem vineSystem = updateSubscriber(VineAuthoritySystem.class);
+        // the growth event only queues the vine; the growth step runs in the system's update
+        assertWithinBudget("vineGrow", i -> {
+            vines.get(i).send(new DelayedActionTriggeredEvent(GrowthActions.VINE));
+            vineSystem.update(0);
+        });
+    }
+
+    @Test
+    public void treeStageShouldStayWithinBudget() {
+        List<EntityRef> saplings = plantAll("SimpleFarming:Sapling");
+        assertWithinBudget("treeStage", i -> saplings.get(i).send(
+                new DelayedActionTriggeredEvent(GrowthActions.TREE)));
+    }
+
+    @Override
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    @Override
+    public WorldProvider getWorldProvider() {
+        return worldProvider;
+    }
+
+    @Override
+    public ModuleTestingHelper getModuleTestingHelper() {
+        return helper;
+    }
+
+    /**
+     * Plants a seed of the given prefab at every position.
+     *
+     * @return the block entities of the new plants, by position
+     */
+    private List<EntityRef> plantAll(String seedPrefab) {
+        for (Vector3i position : positions) {
+            plant(entityManager.create(seedPrefab), new Vector3f(position).sub(0, 1, 0));
+        }
+        return entitiesAtPositions();
+    }
+
+    private List<EntityRef> entitiesAtPositions() {
+        List<EntityRef> entities = new ArrayList<>();
+        for (Vector3i position : positions) {
+            EntityRef entity = blockEntityRegistry.getExistingBlockEntityAt(position);
+            assertTrue(entity.exists(), "Nothing planted at " + position);
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    /**
+     * Runs an operation on the first {@link #WARM_UP} plants, then on the following {@link #MEASURED} ones while
+     * counting allocations, and checks the average against the budget of the operation.
+     *
+     * @param operation the name of the operation in the budgets file
+     * @param action runs the operation on the plant with the given index
+     */
+    private void assertWithinBudget(String operation, Consumer<Integer> action) {
+        String budgetValue = budgets.getProperty(operation);
+        assertNotNull(budgetValue, "No allocation budget for " + operation);
+        long budget = Long.parseLong(budgetValue.trim());
+
+        for (int i = 0; i < WARM_UP; i++) {
+            action.accept(i);
+        }
+        com.sun.management.ThreadMXBean counter = allocationCounter();
+        long thread = Thread.currentThread().getId();
+        long before = counter.getThreadAllocatedBytes(thread);
+        for (int i = WARM_UP; i < WARM_UP + MEASURED; i++) {
+            action.accept(i);
+        }
+        long perOperation = (counter.getThreadAllocatedBytes(thread) - before) / MEASURED;
+
+        if (Boolean.getBoolean("simpleFarming.allocation.report")) {
+            LOGGER.info("{}={} (budget {})", operation, perOperation, budget);
+        }
+        assertTrue(perOperation <= budget, operation + " allocated " + perOperation + " bytes per operation, over its "
+                + "budget of " + budget + " bytes in " + BUDGETS);
+    }
+
+    /**
+     * @return the registered instance of the given update subscriber system
+     */
+    private <T extends UpdateSubscriberSystem> T updateSubscriber(Class<T> type) {
+        for (UpdateSubscriberSystem system : componentSystemManager.iterateUpdateSubscribers()) {
+            if (type.isInstance(system)) {
+                return type.cast(system);
+            }
+        }
+        throw new AssertionError(type.getSimpleName() + " is not registered");
+    }
+
+    /**
+     * @return the thread bean if it can count the bytes allocated by a thread, enabling that if needed; otherwise null
+     */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) bean;
+        if (!counter.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!counter.isThreadAllocatedMemoryEnabled()) {
+            counter.setThreadAllocatedMemoryEnabled(true);
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,233 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.terasology.engine.core.Time;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.integrationenvironment.ModuleTestingHelper;
+import org.terasology.engine.integrationenvironment.jupiter.IntegrationEnvironment;
+import org.terasology.engine.logic.inventory.ItemComponent;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.simpleFarming.events.DoPlantSeeds;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load generator for finding how many plants a server can sustain.
+ * <p>
+ * Plants a mix of test bushes, test vines and saplings on a grid spanning several chunks, runs the game at an
+ * accelerated rate and writes growth throughput, tick time percentiles, entity counts and heap usage to a JSON report.
+ * The soak is slow, so it only runs when the {@code simpleFarming.soak} system property is {@code true}.  It is
+ * configured with the following system properties:
+ * <ul>
+ *     <li>{@code simpleFarming.soak.chunks}: chunks along each side of the square farm (default 4)</li>
+ *     <li>{@code simpleFarming.soak.spacing}: blocks between two plants (default 4)</li>
+ *     <li>{@code simpleFarming.soak.mix}: relative amounts of bushes, vines and trees (default {@code 8,1,1})</li>
+ *     <li>{@code simpleFarming.soak.seconds}: game seconds to simulate (default 120)</li>
+ *     <li>{@code simpleFarming.soak.dilation}: game time dilation (default 10)</li>
+ *     <li>{@code simpleFarming.soak.report}: the report file (default {@code build/reports/simpleFarming-soak.json})</li>
+ * </ul>
+ */
+@IntegrationEnvironment(dependencies = {"SimpleFarming", "CoreAssets"}, worldGenerator = "unittest:empty")
+@EnabledIfSystemProperty(named = "simpleFarming.soak", matches = "true")
+public class FarmSoakTest extends BaseAuthorityTest {
+
+    private static final String[] SEEDS = {"SimpleFarming:TestSeed", "SimpleFarming:TestVineSeed", "SimpleFarming:Sapling"};
+    private static final String[] KINDS = {"bushes", "vines", "trees"};
+
+    @In
+    EntityManager entityManager;
+    @In
+    WorldProvider worldProvider;
+    @In
+    BlockManager blockManager;
+    @In
+    ModuleTestingHelper helper;
+    @In
+    FarmingMetrics metrics;
+    @In
+    PlantIndex plantIndex;
+    @In
+    Time time;
+
+    @Test
+    public void soak() throws IOException {
+        int chunks = Integer.getInteger("simpleFarming.soak.chunks", 4);
+        int spacing = Integer.getInteger("simpleFarming.soak.spacing", 4);
+        int[] mix = Arrays.stream(System.getProperty("simpleFarming.soak.mix", "8,1,1").split(","))
+                .mapToInt(part -> Integer.parseInt(part.trim())).toArray();
+        long seconds = Long.getLong("simpleFarming.soak.seconds", 120);
+        float dilation = Float.parseFloat(System.getProperty("simpleFarming.soak.dilation", "10"));
+        Path report = Paths.get(System.getProperty("simpleFarming.soak.report", "build/reports/simpleFarming-soak.json"));
+
+        int[] planted = plantFarm(chunks * Chunks.SIZE_X, spacing, mix);
+        int entitiesAfterPlanting = entityManager.getActiveEntityCount();
+        long growthEventsAfterPlanting = metrics.get(FarmingMetrics.Counter.GROWTH_EVENTS);
+
+        time.setGameTimeDilation(dilation);
+        long gameEnd = time.getGameTimeInMs() + seconds * 1000;
+        long wallStart = System.nanoTime();
+        TickTimes ticks = new TickTimes();
+        helper.runWhile(seconds * 1000 + 60_000, () -> {
+            ticks.tick();
+            return time.getGameTimeInMs() < gameEnd;
+        });
+        double wallSeconds = (System.nanoTime() - wallStart) / 1e9;
+        time.setGameTimeDilation(1);
+
+        long growthEvents = metrics.get(FarmingMetrics.Counter.GROWTH_EVENTS) - growthEventsAfterPlanting;
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+        StringBuilder json = new StringBuilder("{\n");
+        json.append(String.format(Locale.ROOT, "  \"config\": {\"chunks\": %d, \"spacing\": %d, \"mix\": %s, "
+                + "\"gameSeconds\": %d, \"dilation\": %.2f},%n", chunks, spacing, Arrays.toString(mix), seconds, dilation));
+        json.append("  \"planted\": {");
+        for (int kind = 0; kind < KINDS.length; kind++) {
+            json.append(kind == 0 ? "" : ", ").append('"').append(KINDS[kind]).append("\": ").append(planted[kind]);
+        }
+        json.append("},\n");
+        json.append(String.format(Locale.ROOT, "  \"wallSeconds\": %.3f,%n", wallSeconds));
+        json.append(String.format(Locale.ROOT, "  \"growthEvents\": %d,%n", growthEvents));
+        json.append(String.format(Locale.ROOT, "  \"growthEventsPerSecond\": %.1f,%n", growthEvents / wallSeconds));
+        json.append(String.format(Locale.ROOT, "  \"blockWrites\": %d,%n", metrics.get(FarmingMetrics.Counter.BLOCK_WRITES)));
+        json.append(String.format(Locale.ROOT, "  \"ticks\": {\"count\": %d, \"p50Ms\": %.3f, \"p90Ms\": %.3f, "
+                        + "\"p99Ms\": %.3f, \"maxMs\": %.3f},%n", ticks.count(), ticks.percentile(0.5),
+                ticks.percentile(0.9), ticks.percentile(0.99), ticks.percentile(1)));
+        json.append(String.format(Locale.ROOT, "  \"entities\": {\"afterPlanting\": %d, \"atEnd\": %d, \"indexedPlants\": %d},%n",
+                entitiesAfterPlanting, entityManager.getActiveEntityCount(), plantIndex.size()));
+        json.append(String.format(Locale.ROOT, "  \"heap\": {\"usedBytes\": %d, \"committedBytes\": %d}%n",
+                heap.getUsed(), heap.getCommitted()));
+        json.append("}\n");
+
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        Files.write(report, json.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(ticks.count() > 0);
+    }
+
+    /**
+     * Prepares a square of dirt and plants it with the given mix of plants, round-robin.
+     *
+     * @return the number of plants planted of each kind
+     */
+    private int[] plantFarm(int size, int spacing, int[] mix) {
+        Block air = blockManager.getBlock("engine:air");
+        Block dirt = blockManager.getBlock("CoreAssets:Dirt");
+        for (int chunkZ = 0; chunkZ < size; chunkZ += Chunks.SIZE_Z) {
+            for (int chunkX = 0; chunkX < size; chunkX += Chunks.SIZE_X) {
+                helper.forceAndWaitForGeneration(new Vector3i(chunkX, 0, chunkZ));
+            }
+        }
+
+        List<List<Vector3ic>> positions = new ArrayList<>();
+        for (int kind = 0; kind < SEEDS.length; kind++) {
+            positions.add(new ArrayList<>());
+        }
+        int total = Arrays.stream(mix).sum();
+        int next = 0;
+        for (int z = 0; z < size; z += spacing) {
+            for (int x = 0; x < size; x += spacing) {
+                worldProvider.setBlock(new Vector3i(x, 0, z), dirt);
+                worldProvider.setBlock(new Vector3i(x, 1, z), air);
+                int slot = next++ % total;
+                int kind = 0;
+                while (slot >= mix[kind]) {
+                    slot -= mix[kind];
+                    kind++;
+                }
+                positions.get(kind).add(new Vector3i(x, 1, z));
+            }
+        }
+
+        int[] planted = new int[SEEDS.length];
+        for (int kind = 0; kind < SEEDS.length; kind++) {
+            List<Vector3ic> kindPositions = positions.get(kind);
+            for (int from = 0; from < kindPositions.size(); from += Byte.MAX_VALUE) {
+                EntityRef seed = entityManager.create(SEEDS[kind]);
+                ItemComponent itemComponent = seed.getComponent(ItemComponent.class);
+                itemComponent.stackCount = Byte.MAX_VALUE;
+                seed.saveComponent(itemComponent);
+                DoPlantSeeds event = new DoPlantSeeds(kindPositions.subList(from, Math.min(kindPositions.size(), from + Byte.MAX_VALUE)));
+                seed.send(event);
+                planted[kind] += event.getPlanted().size();
+                seed.destroy();
+            }
+        }
+        return planted;
+    }
+
+    @Override
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    @Override
+    public WorldProvider getWorldProvider() {
+        return worldProvider;
+    }
+
+    @Override
+    public ModuleTestingHelper getModuleTestingHelper() {
+        return helper;
+    }
+
+    /**
+     * Wall time between consecutive ticks.
+     */
+    private static final class TickTimes {
+        private long[] nanos = new long[1024];
+        private int count;
+        private long last;
+
+        void tick() {
+            long now = System.nanoTime();
+            if (last != 0) {
+                if (count == nanos.length) {
+                    nanos = Arrays.copyOf(nanos, count * 2);
+                }
+                nanos[count++] = now - last;
+            }
+            last = now;
+        }
+
+        int count() {
+            return count;
+        }
+
+        /**
+         * @return the given percentile of the tick times, in milliseconds
+         */
+        double percentile(double fraction) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            int index = Math.min(count - 1, (int) Math.ceil(fraction * count) - 1);
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
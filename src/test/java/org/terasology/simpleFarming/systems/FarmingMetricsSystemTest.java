@@ -0,0 +1,48 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FarmingMetricsSystemTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    private final FarmingMetricsSystem metrics = new FarmingMetricsSystem();
+
+    @Test
+    public void countersShouldAddUpAndReset() {
+        metrics.increment(FarmingMetrics.Counter.GROWTH_EVENTS);
+        metrics.add(FarmingMetrics.Counter.GROWTH_EVENTS, 4);
+        assertEquals(5, metrics.get(FarmingMetrics.Counter.GROWTH_EVENTS));
+
+        metrics.farmingMetricsReset();
+        assertEquals(0, metrics.get(FarmingMetrics.Counter.GROWTH_EVENTS));
+    }
+
+    @Test
+    public void nestedTimeShouldOnlyCountUnderTheNestedTimer() {
+        long now = System.nanoTime();
+        // a growth step of 40 ms inside a harvest of 100 ms
+        metrics.record(FarmingMetrics.Timer.BUSH_GROWTH, now - 40 * MILLI);
+        metrics.record(FarmingMetrics.Timer.HARVEST, now - 100 * MILLI);
+
+        long growth = metrics.totalNanos(FarmingMetrics.Timer.BUSH_GROWTH);
+        long harvest = metrics.totalNanos(FarmingMetrics.Timer.HARVEST);
+        assertTrue(growth >= 40 * MILLI && growth < 50 * MILLI, "growth took " + growth);
+        assertTrue(harvest >= 55 * MILLI && harvest < 65 * MILLI, "harvest took " + harvest);
+    }
+
+    @Test
+    public void siblingTimersShouldNotBeSubtracted() {
+        long now = System.nanoTime();
+        metrics.record(FarmingMetrics.Timer.BUSH_GROWTH, now - 40 * MILLI);
+        metrics.record(FarmingMetrics.Timer.HARVEST, now - 10 * MILLI);
+
+        assertTrue(metrics.totalNanos(FarmingMetrics.Timer.HARVEST) >= 10 * MILLI);
+        assertEquals(1, metrics.calls(FarmingMetrics.Timer.HARVEST));
+    }
+}
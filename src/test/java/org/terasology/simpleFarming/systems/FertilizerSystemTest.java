@@ -0,0 +1,159 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.core.Time;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.integrationenvironment.ModuleTestingHelper;
+import org.terasology.engine.integrationenvironment.jupiter.IntegrationEnvironment;
+import org.terasology.engine.logic.common.ActivateEvent;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.world.BlockEntityRegistry;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.FertilizerComponent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@IntegrationEnvironment(dependencies = {"SimpleFarming", "CoreAssets"}, worldGenerator = "unittest:empty")
+public class FertilizerSystemTest extends BaseAuthorityTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FertilizerSystemTest.class);
+
+    /**
+     * Half the side of the field, the radius of the default fertilizer.
+     */
+    private static final int HALF = 7;
+
+    /**
+     * The time one use may take in FertilizerSystem itself, excluding the growth handlers it sends events to.
+     */
+    private static final long BUDGET_NANOS = 10_000_000;
+
+    @In
+    EntityManager entityManager;
+    @In
+    WorldProvider worldProvider;
+    @In
+    BlockManager blockManager;
+    @In
+    ModuleTestingHelper helper;
+    @In
+    BlockEntityRegistry blockEntityRegistry;
+    @In
+    FarmingMetrics metrics;
+    @In
+    Time time;
+
+    private final List<Vector3i> positions = new ArrayList<>();
+
+    @BeforeEach
+    public void initialize() {
+        Block air = blockManager.getBlock("engine:air");
+        Block dirt = blockManager.getBlock("CoreAssets:Dirt");
+        for (int x = -HALF; x <= HALF; x++) {
+            for (int z = -HALF; z <= HALF; z++) {
+                Vector3i ground = new Vector3i(x, 0, z);
+                setBlock(ground, dirt);
+                setBlock(new Vector3i(x, 1, z), air);
+                plant(entityManager.create("SimpleFarming:TestSeed"), new Vector3f(ground));
+                positions.add(new Vector3i(x, 1, z));
+            }
+        }
+    }
+
+    @Test
+    public void fertilizerShouldShortenTimersOfWholeField() {
+        long now = time.getGameTimeInMs();
+        Map<Vector3i, Long> dueTimes = new HashMap<>();
+        long shortest = Long.MAX_VALUE;
+        for (Vector3i position : positions) {
+            long dueTime = bushAt(position).nextGrowthTime;
+            dueTimes.put(position, dueTime);
+            shortest = Math.min(shortest, dueTime - now);
+        }
+        // short enough for no timer to run out
+        long elapsed = shortest / 2;
+        assertTrue(elapsed > 0);
+
+        FarmingMetricsSystem metricsSystem = (FarmingMetricsSystem) metrics;
+        long calls = metricsSystem.calls(FarmingMetrics.Timer.FERTILIZER);
+        long nanos = metricsSystem.totalNanos(FarmingMetrics.Timer.FERTILIZER);
+        long start = System.nanoTime();
+        ActivateEvent activation = fertilize(elapsed, new Vector3i());
+        long wallNanos = System.nanoTime() - start;
+
+        assertTrue(activation.isConsumed());
+        for (Vector3i position : positions) {
+            BushDefinitionComponent bushComponent = bushAt(position);
+            assertEquals(0, bushComponent.currentStage, "Bush at " + position + " grew");
+            assertEquals(dueTimes.get(position) - elapsed, bushComponent.nextGrowthTime,
+                    "Timer of bush at " + position + " not shortened");
+        }
+        assertEquals(calls + 1, metricsSystem.calls(FarmingMetrics.Timer.FERTILIZER));
+        long exclusiveNanos = metricsSystem.totalNanos(FarmingMetrics.Timer.FERTILIZER) - nanos;
+        LOGGER.info("Fertilizing {} bushes took {} us, {} us of it in FertilizerSystem itself", positions.size(),
+                wallNanos / 1000, exclusiveNanos / 1000);
+        assertTrue(exclusiveNanos < BUDGET_NANOS, "Fertilizing took " + exclusiveNanos / 1000 + " us in "
+                + "FertilizerSystem, over the budget of " + BUDGET_NANOS / 1000 + " us");
+    }
+
+    @Test
+    public void fertilizerShouldNotBeUsedUpWithoutPlants() {
+        Vector3i ground = new Vector3i(HALF * 4, 0, 0);
+        setBlock(ground, blockManager.getBlock("CoreAssets:Dirt"));
+
+        ActivateEvent activation = fertilize(1000, ground);
+
+        assertFalse(activation.isConsumed());
+    }
+
+    /**
+     * Uses a fertilizer advancing plants by the given time on the block at the given position.
+     *
+     * @return the activation event sent to the fertilizer
+     */
+    private ActivateEvent fertilize(long elapsed, Vector3i target) {
+        EntityRef fertilizer = entityManager.create("SimpleFarming:Fertilizer");
+        FertilizerComponent fertilizerComponent = fertilizer.getComponent(FertilizerComponent.class);
+        assertEquals(HALF, fertilizerComponent.radius);
+        fertilizerComponent.time = elapsed;
+        fertilizer.saveComponent(fertilizerComponent);
+        EntityRef ground = blockEntityRegistry.getBlockEntityAt(target);
+        return fertilizer.send(new ActivateEvent(ground, playerInstigator(), null, null, null, null, 0));
+    }
+
+    private BushDefinitionComponent bushAt(Vector3i position) {
+        return blockEntityRegistry.getExistingBlockEntityAt(position).getComponent(BushDefinitionComponent.class);
+    }
+
+    @Override
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    @Override
+    public WorldProvider getWorldProvider() {
+        return worldProvider;
+    }
+
+    @Override
+    public ModuleTestingHelper getModuleTestingHelper() {
+        return helper;
+    }
+}
@@ -0,0 +1,102 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.integrationenvironment.ModuleTestingHelper;
+import org.terasology.engine.integrationenvironment.jupiter.IntegrationEnvironment;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.world.BlockEntityRegistry;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.genome.component.GenomeComponent;
+import org.terasology.module.inventory.components.InventoryComponent;
+import org.terasology.simpleFarming.events.DoAutomatedHarvest;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@IntegrationEnvironment(dependencies = {"SimpleFarming", "CoreAssets", "Genome"}, worldGenerator = "unittest:empty")
+public class GenomeExtensionAuthoritySystemTest extends BaseAuthorityTest {
+
+    private static final int PLANTS = 4;
+
+    @In
+    EntityManager entityManager;
+    @In
+    WorldProvider worldProvider;
+    @In
+    BlockManager blockManager;
+    @In
+    ModuleTestingHelper helper;
+    @In
+    BlockEntityRegistry blockEntityRegistry;
+
+    private final List<Vector3i> positions = new ArrayList<>();
+
+    @BeforeEach
+    public void initialize() {
+        Block air = blockManager.getBlock("engine:air");
+        Block dirt = blockManager.getBlock("CoreAssets:Dirt");
+        for (int x = 0; x < PLANTS * 2; x += 2) {
+            setBlock(new Vector3i(x, 0, 0), dirt);
+            setBlock(new Vector3i(x, 1, 0), air);
+            plant(entityManager.create("SimpleFarming:TestSeed"), new Vector3f(x, 0, 0));
+            positions.add(new Vector3i(x, 1, 0));
+        }
+        entityManager.create().send(DoFastForwardGrowth.byStages(Collections.singletonList(positions),
+                Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void automatedHarvestShouldKeepTheGenesOfEveryPlant() {
+        EntityRef collector = entityManager.create(new InventoryComponent(10));
+        collector.send(new DoAutomatedHarvest(positions));
+
+        Set<String> plantGenes = new HashSet<>();
+        for (Vector3i position : positions) {
+            GenomeComponent genome = blockEntityRegistry.getExistingBlockEntityAt(position)
+                    .getComponent(GenomeComponent.class);
+            plantGenes.add(genome == null ? null : genome.genes);
+        }
+        Set<String> itemGenes = new HashSet<>();
+        for (EntityRef item : collector.getComponent(InventoryComponent.class).itemSlots) {
+            GenomeComponent genome = item.getComponent(GenomeComponent.class);
+            if (genome != null) {
+                itemGenes.add(genome.genes);
+            }
+        }
+
+        // every plant got a genome with its first produce, and each genome has a stack of its own
+        assertFalse(plantGenes.contains(null));
+        assertEquals(plantGenes, itemGenes);
+    }
+
+    @Override
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    @Override
+    public WorldProvider getWorldProvider() {
+        return worldProvider;
+    }
+
+    @Override
+    public ModuleTestingHelper getModuleTestingHelper() {
+        return helper;
+    }
+}
@@ -0,0 +1,39 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GrowthActionsTest {
+
+    @Test
+    public void growthActionsShouldOnlyMatchTheirOwnPlants() {
+        assertTrue(GrowthActions.isBushGrowth(GrowthActions.BUSH));
+        assertTrue(GrowthActions.isVineGrowth(GrowthActions.VINE));
+        assertTrue(GrowthActions.isTreeGrowth(GrowthActions.TREE));
+        assertFalse(GrowthActions.isBushGrowth(GrowthActions.TREE));
+        assertFalse(GrowthActions.isTreeGrowth(GrowthActions.VINE));
+        assertFalse(GrowthActions.isVineGrowth("OtherModule:Explode"));
+    }
+
+    @Test
+    public void legacyActionIdsShouldStillTriggerGrowth() {
+        assertTrue(GrowthActions.isBushGrowth("SimpleFarming:42"));
+        assertTrue(GrowthActions.isVineGrowth("SimpleFarming:42"));
+        assertTrue(GrowthActions.isTreeGrowth("SimpleFarming:42:Growth"));
+        assertFalse(GrowthActions.isTreeGrowth("SimpleFarming:42"));
+        assertFalse(GrowthActions.isBushGrowth("SimpleFarming:42:Growth"));
+        assertFalse(GrowthActions.isBushGrowth("SimpleFarming:"));
+        assertFalse(GrowthActions.isTreeGrowth("SimpleFarming::Growth"));
+    }
+
+    @Test
+    public void legacyTreeGrowthShouldBeTheIdEarlierVersionsScheduled() {
+        assertEquals("SimpleFarming:42:Growth", GrowthActions.legacyTreeGrowth(42));
+        assertTrue(GrowthActions.isTreeGrowth(GrowthActions.legacyTreeGrowth(42)));
+    }
+}
@@ -0,0 +1,85 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GrowthCatchUpTest {
+
+    /**
+     * Minimum and maximum timer of each stage; the last stage does not grow.
+     */
+    private static final int[][] STAGES = {{100, 300}, {200, 500}, {50, 100}, {0, 0}};
+    private static final int LAST_STAGE = STAGES.length - 1;
+    private static final int TRIALS = 20000;
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void catchUpShouldMatchFullFidelityGrowth() {
+        for (long elapsed : new long[]{0, 150, 400, 700, 1000}) {
+            double[] fullFidelity = new double[STAGES.length];
+            double[] catchUp = new double[STAGES.length];
+            for (int trial = 0; trial < TRIALS; trial++) {
+                fullFidelity[simulate(elapsed)] += 1.0 / TRIALS;
+                catchUp[GrowthCatchUp.advance(elapsed, LAST_STAGE, this::sample).steps] += 1.0 / TRIALS;
+            }
+            for (int stage = 0; stage < STAGES.length; stage++) {
+                assertEquals(fullFidelity[stage], catchUp[stage], 0.025, "stage " + stage + " after " + elapsed + " ms");
+            }
+        }
+    }
+
+    @Test
+    public void remainingTimeShouldContinueTheCurrentTimer() {
+        GrowthCatchUp catchUp = GrowthCatchUp.advance(250, LAST_STAGE, step -> 100);
+        assertEquals(3, catchUp.steps);
+        assertEquals(GrowthCatchUp.NO_TIMER, catchUp.remaining);
+
+        catchUp = GrowthCatchUp.advance(150, LAST_STAGE, step -> 100);
+        assertEquals(2, catchUp.steps);
+        assertEquals(50, catchUp.remaining);
+    }
+
+    @Test
+    public void fastForwardShouldFirstUseUpTheCurrentTimer() {
+        assertEquals(-300, GrowthCatchUp.overdue(1500, 1000, 200));
+        assertEquals(0, GrowthCatchUp.overdue(1500, 1000, 500));
+        assertEquals(250, GrowthCatchUp.overdue(1500, 1000, 750));
+    }
+
+    @Test
+    public void fastForwardShouldCountTimeAlreadyDue() {
+        assertEquals(200, GrowthCatchUp.overdue(0, 1000, 200));
+        assertEquals(500, GrowthCatchUp.overdue(700, 1000, 200));
+    }
+
+    /**
+     * Grows a plant tick by tick, the way the delay manager would, starting with the deferred step at time zero.
+     *
+     * @return the stage reached after {@code elapsed} milliseconds
+     */
+    private int simulate(long elapsed) {
+        int stage = 1;
+        long due = sample(stage);
+        for (long time = 1; time <= elapsed && due != GrowthCatchUp.NO_TIMER; time++) {
+            if (time >= due) {
+                stage++;
+                long duration = sample(stage);
+                due = duration == GrowthCatchUp.NO_TIMER ? GrowthCatchUp.NO_TIMER : time + duration;
+            }
+        }
+        return stage;
+    }
+
+    private long sample(int stage) {
+        if (stage >= LAST_STAGE) {
+            return GrowthCatchUp.NO_TIMER;
+        }
+        return STAGES[stage][0] + random.nextInt(STAGES[stage][1] - STAGES[stage][0] + 1);
+    }
+}
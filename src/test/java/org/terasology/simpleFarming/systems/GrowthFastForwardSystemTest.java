@@ -0,0 +1,56 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.Test;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GrowthFastForwardSystemTest {
+
+    private final Map<Vector3i, List<Vector3ic>> chunks =
+            Collections.singletonMap(new Vector3i(), Collections.singletonList(new Vector3i(1, 2, 3)));
+
+    @Test
+    public void numberShouldBeReadAsStages() {
+        DoFastForwardGrowth event = GrowthFastForwardSystem.parse(chunks, " 3 ");
+        assertFalse(event.isByTime());
+        assertEquals(3, event.getStages());
+        assertEquals(chunks.values().iterator().next(), event.getChunks().get(0));
+    }
+
+    @Test
+    public void unitsShouldBeReadAsTime() {
+        assertTime(500, "500ms");
+        assertTime(30_000, "30s");
+        assertTime(600_000, "10M");
+        assertTime(7_200_000, "2h");
+        assertTime(0, "0s");
+    }
+
+    @Test
+    public void invalidAmountsShouldBeRejected() {
+        assertThrows(NumberFormatException.class, () -> GrowthFastForwardSystem.parse(chunks, "0"));
+        assertThrows(NumberFormatException.class, () -> GrowthFastForwardSystem.parse(chunks, "-5s"));
+        assertThrows(NumberFormatException.class, () -> GrowthFastForwardSystem.parse(chunks, "ten"));
+        assertThrows(NumberFormatException.class, () -> GrowthFastForwardSystem.parse(chunks, "1d"));
+        assertThrows(ArithmeticException.class,
+                () -> GrowthFastForwardSystem.parse(chunks, Long.MAX_VALUE / 1000 + "h"));
+    }
+
+    private void assertTime(long millis, String amount) {
+        DoFastForwardGrowth event = GrowthFastForwardSystem.parse(chunks, amount);
+        assertTrue(event.isByTime(), amount);
+        assertEquals(millis, event.getElapsed(), amount);
+    }
+}
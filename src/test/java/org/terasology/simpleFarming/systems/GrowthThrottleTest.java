@@ -0,0 +1,62 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GrowthThrottleTest {
+
+    private final GrowthThrottle throttle = new GrowthThrottle();
+
+    @Test
+    public void openThrottleShouldStillCapDispatch() {
+        throttle.update(0);
+        assertEquals(GrowthThrottle.MAX_DISPATCH, throttle.limit());
+    }
+
+    @Test
+    public void dispatchWithinBudgetShouldNotThrottle() {
+        for (int tick = 0; tick < 100; tick++) {
+            throttle.update(GrowthThrottle.DEFAULT_BUDGET * 0.9f);
+        }
+        assertEquals(1f, throttle.share());
+    }
+
+    @Test
+    public void sustainedOverrunShouldCloseThrottleToMinimum() {
+        for (int tick = 0; tick < 200; tick++) {
+            throttle.update(GrowthThrottle.DEFAULT_BUDGET * 4);
+        }
+        assertEquals(GrowthThrottle.MIN_THROTTLE, throttle.share());
+        assertTrue(throttle.limit() >= GrowthThrottle.MIN_DISPATCH);
+        assertTrue(throttle.limit() < GrowthThrottle.MAX_DISPATCH);
+    }
+
+    @Test
+    public void throttleShouldRecoverOnceDispatchIsCheap() {
+        for (int tick = 0; tick < 200; tick++) {
+            throttle.update(GrowthThrottle.DEFAULT_BUDGET * 4);
+        }
+        int ticks = 0;
+        while (throttle.share() < 1f && ticks < 1000) {
+            throttle.update(0);
+            ticks++;
+        }
+        assertEquals(1f, throttle.share());
+        // the average decays before the throttle opens in steps
+        assertTrue(ticks > 1 / 0.05f, "recovered after " + ticks + " ticks");
+    }
+
+    @Test
+    public void zeroBudgetShouldKeepThrottleOpen() {
+        throttle.setBudget(0);
+        for (int tick = 0; tick < 100; tick++) {
+            throttle.update(1000);
+        }
+        assertEquals(1f, throttle.share());
+        assertEquals(GrowthThrottle.MAX_DISPATCH, throttle.limit());
+    }
+}
@@ -0,0 +1,56 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LeafOffsetsTest {
+
+    private static final Vector3i ROOT = new Vector3i(-1000, 40, 123456);
+
+    @Test
+    public void offsetsShouldRoundTrip() {
+        int[] deltas = {-511, -3, -1, 0, 1, 3, 511};
+        for (int dx : deltas) {
+            for (int dy : deltas) {
+                for (int dz : deltas) {
+                    Vector3i leaf = new Vector3i(ROOT).add(dx, dy, dz);
+                    assertEquals(leaf, LeafOffsets.unpack(ROOT, LeafOffsets.pack(ROOT, leaf), new Vector3i()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void neighbouringLeavesShouldHaveDistinctOffsets() {
+        Set<Integer> offsets = new HashSet<>();
+        for (int x = -2; x <= 2; x++) {
+            for (int y = -2; y <= 2; y++) {
+                for (int z = -2; z <= 2; z++) {
+                    assertTrue(offsets.add(LeafOffsets.pack(ROOT, new Vector3i(ROOT).add(x, y, z))));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void offsetsShouldBeRelativeToTheRoot() {
+        Vector3i otherRoot = new Vector3i(ROOT).add(7, 0, -7);
+        assertEquals(LeafOffsets.pack(ROOT, new Vector3i(ROOT).add(1, 2, 3)),
+                LeafOffsets.pack(otherRoot, new Vector3i(otherRoot).add(1, 2, 3)));
+    }
+
+    @Test
+    public void distantLeafShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LeafOffsets.pack(ROOT, new Vector3i(ROOT).add(512, 0, 0)));
+        assertThrows(IllegalArgumentException.class, () -> LeafOffsets.pack(ROOT, new Vector3i(ROOT).add(0, -513, 0)));
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.integrationenvironment.ModuleTestingHelper;
+import org.terasology.engine.logic.inventory.ItemComponent;
 import org.terasology.engine.registry.In;
 import org.terasology.engine.world.WorldProvider;
 import org.terasology.engine.world.block.Block;
@@ -17,8 +18,10 @@ import org.terasology.engine.world.block.BlockManager;
 import org.terasology.simpleFarming.components.BushDefinitionComponent;
 import org.terasology.simpleFarming.components.BushGrowthStage;
 import org.terasology.simpleFarming.components.SeedDefinitionComponent;
+import org.terasology.simpleFarming.events.DoPlantSeeds;
 import org.terasology.engine.integrationenvironment.jupiter.IntegrationEnvironment;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 
@@ -88,6 +91,46 @@ public class PlantAuthoritySystemTest extends BaseAuthorityTest {
     }
 
 
+    @Test
+    public void batchPlantingShouldStopWhenStackRunsOut() {
+        for (int x = 0; x < 3; x++) {
+            setBlock(new Vector3i(x, 0, 0), dirt);
+            setBlock(new Vector3i(x, 1, 0), air);
+        }
+
+        EntityRef seed = testSeed();
+        ItemComponent itemComponent = new ItemComponent();
+        itemComponent.stackCount = 2;
+        seed.addComponent(itemComponent);
+        DoPlantSeeds event = seed.send(new DoPlantSeeds(new Vector3i(0, 1, 0), new Vector3i(2, 1, 0)));
+
+        Assertions.assertEquals(2, event.getPlanted().size());
+        Assertions.assertEquals(bush, worldProvider.getBlock(new Vector3i(0, 1, 0)));
+        Assertions.assertEquals(bush, worldProvider.getBlock(new Vector3i(1, 1, 0)));
+        Assertions.assertEquals(air, worldProvider.getBlock(new Vector3i(2, 1, 0)));
+    }
+
+    @Test
+    public void batchPlantingShouldPlantPositionsFarApart() {
+        // far enough apart that the blocks are read around each position rather than as one box
+        Vector3i near = new Vector3i(0, 1, 0);
+        Vector3i far = new Vector3i(RegionSnapshot.MAX_DENSE_VOLUME + 100, 1, 0);
+        for (Vector3i position : Arrays.asList(near, far)) {
+            setBlock(new Vector3i(position).sub(0, 1, 0), dirt);
+            setBlock(position, air);
+        }
+
+        EntityRef seed = testSeed();
+        ItemComponent itemComponent = new ItemComponent();
+        itemComponent.stackCount = 2;
+        seed.addComponent(itemComponent);
+        DoPlantSeeds event = seed.send(new DoPlantSeeds(Arrays.asList(near, far)));
+
+        Assertions.assertEquals(2, event.getPlanted().size());
+        Assertions.assertEquals(bush, worldProvider.getBlock(near));
+        Assertions.assertEquals(bush, worldProvider.getBlock(far));
+    }
+
     @Override
     public EntityManager getEntityManager() {
         return entityManager;
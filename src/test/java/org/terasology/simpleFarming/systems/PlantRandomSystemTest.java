@@ -0,0 +1,85 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+import org.terasology.simpleFarming.components.RandomOrdinals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PlantRandomSystemTest {
+
+    private static final Vector3i FIRST = new Vector3i(3, 7, -12);
+    private static final Vector3i SECOND = new Vector3i(4, 7, -12);
+
+    @Test
+    public void sameWorldSeedShouldGiveSameDraws() {
+        assertEquals(draws(random("seed")), draws(random("seed")));
+    }
+
+    @Test
+    public void otherWorldSeedShouldGiveOtherDraws() {
+        assertNotEquals(draws(random("seed")), draws(random("other seed")));
+    }
+
+    @Test
+    public void purposesShouldNotAffectEachOther() {
+        PlantRandomSystem random = random("seed");
+        RandomOrdinals plain = new RandomOrdinals();
+        RandomOrdinals interleaved = new RandomOrdinals();
+        List<Long> expected = new ArrayList<>();
+        List<Long> actual = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            expected.add(random.growthTime(FIRST, plain, 1000, 5000));
+            random.nextInt(FIRST, interleaved, PlantRandom.Purpose.SEEDS, 10);
+            actual.add(random.growthTime(FIRST, interleaved, 1000, 5000));
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void copiedOrdinalsShouldContinueTheStreams() {
+        PlantRandomSystem random = random("seed");
+        RandomOrdinals ordinals = new RandomOrdinals();
+        random.growthTime(FIRST, ordinals, 1000, 1000000000);
+        RandomOrdinals saved = new RandomOrdinals(ordinals);
+        long next = random.growthTime(FIRST, ordinals, 1000, 1000000000);
+        assertEquals(next, random("seed").growthTime(FIRST, saved, 1000, 1000000000));
+        assertNotEquals(next, random.growthTime(FIRST, ordinals, 1000, 1000000000));
+    }
+
+    @Test
+    public void growthTimeShouldStayInRange() {
+        PlantRandomSystem random = random("seed");
+        RandomOrdinals ordinals = new RandomOrdinals();
+        for (int i = 0; i < 1000; i++) {
+            long time = random.growthTime(SECOND, ordinals, 1000, 1003);
+            assertTrue(time >= 1000 && time <= 1003, "drew " + time);
+        }
+        assertEquals(1000, random.growthTime(SECOND, ordinals, 1000, 0));
+    }
+
+    private static PlantRandomSystem random(String worldSeed) {
+        PlantRandomSystem random = new PlantRandomSystem();
+        random.setWorldSeed(worldSeed);
+        return random;
+    }
+
+    private static List<Long> draws(PlantRandomSystem random) {
+        RandomOrdinals first = new RandomOrdinals();
+        RandomOrdinals second = new RandomOrdinals();
+        List<Long> draws = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            draws.add(random.growthTime(FIRST, first, 1000, 100000));
+            draws.add(random.growthTime(SECOND, second, 1000, 100000));
+            draws.add((long) random.next(FIRST, first, PlantRandom.Purpose.GENES).nextInt(1000));
+        }
+        return draws;
+    }
+}
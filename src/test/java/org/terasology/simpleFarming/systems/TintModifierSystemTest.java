@@ -0,0 +1,50 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.integrationenvironment.jupiter.IntegrationEnvironment;
+import org.terasology.engine.registry.In;
+import org.terasology.simpleFarming.events.ModifyTint;
+import org.terasology.substanceMatters.components.MaterialCompositionComponent;
+import org.terasology.substanceMatters.components.MaterialItemComponent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@IntegrationEnvironment(dependencies = {"SimpleFarming", "CoreAssets", "SubstanceMatters"},
+        worldGenerator = "unittest:empty")
+public class TintModifierSystemTest {
+
+    @In
+    EntityManager entityManager;
+
+    @Test
+    public void produceShouldBeTintedByTier() {
+        EntityRef low = tint(1.8f);
+        EntityRef max = tint(3f);
+
+        MaterialItemComponent item = max.getComponent(MaterialItemComponent.class);
+        assertNotNull(item);
+        assertEquals("SimpleFarming:TestProduce", item.icon);
+        assertTrue(max.getComponent(MaterialCompositionComponent.class).contents.containsKey("MaxTinter"));
+        assertTrue(low.getComponent(MaterialCompositionComponent.class).contents.containsKey("LowTinter"));
+        assertFalse(low.getComponent(MaterialCompositionComponent.class).contents.containsKey("MaxTinter"));
+    }
+
+    @Test
+    public void lowFillingShouldLeaveProduceUntinted() {
+        EntityRef produce = tint(1f);
+        assertFalse(produce.hasComponent(MaterialCompositionComponent.class));
+    }
+
+    private EntityRef tint(float tintParameter) {
+        EntityRef produce = entityManager.create("SimpleFarming:TestProduce");
+        produce.send(new ModifyTint(tintParameter));
+        return produce;
+    }
+}
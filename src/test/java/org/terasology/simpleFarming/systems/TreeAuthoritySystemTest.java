@@ -0,0 +1,284 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.core.Time;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.integrationenvironment.ModuleTestingHelper;
+import org.terasology.engine.integrationenvironment.TestEventReceiver;
+import org.terasology.engine.integrationenvironment.jupiter.IntegrationEnvironment;
+import org.terasology.engine.logic.inventory.ItemComponent;
+import org.terasology.engine.logic.inventory.events.DropItemEvent;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.world.BlockEntityRegistry;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockComponent;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.items.BlockItemComponent;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.LogComponent;
+import org.terasology.simpleFarming.components.RootComponent;
+import org.terasology.simpleFarming.components.SaplingDefinitionComponent;
+import org.terasology.simpleFarming.events.DoDestroyPlant;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@IntegrationEnvironment(dependencies = {"SimpleFarming", "CoreAssets"}, worldGenerator = "unittest:empty")
+public class TreeAuthoritySystemTest extends BaseAuthorityTest {
+
+    /**
+     * Two roots whose smallest canopies share the leaf between them.
+     */
+    private static final Vector3i LEFT = new Vector3i(0, 1, 0);
+    private static final Vector3i RIGHT = new Vector3i(2, 1, 0);
+    private static final Vector3i SHARED_LEAF = new Vector3i(1, 2, 0);
+
+    @In
+    EntityManager entityManager;
+    @In
+    WorldProvider worldProvider;
+    @In
+    BlockManager blockManager;
+    @In
+    ModuleTestingHelper helper;
+    @In
+    BlockEntityRegistry blockEntityRegistry;
+    @In
+    Time time;
+    @In
+    PlantIndex plantIndex;
+
+    private Block air;
+
+    @BeforeEach
+    public void initialize() {
+        air = blockManager.getBlock("engine:air");
+        Block dirt = blockManager.getBlock("CoreAssets:Dirt");
+        for (int z = -3; z <= 3; z++) {
+            for (int x = -3; x <= 5; x++) {
+                setBlock(new Vector3i(x, 0, z), dirt);
+                for (int y = 1; y <= 6; y++) {
+                    setBlock(new Vector3i(x, y, z), air);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void saplingShouldGrowIntoTree() {
+        plantSapling(LEFT);
+        EntityRef sapling = blockEntityRegistry.getExistingBlockEntityAt(LEFT);
+        assertNotNull(sapling.getComponent(SaplingDefinitionComponent.class));
+
+        helper.runUntil(() -> blockEntityRegistry.getExistingBlockEntityAt(LEFT).hasComponent(RootComponent.class));
+
+        EntityRef root = blockEntityRegistry.getExistingBlockEntityAt(LEFT);
+        RootComponent rootComponent = root.getComponent(RootComponent.class);
+        assertEquals(0, rootComponent.growthStage);
+        assertTrue(rootComponent.alive);
+        assertEquals(rootComponent.log, worldProvider.getBlock(LEFT));
+        assertEquals(rootComponent.log, worldProvider.getBlock(new Vector3i(LEFT).add(0, 1, 0)));
+        assertEquals(5, rootComponent.leafOffsets.size());
+        for (Vector3i leaf : leaves(root)) {
+            assertTrue(blockEntityRegistry.getExistingBlockEntityAt(leaf).hasComponent(BushDefinitionComponent.class),
+                    "no leaf at " + leaf);
+        }
+    }
+
+    @Test
+    public void treeShouldRegrowAtNextStage() {
+        plantSapling(LEFT);
+        fastForward(LEFT);
+        EntityRef root = blockEntityRegistry.getExistingBlockEntityAt(LEFT);
+        List<Vector3i> smallLeaves = leaves(root);
+
+        fastForward(LEFT);
+
+        RootComponent rootComponent = root.getComponent(RootComponent.class);
+        assertEquals(1, rootComponent.growthStage);
+        for (int y = 0; y < 3; y++) {
+            EntityRef log = blockEntityRegistry.getExistingBlockEntityAt(new Vector3i(LEFT).add(0, y, 0));
+            assertEquals(rootComponent.log, log.getComponent(BlockComponent.class).getBlock());
+            assertEquals(root, log.getComponent(LogComponent.class).root);
+        }
+        List<Vector3i> mediumLeaves = leaves(root);
+        assertEquals(rootComponent.leafOffsets.size(), mediumLeaves.size());
+        for (Vector3i leaf : mediumLeaves) {
+            assertTrue(blockEntityRegistry.getExistingBlockEntityAt(leaf).hasComponent(BushDefinitionComponent.class),
+                    "no leaf at " + leaf);
+        }
+        for (Vector3i leaf : smallLeaves) {
+            if (!mediumLeaves.contains(leaf)) {
+                assertFalse(blockEntityRegistry.getExistingBlockEntityAt(leaf).hasComponent(BushDefinitionComponent.class),
+                        "leaf of the previous stage left at " + leaf);
+            }
+        }
+    }
+
+    @Test
+    public void fellingShouldDropOnceAndClearOnlyItsOwnLeaves() {
+        plantSapling(LEFT);
+        plantSapling(RIGHT);
+        fastForward(LEFT);
+        fastForward(RIGHT);
+        EntityRef left = blockEntityRegistry.getExistingBlockEntityAt(LEFT);
+        EntityRef right = blockEntityRegistry.getExistingBlockEntityAt(RIGHT);
+        List<Vector3i> leftLeaves = leaves(left);
+        List<Vector3i> rightLeaves = leaves(right);
+        assertTrue(leftLeaves.contains(SHARED_LEAF));
+        assertFalse(rightLeaves.contains(SHARED_LEAF));
+
+        TestEventReceiver<DropItemEvent> dropSpy = new TestEventReceiver<>(helper.getHostContext(), DropItemEvent.class);
+        right.send(new DoDestroyPlant());
+
+        assertEquals(air, worldProvider.getBlock(RIGHT));
+        assertEquals(air, worldProvider.getBlock(new Vector3i(RIGHT).add(0, 1, 0)));
+        for (Vector3i leaf : rightLeaves) {
+            assertEquals(air, worldProvider.getBlock(leaf), "leaf left at " + leaf);
+        }
+        for (Vector3i leaf : leftLeaves) {
+            assertTrue(blockEntityRegistry.getExistingBlockEntityAt(leaf).hasComponent(BushDefinitionComponent.class),
+                    "leaf of the other tree removed at " + leaf);
+        }
+        assertTrue(left.getComponent(RootComponent.class).alive);
+
+        int logStacks = 0;
+        int otherStacks = 0;
+        for (EntityRef item : dropSpy.getEntityRefs()) {
+            if (item.hasComponent(BlockItemComponent.class)) {
+                logStacks++;
+                assertEquals(2, item.getComponent(ItemComponent.class).stackCount);
+            } else {
+                otherStacks++;
+            }
+        }
+        assertEquals(1, logStacks);
+        assertTrue(otherStacks <= 1, otherStacks + " sapling stacks dropped");
+    }
+
+    @Test
+    public void fellingAboveTheRootShouldRemoveTreeFromIndex() {
+        plantSapling(LEFT);
+        fastForward(LEFT);
+        assertEquals(PlantType.TREE, indexedAt(LEFT));
+
+        blockEntityRegistry.getExistingBlockEntityAt(new Vector3i(LEFT).add(0, 1, 0)).send(new DoDestroyPlant());
+
+        assertFalse(blockEntityRegistry.getExistingBlockEntityAt(LEFT).getComponent(RootComponent.class).alive);
+        assertNull(indexedAt(LEFT));
+    }
+
+    @Test
+    public void removedLeafShouldBeFreeForAnotherTree() {
+        plantSapling(LEFT);
+        fastForward(LEFT);
+        EntityRef left = blockEntityRegistry.getExistingBlockEntityAt(LEFT);
+        EntityRef sharedLeaf = blockEntityRegistry.getExistingBlockEntityAt(SHARED_LEAF);
+        assertEquals(left, sharedLeaf.getComponent(BushDefinitionComponent.class).tree);
+
+        sharedLeaf.send(new DoDestroyPlant());
+        assertFalse(leaves(left).contains(SHARED_LEAF));
+
+        plantSapling(RIGHT);
+        fastForward(RIGHT);
+        EntityRef right = blockEntityRegistry.getExistingBlockEntityAt(RIGHT);
+        assertTrue(leaves(right).contains(SHARED_LEAF));
+        assertEquals(right,
+                blockEntityRegistry.getExistingBlockEntityAt(SHARED_LEAF).getComponent(BushDefinitionComponent.class).tree);
+
+        left.send(new DoDestroyPlant());
+
+        assertEquals(air, worldProvider.getBlock(LEFT));
+        assertTrue(blockEntityRegistry.getExistingBlockEntityAt(SHARED_LEAF).hasComponent(BushDefinitionComponent.class),
+                "leaf of the other tree removed at " + SHARED_LEAF);
+    }
+
+    @Test
+    public void fastForwardByTimeShouldRunDownTheSaplingTimer() {
+        plantSapling(LEFT);
+        long dueTime = blockEntityRegistry.getExistingBlockEntityAt(LEFT)
+                .getComponent(SaplingDefinitionComponent.class).nextGrowthTime;
+        long remaining = dueTime - time.getGameTimeInMs();
+        List<List<Vector3ic>> chunks = Collections.singletonList(Collections.singletonList(LEFT));
+
+        DoFastForwardGrowth shortened = entityManager.create().send(DoFastForwardGrowth.byTime(chunks, remaining / 2));
+        assertEquals(0, shortened.getChanged());
+        SaplingDefinitionComponent saplingComponent = blockEntityRegistry.getExistingBlockEntityAt(LEFT)
+                .getComponent(SaplingDefinitionComponent.class);
+        assertNotNull(saplingComponent);
+        assertEquals(dueTime - remaining / 2, saplingComponent.nextGrowthTime);
+
+        DoFastForwardGrowth grown = entityManager.create().send(
+                DoFastForwardGrowth.byTime(chunks, remaining - remaining / 2 + 1000));
+        assertEquals(1, grown.getChanged());
+        RootComponent rootComponent = blockEntityRegistry.getExistingBlockEntityAt(LEFT).getComponent(RootComponent.class);
+        assertNotNull(rootComponent);
+        assertEquals(0, rootComponent.growthStage);
+        // 1000 ms of the timer of at most 10001 ms to the next stage have run down
+        assertTrue(rootComponent.nextGrowthTime - time.getGameTimeInMs() <= 9001);
+    }
+
+    private void plantSapling(Vector3ic position) {
+        plant(entityManager.create("SimpleFarming:Sapling"), new Vector3f(position.x(), position.y() - 1, position.z()));
+    }
+
+    /**
+     * Advances the sapling or tree at the position by one stage.
+     */
+    private void fastForward(Vector3ic position) {
+        List<Vector3ic> positions = Collections.singletonList(position);
+        entityManager.create().send(DoFastForwardGrowth.byStages(Collections.singletonList(positions), 1));
+    }
+
+    /**
+     * @return the positions of the leaves recorded on the root
+     */
+    private List<Vector3i> leaves(EntityRef root) {
+        Vector3ic location = root.getComponent(LogComponent.class).location;
+        List<Vector3i> leaves = new ArrayList<>();
+        for (int offset : root.getComponent(RootComponent.class).leafOffsets) {
+            leaves.add(LeafOffsets.unpack(location, offset, new Vector3i()));
+        }
+        return leaves;
+    }
+
+    /**
+     * @return the type of the plant indexed at the position, or null if there is none
+     */
+    private PlantType indexedAt(Vector3ic position) {
+        PlantType[] type = new PlantType[1];
+        plantIndex.forEachInBox(position, position, (x, y, z, plantType, stage, lastStage) -> type[0] = plantType);
+        return type[0];
+    }
+
+    @Override
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    @Override
+    public WorldProvider getWorldProvider() {
+        return worldProvider;
+    }
+
+    @Override
+    public ModuleTestingHelper getModuleTestingHelper() {
+        return helper;
+    }
+}
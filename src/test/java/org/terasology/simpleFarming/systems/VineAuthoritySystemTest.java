@@ -0,0 +1,165 @@
+// Copyright 2022 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.systems;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.core.Time;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.integrationenvironment.ModuleTestingHelper;
+import org.terasology.engine.integrationenvironment.jupiter.IntegrationEnvironment;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.utilities.random.FastRandom;
+import org.terasology.engine.world.BlockEntityRegistry;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.simpleFarming.components.VineDefinitionComponent;
+import org.terasology.simpleFarming.components.VineNodeComponent;
+import org.terasology.simpleFarming.events.DoFastForwardGrowth;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@IntegrationEnvironment(dependencies = {"SimpleFarming", "CoreAssets"}, worldGenerator = "unittest:empty")
+public class VineAuthoritySystemTest extends BaseAuthorityTest {
+
+    private static final Vector3i LEFT = new Vector3i(0, 1, 0);
+    private static final Vector3i MIDDLE = new Vector3i(1, 1, 0);
+    private static final Vector3i RIGHT = new Vector3i(2, 1, 0);
+
+    @In
+    EntityManager entityManager;
+    @In
+    WorldProvider worldProvider;
+    @In
+    BlockManager blockManager;
+    @In
+    ModuleTestingHelper helper;
+    @In
+    BlockEntityRegistry blockEntityRegistry;
+    @In
+    Time time;
+
+    private Block air;
+    private Block stone;
+
+    /**
+     * Lays a strip of three dirt blocks, so that the middle one is the only place next to either end a vine can grow.
+     */
+    @BeforeEach
+    public void initialize() {
+        air = blockManager.getBlock("engine:air");
+        stone = blockManager.getBlock("CoreAssets:Stone");
+        Block dirt = blockManager.getBlock("CoreAssets:Dirt");
+        for (int y = 0; y <= 1; y++) {
+            for (int z = -3; z <= 3; z++) {
+                for (int x = -3; x <= 5; x++) {
+                    setBlock(new Vector3i(x, y, z), air);
+                }
+            }
+        }
+        for (int x = 0; x <= 2; x++) {
+            setBlock(new Vector3i(x, 0, 0), dirt);
+        }
+    }
+
+    @Test
+    public void plannerShouldGrowTheTipOntoSolidGround() {
+        VineGrowthPlanner.Plan plan = plan(LEFT);
+
+        assertEquals(0, plan.node);
+        assertEquals(MIDDLE, plan.position);
+        assertEquals(false, plan.bud);
+    }
+
+    @Test
+    public void plannerShouldNotGrowIntoCrowdedPositions() {
+        setBlock(new Vector3i(1, 1, 1), stone);
+        setBlock(new Vector3i(1, 1, -1), stone);
+        setBlock(RIGHT, stone);
+
+        VineGrowthPlanner.Plan plan = plan(LEFT);
+
+        assertEquals(-1, plan.node);
+        assertNull(plan.position);
+    }
+
+    @Test
+    public void vinesShouldNotGrowIntoTheSamePosition() {
+        plant(entityManager.create("SimpleFarming:TestVineSeed"), new Vector3f(0, 0, 0));
+        plant(entityManager.create("SimpleFarming:TestVineSeed"), new Vector3f(2, 0, 0));
+
+        List<Vector3ic> roots = Arrays.asList(LEFT, RIGHT);
+        DoFastForwardGrowth event = entityManager.create().send(
+                DoFastForwardGrowth.byStages(Collections.singletonList(roots), 1));
+
+        assertEquals(1, event.getChanged());
+        assertEquals("SimpleFarming:TestBush", worldProvider.getBlock(MIDDLE).toString());
+        int lengths = 0;
+        for (Vector3ic root : roots) {
+            lengths += blockEntityRegistry.getExistingBlockEntityAt(root).getComponent(VineNodeComponent.class).length;
+        }
+        assertEquals(1, lengths);
+    }
+
+    @Test
+    public void fastForwardByTimeShouldRunDownTheVineTimer() {
+        plant(entityManager.create("SimpleFarming:TestVineSeed"), new Vector3f(0, 0, 0));
+        VineNodeComponent nodeComponent = blockEntityRegistry.getExistingBlockEntityAt(LEFT)
+                .getComponent(VineNodeComponent.class);
+        long dueTime = nodeComponent.nextGrowthTime;
+        long remaining = dueTime - time.getGameTimeInMs();
+        List<List<Vector3ic>> chunks = Collections.singletonList(Collections.singletonList(LEFT));
+
+        DoFastForwardGrowth shortened = entityManager.create().send(DoFastForwardGrowth.byTime(chunks, remaining / 2));
+        assertEquals(0, shortened.getChanged());
+        nodeComponent = blockEntityRegistry.getExistingBlockEntityAt(LEFT).getComponent(VineNodeComponent.class);
+        assertEquals(0, nodeComponent.length);
+        assertEquals(dueTime - remaining / 2, nodeComponent.nextGrowthTime);
+
+        // the rest of the timer and 200 ms of the next 500 ms one
+        DoFastForwardGrowth grown = entityManager.create().send(
+                DoFastForwardGrowth.byTime(chunks, remaining - remaining / 2 + 200));
+        assertEquals(1, grown.getChanged());
+        nodeComponent = blockEntityRegistry.getExistingBlockEntityAt(LEFT).getComponent(VineNodeComponent.class);
+        assertEquals(1, nodeComponent.length);
+        assertEquals("SimpleFarming:TestBush", worldProvider.getBlock(MIDDLE).toString());
+        assertEquals(time.getGameTimeInMs() + 300, nodeComponent.nextGrowthTime);
+    }
+
+    /**
+     * Plans a cycle of a vine that is only a root at the given position, from a snapshot of the blocks around it.
+     */
+    private VineGrowthPlanner.Plan plan(Vector3i root) {
+        List<Vector3ic> positions = Collections.singletonList(root);
+        VineGrowthPlanner.Sketch sketch = new VineGrowthPlanner.Sketch(EntityRef.NULL, new VineDefinitionComponent(),
+                Collections.singletonList(EntityRef.NULL), positions, Collections.singletonList(false),
+                new FastRandom(1));
+        RegionSnapshot snapshot = RegionSnapshot.neighbourhoods(worldProvider, positions, 2, 1, 0);
+        return VineGrowthPlanner.plan(sketch, snapshot::get, air);
+    }
+
+    @Override
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    @Override
+    public WorldProvider getWorldProvider() {
+        return worldProvider;
+    }
+
+    @Override
+    public ModuleTestingHelper getModuleTestingHelper() {
+        return helper;
+    }
+}
@@ -0,0 +1,141 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.simpleFarming.typeHandling;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.integrationenvironment.jupiter.IntegrationEnvironment;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.utilities.Assets;
+import org.terasology.persistence.typeHandling.PersistedData;
+import org.terasology.persistence.typeHandling.TypeHandler;
+import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
+import org.terasology.persistence.typeHandling.inMemory.InMemoryPersistedDataSerializer;
+import org.terasology.reflection.TypeInfo;
+import org.terasology.simpleFarming.components.BushDefinitionComponent;
+import org.terasology.simpleFarming.components.BushGrowthStage;
+import org.terasology.simpleFarming.components.BushGrowthStages;
+import org.terasology.simpleFarming.components.SaplingDefinitionComponent;
+import org.terasology.simpleFarming.components.TreeGrowthStage;
+import org.terasology.simpleFarming.components.TreeGrowthStages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@IntegrationEnvironment(dependencies = {"SimpleFarming", "CoreAssets"}, worldGenerator = "unittest:empty")
+public class PlantDefinitionTypeHandlerFactoryTest {
+    private static final String BUSH = "SimpleFarming:TestSeed";
+    private static final String TREE = "SimpleFarming:Sapling";
+    private static final String MISSING = "SimpleFarming:NoSuchPlant";
+
+    @In
+    TypeHandlerLibrary typeHandlerLibrary;
+
+    private final InMemoryPersistedDataSerializer serializer = new InMemoryPersistedDataSerializer();
+
+    @Test
+    public void definedBushStagesShouldRoundTripAsReference() {
+        BushGrowthStages stages = new BushGrowthStages(definedBushStages());
+        stages.setDefinition(BUSH);
+
+        PersistedData data = bushHandler().serialize(stages, serializer);
+        assertTrue(data.isString());
+        assertEquals(BUSH, data.getAsString());
+
+        Map<String, BushGrowthStage> loaded = bushHandler().deserialize(data).get();
+        assertEquals(stages, loaded);
+        assertEquals(BUSH, ((BushGrowthStages) loaded).getDefinition());
+    }
+
+    @Test
+    public void changedBushStagesShouldRoundTripInFull() {
+        BushGrowthStages stages = new BushGrowthStages(definedBushStages());
+        stages.setDefinition(BUSH);
+        stages.firstEntry().getValue().minTime++;
+
+        PersistedData data = bushHandler().serialize(stages, serializer);
+        assertTrue(data.isValueMap());
+
+        assertEquals(stages, bushHandler().deserialize(data).get());
+    }
+
+    @Test
+    public void legacyBushStagesShouldLoad() {
+        Map<String, BushGrowthStage> legacy = new TreeMap<>(definedBushStages());
+        PersistedData data = bushHandler().serialize(legacy, serializer);
+        assertTrue(data.isValueMap());
+
+        Map<String, BushGrowthStage> loaded = bushHandler().deserialize(data).get();
+        assertEquals(legacy, loaded);
+        assertInstanceOf(BushGrowthStages.class, loaded);
+        assertNull(((BushGrowthStages) loaded).getDefinition());
+    }
+
+    @Test
+    public void bushStagesOfMissingPrefabShouldKeepTheirReference() {
+        Map<String, BushGrowthStage> loaded = bushHandler().deserialize(serializer.serialize(MISSING)).get();
+        assertTrue(loaded.isEmpty());
+        assertEquals(MISSING, ((BushGrowthStages) loaded).getDefinition());
+
+        assertEquals(MISSING, bushHandler().serialize(loaded, serializer).getAsString());
+    }
+
+    @Test
+    public void definedTreeStagesShouldRoundTripAsReference() {
+        TreeGrowthStages stages = new TreeGrowthStages(definedTreeStages());
+        stages.setDefinition(TREE);
+
+        PersistedData data = treeHandler().serialize(stages, serializer);
+        assertTrue(data.isString());
+        assertEquals(TREE, data.getAsString());
+
+        List<TreeGrowthStage> loaded = treeHandler().deserialize(data).get();
+        assertEquals(stages, loaded);
+        assertEquals(TREE, ((TreeGrowthStages) loaded).getDefinition());
+    }
+
+    @Test
+    public void legacyTreeStagesShouldLoad() {
+        List<TreeGrowthStage> legacy = new ArrayList<>(definedTreeStages());
+        PersistedData data = treeHandler().serialize(legacy, serializer);
+        assertTrue(data.isArray());
+
+        List<TreeGrowthStage> loaded = treeHandler().deserialize(data).get();
+        assertEquals(legacy, loaded);
+        assertNull(((TreeGrowthStages) loaded).getDefinition());
+    }
+
+    @Test
+    public void treeStagesOfMissingPrefabShouldKeepTheirReference() {
+        List<TreeGrowthStage> loaded = treeHandler().deserialize(serializer.serialize(MISSING)).get();
+        assertTrue(loaded.isEmpty());
+        assertEquals(MISSING, ((TreeGrowthStages) loaded).getDefinition());
+
+        assertEquals(MISSING, treeHandler().serialize(loaded, serializer).getAsString());
+    }
+
+    private TypeHandler<Map<String, BushGrowthStage>> bushHandler() {
+        return typeHandlerLibrary.getTypeHandler(new TypeInfo<Map<String, BushGrowthStage>>() { }).get();
+    }
+
+    private TypeHandler<List<TreeGrowthStage>> treeHandler() {
+        return typeHandlerLibrary.getTypeHandler(new TypeInfo<List<TreeGrowthStage>>() { }).get();
+    }
+
+    private static Map<String, BushGrowthStage> definedBushStages() {
+        Prefab prefab = Assets.getPrefab(BUSH).get();
+        return prefab.getComponent(BushDefinitionComponent.class).growthStages;
+    }
+
+    private static List<TreeGrowthStage> definedTreeStages() {
+        Prefab prefab = Assets.getPrefab(TREE).get();
+        return prefab.getComponent(SaplingDefinitionComponent.class).growthStages;
+    }
+}